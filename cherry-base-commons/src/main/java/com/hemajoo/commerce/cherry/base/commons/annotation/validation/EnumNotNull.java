@@ -73,10 +73,24 @@ public @interface EnumNotNull
          */
         private Class<? extends Enum<?>> enumClass;
 
+        /**
+         * Enumeration class simple name (message parameter).
+         */
+        private String enumClassName;
+
+        /**
+         * All values (message parameter).
+         */
+        private String values;
+
         @Override
         public void initialize(EnumNotNull enumValue)
         {
             enumClass = enumValue.enumClass();
+            enumClassName = enumClass.getSimpleName();
+            values = Arrays.stream(enumClass.getEnumConstants())
+                    .map(Enum::name)
+                    .collect(Collectors.joining(", "));
         }
 
         @Override
@@ -94,11 +108,7 @@ public @interface EnumNotNull
 
             // Add some message parameters
             ((ConstraintValidatorContextImpl) context).addMessageParameter("invalidValue", value);
-            ((ConstraintValidatorContextImpl) context).addMessageParameter("enumClassName", enumClass.getSimpleName());
-
-            String values = Arrays.stream(enumClass.getEnumConstants())
-                    .map(Enum::name)
-                    .collect(Collectors.joining(", "));
+            ((ConstraintValidatorContextImpl) context).addMessageParameter("enumClassName", enumClassName);
             ((ConstraintValidatorContextImpl) context).addMessageParameter("validValues", values);
 
             return false;
@@ -26,12 +26,12 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -87,27 +87,65 @@ public @interface EnumValue
      */
     class Validator implements ConstraintValidator<EnumValue, Enum<?>>
     {
+        /**
+         * Type of the validation method handle.
+         */
+        private static final MethodType METHOD_TYPE = MethodType.methodType(boolean.class, Enum.class);
+
         /**
          * Enumeration class.
          */
         private Class<? extends Enum<?>> enumClass;
 
         /**
-         * Validation method name.
+         * Validation method handle (null if no validation method).
+         */
+        private MethodHandle enumMethod;
+
+        /**
+         * Excluded values indexed by ordinal.
+         */
+        private boolean[] excluded;
+
+        /**
+         * Excluded value names (used for values not belonging to the enumeration class).
+         */
+        private Set<String> excludedNames;
+
+        /**
+         * Allowed values (message parameter).
          */
-        private String enumMethod;
+        private List<String> includedValues;
 
         /**
-         * Excluded values.
+         * All values (message parameter).
          */
-        private List<String> excluded;
+        private String allValues;
 
+        @SneakyThrows
         @Override
         public void initialize(EnumValue enumValue)
         {
-            enumMethod = enumValue.enumMethod();
             enumClass = enumValue.enumClass();
-            excluded = Arrays.asList(enumValue.excluded());
+            excludedNames = new HashSet<>(Arrays.asList(enumValue.excluded()));
+
+            Enum<?>[] constants = enumClass.getEnumConstants();
+            excluded = new boolean[constants.length];
+            List<String> included = new ArrayList<>(constants.length);
+            for (Enum<?> constant : constants)
+            {
+                excluded[constant.ordinal()] = excludedNames.contains(constant.name());
+                if (!excluded[constant.ordinal()])
+                {
+                    included.add(constant.name());
+                }
+            }
+
+            includedValues = Collections.unmodifiableList(included);
+            allValues = Arrays.stream(constants)
+                    .map(Enum::name)
+                    .collect(Collectors.joining(", "));
+            enumMethod = resolveMethod(enumValue.enumMethod());
         }
 
         @SneakyThrows
@@ -116,7 +154,7 @@ public @interface EnumValue
         {
             boolean result = true;
 
-            if (value == null || enumClass == null || enumMethod == null)
+            if (value == null || enumClass == null)
             {
                 return true;
             }
@@ -133,6 +171,45 @@ public @interface EnumValue
             return result;
         }
 
+        /**
+         * Resolve the validation method of the enumeration class.
+         * @param name Validation method name.
+         * @return Validation method handle or <b>null</b> if no validation method is defined.
+         * @throws EnumValueException Thrown to indicate the validation method is not a valid validation method.
+         */
+        private MethodHandle resolveMethod(final String name) throws EnumValueException
+        {
+            if (name == null || name.isEmpty())
+            {
+                return null;
+            }
+
+            try
+            {
+                Method method = enumClass.getMethod(name, enumClass);
+
+                if (!Boolean.TYPE.equals(method.getReturnType()) && !Boolean.class.equals(method.getReturnType()))
+                {
+                    throw new EnumValueException(Strings.formatIfArgs("Method: '%s' return type is not of type boolean in class: '%s'!", name, enumClass));
+                }
+
+                if (!Modifier.isStatic(method.getModifiers()))
+                {
+                    throw new EnumValueException(Strings.formatIfArgs("Method: '%s' is not a static method in class: '%s'!", name, enumClass));
+                }
+
+                return MethodHandles.publicLookup().unreflect(method).asType(METHOD_TYPE);
+            }
+            catch (IllegalAccessException e)
+            {
+                throw new EnumValueException(e);
+            }
+            catch (NoSuchMethodException | SecurityException e)
+            {
+                throw new EnumValueException(Strings.formatIfArgs("The method: '%s(%s)' does not exist in class: '%s'", name, enumClass, enumClass), e);
+            }
+        }
+
         /**
          * Check the enumerated value if it is not part of some excluded values.
          * @param value Enumerated value.
@@ -141,16 +218,12 @@ public @interface EnumValue
          */
         private boolean checkEnumExcludedValues(final Enum<?> value, final ConstraintValidatorContext context)
         {
-            Class<?> valueClass = value.getClass();
+            boolean isExcluded = value.getDeclaringClass() == enumClass
+                    ? excluded[value.ordinal()]
+                    : excludedNames.contains(value.name());
 
-            if (valueClass.isEnum() && excluded.contains(value.name()))
+            if (isExcluded)
             {
-                // Filter the allowed values.
-                List<String> includedValues = new ArrayList<>(Arrays.stream(enumClass.getEnumConstants())
-                        .map(Enum::name)
-                        .toList());
-                includedValues.removeAll(excluded);
-
                 // Inject message parameters
                 ((ConstraintValidatorContextImpl) context).addMessageParameter("invalidValue", value);
                 ((ConstraintValidatorContextImpl) context).addMessageParameter("validValues", includedValues);
@@ -167,48 +240,37 @@ public @interface EnumValue
          * @param value Enumerated value.
          * @param context Constraint validator context.
          * @return <b>True</b> if the value is valid, <b>false</b> otherwise.
+         * @throws EnumValueException Thrown to indicate an error occurred while invoking the validation method.
          */
         private boolean checkEnumValidValue(final Enum<?> value, final ConstraintValidatorContext context) throws EnumValueException
         {
-            if (enumClass != null && (enumMethod != null && !enumMethod.isEmpty()))
+            if (enumMethod == null)
             {
-                try
-                {
-                    Method method = enumClass.getMethod(enumMethod, value.getClass());
-
-                    if (!Boolean.TYPE.equals(method.getReturnType()) && !Boolean.class.equals(method.getReturnType()))
-                    {
-                        throw new EnumValueException(Strings.formatIfArgs("Method: '%s' return type is not of type boolean in class: '%s'!", enumMethod, enumClass));
-                    }
-
-                    if (!Modifier.isStatic(method.getModifiers()))
-                    {
-                        throw new EnumValueException(Strings.formatIfArgs("Method: '%s' is not a static method in class: '%s'!", enumMethod, enumClass));
-                    }
-
-                    Boolean invocation = (Boolean) method.invoke(null, value);
-
-                    ((ConstraintValidatorContextImpl) context).addMessageParameter("enumClassName", enumClass.getSimpleName());
+                return true;
+            }
 
-                    // Inject message parameters
-                    String values = Arrays.stream(enumClass.getEnumConstants())
-                            .map(Enum::name)
-                            .collect(Collectors.joining(", "));
-                    ((ConstraintValidatorContextImpl) context).addMessageParameter("validValues", values);
+            boolean invocation;
+            try
+            {
+                invocation = (boolean) enumMethod.invokeExact((Enum<?>) value);
+            }
+            catch (RuntimeException e)
+            {
+                throw new EnumValueException(e);
+            }
+            catch (Throwable e) // NOSONAR Method handles can throw any throwable!
+            {
+                throw new EnumValueException(new IllegalStateException(e));
+            }
 
-                    return invocation != null && invocation;
-                }
-                catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e)
-                {
-                    throw new EnumValueException(e);
-                }
-                catch (NoSuchMethodException | SecurityException e)
-                {
-                    throw new EnumValueException(Strings.formatIfArgs("The method: '%s(%s)' does not exist in class: '%s'", enumMethod, value.getClass(), enumClass), e);
-                }
+            if (!invocation)
+            {
+                // Inject message parameters
+                ((ConstraintValidatorContextImpl) context).addMessageParameter("enumClassName", enumClass.getSimpleName());
+                ((ConstraintValidatorContextImpl) context).addMessageParameter("validValues", allValues);
             }
 
-            return true;
+            return invocation;
         }
     }
 }
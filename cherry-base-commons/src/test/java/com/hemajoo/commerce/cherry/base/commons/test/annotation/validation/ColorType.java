@@ -0,0 +1,99 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.commons.test.annotation.validation;
+
+/**
+ * Enumeration of colors used to test the enumeration validation annotations.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public enum ColorType
+{
+    /**
+     * Red.
+     */
+    RED,
+
+    /**
+     * Green.
+     */
+    GREEN,
+
+    /**
+     * Blue (constant with a body).
+     */
+    BLUE
+            {
+                @Override
+                public boolean isWarm()
+                {
+                    return false;
+                }
+            },
+
+    /**
+     * Unknown.
+     */
+    UNKNOWN;
+
+    /**
+     * Check if the color is warm.
+     * @return <b>True</b> if the color is warm, <b>false</b> otherwise.
+     */
+    public boolean isWarm()
+    {
+        return this == RED;
+    }
+
+    /**
+     * Check if a color is a primary color.
+     * @param color Color.
+     * @return <b>True</b> if the color is a primary color, <b>false</b> otherwise.
+     */
+    public static boolean isPrimary(final ColorType color)
+    {
+        return color != UNKNOWN;
+    }
+
+    /**
+     * Check if a color is not warm (boxed result).
+     * @param color Color.
+     * @return <b>True</b> if the color is not warm, <b>false</b> otherwise.
+     */
+    public static Boolean isCold(final ColorType color)
+    {
+        return !color.isWarm();
+    }
+
+    /**
+     * Check if a color is the same as this color (not a static method).
+     * @param color Color.
+     * @return <b>True</b> if the colors are the same, <b>false</b> otherwise.
+     */
+    public boolean isSame(final ColorType color)
+    {
+        return this == color;
+    }
+
+    /**
+     * Return the name of a color (not a boolean method).
+     * @param color Color.
+     * @return Name.
+     */
+    public static String nameOf(final ColorType color)
+    {
+        return color.name();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.commons.test.annotation.validation;
+
+import com.hemajoo.commerce.cherry.base.commons.annotation.validation.EnumNotNull;
+import com.hemajoo.commerce.cherry.base.commons.test.AbstractCherryUnitTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for unit testing the {@link EnumNotNull} annotation.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+class EnumNotNullUnitTest extends AbstractCherryUnitTest
+{
+    /**
+     * Validator.
+     */
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    @DisplayName("Reject a null enumeration value")
+    final void testNullValue()
+    {
+        Set<ConstraintViolation<Color>> violations = VALIDATOR.validate(new Color(null));
+
+        assertThat(violations).hasSize(1);
+        assertThat(violations.iterator().next().getPropertyPath()).hasToString("color");
+    }
+
+    @Test
+    @DisplayName("Accept any non null enumeration value")
+    final void testNotNullValue()
+    {
+        assertThat(VALIDATOR.validate(new Color(ColorType.RED))).isEmpty();
+        assertThat(VALIDATOR.validate(new Color(ColorType.BLUE))).isEmpty();
+        assertThat(VALIDATOR.validate(new Color(ShapeType.CIRCLE))).isEmpty();
+    }
+
+    /**
+     * Bean having a mandatory color.
+     */
+    private static final class Color
+    {
+        /**
+         * Color.
+         */
+        @EnumNotNull(enumClass = ColorType.class)
+        private final Enum<?> color;
+
+        private Color(final Enum<?> color)
+        {
+            this.color = color;
+        }
+    }
+}
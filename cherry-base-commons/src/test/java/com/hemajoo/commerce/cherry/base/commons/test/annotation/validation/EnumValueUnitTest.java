@@ -0,0 +1,243 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.commons.test.annotation.validation;
+
+import com.hemajoo.commerce.cherry.base.commons.annotation.validation.EnumValue;
+import com.hemajoo.commerce.cherry.base.commons.annotation.validation.EnumValueException;
+import com.hemajoo.commerce.cherry.base.commons.test.AbstractCherryUnitTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for unit testing the {@link EnumValue} annotation.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+class EnumValueUnitTest extends AbstractCherryUnitTest
+{
+    /**
+     * Validator.
+     */
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    @DisplayName("Reject the excluded values of an enumeration")
+    final void testExcludedValues()
+    {
+        assertThat(validate(new ExcludedColor(ColorType.UNKNOWN))).hasSize(1);
+        assertThat(validate(new ExcludedColor(ColorType.RED))).isEmpty();
+        assertThat(validate(new ExcludedColor(ColorType.BLUE))).isEmpty();
+        assertThat(validate(new ExcludedColor(null))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Match the excluded names for the values of another enumeration class")
+    final void testExcludedValuesOfAnotherEnumeration()
+    {
+        assertThat(validate(new ExcludedColor(ShapeType.UNKNOWN))).hasSize(1);
+        assertThat(validate(new ExcludedColor(ShapeType.CIRCLE))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Validate the values using a static validation method")
+    final void testValidationMethod()
+    {
+        assertThat(validate(new PrimaryColor(ColorType.UNKNOWN))).hasSize(1);
+        assertThat(validate(new PrimaryColor(ColorType.GREEN))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Validate the constants with a body using a static validation method")
+    final void testValidationMethodOfConstantWithBody()
+    {
+        assertThat(ColorType.BLUE.getClass()).isNotEqualTo(ColorType.class);
+        assertThat(validate(new PrimaryColor(ColorType.BLUE))).isEmpty();
+        assertThat(validate(new ColdColor(ColorType.BLUE))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Validate the values using a static validation method returning a boxed boolean")
+    final void testBoxedValidationMethod()
+    {
+        assertThat(validate(new ColdColor(ColorType.RED))).hasSize(1);
+        assertThat(validate(new ColdColor(ColorType.GREEN))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Fail to validate a value of another enumeration class using a validation method")
+    final void testValidationMethodOfAnotherEnumeration()
+    {
+        PrimaryColor bean = new PrimaryColor(ShapeType.CIRCLE);
+
+        assertThatThrownBy(() -> validate(bean))
+                .satisfies(exception -> assertThat(isCausedBy(exception, EnumValueException.class)).isTrue());
+    }
+
+    @Test
+    @DisplayName("Fail to initialize the validator with an invalid validation method")
+    final void testInvalidValidationMethod()
+    {
+        NotStaticMethod notStatic = new NotStaticMethod(ColorType.RED);
+        NotBooleanMethod notBoolean = new NotBooleanMethod(ColorType.RED);
+        MissingMethod missing = new MissingMethod(ColorType.RED);
+
+        assertThatThrownBy(() -> validate(notStatic))
+                .satisfies(exception -> assertThat(isCausedBy(exception, EnumValueException.class)).isTrue());
+        assertThatThrownBy(() -> validate(notBoolean))
+                .satisfies(exception -> assertThat(isCausedBy(exception, EnumValueException.class)).isTrue());
+        assertThatThrownBy(() -> validate(missing))
+                .satisfies(exception -> assertThat(isCausedBy(exception, EnumValueException.class)).isTrue());
+    }
+
+    /**
+     * Validate a bean.
+     * @param <T> Bean type.
+     * @param bean Bean.
+     * @return Constraint violations.
+     */
+    private static <T> Set<ConstraintViolation<T>> validate(final T bean)
+    {
+        return VALIDATOR.validate(bean);
+    }
+
+    /**
+     * Check if an exception or one of its causes is of a given type.
+     * @param exception Exception.
+     * @param type Exception type.
+     * @return <b>True</b> if the exception is caused by an exception of the given type, <b>false</b> otherwise.
+     */
+    private static boolean isCausedBy(final Throwable exception, final Class<? extends Throwable> type)
+    {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause())
+        {
+            if (type.isInstance(cause))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Bean having a color excluding the unknown value (listed twice).
+     */
+    private static final class ExcludedColor
+    {
+        /**
+         * Color.
+         */
+        @EnumValue(enumClass = ColorType.class, excluded = { "UNKNOWN", "UNKNOWN" })
+        private final Enum<?> color;
+
+        private ExcludedColor(final Enum<?> color)
+        {
+            this.color = color;
+        }
+    }
+
+    /**
+     * Bean having a color validated by a static method.
+     */
+    private static final class PrimaryColor
+    {
+        /**
+         * Color.
+         */
+        @EnumValue(enumClass = ColorType.class, enumMethod = "isPrimary")
+        private final Enum<?> color;
+
+        private PrimaryColor(final Enum<?> color)
+        {
+            this.color = color;
+        }
+    }
+
+    /**
+     * Bean having a color validated by a static method returning a boxed boolean.
+     */
+    private static final class ColdColor
+    {
+        /**
+         * Color.
+         */
+        @EnumValue(enumClass = ColorType.class, enumMethod = "isCold")
+        private final Enum<?> color;
+
+        private ColdColor(final Enum<?> color)
+        {
+            this.color = color;
+        }
+    }
+
+    /**
+     * Bean having a color validated by an instance method.
+     */
+    private static final class NotStaticMethod
+    {
+        /**
+         * Color.
+         */
+        @EnumValue(enumClass = ColorType.class, enumMethod = "isSame")
+        private final Enum<?> color;
+
+        private NotStaticMethod(final Enum<?> color)
+        {
+            this.color = color;
+        }
+    }
+
+    /**
+     * Bean having a color validated by a method not returning a boolean.
+     */
+    private static final class NotBooleanMethod
+    {
+        /**
+         * Color.
+         */
+        @EnumValue(enumClass = ColorType.class, enumMethod = "nameOf")
+        private final Enum<?> color;
+
+        private NotBooleanMethod(final Enum<?> color)
+        {
+            this.color = color;
+        }
+    }
+
+    /**
+     * Bean having a color validated by a method not existing.
+     */
+    private static final class MissingMethod
+    {
+        /**
+         * Color.
+         */
+        @EnumValue(enumClass = ColorType.class, enumMethod = "isMissing")
+        private final Enum<?> color;
+
+        private MissingMethod(final Enum<?> color)
+        {
+            this.color = color;
+        }
+    }
+}
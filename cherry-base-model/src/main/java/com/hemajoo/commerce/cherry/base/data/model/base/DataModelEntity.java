@@ -15,31 +15,40 @@
 package com.hemajoo.commerce.cherry.base.data.model.base;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.hemajoo.commerce.cherry.base.data.model.base.exception.DataModelEntityException;
 import com.hemajoo.commerce.cherry.base.data.model.base.exception.DataModelEntityValidationException;
 import com.hemajoo.commerce.cherry.base.data.model.base.identity.IIdentity;
 import com.hemajoo.commerce.cherry.base.data.model.base.identity.Identity;
+import com.hemajoo.commerce.cherry.base.data.model.base.identity.IdentityCache;
+import com.hemajoo.commerce.cherry.base.data.model.base.identity.UuidType;
 import com.hemajoo.commerce.cherry.base.data.model.base.status.AbstractStatusEntity;
+import com.hemajoo.commerce.cherry.base.data.model.base.tag.TagIndex;
 import com.hemajoo.commerce.cherry.base.data.model.base.type.EntityStatusType;
 import com.hemajoo.commerce.cherry.base.data.model.base.type.EntityType;
 import com.hemajoo.commerce.cherry.base.data.model.base.validation.DataModelEntityValidator;
 import com.hemajoo.commerce.cherry.base.data.model.document.Document;
 import com.hemajoo.commerce.cherry.base.data.model.document.DocumentException;
 import com.hemajoo.commerce.cherry.base.data.model.document.IDocument;
-import com.hemajoo.commerce.cherry.base.utilities.helper.string.StringHelper;
+import com.hemajoo.commerce.cherry.base.utilities.generator.RandomNumberGenerator;
 import lombok.*;
 import lombok.extern.log4j.Log4j2;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.Type;
+import org.hibernate.annotations.TypeDef;
 import org.javers.core.metamodel.annotation.DiffIgnore;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.persistence.*;
 import javax.validation.ConstraintViolation;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotEmpty;
-import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
 import java.util.*;
 
 /**
@@ -54,6 +63,8 @@ import java.util.*;
 @Entity
 //@Table(name = "ENTITY")
 @Inheritance(strategy = InheritanceType.TABLE_PER_CLASS)
+@BatchSize(size = 32) // Lazy entity proxies are initialized by batches!
+@TypeDef(name = UuidType.NAME, typeClass = UuidType.class)
 public class DataModelEntity extends AbstractStatusEntity implements IDataModelEntity
 {
     /**
@@ -61,14 +72,18 @@ public class DataModelEntity extends AbstractStatusEntity implements IDataModelE
      */
     private static final String TAG_SEPARATOR = ",";
 
+    /**
+     * Tag index maintained by the entities (can be null).
+     */
+    private static volatile TagIndex tagIndex;
+
     /**
      * Entity identifier.
      */
     @DiffIgnore
     @Getter
-    @Setter
     @Id
-    @Type(type = "uuid-char") // Allow displaying in the DB the UUID as a string instead of a binary field!
+    @Type(type = UuidType.NAME) // Storage (string, binary or native) depends on the configured UUID storage type!
     @GenericGenerator(name = "cherry-uuid-gen", strategy = "com.hemajoo.commerce.cherry.base.utilities.generator.UuidGenerator")
     @GeneratedValue(generator = "cherry-uuid-gen")
     private UUID id;
@@ -86,7 +101,6 @@ public class DataModelEntity extends AbstractStatusEntity implements IDataModelE
      * Entity name.
      */
     @Getter
-    @Setter
     @NotEmpty
     @NotBlank
     @Column(name = "NAME")
@@ -109,28 +123,82 @@ public class DataModelEntity extends AbstractStatusEntity implements IDataModelE
     private String reference;
 
     /**
-     * Tags.
+     * Tags (separated by the tag separator).
      */
-    @Setter
     @Column(name = "TAGS")
     private String tags;
 
     /**
-     * Documents.
+     * Parsed tags (cache of the tags string).
      */
+    @DiffIgnore
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
-    @OneToMany(fetch = FetchType.EAGER, cascade = CascadeType.ALL/*, orphanRemoval = true*/)
+    @Transient
+    private transient Set<String> tagSet;
+
+    /**
+     * Tags string the parsed tags have been parsed from.
+     */
+    @DiffIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Transient
+    private transient String parsedTags;
+
+    /**
+     * Documents (lazy, use a fetch graph to load them with the entity).
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @OneToMany(fetch = FetchType.LAZY, cascade = CascadeType.ALL/*, orphanRemoval = true*/)
+    @Fetch(FetchMode.SUBSELECT) // Documents of all the entities loaded by a query are initialized by a single query!
     private Set<Document> documents = null;
 
     /**
-     * Parent entity.
+     * Index of the documents (by identifier and by name).
+     */
+    @DiffIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Transient
+    private transient DocumentIndex documentIndex;
+
+    /**
+     * Entity whose document index contains this document (weakly referenced, null if the document is not indexed).
      */
+    @DiffIgnore
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
-    @JsonIgnoreProperties
-    @ManyToOne(targetEntity = DataModelEntity.class, fetch = FetchType.EAGER) // TODO We should store the parent's UUID here!
-    private IDataModelEntity parent;
+    @Transient
+    private transient Reference<DataModelEntity> indexOwner;
+
+    /**
+     * Parent entity identifier.
+     */
+    @Getter
+    @Type(type = UuidType.NAME)
+    @Column(name = "PARENT_ID")
+    private UUID parentId;
+
+    /**
+     * Parent entity (softly referenced, resolved on demand from the parent identity through the {@link IdentityCache}).
+     */
+    @DiffIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Transient
+    private transient Reference<IDataModelEntity> parent;
+
+    /**
+     * Parent entity not having an identifier yet (strongly referenced until its identity is captured, as it cannot be
+     * resolved from its identity).
+     */
+    @DiffIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Transient
+    private transient IDataModelEntity unsavedParent;
 
     /**
      * Parent type.
@@ -183,6 +251,53 @@ public class DataModelEntity extends AbstractStatusEntity implements IDataModelE
         }
     }
 
+    /**
+     * Return the tag index maintained by the entities.
+     * @return Tag index or <b>null</b> if no tag index is registered.
+     */
+    public static TagIndex getTagIndex()
+    {
+        return tagIndex;
+    }
+
+    /**
+     * Register the tag index maintained from the persistence life cycle of the entities.
+     * <br>
+     * Only the tags of loaded entities and the committed tags of persisted, updated or removed entities are indexed, so
+     * transient entities and rolled back changes never reach the index.
+     * @param index Tag index (null to stop maintaining a tag index).
+     */
+    public static void setTagIndex(final TagIndex index)
+    {
+        tagIndex = index;
+    }
+
+    @Override
+    public void setId(final UUID id)
+    {
+        UUID oldId = this.id;
+        this.id = id;
+
+        DocumentIndex index = getParentDocumentIndex();
+        if (index != null)
+        {
+            index.updateId((Document) this, oldId);
+        }
+    }
+
+    @Override
+    public void setName(final String name)
+    {
+        String oldName = this.name;
+        this.name = name;
+
+        DocumentIndex index = getParentDocumentIndex();
+        if (index != null)
+        {
+            index.updateName((Document) this, oldName);
+        }
+    }
+
     @Override
     public IIdentity getIdentity()
     {
@@ -192,7 +307,22 @@ public class DataModelEntity extends AbstractStatusEntity implements IDataModelE
     @Override
     public <T extends IDataModelEntity> T getParent()
     {
-        return (T) parent;
+        if (unsavedParent != null)
+        {
+            IDataModelEntity entity = unsavedParent;
+            captureParentIdentity();
+
+            return (T) entity;
+        }
+
+        IDataModelEntity entity = parent != null ? parent.get() : null;
+        if (entity == null && parentId != null)
+        {
+            entity = IdentityCache.resolve(getParentIdentity());
+            parent = entity != null ? new SoftReference<>(entity) : null;
+        }
+
+        return (T) entity;
     }
 
     @Override
@@ -203,15 +333,57 @@ public class DataModelEntity extends AbstractStatusEntity implements IDataModelE
             throw new DataModelEntityException("Cannot set itself as parent!");
         }
 
-        this.parent = parent;
+        this.parent = parent != null ? new SoftReference<>(parent) : null;
+        this.unsavedParent = parent != null && parent.getId() == null ? parent : null;
+        this.parentId = parent != null ? parent.getId() : null;
         this.parentType = parent != null ? parent.getEntityType() : null;
 
         if (parent != null)
         {
+            IdentityCache.put(parent);
             LOGGER.debug(String.format("%s has parent set to: %s", getIdentity(), parent.getIdentity()));
         }
     }
 
+    @Override
+    public IIdentity getParentIdentity()
+    {
+        return parentId != null ? Identity.from(parentType, parentId) : null;
+    }
+
+    @Override
+    public void setParentIdentity(final IIdentity identity)
+    {
+        this.parent = null;
+        this.unsavedParent = null;
+        this.parentId = identity != null ? identity.getId() : null;
+        this.parentType = identity != null ? identity.getEntityType() : null;
+    }
+
+    /**
+     * Capture the identity of the parent entity before the entity is written, as the parent may have been given its
+     * identifier (when persisted) after it has been set as the parent of this entity.
+     * <br>
+     * Once captured, the parent is only softly referenced as it can be resolved again from its identity.
+     */
+    @PrePersist
+    @PreUpdate
+    protected void captureParentIdentity()
+    {
+        IDataModelEntity entity = unsavedParent != null ? unsavedParent : (parent != null ? parent.get() : null);
+        if (entity != null && entity.getId() != null)
+        {
+            parentId = entity.getId();
+            parentType = entity.getEntityType();
+
+            if (entity == unsavedParent)
+            {
+                unsavedParent = null;
+                IdentityCache.put(entity);
+            }
+        }
+    }
+
     @Override
     public int getDocumentCount()
     {
@@ -233,29 +405,31 @@ public class DataModelEntity extends AbstractStatusEntity implements IDataModelE
     @Override
     public <T extends IDataModelEntity> T getDocument(final @NonNull IDocument document)
     {
-        Optional<Document> element = documents.stream().filter(e -> e.equals(document)).findFirst();
-        return element.isEmpty() ? null : (T) element.get();
+        // Equal documents share the same identifier and name, so only the matching candidates are checked.
+        List<Document> candidates = document.getId() != null
+                ? Collections.singletonList(getDocumentIndex().getById(document.getId()))
+                : getDocumentIndex().getAllByName(document.getName());
+
+        return (T) candidates.stream().filter(document::equals).findFirst().orElse(null);
     }
 
     @Override
     public <T extends IDataModelEntity> T getDocumentByName(final @NonNull String name)
     {
-        Optional<Document> document = documents.stream().filter(e -> e.getName().equals(name)).findFirst();
-        return document.isEmpty() ? null : (T) document.get();
+        return (T) getDocumentIndex().getByName(name);
     }
 
     @Override
     public <T extends IDataModelEntity> T getDocumentById(final @NonNull String uuid)
     {
-        Optional<Document> document = documents.stream().filter(e -> e.getId().toString().equals(uuid)).findFirst();
-        return document.isEmpty() ? null : (T) document.get();
+        UUID id = parseUuid(uuid);
+        return id == null ? null : getDocumentById(id);
     }
 
     @Override
     public <T extends IDataModelEntity> T getDocumentById(final @NonNull UUID uuid)
     {
-        Optional<Document> document = documents.stream().filter(e -> e.getId().toString().equals(uuid.toString())).findFirst();
-        return document.isEmpty() ? null : (T) document.get();
+        return (T) getDocumentIndex().getById(uuid);
     }
 
     @Override
@@ -274,19 +448,20 @@ public class DataModelEntity extends AbstractStatusEntity implements IDataModelE
     @Override
     public boolean existDocumentById(final @NonNull UUID id)
     {
-        return documents.stream().anyMatch(doc -> doc.getId().equals(id));
+        return getDocumentIndex().containsId(id);
     }
 
     @Override
     public boolean existDocumentById(final @NonNull String id)
     {
-        return documents.stream().anyMatch(doc -> doc.getId().toString().equals(id));
+        UUID uuid = parseUuid(id);
+        return uuid != null && existDocumentById(uuid);
     }
 
     @Override
     public boolean existDocumentByName(final @NonNull String name)
     {
-        return documents.stream().anyMatch(doc -> doc.getName().equals(name));
+        return getDocumentIndex().containsName(name);
     }
 
     @Override
@@ -302,9 +477,16 @@ public class DataModelEntity extends AbstractStatusEntity implements IDataModelE
             documents = new HashSet<>();
         }
 
+        DocumentIndex index = getDocumentIndex();
+
         if (!existDocument(document))
         {
-            documents.add((Document) document);
+            if (documents.add((Document) document))
+            {
+                index.add((Document) document);
+                ((DataModelEntity) document).indexOwner = new WeakReference<>(this);
+            }
+
             try
             {
                 document.setParent(this);
@@ -325,43 +507,138 @@ public class DataModelEntity extends AbstractStatusEntity implements IDataModelE
         }
         else
         {
-            return documents.removeIf(doc -> doc.getName().equals(document.getName()));
+            return deleteDocumentByName(document.getName());
         }
     }
 
     @Override
     public boolean deleteDocumentById(final @NonNull String id)
     {
-        return documents.removeIf(doc -> doc.getId().toString().equals(id));
+        UUID uuid = parseUuid(id);
+        return uuid != null && deleteDocumentById(uuid);
     }
 
     @Override
     public boolean deleteDocumentById(final @NonNull UUID id)
     {
-        return documents.removeIf(doc -> doc.getId().equals(id));
+        Document document = getDocumentIndex().getById(id);
+
+        return document != null && removeDocument(document);
     }
 
     @Override
     public boolean deleteDocumentByName(final @NonNull String name)
     {
-        return documents.removeIf(doc -> doc.getName().equals(name));
+        boolean deleted = false;
+
+        for (Document document : getDocumentIndex().getAllByName(name))
+        {
+            deleted |= removeDocument(document);
+        }
+
+        return deleted;
     }
 
     @Override
     public void deleteAllDocuments() throws DataModelEntityException
     {
-        for (IDocument document : documents)
+        if (documents == null)
+        {
+            return;
+        }
+
+        for (Document document : documents)
         {
             document.setParent(null); //TODO Later, we must ensure the document is deleted from the content store and the db!
+            ((DataModelEntity) document).indexOwner = null;
         }
 
         documents.clear();
+        getDocumentIndex().rebuild(documents);
+    }
+
+    /**
+     * Return the index of the documents, (re)building it if needed.
+     * @return Document index.
+     */
+    private DocumentIndex getDocumentIndex()
+    {
+        if (documentIndex == null)
+        {
+            documentIndex = new DocumentIndex();
+            rebuildDocumentIndex();
+        }
+        else if (documentIndex.isStale(documents))
+        {
+            rebuildDocumentIndex();
+        }
+
+        return documentIndex;
+    }
+
+    /**
+     * Rebuild the index of the documents, linking each document to this entity so that it keeps the index in sync when it
+     * is renamed or its identifier changes (including the documents loaded by the persistence layer).
+     */
+    private void rebuildDocumentIndex()
+    {
+        documentIndex.rebuild(documents);
+
+        if (documents != null)
+        {
+            Reference<DataModelEntity> owner = new WeakReference<>(this);
+            for (Document document : documents)
+            {
+                ((DataModelEntity) document).indexOwner = owner;
+            }
+        }
+    }
+
+    /**
+     * Return the document index of the entity owning this entity if this entity is a document indexed by its owner.
+     * @return Owner document index or <b>null</b> if this entity is not indexed by an owner.
+     */
+    private DocumentIndex getParentDocumentIndex()
+    {
+        DataModelEntity owner = indexOwner != null ? indexOwner.get() : null;
+
+        if (this instanceof Document && owner != null)
+        {
+            DocumentIndex index = owner.documentIndex;
+            if (index != null && index.contains((Document) this))
+            {
+                return index;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Remove a document from the document set and from the index.
+     * @param document Document.
+     * @return <b>True</b> if the document has been removed, <b>false</b> otherwise.
+     */
+    private boolean removeDocument(final Document document)
+    {
+        DocumentIndex index = getDocumentIndex();
+
+        // The hash code of a document may have changed since it has been added, fallback on an identity based removal.
+        boolean removed = documents.remove(document) || documents.removeIf(element -> element == document);
+
+        if (removed)
+        {
+            index.remove(document);
+            ((DataModelEntity) document).indexOwner = null;
+        }
+
+        return removed;
     }
 
     @Override
     public Set<String> getTags()
     {
-        return StringHelper.convertStringValuesAsSet(tags, TAG_SEPARATOR);
+        return Collections.unmodifiableSet(getTagSet());
     }
 
     @Override
@@ -373,9 +650,16 @@ public class DataModelEntity extends AbstractStatusEntity implements IDataModelE
     @Override
     public void addTag(String tag)
     {
-        if (StringHelper.convertStringValuesAsSet(tags, TAG_SEPARATOR).stream().noneMatch(element -> element.equals(tag)))
+        if (tag == null || tag.isBlank())
         {
-            tags = tags == null || tags.isEmpty() ? tag : tags + ", " + tag;
+            return;
+        }
+
+        String value = tag.trim();
+        if (getTagSet().add(value))
+        {
+            tags = tags == null || tags.isEmpty() ? value : tags + ", " + value;
+            parsedTags = tags;
         }
     }
 
@@ -406,110 +690,198 @@ public class DataModelEntity extends AbstractStatusEntity implements IDataModelE
     @Override
     public void deleteTag(String tag)
     {
-        Set<String> sourceTags = StringHelper.convertStringValuesAsSet(tags, TAG_SEPARATOR);
-        Set<String> targetTags = new HashSet<>();
+        Set<String> values = getTagSet();
 
-        for (String element : sourceTags)
+        if (tag != null && values.remove(tag.trim()))
         {
-            if (!element.equals(tag))
-            {
-                targetTags.add(element);
-            }
+            tags = values.isEmpty() ? null : String.join(", ", values);
+            parsedTags = tags;
         }
-
-        setTags(StringHelper.convertSetValuesAsString(targetTags, TAG_SEPARATOR));
     }
 
     @Override
     public void deleteAllTags()
     {
         tags = null;
+        tagSet = null;
+        parsedTags = null;
+    }
+
+    @Override
+    public void setTags(final String tags)
+    {
+        this.tags = tags;
     }
 
     @Override
     public String getRandomTag() throws DataModelEntityException
     {
-        Set<String> tagList = StringHelper.convertStringValuesAsSet(tags, TAG_SEPARATOR);
+        Set<String> values = getTagSet();
 
-        if (tagList.isEmpty())
+        if (values.isEmpty())
         {
             return null;
         }
 
-        try
-        {
-            int index = SecureRandom.getInstanceStrong().nextInt(tagList.size());
-            return List.copyOf(tagList).get(index).trim();
-        }
-        catch (NoSuchAlgorithmException e)
-        {
-            throw new DataModelEntityException(e);
-        }
+        return values.stream()
+                .skip(RandomNumberGenerator.nextInt(values.size()))
+                .findFirst()
+                .orElse(null);
     }
 
     @Override
     public boolean existTag(String tag)
     {
-        return StringHelper.convertStringValuesAsSet(tags, TAG_SEPARATOR).stream().anyMatch(element -> element.equals(tag));
+        return tag != null && getTagSet().contains(tag.trim());
     }
 
     @Override
     public int getTagCount()
     {
-        return StringHelper.convertStringValuesAsSet(tags, TAG_SEPARATOR).size();
+        return getTagSet().size();
     }
 
     /**
-     * Validate the data of the underlying data model entity.
-     * @throws DataModelEntityValidationException Thrown in case errors occurred while validating a data model entity.
+     * Index the tags of the entity in the registered tag index (if any) once the entity has been loaded.
      */
-    protected final void validate() throws DataModelEntityValidationException
+    @PostLoad
+    protected void onLoadIndexTags()
     {
-        Set<ConstraintViolation<DataModelEntity>> violations = DataModelEntityValidator.VALIDATOR_FACTORY.getValidator().validate(this);
-        checkAndThrowException(violations);
+        TagIndex index = tagIndex;
+        if (index != null && id != null)
+        {
+            index.index(id, getTagSet());
+        }
+    }
 
-        postValidate();
+    /**
+     * Index the tags of the entity in the registered tag index (if any) once the entity has been persisted or updated.
+     * <br>
+     * The tags flushed to the database are indexed when the transaction commits (immediately if there is no transaction
+     * synchronization), so a rolled back change is never indexed.
+     */
+    @PostPersist
+    @PostUpdate
+    protected void indexTags()
+    {
+        TagIndex index = tagIndex;
+        if (index != null && id != null)
+        {
+            UUID identifier = id;
+            Set<String> values = Set.copyOf(getTagSet());
+            afterCommit(() -> index.index(identifier, values));
+        }
     }
 
     /**
-     * Post validate the data model entity.
-     * @throws DataModelEntityValidationException Thrown in case errors occurred while validating a data model entity.
+     * Remove the tags of the entity from the registered tag index (if any) once its deletion has been committed.
      */
-    protected void postValidate() throws DataModelEntityValidationException
+    @PostRemove
+    protected void unindexTags()
     {
-        // Should be overridden by subclasses.
+        TagIndex index = tagIndex;
+        if (index != null && id != null)
+        {
+            UUID identifier = id;
+            afterCommit(() -> index.remove(identifier));
+        }
     }
 
     /**
-     * Check if some constraints have been violated. If so, then it creates an exception with all the violations and throw it.
-     * @param violations Set of constraint violations.
-     * @throws DataModelEntityValidationException Thrown if some constraints have been violated.
+     * Run an action once the current transaction commits, or immediately if no transaction synchronization is active.
+     * @param action Action.
      */
-    private void checkAndThrowException(final Set<ConstraintViolation<DataModelEntity>> violations) throws DataModelEntityValidationException
+    private static void afterCommit(final Runnable action)
     {
-        int counter = 1;
-        StringBuilder messageBuilder = new StringBuilder();
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            action.run();
+            return;
+        }
 
-        if (!violations.isEmpty())
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization()
+        {
+            @Override
+            public void afterCommit()
+            {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Return the parsed tags, parsing the tags string again only if it has been replaced since the last parsing.
+     * @return Set of tags.
+     */
+    private Set<String> getTagSet()
+    {
+        if (tagSet == null || parsedTags != tags) // NOSONAR Reference comparison is intended!
         {
-            messageBuilder
-                    .append(violations.size())
-                    .append(" constraint(s) violated found!");
+            tagSet = new LinkedHashSet<>();
+            if (tags != null && !tags.isEmpty())
+            {
+                for (String value : tags.split(TAG_SEPARATOR))
+                {
+                    if (!value.isBlank())
+                    {
+                        tagSet.add(value.trim());
+                    }
+                }
+            }
+            parsedTags = tags;
         }
 
-        for (ConstraintViolation<DataModelEntity> violation : violations)
+        return tagSet;
+    }
+
+    /**
+     * Parse a UUID given as a string.
+     * @param uuid UUID as a string.
+     * @return UUID or <b>null</b> if the string is not a valid UUID.
+     */
+    private static UUID parseUuid(final String uuid)
+    {
+        try
+        {
+            return UUID.fromString(uuid);
+        }
+        catch (IllegalArgumentException e)
         {
-            messageBuilder.append("\n\t")
-                    .append("(").append(counter).append(") - ")
-                    .append("Attribute: '")
-                    .append(violation.getPropertyPath()).append("' ")
-                    .append(violation.getMessage());
-            counter++;
+            return null;
         }
+    }
+
+    /**
+     * Validate the data of the underlying data model entity.
+     * @throws DataModelEntityValidationException Thrown in case errors occurred while validating a data model entity.
+     */
+    protected final void validate() throws DataModelEntityValidationException
+    {
+        validate(false);
+    }
 
-        if (!messageBuilder.isEmpty())
+    /**
+     * Validate the data of the underlying data model entity.
+     * @param failFast Is the validation stopped at the first violated constraint?
+     * @throws DataModelEntityValidationException Thrown in case errors occurred while validating a data model entity.
+     */
+    protected final void validate(final boolean failFast) throws DataModelEntityValidationException
+    {
+        Set<ConstraintViolation<DataModelEntity>> violations = DataModelEntityValidator.validate(this, failFast);
+        if (!violations.isEmpty())
         {
-            throw new DataModelEntityValidationException(messageBuilder.toString());
+            throw new DataModelEntityValidationException(DataModelEntityValidator.format(violations));
         }
+
+        postValidate();
+    }
+
+    /**
+     * Post validate the data model entity.
+     * @throws DataModelEntityValidationException Thrown in case errors occurred while validating a data model entity.
+     */
+    protected void postValidate() throws DataModelEntityValidationException
+    {
+        // Should be overridden by subclasses.
     }
 }
@@ -0,0 +1,242 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.base;
+
+import com.hemajoo.commerce.cherry.base.data.model.document.Document;
+
+import java.util.*;
+
+/**
+ * An in-memory <b>index</b> of the documents attached to a data model entity, by identifier and by name.
+ * <br>
+ * The index is a transient companion of the persistent document set of an entity: it is rebuilt when the set it has been
+ * built from is replaced (for example by the persistence layer) or has been modified behind its back, and kept in sync by the
+ * entity on each document addition and deletion. Indexed documents are linked to the entity owning the index, so they
+ * notify it when they are renamed or their identifier changes, including the documents loaded by the persistence layer.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+final class DocumentIndex
+{
+    /**
+     * Documents by identifier.
+     */
+    private final Map<UUID, Document> byId = new HashMap<>();
+
+    /**
+     * Documents by name (several documents may share the same name).
+     */
+    private final Map<String, List<Document>> byName = new HashMap<>();
+
+    /**
+     * Indexed documents (by instance, whatever their current identifier and name).
+     */
+    private final Set<Document> members = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Document set the index has been built from.
+     */
+    private Set<Document> source;
+
+    /**
+     * Number of indexed documents.
+     */
+    private int size;
+
+    /**
+     * Check if the index is stale regarding a document set.
+     * @param documents Document set.
+     * @return <b>True</b> if the index has to be rebuilt, <b>false</b> otherwise.
+     */
+    boolean isStale(final Set<Document> documents)
+    {
+        return documents != source || (documents != null && documents.size() != size);
+    }
+
+    /**
+     * Rebuild the index from a document set.
+     * @param documents Document set (can be null).
+     */
+    void rebuild(final Set<Document> documents)
+    {
+        byId.clear();
+        byName.clear();
+        members.clear();
+        size = 0;
+        source = documents;
+
+        if (documents != null)
+        {
+            for (Document document : documents)
+            {
+                add(document);
+            }
+        }
+    }
+
+    /**
+     * Index a document.
+     * @param document Document.
+     */
+    void add(final Document document)
+    {
+        if (document.getId() != null)
+        {
+            byId.put(document.getId(), document);
+        }
+
+        if (document.getName() != null)
+        {
+            byName.computeIfAbsent(document.getName(), name -> new ArrayList<>(1)).add(document);
+        }
+
+        members.add(document);
+        size++;
+    }
+
+    /**
+     * Remove a document from the index.
+     * @param document Document.
+     */
+    void remove(final Document document)
+    {
+        if (document.getId() != null)
+        {
+            byId.remove(document.getId(), document);
+        }
+
+        removeName(document, document.getName());
+        members.remove(document);
+        size--;
+    }
+
+    /**
+     * Update the index after the identifier of an indexed document has changed.
+     * @param document Document.
+     * @param oldId Previous identifier.
+     */
+    void updateId(final Document document, final UUID oldId)
+    {
+        if (oldId != null)
+        {
+            byId.remove(oldId, document);
+        }
+
+        if (document.getId() != null)
+        {
+            byId.put(document.getId(), document);
+        }
+    }
+
+    /**
+     * Update the index after the name of an indexed document has changed.
+     * @param document Document.
+     * @param oldName Previous name.
+     */
+    void updateName(final Document document, final String oldName)
+    {
+        removeName(document, oldName);
+
+        if (document.getName() != null)
+        {
+            byName.computeIfAbsent(document.getName(), name -> new ArrayList<>(1)).add(document);
+        }
+    }
+
+    /**
+     * Return a document given its identifier.
+     * @param id Identifier.
+     * @return Document if found, <b>null</b> otherwise.
+     */
+    Document getById(final UUID id)
+    {
+        return byId.get(id);
+    }
+
+    /**
+     * Return the first document having a given name.
+     * @param name Name.
+     * @return Document if found, <b>null</b> otherwise.
+     */
+    Document getByName(final String name)
+    {
+        List<Document> documents = byName.get(name);
+        return documents == null ? null : documents.get(0);
+    }
+
+    /**
+     * Return the documents having a given name.
+     * @param name Name.
+     * @return List of documents (can be empty).
+     */
+    List<Document> getAllByName(final String name)
+    {
+        List<Document> documents = byName.get(name);
+        return documents == null ? Collections.emptyList() : new ArrayList<>(documents);
+    }
+
+    /**
+     * Check if an identifier is indexed.
+     * @param id Identifier.
+     * @return <b>True</b> if a document has this identifier, <b>false</b> otherwise.
+     */
+    boolean containsId(final UUID id)
+    {
+        return byId.containsKey(id);
+    }
+
+    /**
+     * Check if a name is indexed.
+     * @param name Name.
+     * @return <b>True</b> if a document has this name, <b>false</b> otherwise.
+     */
+    boolean containsName(final String name)
+    {
+        return byName.containsKey(name);
+    }
+
+    /**
+     * Check if a document (instance) is indexed.
+     * @param document Document.
+     * @return <b>True</b> if the document is indexed, <b>false</b> otherwise.
+     */
+    boolean contains(final Document document)
+    {
+        return members.contains(document);
+    }
+
+    /**
+     * Remove a document from the name index.
+     * @param document Document.
+     * @param name Name the document is indexed with.
+     */
+    private void removeName(final Document document, final String name)
+    {
+        if (name == null)
+        {
+            return;
+        }
+
+        List<Document> documents = byName.get(name);
+        if (documents != null)
+        {
+            documents.removeIf(element -> element == document);
+            if (documents.isEmpty())
+            {
+                byName.remove(name);
+            }
+        }
+    }
+}
@@ -103,6 +103,24 @@ public interface IDataModelEntity extends IStatusEntity, IIdentity, Referable
      */
     <T extends IDataModelEntity> void setParent(T parent) throws DataModelEntityException;
 
+    /**
+     * Return the parent entity identifier.
+     * @return Parent identifier if set, <b>null</b> otherwise.
+     */
+    UUID getParentId();
+
+    /**
+     * Return the identity of the parent entity.
+     * @return Parent identity if set, <b>null</b> otherwise.
+     */
+    IIdentity getParentIdentity();
+
+    /**
+     * Set the parent entity for this entity given its identity (can be null), the parent being resolved on demand.
+     * @param identity Parent identity.
+     */
+    void setParentIdentity(final IIdentity identity);
+
     /**
      * Return the parent type.
      * @return DataModelEntity type representing the parent type.
@@ -264,7 +282,12 @@ public interface IDataModelEntity extends IStatusEntity, IIdentity, Referable
 
     /**
      * Return the document tags.
+     * <br>
+     * The returned set is a read-only view of the parsed tags, so it cannot be used to modify the tags anymore: use
+     * {@link #addTag(String)} and {@link #deleteTag(String)} instead. The view reflects the tags added or deleted later on,
+     * but not the tags replaced by {@link #setTags(String)}.
      * @return Document tags.
+     * @throws UnsupportedOperationException Thrown when trying to modify the returned set.
      */
     Set<String> getTags();
 
@@ -0,0 +1,45 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.base.fetch;
+
+import lombok.Getter;
+
+/**
+ * Enumeration providing the <b>lazy relationships</b> of a data model entity that can be fetched on demand.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public enum EntityFetchType
+{
+    /**
+     * Documents attached to the entity.
+     */
+    DOCUMENTS("documents");
+
+    /**
+     * Name of the relationship attribute.
+     */
+    @Getter
+    private final String attribute;
+
+    /**
+     * Create a new entity fetch type.
+     * @param attribute Name of the relationship attribute.
+     */
+    EntityFetchType(final String attribute)
+    {
+        this.attribute = attribute;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.base.fetch;
+
+import com.hemajoo.commerce.cherry.base.data.model.base.DataModelEntity;
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+
+import javax.persistence.EntityGraph;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Helper class to build and apply the <b>fetch graphs</b> of the data model entities.
+ * <br>
+ * The relationships of the data model entities are lazy so list views only load what they display. A fetch graph loads a
+ * chosen set of relationships in the same query instead, for example: {@code EntityGraphs.find(em, Document.class, id,
+ * EntityFetchType.DOCUMENTS)}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@UtilityClass
+public final class EntityGraphs
+{
+    /**
+     * Query hint of a fetch graph (relationships not in the graph are loaded lazily).
+     */
+    public static final String HINT_FETCH_GRAPH = "javax.persistence.fetchgraph";
+
+    /**
+     * Create a fetch graph for an entity type.
+     * @param <T> Entity type.
+     * @param entityManager Entity manager.
+     * @param type Entity class.
+     * @param fetches Relationships to fetch.
+     * @return Entity graph.
+     */
+    public static <T extends DataModelEntity> EntityGraph<T> of(final @NonNull EntityManager entityManager, final @NonNull Class<T> type, final EntityFetchType... fetches)
+    {
+        EntityGraph<T> graph = entityManager.createEntityGraph(type);
+
+        if (fetches != null)
+        {
+            for (EntityFetchType fetch : fetches)
+            {
+                graph.addAttributeNodes(fetch.getAttribute());
+            }
+        }
+
+        return graph;
+    }
+
+    /**
+     * Create the query hints to apply a fetch graph.
+     * @param <T> Entity type.
+     * @param entityManager Entity manager.
+     * @param type Entity class.
+     * @param fetches Relationships to fetch.
+     * @return Query hints.
+     */
+    public static <T extends DataModelEntity> Map<String, Object> hints(final @NonNull EntityManager entityManager, final @NonNull Class<T> type, final EntityFetchType... fetches)
+    {
+        return Map.of(HINT_FETCH_GRAPH, of(entityManager, type, fetches));
+    }
+
+    /**
+     * Find an entity by its identifier fetching the given relationships.
+     * @param <T> Entity type.
+     * @param entityManager Entity manager.
+     * @param type Entity class.
+     * @param id Entity identifier.
+     * @param fetches Relationships to fetch.
+     * @return Entity or <b>null</b> if not found.
+     */
+    public static <T extends DataModelEntity> T find(final @NonNull EntityManager entityManager, final @NonNull Class<T> type, final @NonNull UUID id, final EntityFetchType... fetches)
+    {
+        return entityManager.find(type, id, hints(entityManager, type, fetches));
+    }
+
+    /**
+     * Apply a fetch graph to a query.
+     * @param <T> Entity type.
+     * @param entityManager Entity manager.
+     * @param query Query.
+     * @param type Entity class.
+     * @param fetches Relationships to fetch.
+     * @return Query.
+     */
+    public static <T extends DataModelEntity> TypedQuery<T> apply(final @NonNull EntityManager entityManager, final @NonNull TypedQuery<T> query, final @NonNull Class<T> type, final EntityFetchType... fetches)
+    {
+        return query.setHint(HINT_FETCH_GRAPH, of(entityManager, type, fetches));
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.base.identity;
+
+import com.hemajoo.commerce.cherry.base.data.model.base.DataModelEntity;
+import com.hemajoo.commerce.cherry.base.data.model.base.IDataModelEntity;
+import lombok.NonNull;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+/**
+ * An {@link IdentityResolver} loading the entities through a JPA <b>entity manager</b>.
+ * <br>
+ * Entities are looked up by identifier and entity type, so an identity never resolves to an entity of another type. Using a
+ * shared entity manager (see {@link org.springframework.orm.jpa.SharedEntityManagerCreator}) resolves the entities from the
+ * persistence context of the current transaction.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public final class EntityManagerIdentityResolver implements IdentityResolver
+{
+    /**
+     * Entity manager.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * Create a new entity manager identity resolver.
+     * @param entityManager Entity manager (should be a shared, thread-safe, entity manager).
+     */
+    public EntityManagerIdentityResolver(final @NonNull EntityManager entityManager)
+    {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public IDataModelEntity resolve(final IIdentity identity)
+    {
+        if (identity == null || identity.getId() == null)
+        {
+            return null;
+        }
+
+        if (identity.getEntityType() == null)
+        {
+            return entityManager.find(DataModelEntity.class, identity.getId());
+        }
+
+        List<DataModelEntity> entities = entityManager.createQuery("SELECT e FROM DataModelEntity e WHERE e.id = :id AND e.entityType = :type", DataModelEntity.class)
+                .setParameter("id", identity.getId())
+                .setParameter("type", identity.getEntityType())
+                .setMaxResults(1)
+                .getResultList();
+
+        return entities.isEmpty() ? null : entities.get(0);
+    }
+}
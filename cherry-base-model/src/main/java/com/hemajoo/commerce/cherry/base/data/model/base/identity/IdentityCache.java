@@ -0,0 +1,152 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.base.identity;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.hemajoo.commerce.cherry.base.data.model.base.IDataModelEntity;
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * An identity-keyed <b>cache</b> of data model entities, resolving the missing entities through a pluggable
+ * {@link IdentityResolver}.
+ * <br>
+ * Entities are softly referenced by the cache so they can be reclaimed by the garbage collector under memory pressure, which
+ * lets batch jobs hold a large number of entities referencing their parent by identity without retaining their ancestors.
+ * <br>
+ * Unlike the persistence context of a transaction, the cache outlives transactions, so a cached entity may be detached when
+ * it is returned. The {@link EntityManagerIdentityResolver} is registered as the resolver of the cache by the data model
+ * configuration.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Log4j2
+@UtilityClass
+public final class IdentityCache
+{
+    /**
+     * Maximum number of cached entities.
+     */
+    public static final int MAXIMUM_SIZE = 10_000;
+
+    /**
+     * Entities by identity.
+     */
+    private static final Cache<IIdentity, IDataModelEntity> CACHE = CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .softValues()
+            .build();
+
+    /**
+     * Identity resolver (can be null).
+     */
+    private static volatile IdentityResolver resolver;
+
+    /**
+     * Return the identity resolver.
+     * @return Identity resolver or <b>null</b> if none is registered.
+     */
+    public static IdentityResolver getResolver()
+    {
+        return resolver;
+    }
+
+    /**
+     * Register the identity resolver used to resolve the entities not found in the cache.
+     * @param resolver Identity resolver (null to only resolve cached entities).
+     */
+    public static void setResolver(final IdentityResolver resolver)
+    {
+        IdentityCache.resolver = resolver;
+    }
+
+    /**
+     * Resolve an entity given its identity, first from the cache then through the registered resolver.
+     * @param identity Entity identity.
+     * @return Entity or <b>null</b> if the entity cannot be resolved.
+     */
+    public static IDataModelEntity resolve(final IIdentity identity)
+    {
+        if (identity == null || identity.getId() == null)
+        {
+            return null;
+        }
+
+        IIdentity key = new Identity(identity);
+        IDataModelEntity entity = CACHE.getIfPresent(key);
+        if (entity != null)
+        {
+            return entity;
+        }
+
+        IdentityResolver current = resolver;
+        if (current == null)
+        {
+            return null;
+        }
+
+        entity = current.resolve(key);
+        if (entity != null)
+        {
+            CACHE.put(key, entity);
+        }
+        else
+        {
+            LOGGER.debug(String.format("Cannot resolve entity with identity: %s", key));
+        }
+
+        return entity;
+    }
+
+    /**
+     * Put an entity in the cache.
+     * @param entity Entity (ignored if it has no identifier yet).
+     */
+    public static void put(final @NonNull IDataModelEntity entity)
+    {
+        if (entity.getId() != null)
+        {
+            CACHE.put(new Identity(entity.getIdentity()), entity);
+        }
+    }
+
+    /**
+     * Remove an entity from the cache.
+     * @param identity Entity identity.
+     */
+    public static void invalidate(final @NonNull IIdentity identity)
+    {
+        CACHE.invalidate(new Identity(identity));
+    }
+
+    /**
+     * Remove all the entities from the cache.
+     */
+    public static void clear()
+    {
+        CACHE.invalidateAll();
+    }
+
+    /**
+     * Return the number of cached entities.
+     * @return Number of entities.
+     */
+    public static long size()
+    {
+        return CACHE.size();
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.base.identity;
+
+import com.hemajoo.commerce.cherry.base.data.model.base.IDataModelEntity;
+
+/**
+ * Resolve a data model entity given its <b>identity</b>.
+ * <br>
+ * Resolvers are used to load on demand the entities only referenced by their identity, such as the parent of an entity.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface IdentityResolver
+{
+    /**
+     * Resolve an entity given its identity.
+     * @param identity Entity identity.
+     * @return Entity or <b>null</b> if no entity exists with this identity.
+     */
+    IDataModelEntity resolve(final IIdentity identity);
+}
@@ -0,0 +1,106 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.base.identity;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.mapping.Column;
+import org.hibernate.mapping.Table;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.type.CustomType;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.Type;
+
+import java.util.Iterator;
+
+/**
+ * Hibernate <b>integrator</b> sizing the columns mapped by the {@link UuidType} according to the configured
+ * {@link UuidStorageType}.
+ * <br>
+ * A user type cannot declare the length of its columns, so without this integrator the schema generation would create
+ * 255 bytes (or characters) long columns. Primary keys as well as the foreign keys referencing them are sized, which
+ * requires the storage type to be set before the Hibernate session factory is built.
+ * <br>
+ * The integrator is registered through the <b>META-INF/services/org.hibernate.integrator.spi.Integrator</b> file.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public class UuidColumnIntegrator implements Integrator
+{
+    @Override
+    public void integrate(final Metadata metadata, final SessionFactoryImplementor sessionFactory, final SessionFactoryServiceRegistry serviceRegistry)
+    {
+        int length = getColumnLength(UuidType.getStorageType());
+
+        if (length <= 0)
+        {
+            return; // Native UUID columns have no length!
+        }
+
+        for (Table table : metadata.collectTableMappings())
+        {
+            Iterator<Column> columns = table.getColumnIterator();
+            while (columns.hasNext())
+            {
+                Column column = columns.next();
+                if (column.getValue() != null && isUuidType(metadata, column.getValue().getType()))
+                {
+                    column.setLength(length);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void disintegrate(final SessionFactoryImplementor sessionFactory, final SessionFactoryServiceRegistry serviceRegistry)
+    {
+        // Nothing to do!
+    }
+
+    /**
+     * Return the length of the columns holding a UUID for a given storage type.
+     * @param storageType UUID storage type.
+     * @return Column length, <b>0</b> if the columns have no length.
+     */
+    public static int getColumnLength(final UuidStorageType storageType)
+    {
+        switch (storageType)
+        {
+            case CHAR:
+                return UuidType.CHAR_LENGTH;
+
+            case BINARY:
+                return UuidType.BINARY_LENGTH;
+
+            case NATIVE:
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Check if a type is mapped by the {@link UuidType}, either directly or as the identifier of a referenced entity.
+     * @param metadata Metadata.
+     * @param type Type.
+     * @return <b>True</b> if the type is mapped by the UUID type, <b>false</b> otherwise.
+     */
+    private static boolean isUuidType(final Metadata metadata, final Type type)
+    {
+        Type resolved = type instanceof EntityType ? ((EntityType) type).getIdentifierOrUniqueKeyType(metadata) : type;
+
+        return resolved instanceof CustomType && ((CustomType) resolved).getUserType() instanceof UuidType;
+    }
+}
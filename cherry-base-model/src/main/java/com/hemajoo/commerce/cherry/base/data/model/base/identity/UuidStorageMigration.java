@@ -0,0 +1,102 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.base.identity;
+
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Utility class providing the <b>SQL</b> statements migrating a UUID column from one {@link UuidStorageType} to another.
+ * <br>
+ * Statements are meant to be embedded in database migration scripts. All the columns holding a given UUID (primary key and
+ * foreign keys referencing it) must be migrated together, foreign key constraints being dropped before and re-created after
+ * the migration.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@UtilityClass
+public final class UuidStorageMigration
+{
+    /**
+     * Pattern of a valid table or column name.
+     */
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    /**
+     * Enumeration providing values for the supported <b>databases</b>.
+     * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+     * @version 1.0.0
+     */
+    public enum Database
+    {
+        /**
+         * H2 database.
+         */
+        H2,
+
+        /**
+         * PostgreSQL database.
+         */
+        POSTGRESQL
+    }
+
+    /**
+     * Return the statements migrating a UUID column stored as characters to a given storage type.
+     * @param database Database.
+     * @param table Table name.
+     * @param column Column name.
+     * @param target Target storage type.
+     * @return List of SQL statements (empty if there is nothing to migrate).
+     */
+    public static List<String> fromChar(final @NonNull Database database, final @NonNull String table, final @NonNull String column, final @NonNull UuidStorageType target)
+    {
+        checkIdentifier(table);
+        checkIdentifier(column);
+
+        if (target == UuidStorageType.CHAR)
+        {
+            return List.of();
+        }
+
+        if (database == Database.POSTGRESQL)
+        {
+            return target == UuidStorageType.NATIVE
+                    ? List.of(String.format("ALTER TABLE %s ALTER COLUMN %s TYPE UUID USING %s::UUID", table, column, column))
+                    : List.of(String.format("ALTER TABLE %s ALTER COLUMN %s TYPE BYTEA USING DECODE(REPLACE(%s, '-', ''), 'hex')", table, column, column));
+        }
+
+        // H2 converts strings to UUIDs, and UUIDs to their 16 bytes binary representation.
+        return target == UuidStorageType.NATIVE
+                ? List.of(String.format("ALTER TABLE %s ALTER COLUMN %s SET DATA TYPE UUID", table, column))
+                : List.of(
+                        String.format("ALTER TABLE %s ALTER COLUMN %s SET DATA TYPE UUID", table, column),
+                        String.format("ALTER TABLE %s ALTER COLUMN %s SET DATA TYPE BINARY(%s)", table, column, UuidType.BINARY_LENGTH));
+    }
+
+    /**
+     * Check a table or column name is a valid SQL identifier.
+     * @param identifier Identifier.
+     */
+    private static void checkIdentifier(final String identifier)
+    {
+        if (!IDENTIFIER.matcher(identifier).matches())
+        {
+            throw new IllegalArgumentException(String.format("Invalid SQL identifier: '%s'", identifier));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.base.identity;
+
+/**
+ * Enumeration providing values for the <b>storage types</b> of the UUID columns mapped by the {@link UuidType}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public enum UuidStorageType
+{
+    /**
+     * UUIDs are stored as 36 characters strings (legacy storage).
+     */
+    CHAR,
+
+    /**
+     * UUIDs are stored as 16 bytes binaries (<b>BINARY(16)</b>, <b>BYTEA</b>).
+     */
+    BINARY,
+
+    /**
+     * UUIDs are stored using the native UUID type of the database (for example <b>UUID</b> in PostgreSQL).
+     */
+    NATIVE
+}
@@ -0,0 +1,235 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.base.identity;
+
+import lombok.NonNull;
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.usertype.UserType;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Hibernate <b>user type</b> mapping a {@link UUID} to a column whose storage type is configurable.
+ * <br>
+ * Values are always written using the configured {@link UuidStorageType}, but are read whatever their storage (string,
+ * binary or native), so a database can be migrated from one storage type to another while the application is running.
+ * <br>
+ * The storage type must be set (see {@link #setStorageType(UuidStorageType)}) before the Hibernate session factory is built,
+ * the {@link UuidColumnIntegrator} sizing the UUID columns according to it.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public class UuidType implements UserType
+{
+    /**
+     * Name of the type.
+     */
+    public static final String NAME = "cherry-uuid";
+
+    /**
+     * Length (in bytes) of a binary UUID.
+     */
+    public static final int BINARY_LENGTH = 16;
+
+    /**
+     * Length (in characters) of a UUID stored as a string.
+     */
+    public static final int CHAR_LENGTH = 36;
+
+    /**
+     * Storage type of the UUID columns.
+     */
+    private static volatile UuidStorageType storageType = UuidStorageType.CHAR;
+
+    /**
+     * Return the storage type of the UUID columns.
+     * @return UUID storage type.
+     */
+    public static UuidStorageType getStorageType()
+    {
+        return storageType;
+    }
+
+    /**
+     * Set the storage type of the UUID columns.
+     * @param type UUID storage type.
+     */
+    public static void setStorageType(final @NonNull UuidStorageType type)
+    {
+        storageType = type;
+    }
+
+    /**
+     * Convert a UUID to its binary representation.
+     * @param uuid UUID.
+     * @return Binary UUID.
+     */
+    public static byte[] toBytes(final @NonNull UUID uuid)
+    {
+        return ByteBuffer.allocate(BINARY_LENGTH)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    /**
+     * Convert a binary representation to a UUID.
+     * @param bytes Binary UUID.
+     * @return UUID.
+     */
+    public static UUID fromBytes(final @NonNull byte[] bytes)
+    {
+        if (bytes.length < BINARY_LENGTH)
+        {
+            throw new IllegalArgumentException(String.format("Invalid binary UUID length: %s", bytes.length));
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    @Override
+    public int[] sqlTypes()
+    {
+        switch (storageType)
+        {
+            case BINARY:
+                return new int[] { Types.VARBINARY };
+
+            case NATIVE:
+                return new int[] { Types.OTHER };
+
+            case CHAR:
+            default:
+                return new int[] { Types.VARCHAR };
+        }
+    }
+
+    @Override
+    public Class<UUID> returnedClass()
+    {
+        return UUID.class;
+    }
+
+    @Override
+    public boolean equals(Object x, Object y)
+    {
+        return Objects.equals(x, y);
+    }
+
+    @Override
+    public int hashCode(Object x)
+    {
+        return Objects.hashCode(x);
+    }
+
+    @Override
+    public Object nullSafeGet(ResultSet resultSet, String[] names, SharedSessionContractImplementor session, Object owner) throws SQLException
+    {
+        Object value = resultSet.getObject(names[0]);
+
+        if (value == null)
+        {
+            return null;
+        }
+
+        if (value instanceof UUID)
+        {
+            return value;
+        }
+
+        if (value instanceof byte[])
+        {
+            return fromBytes((byte[]) value);
+        }
+
+        try
+        {
+            return UUID.fromString(value.toString().trim());
+        }
+        catch (IllegalArgumentException e)
+        {
+            throw new HibernateException(String.format("Cannot convert value: '%s' of column: '%s' to a UUID", value, names[0]), e);
+        }
+    }
+
+    @Override
+    public void nullSafeSet(PreparedStatement statement, Object value, int index, SharedSessionContractImplementor session) throws SQLException
+    {
+        int sqlType = sqlTypes()[0];
+
+        if (value == null)
+        {
+            statement.setNull(index, sqlType);
+            return;
+        }
+
+        UUID uuid = (UUID) value;
+
+        switch (storageType)
+        {
+            case BINARY:
+                statement.setBytes(index, toBytes(uuid));
+                break;
+
+            case NATIVE:
+                statement.setObject(index, uuid); // Drivers map UUIDs to their native type, OTHER would be a serialized object for some of them!
+                break;
+
+            case CHAR:
+            default:
+                statement.setString(index, uuid.toString());
+                break;
+        }
+    }
+
+    @Override
+    public Object deepCopy(Object value)
+    {
+        return value; // UUIDs are immutable!
+    }
+
+    @Override
+    public boolean isMutable()
+    {
+        return false;
+    }
+
+    @Override
+    public Serializable disassemble(Object value)
+    {
+        return (Serializable) value;
+    }
+
+    @Override
+    public Object assemble(Serializable cached, Object owner)
+    {
+        return cached;
+    }
+
+    @Override
+    public Object replace(Object original, Object target, Object owner)
+    {
+        return original;
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.base.query;
+
+import com.hemajoo.commerce.cherry.base.data.model.base.IDataModelEntity;
+import com.hemajoo.commerce.cherry.base.data.model.base.identity.IIdentity;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * A compiled <b>entity query</b>, the conjunction of a list of query conditions.
+ * <br>
+ * Each condition is compiled once into a predicate specialized for its operator, bound to the accessor of its field and to
+ * its already converted values, so evaluating a query against an entity neither converts values nor uses reflection. Null
+ * field values never match, as with SQL, and string conditions are case-sensitive.
+ * @param <T> Entity type.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public final class EntityQuery<T extends IDataModelEntity> implements Predicate<T>
+{
+    /**
+     * Query conditions.
+     */
+    @Getter
+    private final List<QueryCondition> conditions;
+
+    /**
+     * Compiled predicate.
+     */
+    private final Predicate<IDataModelEntity> predicate;
+
+    /**
+     * Create a new entity query.
+     * @param conditions Query conditions.
+     */
+    private EntityQuery(final List<QueryCondition> conditions)
+    {
+        this.conditions = List.copyOf(conditions);
+
+        Predicate<IDataModelEntity> compiled = entity -> true;
+        for (QueryCondition condition : this.conditions)
+        {
+            compiled = compiled.and(compile(condition));
+        }
+        this.predicate = compiled;
+    }
+
+    /**
+     * Compile a list of query conditions.
+     * @param conditions Query conditions (an empty list matches all entities).
+     * @param <T> Entity type.
+     * @return Entity query.
+     */
+    public static <T extends IDataModelEntity> EntityQuery<T> compile(final @NonNull List<QueryCondition> conditions)
+    {
+        return new EntityQuery<>(conditions);
+    }
+
+    /**
+     * Compile query conditions.
+     * @param conditions Query conditions.
+     * @param <T> Entity type.
+     * @return Entity query.
+     */
+    public static <T extends IDataModelEntity> EntityQuery<T> compile(final @NonNull QueryCondition... conditions)
+    {
+        return new EntityQuery<>(List.of(conditions));
+    }
+
+    @Override
+    public boolean test(final T entity)
+    {
+        return entity != null && predicate.test(entity);
+    }
+
+    /**
+     * Return the entities of a collection matching the query.
+     * @param entities Entities.
+     * @return Matching entities.
+     */
+    public List<T> filter(final @NonNull Collection<? extends T> entities)
+    {
+        return entities.stream().filter(this::test).map(entity -> (T) entity).toList();
+    }
+
+    /**
+     * Compile a query condition into a predicate.
+     * @param condition Query condition.
+     * @return Predicate.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    static Predicate<IDataModelEntity> compile(final @NonNull QueryCondition condition)
+    {
+        QueryField field = condition.getField();
+        Comparable bound = condition.getValue();
+
+        return switch (condition.getOperator())
+                {
+                    case EQUAL -> entity -> compare(field.getValue(entity), bound) == 0;
+                    case NOT_EQUAL -> entity -> {
+                        Object value = field.getValue(entity);
+                        return value != null && compare(value, bound) != 0;
+                    };
+                    case GREATER_THAN -> entity -> compare(field.getValue(entity), bound) > 0;
+                    case GREATER_THAN_EQUAL -> entity -> {
+                        Object value = field.getValue(entity);
+                        return value != null && compare(value, bound) >= 0;
+                    };
+                    case LESS_THAN -> entity -> {
+                        Object value = field.getValue(entity);
+                        return value != null && compare(value, bound) < 0;
+                    };
+                    case LESS_THAN_EQUAL -> entity -> {
+                        Object value = field.getValue(entity);
+                        return value != null && compare(value, bound) <= 0;
+                    };
+                    case BETWEEN -> {
+                        Comparable high = condition.getValues().get(1);
+                        yield entity -> {
+                            Object value = field.getValue(entity);
+                            return value != null && compare(value, bound) >= 0 && compare(value, high) <= 0;
+                        };
+                    }
+                    case CONTAINS -> {
+                        String text = (String) bound;
+                        yield entity -> field.getValue(entity) instanceof String value && value.contains(text);
+                    }
+                    case START_WITH -> {
+                        String text = (String) bound;
+                        yield entity -> field.getValue(entity) instanceof String value && value.startsWith(text);
+                    }
+                    case END_WITH -> {
+                        String text = (String) bound;
+                        yield entity -> field.getValue(entity) instanceof String value && value.endsWith(text);
+                    }
+                    case MATCH -> {
+                        Pattern pattern = toPattern((String) bound);
+                        yield entity -> field.getValue(entity) instanceof String value && pattern.matcher(value).matches();
+                    }
+                    case EQUAL_OBJECT_UUID -> entity -> {
+                        Object value = field.getValue(entity);
+                        return Objects.equals(value instanceof IIdentity identity ? identity.getId() : value, bound);
+                    };
+                };
+    }
+
+    /**
+     * Compare a field value to a condition value.
+     * @param value Field value.
+     * @param bound Condition value.
+     * @return Comparison result, or {@link Integer#MIN_VALUE} if the field value is null (never equal, nor greater).
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static int compare(final Object value, final Comparable bound)
+    {
+        if (value == null)
+        {
+            return Integer.MIN_VALUE;
+        }
+
+        return -Integer.signum(bound.compareTo(value)); // Condition value first, timestamps are compared as plain dates!
+    }
+
+    /**
+     * Convert a SQL {@code LIKE} pattern into a regular expression.
+     * @param like SQL {@code LIKE} pattern.
+     * @return Regular expression pattern.
+     */
+    static Pattern toPattern(final @NonNull String like)
+    {
+        StringBuilder regex = new StringBuilder(like.length() + 8);
+        StringBuilder literal = new StringBuilder();
+
+        for (int i = 0; i < like.length(); i++)
+        {
+            char c = like.charAt(i);
+            if (c == '%' || c == '_')
+            {
+                if (!literal.isEmpty())
+                {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '%' ? ".*" : ".");
+            }
+            else
+            {
+                literal.append(c);
+            }
+        }
+
+        if (!literal.isEmpty())
+        {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.base.query;
+
+import com.hemajoo.commerce.cherry.base.data.model.base.DataModelEntity;
+import com.hemajoo.commerce.cherry.base.data.model.base.IDataModelEntity;
+import com.hemajoo.commerce.cherry.base.data.model.base.audit.IAuditEntity;
+import lombok.NonNull;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.TupleElement;
+import javax.persistence.criteria.*;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * A <b>search service</b> translating query conditions into JPA Criteria queries over data model entities.
+ * <br>
+ * Results are sorted on {@code (createdDate, id)} and paginated by <b>keyset</b>: each page seeks the entities sorted after
+ * the {@link SearchCursor} of the previous page instead of using an {@code OFFSET}, so every page is served by a range scan
+ * of the {@code (createdDate, id)} index. Entities without a creation date (never the case for audited entities) are not
+ * searched.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public final class EntitySearchService
+{
+    /**
+     * Maximum number of results of a page.
+     */
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Hibernate hint setting the JDBC fetch size of a query.
+     */
+    private static final String HINT_FETCH_SIZE = "org.hibernate.fetchSize";
+
+    /**
+     * Hibernate hint loading the entities of a query as read-only.
+     */
+    private static final String HINT_READ_ONLY = "org.hibernate.readOnly";
+
+    /**
+     * Entity manager.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * Create a new entity search service.
+     * @param entityManager Entity manager.
+     */
+    public EntitySearchService(final @NonNull EntityManager entityManager)
+    {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Search a page of entities.
+     * @param type Entity class.
+     * @param conditions Query conditions.
+     * @param after Cursor of the previous page (<b>null</b> for the first page).
+     * @param size Maximum number of entities of the page (at most {@link #MAX_PAGE_SIZE}).
+     * @param <T> Entity type.
+     * @return Page of entities.
+     */
+    public <T extends DataModelEntity> SearchPage<T> search(final @NonNull Class<T> type, final @NonNull List<QueryCondition> conditions, final SearchCursor after, final int size)
+    {
+        checkPageSize(size);
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = builder.createQuery(type);
+        Root<T> root = query.from(type);
+
+        query.select(root)
+                .where(where(builder, root, conditions, after))
+                .orderBy(builder.asc(root.get(IAuditEntity.BASE_CREATED_DATE)), builder.asc(root.get(IDataModelEntity.BASE_ENTITY_ID)));
+
+        List<T> results = entityManager.createQuery(query).setMaxResults(size + 1).getResultList(); // One more to detect a next page!
+        if (results.size() <= size)
+        {
+            return new SearchPage<>(results, null);
+        }
+
+        List<T> content = results.subList(0, size);
+        T last = content.get(size - 1);
+
+        return new SearchPage<>(content, new SearchCursor(last.getCreatedDate(), last.getId()));
+    }
+
+    /**
+     * Search a page of entity projections holding only some attributes of the entities.
+     * @param type Entity class.
+     * @param conditions Query conditions.
+     * @param after Cursor of the previous page (<b>null</b> for the first page).
+     * @param size Maximum number of results of the page (at most {@link #MAX_PAGE_SIZE}).
+     * @param attributes Names of the entity attributes to project (the identifier and creation date are always projected).
+     * @param <T> Entity type.
+     * @return Page of projections, each projection mapping the attribute names to their values.
+     */
+    public <T extends DataModelEntity> SearchPage<Map<String, Object>> search(final @NonNull Class<T> type, final @NonNull List<QueryCondition> conditions, final SearchCursor after, final int size, final @NonNull Collection<String> attributes)
+    {
+        checkPageSize(size);
+
+        Set<String> projected = new LinkedHashSet<>();
+        projected.add(IDataModelEntity.BASE_ENTITY_ID);
+        projected.add(IAuditEntity.BASE_CREATED_DATE);
+        projected.addAll(attributes);
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<T> root = query.from(type);
+
+        List<Selection<?>> selections = new ArrayList<>(projected.size());
+        for (String attribute : projected)
+        {
+            selections.add(root.get(attribute).alias(attribute));
+        }
+
+        query.multiselect(selections)
+                .where(where(builder, root, conditions, after))
+                .orderBy(builder.asc(root.get(IAuditEntity.BASE_CREATED_DATE)), builder.asc(root.get(IDataModelEntity.BASE_ENTITY_ID)));
+
+        List<Tuple> tuples = entityManager.createQuery(query).setMaxResults(size + 1).getResultList();
+
+        List<Map<String, Object>> content = new ArrayList<>(Math.min(size, tuples.size()));
+        for (int i = 0; i < tuples.size() && i < size; i++)
+        {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (TupleElement<?> element : tuples.get(i).getElements())
+            {
+                row.put(element.getAlias(), tuples.get(i).get(element));
+            }
+            content.add(row);
+        }
+
+        if (tuples.size() <= size)
+        {
+            return new SearchPage<>(content, null);
+        }
+
+        Map<String, Object> last = content.get(size - 1);
+
+        return new SearchPage<>(content, new SearchCursor((Date) last.get(IAuditEntity.BASE_CREATED_DATE), (UUID) last.get(IDataModelEntity.BASE_ENTITY_ID)));
+    }
+
+    /**
+     * Stream all the entities matching query conditions through a database cursor, in {@code (createdDate, id)} order.
+     * <br>
+     * Entities are loaded as read-only and fetched from the database by chunks of the given fetch size as the stream is
+     * consumed. The stream must be consumed within a transaction and closed, and the caller should detach (or clear) the
+     * consumed entities to keep the persistence context small.
+     * @param type Entity class.
+     * @param conditions Query conditions.
+     * @param fetchSize JDBC fetch size.
+     * @param <T> Entity type.
+     * @return Stream of entities.
+     */
+    public <T extends DataModelEntity> Stream<T> stream(final @NonNull Class<T> type, final @NonNull List<QueryCondition> conditions, final int fetchSize)
+    {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = builder.createQuery(type);
+        Root<T> root = query.from(type);
+
+        query.select(root)
+                .where(where(builder, root, conditions, null))
+                .orderBy(builder.asc(root.get(IAuditEntity.BASE_CREATED_DATE)), builder.asc(root.get(IDataModelEntity.BASE_ENTITY_ID)));
+
+        return entityManager.createQuery(query)
+                .setHint(HINT_FETCH_SIZE, Math.max(1, fetchSize))
+                .setHint(HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    /**
+     * Build the restriction of a search: the query conditions and the keyset predicate seeking after the cursor.
+     * @param builder Criteria builder.
+     * @param root Query root.
+     * @param conditions Query conditions.
+     * @param after Cursor of the previous page (can be null).
+     * @return Predicate.
+     */
+    private static Predicate where(final CriteriaBuilder builder, final Root<?> root, final List<QueryCondition> conditions, final SearchCursor after)
+    {
+        Path<Date> createdDate = root.get(IAuditEntity.BASE_CREATED_DATE);
+        Path<UUID> id = root.get(IDataModelEntity.BASE_ENTITY_ID);
+
+        List<Predicate> predicates = new ArrayList<>(conditions.size() + 2);
+        predicates.add(builder.isNotNull(createdDate));
+        predicates.add(QueryCriteria.toPredicate(builder, root, conditions));
+
+        if (after != null)
+        {
+            // (createdDate, id) > (:createdDate, :id), expanded as row value comparisons are not portable.
+            predicates.add(builder.or(
+                    builder.greaterThan(createdDate, after.getCreatedDate()),
+                    builder.and(builder.equal(createdDate, after.getCreatedDate()), builder.greaterThan(id, after.getId()))));
+        }
+
+        return builder.and(predicates.toArray(new Predicate[0]));
+    }
+
+    /**
+     * Check a page size.
+     * @param size Page size.
+     */
+    private static void checkPageSize(final int size)
+    {
+        if (size <= 0 || size > MAX_PAGE_SIZE)
+        {
+            throw new IllegalArgumentException(String.format("Invalid page size: %s, must be in [1, %s]", size, MAX_PAGE_SIZE));
+        }
+    }
+}
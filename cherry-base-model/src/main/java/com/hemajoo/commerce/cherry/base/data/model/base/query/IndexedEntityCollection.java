@@ -0,0 +1,247 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.base.query;
+
+import com.hemajoo.commerce.cherry.base.data.model.base.IDataModelEntity;
+import lombok.NonNull;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An in-memory <b>collection</b> of data model entities queryable with {@link EntityQuery}, with optional secondary
+ * indexes on query fields.
+ * <br>
+ * When a query holds an equality, range or prefix condition on an indexed field, the most selective one resolves the
+ * candidate entities through its index and only the candidates are tested against the query, otherwise all the entities are
+ * scanned. An entity whose indexed field values change must be re-indexed using {@link #reindex(IDataModelEntity)}.
+ * <br>
+ * This class is thread-safe.
+ * @param <T> Entity type.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public final class IndexedEntityCollection<T extends IDataModelEntity>
+{
+    /**
+     * Entities.
+     */
+    private final Set<T> entities = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Secondary indexes.
+     */
+    private final List<QueryIndex<T>> indexes = new ArrayList<>();
+
+    /**
+     * Lock guarding the entities and the indexes.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Create a new indexed entity collection.
+     * @param indexedFields Query fields to index.
+     */
+    public IndexedEntityCollection(final @NonNull QueryField... indexedFields)
+    {
+        for (QueryField field : new LinkedHashSet<>(Arrays.asList(indexedFields)))
+        {
+            indexes.add(new QueryIndex<>(field));
+        }
+    }
+
+    /**
+     * Add an entity (does nothing if the entity is already in the collection).
+     * @param entity Entity.
+     */
+    public void add(final @NonNull T entity)
+    {
+        lock.writeLock().lock();
+        try
+        {
+            if (entities.add(entity))
+            {
+                indexes.forEach(index -> index.add(entity));
+            }
+        }
+        finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add entities.
+     * @param collection Entities.
+     */
+    public void addAll(final @NonNull Collection<? extends T> collection)
+    {
+        lock.writeLock().lock();
+        try
+        {
+            for (T entity : collection)
+            {
+                if (entities.add(entity))
+                {
+                    indexes.forEach(index -> index.add(entity));
+                }
+            }
+        }
+        finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove an entity.
+     * @param entity Entity.
+     * @return <b>True</b> if the entity has been removed, <b>false</b> if it was not in the collection.
+     */
+    public boolean remove(final @NonNull T entity)
+    {
+        lock.writeLock().lock();
+        try
+        {
+            if (entities.remove(entity))
+            {
+                indexes.forEach(index -> index.remove(entity));
+                return true;
+            }
+
+            return false;
+        }
+        finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-index an entity after some of its indexed field values changed.
+     * @param entity Entity.
+     */
+    public void reindex(final @NonNull T entity)
+    {
+        lock.writeLock().lock();
+        try
+        {
+            if (entities.contains(entity))
+            {
+                for (QueryIndex<T> index : indexes)
+                {
+                    index.remove(entity);
+                    index.add(entity);
+                }
+            }
+        }
+        finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove all the entities.
+     */
+    public void clear()
+    {
+        lock.writeLock().lock();
+        try
+        {
+            entities.clear();
+            indexes.forEach(QueryIndex::clear);
+        }
+        finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Return the number of entities.
+     * @return Number of entities.
+     */
+    public int size()
+    {
+        lock.readLock().lock();
+        try
+        {
+            return entities.size();
+        }
+        finally
+        {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the entities matching a query.
+     * @param query Entity query.
+     * @return Matching entities (in no particular order).
+     */
+    public List<T> find(final @NonNull EntityQuery<T> query)
+    {
+        lock.readLock().lock();
+        try
+        {
+            QueryIndex<T> selected = null;
+            QueryCondition resolved = null;
+            int best = Integer.MAX_VALUE;
+
+            for (QueryCondition condition : query.getConditions())
+            {
+                for (QueryIndex<T> index : indexes)
+                {
+                    int rank = index.rank(condition);
+                    if (rank >= 0 && rank < best)
+                    {
+                        best = rank;
+                        selected = index;
+                        resolved = condition;
+                    }
+                }
+            }
+
+            Collection<T> candidates = selected != null ? selected.lookup(resolved) : entities;
+
+            List<T> result = new ArrayList<>();
+            for (T entity : candidates)
+            {
+                if (query.test(entity))
+                {
+                    result.add(entity);
+                }
+            }
+
+            return result;
+        }
+        finally
+        {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the entities matching a list of query conditions.
+     * @param conditions Query conditions.
+     * @return Matching entities (in no particular order).
+     */
+    public List<T> find(final @NonNull List<QueryCondition> conditions)
+    {
+        return find(EntityQuery.compile(conditions));
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.base.query;
+
+import com.hemajoo.commerce.cherry.base.data.model.base.identity.IIdentity;
+import com.hemajoo.commerce.cherry.base.data.model.base.type.QueryFieldDataType;
+import com.hemajoo.commerce.cherry.base.data.model.base.type.QueryOperatorType;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Represent a query <b>condition</b> applying an operator to a field of a data model entity.
+ * <br>
+ * Condition values are converted to the data type of the field when the condition is created, so an invalid condition is
+ * rejected upfront and evaluating a condition never has to convert values. String values are accepted for all data types
+ * (dates as ISO-8601 instants, enumeration values by name).
+ * <br>
+ * The {@link QueryOperatorType#MATCH} operator expects a SQL {@code LIKE} pattern ({@code %} and {@code _} wildcards), so
+ * it has the same meaning in memory and in the database, as long as the database collation of the field is case-sensitive
+ * (see {@link QueryCriteria}).
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@ToString
+@EqualsAndHashCode
+public final class QueryCondition
+{
+    /**
+     * Query field.
+     */
+    @Getter
+    private final QueryField field;
+
+    /**
+     * Query operator.
+     */
+    @Getter
+    private final QueryOperatorType operator;
+
+    /**
+     * Condition values (two values for the {@link QueryOperatorType#BETWEEN} operator, one value otherwise).
+     */
+    @Getter
+    private final List<Comparable<?>> values;
+
+    /**
+     * Create a new query condition.
+     * @param field Query field.
+     * @param operator Query operator.
+     * @param values Converted condition values.
+     */
+    private QueryCondition(final QueryField field, final QueryOperatorType operator, final List<Comparable<?>> values)
+    {
+        this.field = field;
+        this.operator = operator;
+        this.values = values;
+    }
+
+    /**
+     * Create a query condition.
+     * @param field Query field.
+     * @param operator Query operator.
+     * @param values Condition values (two values, low and high, for the {@link QueryOperatorType#BETWEEN} operator).
+     * @return Query condition.
+     * @throws QueryException Thrown to indicate the condition is invalid.
+     */
+    public static QueryCondition of(final @NonNull QueryField field, final @NonNull QueryOperatorType operator, final @NonNull Object... values) throws QueryException
+    {
+        int expected = operator == QueryOperatorType.BETWEEN ? 2 : 1;
+        if (values.length != expected)
+        {
+            throw new QueryException(String.format("Query operator: %s on field: '%s' expects: %s value(s) but got: %s", operator, field.getName(), expected, values.length));
+        }
+
+        switch (operator)
+        {
+            case CONTAINS, START_WITH, END_WITH, MATCH:
+                if (field.getDataType() != QueryFieldDataType.STRING)
+                {
+                    throw new QueryException(String.format("Query operator: %s cannot be applied to field: '%s' of type: %s", operator, field.getName(), field.getDataType()));
+                }
+                break;
+
+            case EQUAL_OBJECT_UUID:
+                if (field.getDataType() != QueryFieldDataType.UUID)
+                {
+                    throw new QueryException(String.format("Query operator: %s cannot be applied to field: '%s' of type: %s", operator, field.getName(), field.getDataType()));
+                }
+                break;
+
+            default:
+                break;
+        }
+
+        List<Comparable<?>> converted = new ArrayList<>(values.length);
+        for (Object value : values)
+        {
+            converted.add(convert(field, value));
+        }
+
+        return new QueryCondition(field, operator, Collections.unmodifiableList(converted));
+    }
+
+    /**
+     * Create a query condition on a base query field.
+     * @param field Base query field name.
+     * @param operator Query operator.
+     * @param values Condition values.
+     * @return Query condition.
+     * @throws QueryException Thrown to indicate the condition is invalid.
+     */
+    public static QueryCondition of(final @NonNull String field, final @NonNull QueryOperatorType operator, final @NonNull Object... values) throws QueryException
+    {
+        return of(QueryField.of(field), operator, values);
+    }
+
+    /**
+     * Return the (first) condition value.
+     * @return Condition value.
+     */
+    public Comparable<?> getValue()
+    {
+        return values.get(0);
+    }
+
+    /**
+     * Convert a condition value to the data type of a field.
+     * @param field Query field.
+     * @param value Condition value.
+     * @return Converted value.
+     * @throws QueryException Thrown to indicate the value cannot be converted.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Comparable<?> convert(final QueryField field, final Object value) throws QueryException
+    {
+        if (value == null)
+        {
+            throw new QueryException(String.format("Query field: '%s' cannot be compared to a null value", field.getName()));
+        }
+
+        try
+        {
+            return switch (field.getDataType())
+                    {
+                        case STRING -> value.toString();
+                        case INTEGER -> value instanceof Number number ? Integer.valueOf(number.intValue()) : Integer.valueOf(value.toString().trim());
+                        case LONG -> value instanceof Number number ? Long.valueOf(number.longValue()) : Long.valueOf(value.toString().trim());
+                        case DOUBLE -> value instanceof Number number ? Double.valueOf(number.doubleValue()) : Double.valueOf(value.toString().trim());
+                        case FLOAT -> value instanceof Number number ? Float.valueOf(number.floatValue()) : Float.valueOf(value.toString().trim());
+                        case BOOLEAN -> value instanceof Boolean bool ? bool : Boolean.valueOf(value.toString().trim());
+                        case DATE -> toDate(value);
+                        case UUID -> toUuid(value);
+                        case ENUM -> {
+                            if (field.getEnumClass().isInstance(value))
+                            {
+                                yield (Enum<?>) value;
+                            }
+                            yield Enum.valueOf((Class) field.getEnumClass(), value.toString().trim());
+                        }
+                    };
+        }
+        catch (IllegalArgumentException | DateTimeParseException e)
+        {
+            throw new QueryException(String.format("Invalid value: '%s' for query field: '%s' of type: %s", value, field.getName(), field.getDataType()), e);
+        }
+    }
+
+    /**
+     * Convert a value to a date.
+     * @param value Value.
+     * @return Date.
+     */
+    private static Date toDate(final Object value)
+    {
+        if (value instanceof Date date)
+        {
+            return new Date(date.getTime()); // Timestamps are compared as plain dates!
+        }
+
+        if (value instanceof Instant instant)
+        {
+            return Date.from(instant);
+        }
+
+        if (value instanceof ZonedDateTime dateTime)
+        {
+            return Date.from(dateTime.toInstant());
+        }
+
+        return Date.from(Instant.parse(value.toString().trim()));
+    }
+
+    /**
+     * Convert a value to a UUID.
+     * @param value Value (a UUID, an entity identity or a UUID string).
+     * @return UUID.
+     */
+    private static UUID toUuid(final Object value)
+    {
+        if (value instanceof UUID uuid)
+        {
+            return uuid;
+        }
+
+        if (value instanceof IIdentity identity)
+        {
+            if (identity.getId() == null)
+            {
+                throw new IllegalArgumentException("Identity has no identifier!");
+            }
+            return identity.getId();
+        }
+
+        return UUID.fromString(value.toString().trim());
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.base.query;
+
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.*;
+import java.util.List;
+
+/**
+ * Helper class to translate query conditions into <b>JPA Criteria</b> predicates, so the same conditions can be evaluated
+ * in memory (see {@link EntityQuery}) or in the database.
+ * <br>
+ * String operators are translated to {@code LIKE} predicates with escaped wildcards, except {@link
+ * com.hemajoo.commerce.cherry.base.data.model.base.type.QueryOperatorType#MATCH} whose value is used as a {@code LIKE}
+ * pattern.
+ * <br>
+ * String comparisons are left to the database, so their case sensitivity depends on the collation of the column: they are
+ * case-sensitive with the default H2 or PostgreSQL collations, but not with the default MySQL or SQL Server ones, whereas
+ * {@link EntityQuery} always compares strings case-sensitively. Use a case-sensitive collation on the queried columns for
+ * both evaluations to return the same entities.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@UtilityClass
+public final class QueryCriteria
+{
+    /**
+     * Escape character of the {@code LIKE} patterns.
+     */
+    private static final char ESCAPE = '\\';
+
+    /**
+     * Translate query conditions into a JPA Criteria predicate (conjunction of the conditions).
+     * @param builder Criteria builder.
+     * @param root Query root.
+     * @param conditions Query conditions.
+     * @return Predicate.
+     */
+    public static Predicate toPredicate(final @NonNull CriteriaBuilder builder, final @NonNull Root<?> root, final @NonNull List<QueryCondition> conditions)
+    {
+        Predicate[] predicates = new Predicate[conditions.size()];
+        for (int i = 0; i < predicates.length; i++)
+        {
+            predicates[i] = toPredicate(builder, root, conditions.get(i));
+        }
+
+        return builder.and(predicates);
+    }
+
+    /**
+     * Translate query conditions into a Spring Data JPA specification.
+     * @param conditions Query conditions.
+     * @param <T> Entity type.
+     * @return Specification.
+     */
+    public static <T> Specification<T> toSpecification(final @NonNull List<QueryCondition> conditions)
+    {
+        List<QueryCondition> copy = List.copyOf(conditions);
+
+        return (root, query, builder) -> toPredicate(builder, root, copy);
+    }
+
+    /**
+     * Translate a query condition into a JPA Criteria predicate.
+     * @param builder Criteria builder.
+     * @param root Query root.
+     * @param condition Query condition.
+     * @return Predicate.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static Predicate toPredicate(final @NonNull CriteriaBuilder builder, final @NonNull Root<?> root, final @NonNull QueryCondition condition)
+    {
+        Path path = root.get(condition.getField().getName());
+        Comparable value = condition.getValue();
+
+        return switch (condition.getOperator())
+                {
+                    case EQUAL, EQUAL_OBJECT_UUID -> builder.equal(path, value);
+                    case NOT_EQUAL -> builder.notEqual(path, value);
+                    case GREATER_THAN -> builder.greaterThan(path, value);
+                    case GREATER_THAN_EQUAL -> builder.greaterThanOrEqualTo(path, value);
+                    case LESS_THAN -> builder.lessThan(path, value);
+                    case LESS_THAN_EQUAL -> builder.lessThanOrEqualTo(path, value);
+                    case BETWEEN -> builder.between(path, value, (Comparable) condition.getValues().get(1));
+                    case CONTAINS -> builder.like(path, "%" + escape((String) value) + "%", ESCAPE);
+                    case START_WITH -> builder.like(path, escape((String) value) + "%", ESCAPE);
+                    case END_WITH -> builder.like(path, "%" + escape((String) value), ESCAPE);
+                    case MATCH -> builder.like(path, (String) value);
+                };
+    }
+
+    /**
+     * Escape the wildcards of a {@code LIKE} pattern value.
+     * @param value Value.
+     * @return Escaped value.
+     */
+    private static String escape(final String value)
+    {
+        StringBuilder escaped = new StringBuilder(value.length() + 4);
+        for (int i = 0; i < value.length(); i++)
+        {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == ESCAPE)
+            {
+                escaped.append(ESCAPE);
+            }
+            escaped.append(c);
+        }
+
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.base.query;
+
+import com.hemajoo.commerce.cherry.base.data.model.base.IDataModelEntity;
+import com.hemajoo.commerce.cherry.base.data.model.base.audit.IAuditEntity;
+import com.hemajoo.commerce.cherry.base.data.model.base.status.IStatusEntity;
+import com.hemajoo.commerce.cherry.base.data.model.base.type.EntityStatusType;
+import com.hemajoo.commerce.cherry.base.data.model.base.type.EntityType;
+import com.hemajoo.commerce.cherry.base.data.model.base.type.QueryFieldDataType;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Represent a <b>queryable field</b> of a data model entity.
+ * <br>
+ * A query field binds the name of an entity attribute (as known by JPA) to its data type and to an accessor reading its value
+ * from an entity, so queries evaluated in memory never rely on reflection. The base fields of the data model entities are
+ * predefined, fields of specific entities can be defined using the builder.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@ToString(onlyExplicitlyIncluded = true)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public final class QueryField
+{
+    /**
+     * Entity identifier field.
+     */
+    public static final QueryField ID = new QueryField(IDataModelEntity.BASE_ENTITY_ID, QueryFieldDataType.UUID, null, IDataModelEntity::getId);
+
+    /**
+     * Entity type field.
+     */
+    public static final QueryField ENTITY_TYPE = new QueryField(IDataModelEntity.BASE_ENTITY_TYPE, QueryFieldDataType.ENUM, EntityType.class, IDataModelEntity::getEntityType);
+
+    /**
+     * Entity name field.
+     */
+    public static final QueryField NAME = new QueryField(IDataModelEntity.BASE_NAME, QueryFieldDataType.STRING, null, IDataModelEntity::getName);
+
+    /**
+     * Entity description field.
+     */
+    public static final QueryField DESCRIPTION = new QueryField(IDataModelEntity.BASE_DESCRIPTION, QueryFieldDataType.STRING, null, IDataModelEntity::getDescription);
+
+    /**
+     * Entity reference field.
+     */
+    public static final QueryField REFERENCE = new QueryField(IDataModelEntity.BASE_REFERENCE, QueryFieldDataType.STRING, null, IDataModelEntity::getReference);
+
+    /**
+     * Parent entity identifier field.
+     */
+    public static final QueryField PARENT_ID = new QueryField(IDataModelEntity.BASE_PARENT_ID, QueryFieldDataType.UUID, null, IDataModelEntity::getParentId);
+
+    /**
+     * Parent entity type field.
+     */
+    public static final QueryField PARENT_TYPE = new QueryField(IDataModelEntity.BASE_PARENT_TYPE, QueryFieldDataType.ENUM, EntityType.class, IDataModelEntity::getParentType);
+
+    /**
+     * Entity status type field.
+     */
+    public static final QueryField STATUS_TYPE = new QueryField(IStatusEntity.BASE_STATUS_TYPE, QueryFieldDataType.ENUM, EntityStatusType.class, IDataModelEntity::getStatusType);
+
+    /**
+     * Entity inactivity date field.
+     */
+    public static final QueryField INACTIVE_SINCE = new QueryField("inactiveSince", QueryFieldDataType.DATE, null, IDataModelEntity::getInactiveSince);
+
+    /**
+     * Entity creation date field.
+     */
+    public static final QueryField CREATED_DATE = new QueryField(IAuditEntity.BASE_CREATED_DATE, QueryFieldDataType.DATE, null, IDataModelEntity::getCreatedDate);
+
+    /**
+     * Entity modification date field.
+     */
+    public static final QueryField MODIFIED_DATE = new QueryField(IAuditEntity.BASE_MODIFIED_DATE, QueryFieldDataType.DATE, null, IDataModelEntity::getModifiedDate);
+
+    /**
+     * Entity creator field.
+     */
+    public static final QueryField CREATED_BY = new QueryField(IAuditEntity.BASE_CREATED_BY, QueryFieldDataType.STRING, null, IDataModelEntity::getCreatedBy);
+
+    /**
+     * Entity modifier field.
+     */
+    public static final QueryField MODIFIED_BY = new QueryField(IAuditEntity.BASE_MODIFIED_BY, QueryFieldDataType.STRING, null, IDataModelEntity::getModifiedBy);
+
+    /**
+     * Base query fields indexed by name.
+     */
+    private static final Map<String, QueryField> BASE_FIELDS = Stream.of(ID, ENTITY_TYPE, NAME, DESCRIPTION, REFERENCE, PARENT_ID, PARENT_TYPE, STATUS_TYPE, INACTIVE_SINCE, CREATED_DATE, MODIFIED_DATE, CREATED_BY, MODIFIED_BY)
+            .collect(Collectors.toUnmodifiableMap(QueryField::getName, Function.identity()));
+
+    /**
+     * Field name (name of the entity attribute).
+     */
+    @Getter
+    @ToString.Include
+    @EqualsAndHashCode.Include
+    private final String name;
+
+    /**
+     * Field data type.
+     */
+    @Getter
+    @ToString.Include
+    @EqualsAndHashCode.Include
+    private final QueryFieldDataType dataType;
+
+    /**
+     * Enumeration class of the field (only for fields of type {@link QueryFieldDataType#ENUM}).
+     */
+    @Getter
+    private final Class<? extends Enum> enumClass;
+
+    /**
+     * Accessor reading the value of the field from an entity.
+     */
+    private final Function<? super IDataModelEntity, ?> accessor;
+
+    /**
+     * Create a new query field.
+     * @param name Field name (name of the entity attribute).
+     * @param dataType Field data type.
+     * @param enumClass Enumeration class (required for fields of type {@link QueryFieldDataType#ENUM}).
+     * @param accessor Accessor reading the value of the field from an entity.
+     */
+    @Builder(setterPrefix = "with")
+    public QueryField(final @NonNull String name, final @NonNull QueryFieldDataType dataType, final Class<? extends Enum> enumClass, final @NonNull Function<? super IDataModelEntity, ?> accessor)
+    {
+        if (dataType == QueryFieldDataType.ENUM && enumClass == null)
+        {
+            throw new IllegalArgumentException(String.format("Query field: '%s' of type: ENUM requires an enumeration class!", name));
+        }
+
+        this.name = name;
+        this.dataType = dataType;
+        this.enumClass = enumClass;
+        this.accessor = accessor;
+    }
+
+    /**
+     * Return a base query field given its name.
+     * @param name Field name.
+     * @return Query field.
+     * @throws QueryException Thrown to indicate the field is not a base query field.
+     */
+    public static QueryField of(final @NonNull String name) throws QueryException
+    {
+        QueryField field = BASE_FIELDS.get(name);
+        if (field == null)
+        {
+            throw new QueryException(String.format("Unknown query field: '%s'", name));
+        }
+
+        return field;
+    }
+
+    /**
+     * Read the value of the field from an entity.
+     * @param entity Entity.
+     * @return Field value (can be null).
+     */
+    public Object getValue(final @NonNull IDataModelEntity entity)
+    {
+        return accessor.apply(entity);
+    }
+}
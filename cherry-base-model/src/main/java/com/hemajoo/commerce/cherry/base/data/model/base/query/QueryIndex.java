@@ -0,0 +1,180 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.base.query;
+
+import com.hemajoo.commerce.cherry.base.data.model.base.IDataModelEntity;
+import com.hemajoo.commerce.cherry.base.data.model.base.identity.IIdentity;
+import com.hemajoo.commerce.cherry.base.data.model.base.type.QueryFieldDataType;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.*;
+
+/**
+ * A secondary <b>index</b> of entities on the values of a query field.
+ * <br>
+ * Entities are kept in a sorted map keyed by their field value, so equality, range and (for string fields) prefix
+ * conditions resolve their candidate entities without scanning. Entities with a null field value are not indexed since they
+ * never match any of these conditions. This class is not thread-safe.
+ * @param <T> Entity type.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+final class QueryIndex<T extends IDataModelEntity>
+{
+    /**
+     * Indexed query field.
+     */
+    @Getter
+    private final QueryField field;
+
+    /**
+     * Entities by field value.
+     */
+    private final NavigableMap<Comparable<Object>, Set<T>> entries = new TreeMap<>();
+
+    /**
+     * Indexed field value of each entity (an entity value may change after it has been indexed).
+     */
+    private final Map<T, Comparable<Object>> values = new IdentityHashMap<>();
+
+    /**
+     * Create a new query index.
+     * @param field Indexed query field.
+     */
+    QueryIndex(final @NonNull QueryField field)
+    {
+        this.field = field;
+    }
+
+    /**
+     * Index an entity.
+     * @param entity Entity.
+     */
+    @SuppressWarnings("unchecked")
+    void add(final @NonNull T entity)
+    {
+        Object value = field.getValue(entity);
+        if (value instanceof IIdentity identity)
+        {
+            value = identity.getId();
+        }
+
+        if (value instanceof Date date && date.getClass() != Date.class)
+        {
+            value = new Date(date.getTime()); // Timestamps are indexed as plain dates!
+        }
+
+        if (value instanceof Comparable<?> comparable)
+        {
+            values.put(entity, (Comparable<Object>) comparable);
+            entries.computeIfAbsent((Comparable<Object>) comparable, key -> Collections.newSetFromMap(new IdentityHashMap<>())).add(entity);
+        }
+    }
+
+    /**
+     * Remove an entity from the index.
+     * @param entity Entity.
+     */
+    void remove(final @NonNull T entity)
+    {
+        Comparable<Object> value = values.remove(entity);
+        if (value != null)
+        {
+            Set<T> set = entries.get(value);
+            set.remove(entity);
+            if (set.isEmpty())
+            {
+                entries.remove(value);
+            }
+        }
+    }
+
+    /**
+     * Remove all the entities from the index.
+     */
+    void clear()
+    {
+        entries.clear();
+        values.clear();
+    }
+
+    /**
+     * Check if a query condition can be resolved by the index.
+     * @param condition Query condition.
+     * @return Selectivity rank of the condition (lower is more selective) or -1 if the index cannot resolve it.
+     */
+    int rank(final @NonNull QueryCondition condition)
+    {
+        if (!condition.getField().equals(field))
+        {
+            return -1;
+        }
+
+        return switch (condition.getOperator())
+                {
+                    case EQUAL, EQUAL_OBJECT_UUID -> 0;
+                    case BETWEEN -> 1;
+                    case START_WITH -> field.getDataType() == QueryFieldDataType.STRING ? 1 : -1;
+                    case GREATER_THAN, GREATER_THAN_EQUAL, LESS_THAN, LESS_THAN_EQUAL -> 2;
+                    default -> -1;
+                };
+    }
+
+    /**
+     * Return the candidate entities of a query condition.
+     * @param condition Query condition (must be resolvable by the index, see {@link #rank(QueryCondition)}).
+     * @return Candidate entities.
+     */
+    @SuppressWarnings("unchecked")
+    Collection<T> lookup(final @NonNull QueryCondition condition)
+    {
+        Comparable<Object> bound = (Comparable<Object>) condition.getValue();
+
+        return switch (condition.getOperator())
+                {
+                    case EQUAL, EQUAL_OBJECT_UUID -> entries.getOrDefault(bound, Collections.emptySet());
+                    case BETWEEN -> {
+                        Comparable<Object> high = (Comparable<Object>) condition.getValues().get(1);
+                        yield bound.compareTo(high) > 0 ? Collections.emptyList() : flatten(entries.subMap(bound, true, high, true));
+                    }
+                    case START_WITH -> {
+                        Comparable<Object> upper = (Comparable<Object>) (Object) (bound.toString() + Character.MAX_VALUE);
+                        yield flatten(entries.subMap(bound, true, upper, false));
+                    }
+                    case GREATER_THAN -> flatten(entries.tailMap(bound, false));
+                    case GREATER_THAN_EQUAL -> flatten(entries.tailMap(bound, true));
+                    case LESS_THAN -> flatten(entries.headMap(bound, false));
+                    case LESS_THAN_EQUAL -> flatten(entries.headMap(bound, true));
+                    default -> throw new IllegalArgumentException(String.format("Query condition: %s cannot be resolved by index on field: '%s'", condition, field.getName()));
+                };
+    }
+
+    /**
+     * Flatten the entities of a range of index entries.
+     * @param range Index entries.
+     * @return Entities.
+     */
+    private List<T> flatten(final SortedMap<Comparable<Object>, Set<T>> range)
+    {
+        List<T> entities = new ArrayList<>();
+        for (Set<T> set : range.values())
+        {
+            entities.addAll(set);
+        }
+
+        return entities;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.base.query;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Represent a <b>keyset cursor</b> of an entity search, the sort key {@code (createdDate, id)} of the last entity of a page.
+ * <br>
+ * The next page is fetched by seeking the entities sorted after this key, instead of skipping the entities of the previous
+ * pages with an {@code OFFSET}, so fetching a page costs the same whatever its position. Cursors are exchanged with clients
+ * as opaque URL-safe tokens.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@ToString
+@EqualsAndHashCode
+public final class SearchCursor
+{
+    /**
+     * Creation date of the last entity of the page.
+     */
+    private final long createdDate;
+
+    /**
+     * Identifier of the last entity of the page.
+     */
+    @Getter
+    private final UUID id;
+
+    /**
+     * Create a new search cursor.
+     * @param createdDate Creation date of the last entity of the page.
+     * @param id Identifier of the last entity of the page.
+     */
+    public SearchCursor(final @NonNull Date createdDate, final @NonNull UUID id)
+    {
+        this.createdDate = createdDate.getTime();
+        this.id = id;
+    }
+
+    /**
+     * Return the creation date of the last entity of the page.
+     * @return Creation date.
+     */
+    public Date getCreatedDate()
+    {
+        return new Date(createdDate);
+    }
+
+    /**
+     * Encode the cursor as an opaque token.
+     * @return Token.
+     */
+    public String encode()
+    {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((createdDate + ":" + id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decode a cursor from its token.
+     * @param token Token (as returned by {@link #encode()}).
+     * @return Search cursor.
+     * @throws QueryException Thrown to indicate the token is invalid.
+     */
+    public static SearchCursor decode(final @NonNull String token) throws QueryException
+    {
+        try
+        {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            int separator = value.indexOf(':');
+
+            return new SearchCursor(new Date(Long.parseLong(value.substring(0, separator))), UUID.fromString(value.substring(separator + 1)));
+        }
+        catch (IllegalArgumentException | IndexOutOfBoundsException e)
+        {
+            throw new QueryException(String.format("Invalid search cursor: '%s'", token), e);
+        }
+    }
+}
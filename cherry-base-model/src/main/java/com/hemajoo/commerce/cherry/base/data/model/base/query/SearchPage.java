@@ -0,0 +1,62 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.base.query;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Represent a <b>page</b> of the results of an entity search.
+ * @param <T> Result type (entity or projection).
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@ToString
+public final class SearchPage<T>
+{
+    /**
+     * Results of the page.
+     */
+    @Getter
+    private final List<T> content;
+
+    /**
+     * Cursor of the next page (<b>null</b> if this page is the last one).
+     */
+    @Getter
+    private final SearchCursor next;
+
+    /**
+     * Create a new search page.
+     * @param content Results of the page.
+     * @param next Cursor of the next page (can be null).
+     */
+    SearchPage(final List<T> content, final SearchCursor next)
+    {
+        this.content = List.copyOf(content);
+        this.next = next;
+    }
+
+    /**
+     * Check if another page follows this page.
+     * @return <b>True</b> if another page follows, <b>false</b> otherwise.
+     */
+    public boolean hasNext()
+    {
+        return next != null;
+    }
+}
@@ -27,10 +27,10 @@ import com.hemajoo.commerce.cherry.base.utilities.helper.string.StringHelper;
 import lombok.NonNull;
 
 import java.io.File;
-import java.time.Instant;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.random.RandomGenerator;
 
 /**
  * Provide an abstract implementation of a data model entity <b>randomizer</b> used to randomly generate data model entities.
@@ -40,9 +40,19 @@ import java.util.*;
 public abstract class AbstractDataModelEntityRandomizer
 {
     /**
-     * Test file names.
+     * Lower bound of the randomly generated dates.
      */
-    private static final List<String> FILENAMES = new ArrayList<>();
+    private static final Date DATE_START = Date.from(ZonedDateTime.of(1970, 1, 1, 0, 0, 0, 1_000_000, ZoneId.of("Europe/Paris")).toInstant());
+
+    /**
+     * Maximum length of a description.
+     */
+    private static final int DESCRIPTION_MAX_LENGTH = 255;
+
+    /**
+     * Test file names (loaded on first use).
+     */
+    private static volatile List<String> filenames;
 
     /**
      * Faker generator.
@@ -59,6 +69,11 @@ public abstract class AbstractDataModelEntityRandomizer
      */
     protected static final RandomEnumGenerator GENERATOR_DOCUMENT_TYPE = new RandomEnumGenerator(DocumentType.class);
 
+    /**
+     * Unseeded random contexts, one per thread as random contexts are not thread-safe and costly to create.
+     */
+    private static final ThreadLocal<RandomContext> THREAD_CONTEXT = ThreadLocal.withInitial(() -> new RandomContext(new Date()));
+
     /**
      * Creates a new base entity randomizer.
      */
@@ -67,6 +82,18 @@ public abstract class AbstractDataModelEntityRandomizer
         // Empty!
     }
 
+    /**
+     * Return the unseeded random context of the current thread, its upper bound of the generated dates set to now.
+     * @return Random context.
+     */
+    protected static RandomContext getThreadContext()
+    {
+        RandomContext context = THREAD_CONTEXT.get();
+        context.setNow(new Date());
+
+        return context;
+    }
+
     /**
      * Returns a random document type.
      * @return Document type.
@@ -77,6 +104,17 @@ public abstract class AbstractDataModelEntityRandomizer
         return (DocumentType) GENERATOR_DOCUMENT_TYPE.generate();
     }
 
+    /**
+     * Returns a random document type drawn from a given random number generator.
+     * @param random Random number generator.
+     * @return Document type.
+     * @throws GeneratorException Thrown to indicate an error occurred trying to generate a random value.
+     */
+    public static DocumentType getRandomDocumentType(final @NonNull RandomGenerator random) throws GeneratorException
+    {
+        return (DocumentType) GENERATOR_DOCUMENT_TYPE.generate(random);
+    }
+
     /**
      * Returns a random entity sttaus type.
      * @return Status type.
@@ -87,6 +125,17 @@ public abstract class AbstractDataModelEntityRandomizer
         return (EntityStatusType) GENERATOR_STATUS_TYPE.generate();
     }
 
+    /**
+     * Returns a random entity status type drawn from a given random number generator.
+     * @param random Random number generator.
+     * @return Status type.
+     * @throws GeneratorException Thrown to indicate an error occurred trying to generate a random value.
+     */
+    public static EntityStatusType getRandomStatusType(final @NonNull RandomGenerator random) throws GeneratorException
+    {
+        return (EntityStatusType) GENERATOR_STATUS_TYPE.generate(random);
+    }
+
     /**
      * Returns a random name.
      * @return Name.
@@ -158,31 +207,53 @@ public abstract class AbstractDataModelEntityRandomizer
      */
     public static <T extends IDataModelEntity> void populateBaseFields(final @NonNull T parent) throws GeneratorException
     {
-        final Instant dateEnd = Instant.now();
-        final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS z");
-        final ZonedDateTime zonedDateTime = ZonedDateTime.parse("1970-01-01 00:00:00.001 Europe/Paris", formatter);
+        populateBaseFields(parent, FAKER, RandomNumberGenerator.generator(), new Date());
+    }
+
+    /**
+     * Populate the base fields of a data model entity with random values drawn from a given random context.
+     * @param parent Parent entity.
+     * @param context Random context.
+     * @param <T> Entity type.
+     * @throws GeneratorException Thrown to indicate an error occurred trying to generate a random value.
+     */
+    public static <T extends IDataModelEntity> void populateBaseFields(final @NonNull T parent, final @NonNull RandomContext context) throws GeneratorException
+    {
+        populateBaseFields(parent, context.getFaker(), context.getRandom(), context.getNow());
+    }
 
-        String description = FAKER.hitchhikersGuideToTheGalaxy().marvinQuote();
+    /**
+     * Populate the base fields of a data model entity with random values.
+     * @param parent Parent entity.
+     * @param faker Faker generator.
+     * @param random Random number generator.
+     * @param dateEnd Upper bound of the generated dates.
+     * @param <T> Entity type.
+     * @throws GeneratorException Thrown to indicate an error occurred trying to generate a random value.
+     */
+    private static <T extends IDataModelEntity> void populateBaseFields(final T parent, final Faker faker, final RandomGenerator random, final Date dateEnd) throws GeneratorException
+    {
+        String description = faker.hitchhikersGuideToTheGalaxy().marvinQuote();
 
-        if (description.length() > 255)
+        if (description.length() > DESCRIPTION_MAX_LENGTH)
         {
-            description = description.substring(1, 255);
+            description = description.substring(1, DESCRIPTION_MAX_LENGTH);
         }
 
         parent.setDescription(description);
-        parent.setReference(FAKER.ancient().hero());
-        parent.setTags(FAKER.animal().name() + ", " + FAKER.animal().name());
-        parent.setStatusType(getRandomStatusType());
+        parent.setReference(faker.ancient().hero());
+        parent.setTags(faker.animal().name() + ", " + faker.animal().name());
+        parent.setStatusType(getRandomStatusType(random));
 
         if (parent.getStatusType() == EntityStatusType.INACTIVE)
         {
-            parent.setInactiveSince(FAKER.date().between(Date.from(zonedDateTime.toInstant()), Date.from(dateEnd)));
+            parent.setInactiveSince(faker.date().between(DATE_START, dateEnd));
         }
 
-        parent.setCreatedBy(FAKER.internet().emailAddress());
-        parent.setModifiedBy(FAKER.internet().emailAddress());
-        parent.setCreatedDate(FAKER.date().between(Date.from(zonedDateTime.toInstant()), Date.from(dateEnd)));
-        parent.setModifiedDate(FAKER.date().between(parent.getCreatedDate(), Date.from(dateEnd)));
+        parent.setCreatedBy(faker.internet().emailAddress());
+        parent.setModifiedBy(faker.internet().emailAddress());
+        parent.setCreatedDate(faker.date().between(DATE_START, dateEnd));
+        parent.setModifiedDate(faker.date().between(parent.getCreatedDate(), dateEnd));
     }
 
     /**
@@ -196,6 +267,18 @@ public abstract class AbstractDataModelEntityRandomizer
         return list.get(RandomNumberGenerator.nextInt(0, list.size() -1));
     }
 
+    /**
+     * Return a random element from a given list drawn from a given random number generator.
+     * @param list List.
+     * @param random Random number generator.
+     * @param <T> Element type.
+     * @return Random element.
+     */
+    public static <T> T getRandomElement(final @NonNull List<T> list, final @NonNull RandomGenerator random)
+    {
+        return list.get(random.nextInt(list.size()));
+    }
+
     /**
      * Return a random test filename.
      * @return Test filename.
@@ -203,16 +286,45 @@ public abstract class AbstractDataModelEntityRandomizer
      */
     public static String getRandomFilename() throws FileException
     {
-        if (FILENAMES.isEmpty())
+        return AbstractDataModelEntityRandomizer.getRandomElement(getFilenames());
+    }
+
+    /**
+     * Return a random test filename drawn from a given random number generator.
+     * @param random Random number generator.
+     * @return Test filename.
+     * @throws FileException Thrown to indicate an error occurred while trying to access a file.
+     */
+    public static String getRandomFilename(final @NonNull RandomGenerator random) throws FileException
+    {
+        return AbstractDataModelEntityRandomizer.getRandomElement(getFilenames(), random);
+    }
+
+    /**
+     * Return the test filenames, listing the test files on first use.
+     * @return Test filenames (sorted so that random draws are reproducible).
+     * @throws FileException Thrown to indicate an error occurred while trying to access a file.
+     */
+    private static List<String> getFilenames() throws FileException
+    {
+        List<String> names = filenames;
+        if (names == null)
         {
-            // Load the test files.
-            File file = FileHelper.getFile("./media");
-            for (File element : Objects.requireNonNull(file.listFiles()))
+            synchronized (AbstractDataModelEntityRandomizer.class)
             {
-                FILENAMES.add(element.getAbsolutePath());
+                names = filenames;
+                if (names == null)
+                {
+                    File file = FileHelper.getFile("./media");
+                    names = Arrays.stream(Objects.requireNonNull(file.listFiles()))
+                            .map(File::getAbsolutePath)
+                            .sorted()
+                            .toList();
+                    filenames = names;
+                }
             }
         }
 
-        return AbstractDataModelEntityRandomizer.getRandomElement(FILENAMES);
+        return names;
     }
 }
@@ -0,0 +1,40 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.base.random;
+
+import com.hemajoo.commerce.cherry.base.commons.exception.CherryException;
+import lombok.NonNull;
+
+/**
+ * Create the data model entities generated by a {@link BulkEntityGenerator}.
+ * <br>
+ * Factories are invoked from the worker threads of the generator, so implementations must be thread-safe. All random values
+ * must be drawn from the given random context for the generated entities to be reproducible.
+ * @param <T> Entity type.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface BulkEntityFactory<T>
+{
+    /**
+     * Create an entity.
+     * @param context Random context (seeded for this entity).
+     * @param index Index of the entity in the generated sequence.
+     * @return Entity.
+     * @throws CherryException Thrown to indicate an error occurred while creating the entity.
+     */
+    T create(final @NonNull RandomContext context, final long index) throws CherryException;
+}
@@ -0,0 +1,247 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.base.random;
+
+import com.hemajoo.commerce.cherry.base.commons.exception.CherryException;
+import com.hemajoo.commerce.cherry.base.utilities.generator.GeneratorException;
+import com.hemajoo.commerce.cherry.base.utilities.generator.RandomNumberGenerator;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A <b>bulk generator</b> of random data model entities, used to create large data sets such as load-test data sets.
+ * <br>
+ * Entities are generated in batches by a pool of worker threads, each worker owning its own {@link RandomContext} (faker and
+ * random number generators), and streamed to a {@link BulkEntitySink} so a generation never holds all the entities in
+ * memory. The random context is re-seeded before each entity from the generator seed and the entity index, so a given seed
+ * always generates the same entities whatever the number of worker threads.
+ * @param <T> Entity type.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Log4j2
+public final class BulkEntityGenerator<T>
+{
+    /**
+     * Default number of entities per batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /**
+     * Golden ratio increment used to derive the entity seeds.
+     */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Number of entities to generate.
+     */
+    @Getter
+    private final long count;
+
+    /**
+     * Generator seed.
+     */
+    @Getter
+    private final long seed;
+
+    /**
+     * Number of worker threads.
+     */
+    @Getter
+    private final int parallelism;
+
+    /**
+     * Number of entities per batch.
+     */
+    @Getter
+    private final int batchSize;
+
+    /**
+     * Upper bound of the generated dates.
+     */
+    private final Date now;
+
+    /**
+     * Entity factory.
+     */
+    private final BulkEntityFactory<T> factory;
+
+    /**
+     * Create a new bulk entity generator.
+     * @param count Number of entities to generate.
+     * @param seed Generator seed (defaults to a random seed, see {@link #getSeed()}).
+     * @param parallelism Number of worker threads (defaults to the number of available processors).
+     * @param batchSize Number of entities per batch (defaults to {@link #DEFAULT_BATCH_SIZE}).
+     * @param now Upper bound of the generated dates (defaults to the current time, must be set for reproducible dates).
+     * @param factory Entity factory.
+     */
+    @Builder(setterPrefix = "with")
+    public BulkEntityGenerator(final long count, final Long seed, final int parallelism, final int batchSize, final Instant now, final @NonNull BulkEntityFactory<T> factory)
+    {
+        if (count < 0)
+        {
+            throw new IllegalArgumentException(String.format("Invalid number of entities to generate: %s", count));
+        }
+
+        this.count = count;
+        this.seed = seed != null ? seed : RandomNumberGenerator.generator().nextLong();
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.batchSize = batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+        this.now = Date.from(now != null ? now : Instant.now());
+        this.factory = factory;
+    }
+
+    /**
+     * Generate the entities and stream them, batch by batch, to a sink.
+     * @param sink Entity sink.
+     * @return Number of generated entities.
+     * @throws GeneratorException Thrown to indicate an error occurred while generating or consuming the entities.
+     */
+    public long generate(final @NonNull BulkEntitySink<T> sink) throws GeneratorException
+    {
+        long start = System.nanoTime();
+        long batches = (count + batchSize - 1) / batchSize;
+        int workers = (int) Math.max(1, Math.min(parallelism, batches));
+
+        AtomicLong next = new AtomicLong();
+        AtomicLong generated = new AtomicLong();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try
+        {
+            List<Future<?>> futures = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++)
+            {
+                futures.add(executor.submit(() -> {
+                    RandomContext context = new RandomContext(now);
+                    long batch;
+                    while (failure.get() == null && (batch = next.getAndIncrement()) < batches)
+                    {
+                        try
+                        {
+                            long offset = batch * batchSize;
+                            sink.accept(offset, generate(context, offset, (int) Math.min(batchSize, count - offset)));
+                            generated.addAndGet(Math.min(batchSize, count - offset));
+                        }
+                        catch (CherryException | RuntimeException e)
+                        {
+                            failure.compareAndSet(null, e);
+                        }
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures)
+            {
+                future.get();
+            }
+        }
+        catch (ExecutionException e)
+        {
+            throw new GeneratorException(String.format("Cannot generate entities due to: %s", e.getCause().getMessage()), e);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new GeneratorException(String.format("Generation of entities interrupted after: %s entities", generated.get()), e);
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        if (failure.get() != null)
+        {
+            throw new GeneratorException(String.format("Cannot generate entities due to: %s", failure.get().getMessage()), failure.get());
+        }
+
+        LOGGER.info(String.format("Generated: %s entities (seed: %s, workers: %s) in: %s ms", generated.get(), seed, workers, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+
+        return generated.get();
+    }
+
+    /**
+     * Generate the entities into a list, ordered by their index.
+     * <br>
+     * Only meant for small data sets, use {@link #generate(BulkEntitySink)} to stream large data sets.
+     * @return Generated entities.
+     * @throws GeneratorException Thrown to indicate an error occurred while generating the entities.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> generate() throws GeneratorException
+    {
+        if (count > Integer.MAX_VALUE - 8)
+        {
+            throw new GeneratorException(String.format("Cannot generate: %s entities into a list, use a sink instead!", count));
+        }
+
+        Object[] entities = new Object[(int) count];
+        generate((offset, batch) -> {
+            for (int i = 0; i < batch.size(); i++)
+            {
+                entities[(int) offset + i] = batch.get(i);
+            }
+        });
+
+        return (List<T>) Arrays.asList(entities);
+    }
+
+    /**
+     * Generate a batch of entities.
+     * @param context Random context of the worker thread.
+     * @param offset Index of the first entity of the batch.
+     * @param size Number of entities of the batch.
+     * @return Batch of entities.
+     * @throws CherryException Thrown to indicate an error occurred while creating an entity.
+     */
+    private List<T> generate(final RandomContext context, final long offset, final int size) throws CherryException
+    {
+        List<T> batch = new ArrayList<>(size);
+
+        for (long index = offset; index < offset + size; index++)
+        {
+            context.reseed(seedOf(index));
+            batch.add(factory.create(context, index));
+        }
+
+        return batch;
+    }
+
+    /**
+     * Derive the seed of an entity from the generator seed and the entity index ({@code SplitMix64} finalizer).
+     * @param index Entity index.
+     * @return Entity seed.
+     */
+    private long seedOf(final long index)
+    {
+        long z = seed + (index + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.base.random;
+
+import com.hemajoo.commerce.cherry.base.commons.exception.CherryException;
+import lombok.NonNull;
+
+import java.util.List;
+
+/**
+ * Consume the batches of data model entities generated by a {@link BulkEntityGenerator}, for example to persist them.
+ * <br>
+ * Sinks are invoked from the worker threads of the generator, so implementations must be thread-safe. Batches are
+ * delivered in no particular order and must not be retained once consumed, so a generation never holds all the entities.
+ * @param <T> Entity type.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface BulkEntitySink<T>
+{
+    /**
+     * Consume a batch of entities.
+     * @param offset Index of the first entity of the batch in the generated sequence.
+     * @param batch Batch of entities.
+     * @throws CherryException Thrown to indicate an error occurred while consuming the batch.
+     */
+    void accept(final long offset, final @NonNull List<T> batch) throws CherryException;
+}
@@ -0,0 +1,101 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.base.random;
+
+import com.github.javafaker.Faker;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.Date;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * A <b>random context</b> holding the generators used to randomly generate data model entities.
+ * <br>
+ * A random context is not thread-safe and is meant to be confined to a single thread. Re-seeding it before generating an
+ * entity makes the generated entity only depend on the seed, whatever the thread generating it.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public final class RandomContext
+{
+    /**
+     * Random number generator (shared with the faker generator).
+     */
+    @Getter
+    private final Random random;
+
+    /**
+     * Faker generator.
+     */
+    @Getter
+    private final Faker faker;
+
+    /**
+     * Upper bound of the generated dates.
+     */
+    private long now;
+
+    /**
+     * Create a new random context.
+     * @param now Upper bound of the generated dates.
+     */
+    public RandomContext(final @NonNull Date now)
+    {
+        this.random = new Random();
+        this.faker = new Faker(random);
+        this.now = now.getTime();
+    }
+
+    /**
+     * Return the upper bound of the generated dates.
+     * @return Upper bound.
+     */
+    public Date getNow()
+    {
+        return new Date(now);
+    }
+
+    /**
+     * Set the upper bound of the generated dates.
+     * @param now Upper bound.
+     */
+    public void setNow(final @NonNull Date now)
+    {
+        this.now = now.getTime();
+    }
+
+    /**
+     * Re-seed the random number generator (and thus the faker generator) of the context.
+     * @param seed Seed value.
+     */
+    public void reseed(final long seed)
+    {
+        random.setSeed(seed);
+    }
+
+    /**
+     * Generate a random (version 4) UUID drawn from the random number generator of the context.
+     * @return UUID.
+     */
+    public UUID nextUuid()
+    {
+        long msb = (random.nextLong() & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+
+        return new UUID(msb, lsb);
+    }
+}
@@ -0,0 +1,471 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.base.tag;
+
+import lombok.NonNull;
+
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An in-memory <b>inverted index</b> of the tags of the data model entities.
+ * <br>
+ * Each indexed entity identifier is mapped to a dense ordinal and each tag to the bitmap of the ordinals of the entities
+ * having it, so tag queries ({@code AND}, {@code OR}, {@code NOT} and prefix) are answered by bitmap operations without
+ * loading any entity. Tags are kept sorted so a prefix query only visits the tags starting with the prefix. Ordinals of
+ * removed entities are recycled to keep the bitmaps compact.
+ * <br>
+ * The index is thread-safe: queries run concurrently under a read lock while updates take a write lock.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public final class TagIndex
+{
+    /**
+     * Entity ordinals by entity identifier.
+     */
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+
+    /**
+     * Entity identifiers by ordinal (null for a free ordinal).
+     */
+    private final List<UUID> identifiers = new ArrayList<>();
+
+    /**
+     * Tags by entity ordinal.
+     */
+    private final List<Set<String>> entityTags = new ArrayList<>();
+
+    /**
+     * Free (recyclable) ordinals.
+     */
+    private final BitSet free = new BitSet();
+
+    /**
+     * Bitmaps of entity ordinals by tag.
+     */
+    private final NavigableMap<String, BitSet> postings = new TreeMap<>();
+
+    /**
+     * Lock guarding the index.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Add a tag to an entity.
+     * @param id Entity identifier.
+     * @param tag Tag.
+     */
+    public void add(final @NonNull UUID id, final @NonNull String tag)
+    {
+        Lock write = lock.writeLock();
+        write.lock();
+        try
+        {
+            int ordinal = ordinalOf(id);
+            if (entityTags.get(ordinal).add(tag))
+            {
+                postings.computeIfAbsent(tag, key -> new BitSet()).set(ordinal);
+            }
+        }
+        finally
+        {
+            write.unlock();
+        }
+    }
+
+    /**
+     * Remove a tag from an entity.
+     * @param id Entity identifier.
+     * @param tag Tag.
+     */
+    public void remove(final @NonNull UUID id, final @NonNull String tag)
+    {
+        Lock write = lock.writeLock();
+        write.lock();
+        try
+        {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal != null && entityTags.get(ordinal).remove(tag))
+            {
+                clear(tag, ordinal);
+                if (entityTags.get(ordinal).isEmpty())
+                {
+                    release(id, ordinal);
+                }
+            }
+        }
+        finally
+        {
+            write.unlock();
+        }
+    }
+
+    /**
+     * Replace all the tags of an entity.
+     * @param id Entity identifier.
+     * @param tags Tags (an empty or null collection removes the entity from the index).
+     */
+    public void index(final @NonNull UUID id, final Collection<String> tags)
+    {
+        Lock write = lock.writeLock();
+        write.lock();
+        try
+        {
+            removeEntity(id);
+
+            if (tags != null && !tags.isEmpty())
+            {
+                int ordinal = ordinalOf(id);
+                for (String tag : tags)
+                {
+                    if (tag != null && entityTags.get(ordinal).add(tag))
+                    {
+                        postings.computeIfAbsent(tag, key -> new BitSet()).set(ordinal);
+                    }
+                }
+            }
+        }
+        finally
+        {
+            write.unlock();
+        }
+    }
+
+    /**
+     * Remove an entity from the index.
+     * @param id Entity identifier.
+     */
+    public void remove(final @NonNull UUID id)
+    {
+        Lock write = lock.writeLock();
+        write.lock();
+        try
+        {
+            removeEntity(id);
+        }
+        finally
+        {
+            write.unlock();
+        }
+    }
+
+    /**
+     * Remove all the entities from the index.
+     */
+    public void clear()
+    {
+        Lock write = lock.writeLock();
+        write.lock();
+        try
+        {
+            ordinals.clear();
+            identifiers.clear();
+            entityTags.clear();
+            free.clear();
+            postings.clear();
+        }
+        finally
+        {
+            write.unlock();
+        }
+    }
+
+    /**
+     * Return the identifiers of the entities having all the given tags.
+     * @param tags Tags.
+     * @return Entity identifiers.
+     */
+    public Set<UUID> findAllOf(final @NonNull String... tags)
+    {
+        return find(TagQuery.builder().withAllOf(Set.copyOf(Arrays.asList(tags))).build());
+    }
+
+    /**
+     * Return the identifiers of the entities having at least one of the given tags.
+     * @param tags Tags.
+     * @return Entity identifiers.
+     */
+    public Set<UUID> findAnyOf(final @NonNull String... tags)
+    {
+        return find(TagQuery.builder().withAnyOf(Set.copyOf(Arrays.asList(tags))).build());
+    }
+
+    /**
+     * Return the identifiers of the entities having at least one tag starting with the given prefix.
+     * @param prefix Tag prefix.
+     * @return Entity identifiers.
+     */
+    public Set<UUID> findByPrefix(final @NonNull String prefix)
+    {
+        return find(TagQuery.builder().withPrefix(prefix).build());
+    }
+
+    /**
+     * Return the identifiers of the entities matching a tag query.
+     * @param query Tag query.
+     * @return Entity identifiers.
+     */
+    public Set<UUID> find(final @NonNull TagQuery query)
+    {
+        Lock read = lock.readLock();
+        read.lock();
+        try
+        {
+            BitSet result = match(query);
+            Set<UUID> ids = new LinkedHashSet<>(result.cardinality() * 4 / 3 + 1);
+            for (int ordinal = result.nextSetBit(0); ordinal >= 0; ordinal = result.nextSetBit(ordinal + 1))
+            {
+                ids.add(identifiers.get(ordinal));
+            }
+
+            return ids;
+        }
+        finally
+        {
+            read.unlock();
+        }
+    }
+
+    /**
+     * Return the number of entities matching a tag query.
+     * @param query Tag query.
+     * @return Number of matching entities.
+     */
+    public int count(final @NonNull TagQuery query)
+    {
+        Lock read = lock.readLock();
+        read.lock();
+        try
+        {
+            return match(query).cardinality();
+        }
+        finally
+        {
+            read.unlock();
+        }
+    }
+
+    /**
+     * Return the indexed tags starting with a given prefix.
+     * @param prefix Tag prefix.
+     * @return Sorted set of tags.
+     */
+    public SortedSet<String> getTags(final @NonNull String prefix)
+    {
+        Lock read = lock.readLock();
+        read.lock();
+        try
+        {
+            return new TreeSet<>(withPrefix(prefix).keySet());
+        }
+        finally
+        {
+            read.unlock();
+        }
+    }
+
+    /**
+     * Return the number of indexed entities.
+     * @return Number of entities.
+     */
+    public int size()
+    {
+        Lock read = lock.readLock();
+        read.lock();
+        try
+        {
+            return ordinals.size();
+        }
+        finally
+        {
+            read.unlock();
+        }
+    }
+
+    /**
+     * Compute the bitmap of the entity ordinals matching a tag query.
+     * @param query Tag query.
+     * @return Bitmap of the matching entity ordinals (never one of the index bitmaps).
+     */
+    private BitSet match(final TagQuery query)
+    {
+        BitSet result = null;
+
+        for (String tag : query.getAllOf())
+        {
+            BitSet bits = postings.get(tag);
+            if (bits == null)
+            {
+                return new BitSet();
+            }
+
+            result = and(result, bits);
+        }
+
+        if (!query.getAnyOf().isEmpty())
+        {
+            BitSet any = new BitSet();
+            for (String tag : query.getAnyOf())
+            {
+                BitSet bits = postings.get(tag);
+                if (bits != null)
+                {
+                    any.or(bits);
+                }
+            }
+
+            result = and(result, any);
+        }
+
+        if (query.getPrefix() != null)
+        {
+            BitSet prefixed = new BitSet();
+            for (BitSet bits : withPrefix(query.getPrefix()).values())
+            {
+                prefixed.or(bits);
+            }
+
+            result = and(result, prefixed);
+        }
+
+        if (!query.isRestricted())
+        {
+            result = new BitSet(identifiers.size());
+            result.set(0, identifiers.size());
+            result.andNot(free);
+        }
+
+        for (String tag : query.getNoneOf())
+        {
+            BitSet bits = postings.get(tag);
+            if (bits != null)
+            {
+                result.andNot(bits);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Intersect a bitmap with an intermediate result.
+     * @param result Intermediate result (null if none yet).
+     * @param bits Bitmap.
+     * @return Intersection (a copy of the bitmap if there is no intermediate result yet).
+     */
+    private static BitSet and(final BitSet result, final BitSet bits)
+    {
+        if (result == null)
+        {
+            return (BitSet) bits.clone();
+        }
+
+        result.and(bits);
+        return result;
+    }
+
+    /**
+     * Return the postings of the tags starting with a given prefix.
+     * @param prefix Tag prefix.
+     * @return Postings view.
+     */
+    private SortedMap<String, BitSet> withPrefix(final String prefix)
+    {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    /**
+     * Return the ordinal of an entity, allocating one if the entity is not yet indexed.
+     * @param id Entity identifier.
+     * @return Entity ordinal.
+     */
+    private int ordinalOf(final UUID id)
+    {
+        Integer ordinal = ordinals.get(id);
+        if (ordinal != null)
+        {
+            return ordinal;
+        }
+
+        int allocated = free.nextSetBit(0);
+        if (allocated >= 0)
+        {
+            free.clear(allocated);
+            identifiers.set(allocated, id);
+            entityTags.set(allocated, new HashSet<>());
+        }
+        else
+        {
+            allocated = identifiers.size();
+            identifiers.add(id);
+            entityTags.add(new HashSet<>());
+        }
+
+        ordinals.put(id, allocated);
+        return allocated;
+    }
+
+    /**
+     * Remove an entity and all its tags from the index.
+     * @param id Entity identifier.
+     */
+    private void removeEntity(final UUID id)
+    {
+        Integer ordinal = ordinals.get(id);
+        if (ordinal != null)
+        {
+            for (String tag : entityTags.get(ordinal))
+            {
+                clear(tag, ordinal);
+            }
+
+            release(id, ordinal);
+        }
+    }
+
+    /**
+     * Clear the bit of an entity in the bitmap of a tag, dropping the tag once no entity has it anymore.
+     * @param tag Tag.
+     * @param ordinal Entity ordinal.
+     */
+    private void clear(final String tag, final int ordinal)
+    {
+        BitSet bits = postings.get(tag);
+        if (bits != null)
+        {
+            bits.clear(ordinal);
+            if (bits.isEmpty())
+            {
+                postings.remove(tag);
+            }
+        }
+    }
+
+    /**
+     * Release the ordinal of an entity.
+     * @param id Entity identifier.
+     * @param ordinal Entity ordinal.
+     */
+    private void release(final UUID id, final int ordinal)
+    {
+        ordinals.remove(id);
+        identifiers.set(ordinal, null);
+        entityTags.set(ordinal, null);
+        free.set(ordinal);
+    }
+}
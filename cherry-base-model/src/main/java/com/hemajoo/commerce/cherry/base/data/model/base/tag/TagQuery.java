@@ -0,0 +1,83 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.base.tag;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Set;
+
+/**
+ * A <b>tag query</b> to run against a {@link TagIndex}.
+ * <br>
+ * An entity matches the query if it has all the tags of {@code allOf}, at least one of the tags of {@code anyOf}, at least
+ * one tag starting with {@code prefix} and none of the tags of {@code noneOf}. Criteria left empty are ignored, a query with
+ * no positive criterion (all, any or prefix) matching all the indexed entities not excluded by {@code noneOf}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@ToString
+public final class TagQuery
+{
+    /**
+     * Tags an entity must all have.
+     */
+    @Getter
+    private final Set<String> allOf;
+
+    /**
+     * Tags an entity must have at least one of.
+     */
+    @Getter
+    private final Set<String> anyOf;
+
+    /**
+     * Tags an entity must not have.
+     */
+    @Getter
+    private final Set<String> noneOf;
+
+    /**
+     * Prefix at least one of the tags of an entity must start with.
+     */
+    @Getter
+    private final String prefix;
+
+    /**
+     * Create a new tag query.
+     * @param allOf Tags an entity must all have (AND).
+     * @param anyOf Tags an entity must have at least one of (OR).
+     * @param noneOf Tags an entity must not have (NOT).
+     * @param prefix Tag prefix.
+     */
+    @Builder(setterPrefix = "with")
+    public TagQuery(final Set<String> allOf, final Set<String> anyOf, final Set<String> noneOf, final String prefix)
+    {
+        this.allOf = allOf == null ? Set.of() : Set.copyOf(allOf);
+        this.anyOf = anyOf == null ? Set.of() : Set.copyOf(anyOf);
+        this.noneOf = noneOf == null ? Set.of() : Set.copyOf(noneOf);
+        this.prefix = prefix == null || prefix.isEmpty() ? null : prefix;
+    }
+
+    /**
+     * Check if the query has at least one positive criterion.
+     * @return <b>True</b> if the query has a positive criterion, <b>false</b> otherwise.
+     */
+    boolean isRestricted()
+    {
+        return !allOf.isEmpty() || !anyOf.isEmpty() || prefix != null;
+    }
+}
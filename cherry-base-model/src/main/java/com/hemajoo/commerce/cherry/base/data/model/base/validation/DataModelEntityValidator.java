@@ -14,21 +14,122 @@
  */
 package com.hemajoo.commerce.cherry.base.data.model.base.validation;
 
+import lombok.NonNull;
 import lombok.experimental.UtilityClass;
 
+import javax.validation.ConstraintViolation;
 import javax.validation.Validation;
+import javax.validation.Validator;
 import javax.validation.ValidatorFactory;
+import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * Validator for <b>data model entities</b>.
+ * <br>
+ * Validators are thread-safe and cache the constraint metadata of the validated classes, so the shared instances provided
+ * here must be used instead of creating a validator per validation.
  * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
  * @version 1.0.0
  */
 @UtilityClass
 public class DataModelEntityValidator
 {
+    /**
+     * Property enabling the fail-fast mode of the validation provider.
+     */
+    private static final String PROPERTY_FAIL_FAST = "hibernate.validator.fail_fast";
+
     /**
      * Validator factory.
      */
     public static final ValidatorFactory VALIDATOR_FACTORY = Validation.buildDefaultValidatorFactory();
+
+    /**
+     * Validator factory of the fail-fast validators (validation stops at the first violated constraint).
+     */
+    public static final ValidatorFactory FAIL_FAST_VALIDATOR_FACTORY = Validation.byDefaultProvider()
+            .configure()
+            .addProperty(PROPERTY_FAIL_FAST, Boolean.TRUE.toString())
+            .buildValidatorFactory();
+
+    /**
+     * Shared validator reporting all the violated constraints.
+     */
+    public static final Validator VALIDATOR = VALIDATOR_FACTORY.getValidator();
+
+    /**
+     * Shared fail-fast validator reporting only the first violated constraint.
+     */
+    public static final Validator FAIL_FAST_VALIDATOR = FAIL_FAST_VALIDATOR_FACTORY.getValidator();
+
+    /**
+     * Return the shared validator for a validation mode.
+     * @param failFast Is the validation stopped at the first violated constraint?
+     * @return Validator.
+     */
+    public static Validator getValidator(final boolean failFast)
+    {
+        return failFast ? FAIL_FAST_VALIDATOR : VALIDATOR;
+    }
+
+    /**
+     * Validate an entity.
+     * @param <T> Entity type.
+     * @param entity Entity.
+     * @param failFast Is the validation stopped at the first violated constraint?
+     * @return Set of constraint violations (empty if the entity is valid).
+     */
+    public static <T> Set<ConstraintViolation<T>> validate(final @NonNull T entity, final boolean failFast)
+    {
+        return getValidator(failFast).validate(entity);
+    }
+
+    /**
+     * Validate a collection of entities in parallel.
+     * @param <T> Entity type.
+     * @param entities Entities.
+     * @param failFast Is the validation of each entity stopped at its first violated constraint?
+     * @return Constraint violations of the invalid entities, keyed by entity instance (empty if all the entities are valid).
+     */
+    public static <T> Map<T, Set<ConstraintViolation<T>>> validateAll(final @NonNull Collection<T> entities, final boolean failFast)
+    {
+        Validator validator = getValidator(failFast);
+
+        return entities.parallelStream()
+                .map(entity -> new AbstractMap.SimpleImmutableEntry<>(entity, validator.validate(entity)))
+                .filter(entry -> !entry.getValue().isEmpty())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (first, second) -> first, IdentityHashMap::new));
+    }
+
+    /**
+     * Format a set of constraint violations to a message.
+     * @param <T> Entity type.
+     * @param violations Constraint violations.
+     * @return Message or <b>null</b> if there is no violation.
+     */
+    public static <T> String format(final @NonNull Set<ConstraintViolation<T>> violations)
+    {
+        if (violations.isEmpty())
+        {
+            return null;
+        }
+
+        int counter = 1;
+        StringBuilder messageBuilder = new StringBuilder()
+                .append(violations.size())
+                .append(" constraint(s) violated found!");
+
+        for (ConstraintViolation<T> violation : violations)
+        {
+            messageBuilder.append("\n\t")
+                    .append("(").append(counter).append(") - ")
+                    .append("Attribute: '")
+                    .append(violation.getPropertyPath()).append("' ")
+                    .append(violation.getMessage());
+            counter++;
+        }
+
+        return messageBuilder.toString();
+    }
 }
@@ -14,10 +14,26 @@
  */
 package com.hemajoo.commerce.cherry.base.data.model.configuration;
 
+import com.hemajoo.commerce.cherry.base.data.model.base.DataModelEntity;
+import com.hemajoo.commerce.cherry.base.data.model.base.identity.EntityManagerIdentityResolver;
+import com.hemajoo.commerce.cherry.base.data.model.base.identity.IdentityCache;
+import com.hemajoo.commerce.cherry.base.data.model.base.identity.IdentityResolver;
+import com.hemajoo.commerce.cherry.base.data.model.base.identity.UuidStorageType;
+import com.hemajoo.commerce.cherry.base.data.model.base.identity.UuidType;
+import com.hemajoo.commerce.cherry.base.data.model.base.tag.TagIndex;
+import com.hemajoo.commerce.cherry.base.utilities.generator.UuidGenerator;
+import com.hemajoo.commerce.cherry.base.utilities.generator.UuidGeneratorType;
 import lombok.Getter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+
+import javax.persistence.EntityManagerFactory;
 
 /**
  * Configuration for the <b>data model</b>.
@@ -29,7 +45,80 @@ import org.springframework.context.annotation.Configuration;
 @ComponentScan(basePackages = "com.hemajoo.commerce.cherry.base.data.model")
 public class DataModelConfiguration
 {
+    /**
+     * Property defining the storage type of the entity identifiers.
+     */
+    public static final String PROPERTY_ID_STORAGE_TYPE = "hemajoo.commerce.cherry.entity.id.storage-type";
+
     @Getter
     @Value("${hemajoo.commerce.cherry.entity.randomizer.generate-document-with-content}")
     private String generateDocumentWithContent;
+
+    /**
+     * Type of UUID generated for the entity identifiers.
+     */
+    @Getter
+    private UuidGeneratorType idGeneratorType;
+
+    /**
+     * Set the type of UUID generated for the entity identifiers.
+     * @param idGeneratorType UUID generator type.
+     */
+    @Value("${hemajoo.commerce.cherry.entity.id.generator-type:RANDOM}")
+    public void setIdGeneratorType(final UuidGeneratorType idGeneratorType)
+    {
+        this.idGeneratorType = idGeneratorType;
+        UuidGenerator.setDefaultType(idGeneratorType);
+    }
+
+    /**
+     * Set the storage type of the entity identifiers.
+     * <br>
+     * This is done by a bean factory post processor so that the storage type is known before the Hibernate session factory
+     * is created.
+     * @param environment Environment.
+     * @return Bean factory post processor.
+     */
+    @Bean
+    public static BeanFactoryPostProcessor uuidStorageTypeConfigurer(final Environment environment)
+    {
+        UuidStorageType type = environment.getProperty(PROPERTY_ID_STORAGE_TYPE, UuidStorageType.class, UuidStorageType.CHAR);
+
+        return beanFactory -> UuidType.setStorageType(type);
+    }
+
+    /**
+     * Create the tag index maintained by the data model entities.
+     * @return Tag index.
+     */
+    @Bean
+    public TagIndex tagIndex()
+    {
+        TagIndex index = new TagIndex();
+        DataModelEntity.setTagIndex(index);
+
+        return index;
+    }
+
+    /**
+     * Create the resolver loading the entities missing from the {@link IdentityCache}, such as the parent of a loaded entity.
+     * <br>
+     * The resolver goes through a shared entity manager, so missing parents are loaded from the persistence context of the
+     * current transaction, then kept by the cache across transactions. Without persistence layer, only the cached entities
+     * are resolved.
+     * @param entityManagerFactory Entity manager factory provider.
+     * @return Identity resolver.
+     */
+    @Bean
+    public IdentityResolver identityResolver(final ObjectProvider<EntityManagerFactory> entityManagerFactory)
+    {
+        EntityManagerFactory factory = entityManagerFactory.getIfAvailable();
+        IdentityResolver resolver = factory != null
+                ? new EntityManagerIdentityResolver(SharedEntityManagerCreator.createSharedEntityManager(factory))
+                : identity -> null;
+
+        IdentityCache.setResolver(resolver);
+
+        return resolver;
+    }
 }
@@ -20,6 +20,9 @@ import com.hemajoo.commerce.cherry.base.data.model.base.IDataModelEntity;
 import com.hemajoo.commerce.cherry.base.data.model.base.exception.DataModelEntityException;
 import com.hemajoo.commerce.cherry.base.data.model.base.type.EntityStatusType;
 import com.hemajoo.commerce.cherry.base.data.model.base.type.EntityType;
+import com.hemajoo.commerce.cherry.base.data.model.document.content.ContentCodec;
+import com.hemajoo.commerce.cherry.base.data.model.document.content.ContentSource;
+import com.hemajoo.commerce.cherry.base.data.model.document.content.IContentSource;
 import com.hemajoo.commerce.cherry.base.utilities.generator.UuidGenerator;
 import com.hemajoo.commerce.cherry.base.utilities.helper.file.FileHelper;
 import lombok.*;
@@ -43,11 +46,21 @@ import java.util.Set;
  */
 @ToString(callSuper = true)
 @EqualsAndHashCode(callSuper = true)
-@Table(name = "DOCUMENT")
+@Table(name = "DOCUMENT", indexes = @Index(name = "IDX_DOCUMENT_CREATED_DATE_ID", columnList = "CREATED_DATE, id")) // Keyset pagination (see EntitySearchService)!
 @Entity
 @EntityListeners(AuditingEntityListener.class)
 public class Document extends DataModelEntity implements IDocument
 {
+    /**
+     * MIME type detector (thread-safe).
+     */
+    private static final Tika TIKA = new Tika();
+
+    /**
+     * Size of the buffer used to detect the MIME type of a content stream.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     /**
      * Document type.
      */
@@ -112,6 +125,22 @@ public class Document extends DataModelEntity implements IDocument
     @ContentLength
     private long contentLength;
 
+    /**
+     * File content checksum ({@code SHA-256}, hexadecimal), computed when the content is ingested in the content store.
+     */
+    @Getter
+    @Setter
+    @Column(name = "CONTENT_HASH", length = 64)
+    private String contentHash;
+
+    /**
+     * Codec the content has been encoded with in the content store (<b>null</b> for contents stored before codecs were supported).
+     */
+    @Setter
+    @Enumerated(EnumType.STRING)
+    @Column(name = "CONTENT_CODEC", length = 16)
+    private ContentCodec contentCodec;
+
     /**
      * File <b>MIME</b> type.
      */
@@ -128,14 +157,14 @@ public class Document extends DataModelEntity implements IDocument
     private String contentPath;
 
     /**
-     * Document content.
+     * Document content source (opened only when the content is read).
      */
     @DiffIgnore
     @Getter
     @Transient
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
-    private transient InputStream content;
+    private transient IContentSource contentSource;
 
     /**
      * Create a new document.
@@ -239,52 +268,77 @@ public class Document extends DataModelEntity implements IDocument
 //        }
 //    }
 
-    @SuppressWarnings("java:S1163")
+    @Override
+    public ContentCodec getContentCodec()
+    {
+        return contentCodec != null ? contentCodec : ContentCodec.NONE;
+    }
+
+    /**
+     * Open a new stream on the document content. The caller is responsible for closing it.
+     * @return Document content as an input stream or <b>null</b> if the document has no content source.
+     * @throws UncheckedIOException Thrown to indicate the content cannot be opened.
+     */
+    @Override
+    public InputStream getContent()
+    {
+        try
+        {
+            return contentSource != null ? contentSource.open() : null;
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @Override
     public final void setContent(final @NonNull String filename) throws DocumentException
     {
-        File file = null;
-        InputStream stream = null;
+        File file;
 
         try
         {
             file = FileHelper.getFile(filename);
-            if (file == null)
-            {
-                throw new DocumentException(String.format("Cannot find file: '%s'", filename));
-            }
-
-            stream = new FileInputStream(file);
         }
         catch (Exception e)
         {
             throw new DocumentException(e);
         }
 
-        detectMimeType(stream);
+        if (file == null)
+        {
+            throw new DocumentException(String.format("Cannot find file: '%s'", filename));
+        }
+
+        detectMimeType(file); // Tika opens and closes the file itself!
         setExtension(FilenameUtils.getExtension(file.getAbsolutePath()));
         setFilename(FilenameUtils.getName(file.getAbsolutePath()));
-        setContent(stream);
+        setContentSource(ContentSource.of(file.toPath(), 0, file.length()), file.length());
         setOriginalFilename(file.getAbsolutePath());
     }
 
     @Override
     public void setContent(final @NonNull MultipartFile multipartFile) throws DocumentException
     {
-        try
-        {
-            this.setContent(new ByteArrayInputStream(multipartFile.getBytes()));
+        IContentSource source = ContentSource.of(multipartFile);
 
-            String name = multiPartFile.getOriginalFilename() != null ? multiPartFile.getOriginalFilename() : multiPartFile.getName();
-            if (name != null)
-            {
-                setOriginalFilename(name);
-            }
+        try (InputStream stream = new BufferedInputStream(source.open(), BUFFER_SIZE))
+        {
+            detectMimeType(stream);
         }
         catch (IOException e)
         {
             throw new DocumentException(e);
         }
+
+        setContentSource(source, multipartFile.getSize()); // Streamed, never fully loaded in memory!
+        this.multiPartFile = multipartFile;
+
+        if (source.getName() != null)
+        {
+            setOriginalFilename(source.getName());
+        }
     }
 
     @Override
@@ -295,21 +349,64 @@ public class Document extends DataModelEntity implements IDocument
 
     /**
      * Set the document content.
+     * <br>
+     * The stream can only be read once and the content length is unknown (0) until the content is ingested in the content
+     * store. Prefer a re-openable {@link IContentSource} whenever possible.
      * @param inputStream Input stream.
      * @throws DocumentException Thrown in case an error occurred while setting the document content.
      */
     public void setContent(final @NonNull InputStream inputStream) throws DocumentException
     {
-        try
+        InputStream stream = inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream, BUFFER_SIZE);
+
+        detectMimeType(stream);
+        setContentSource(ContentSource.of(stream, null), 0);
+    }
+
+    /**
+     * Set the document content given a content source. The source is only opened when the content is read.
+     * @param source Content source.
+     * @throws DocumentException Thrown in case an error occurred while setting the document content.
+     */
+    public void setContent(final @NonNull IContentSource source) throws DocumentException
+    {
+        if (!source.isReopenable())
+        {
+            throw new DocumentException("Content source must be re-openable, use setContent(InputStream) for a stream!");
+        }
+
+        try (InputStream stream = new BufferedInputStream(source.open(), BUFFER_SIZE))
         {
-            detectMimeType(inputStream);
-            this.content = inputStream;
-            this.contentLength = inputStream.available();
+            mimeType = source.getName() != null ? TIKA.detect(stream, source.getName()) : TIKA.detect(stream);
         }
         catch (IOException e)
         {
-            throw new DocumentException(e);
+            throw new DocumentContentException(String.format("Cannot detect the MIME type of content source: '%s'", source.getName()), e);
         }
+
+        setContentSource(source, Math.max(source.getLength(), 0));
+    }
+
+    /**
+     * Set the document content source and its length if known.
+     * @param source Content source.
+     * @param length Content length (0 if unknown).
+     */
+    private void setContentSource(final IContentSource source, final long length)
+    {
+        this.contentSource = source;
+        this.contentLength = length;
+        this.contentHash = null;
+    }
+
+    /**
+     * Release the pending content of the document once it has been ingested in the content store.
+     */
+    public void clearContent()
+    {
+        this.contentSource = null;
+        this.multiPartFile = null;
+        this.originalFilename = null;
     }
 
     /**
@@ -338,7 +435,7 @@ public class Document extends DataModelEntity implements IDocument
     {
         try
         {
-            mimeType = new Tika().detect(file);
+            mimeType = TIKA.detect(file);
         }
         catch (Exception e)
         {
@@ -348,6 +445,8 @@ public class Document extends DataModelEntity implements IDocument
 
     /**
      * Detect the <b>mime</b> type of the file contained in the given input stream.
+     * <br>
+     * If the stream supports marks, only its head is read and the stream is reset to its original position.
      * @param inputStream Input stream.
      * @throws DocumentContentException Thrown in case an error occurred while processing the input stream.
      */
@@ -355,7 +454,7 @@ public class Document extends DataModelEntity implements IDocument
     {
         try
         {
-            mimeType = new Tika().detect(inputStream);
+            mimeType = TIKA.detect(inputStream);
         }
         catch (Exception e)
         {
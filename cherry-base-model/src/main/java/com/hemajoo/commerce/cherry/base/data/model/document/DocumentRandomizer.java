@@ -15,12 +15,13 @@
 package com.hemajoo.commerce.cherry.base.data.model.document;
 
 import com.hemajoo.commerce.cherry.base.data.model.base.random.AbstractDataModelEntityRandomizer;
+import com.hemajoo.commerce.cherry.base.data.model.base.random.BulkEntityGenerator;
+import com.hemajoo.commerce.cherry.base.data.model.base.random.RandomContext;
 import com.hemajoo.commerce.cherry.base.utilities.generator.GeneratorException;
 import com.hemajoo.commerce.cherry.base.utilities.helper.file.FileException;
+import lombok.NonNull;
 import lombok.experimental.UtilityClass;
 
-import java.util.UUID;
-
 /**
  * Utility class providing services to randomly generate <b>document</b> data model entities.
  * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
@@ -45,6 +46,8 @@ public class DocumentRandomizer extends AbstractDataModelEntityRandomizer
 
     /**
      * Generates a new random document data model entity.
+     * <br>
+     * The document is drawn from the unseeded random context of the current thread.
      * @param withRandomId Does a random entity identifier has to be generated? <b>False</b> by default.
      * @param withContent Does a content (file) has to be attached to the document?
      * @return Random document.
@@ -52,22 +55,46 @@ public class DocumentRandomizer extends AbstractDataModelEntityRandomizer
      * @throws GeneratorException Thrown to indicate an error occurred trying to generate a random value.
      */
     public static IDocument generate(final boolean withRandomId, final boolean withContent) throws DocumentException, GeneratorException
+    {
+        return generate(withRandomId, withContent, getThreadContext());
+    }
+
+    /**
+     * Generates a new random document data model entity drawing all its random values from a given random context.
+     * <br>
+     * Used by the {@link BulkEntityGenerator} to generate reproducible documents, for example:
+     * <pre>{@code
+     * BulkEntityGenerator.<IDocument>builder()
+     *         .withCount(1_000_000)
+     *         .withSeed(42L)
+     *         .withFactory((context, index) -> DocumentRandomizer.generate(true, false, context))
+     *         .build()
+     *         .generate(sink);
+     * }</pre>
+     * @param withRandomId Does a random entity identifier has to be generated?
+     * @param withContent Does a content (file) has to be attached to the document?
+     * @param context Random context.
+     * @return Random document.
+     * @throws DocumentException Thrown to indicate an error occurred while generating a document.
+     * @throws GeneratorException Thrown to indicate an error occurred trying to generate a random value.
+     */
+    public static IDocument generate(final boolean withRandomId, final boolean withContent, final @NonNull RandomContext context) throws DocumentException, GeneratorException
     {
         IDocument document = new Document();
-        AbstractDataModelEntityRandomizer.populateBaseFields(document);
+        AbstractDataModelEntityRandomizer.populateBaseFields(document, context);
 
         if (withRandomId)
         {
-            document.setId(UUID.randomUUID());
+            document.setId(context.nextUuid());
         }
 
-        document.setName(FAKER.name().title());
+        document.setName(context.getFaker().name().title());
 
         if (withContent)
         {
             try
             {
-                document.setContent(AbstractDataModelEntityRandomizer.getRandomFilename());
+                document.setContent(AbstractDataModelEntityRandomizer.getRandomFilename(context.getRandom()));
             }
             catch (FileException e)
             {
@@ -75,8 +102,8 @@ public class DocumentRandomizer extends AbstractDataModelEntityRandomizer
             }
         }
 
-        document.setTags(FAKER.elderScrolls().creature());
-        document.setDocumentType(getRandomDocumentType());
+        document.setTags(context.getFaker().elderScrolls().creature());
+        document.setDocumentType(getRandomDocumentType(context.getRandom()));
 
         return document;
     }
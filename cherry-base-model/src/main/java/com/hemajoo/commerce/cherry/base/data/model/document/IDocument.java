@@ -16,6 +16,7 @@ package com.hemajoo.commerce.cherry.base.data.model.document;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.hemajoo.commerce.cherry.base.data.model.base.IDataModelEntity;
+import com.hemajoo.commerce.cherry.base.data.model.document.content.ContentCodec;
 import lombok.NonNull;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -84,8 +85,8 @@ public interface IDocument extends IDataModelEntity
     void setDocumentType(final DocumentType type);
 
     /**
-     * Return the content of the document.
-     * @return Document content as an input stream.
+     * Open a new stream on the content of the document. The caller is responsible for closing it.
+     * @return Document content as an input stream or <b>null</b> if the document has no content.
      */
     InputStream getContent();
 
@@ -189,6 +190,18 @@ public interface IDocument extends IDataModelEntity
      */
     void setMimeType(final @NonNull String mimeType);
 
+    /**
+     * Return the document content checksum.
+     * @return Document content checksum ({@code SHA-256}, hexadecimal) or <b>null</b> if the content has not been ingested.
+     */
+    String getContentHash();
+
+    /**
+     * Return the codec the document content has been encoded with in the content store.
+     * @return Content codec.
+     */
+    ContentCodec getContentCodec();
+
     /**
      * Return the document content path.
      * @return Document content path.
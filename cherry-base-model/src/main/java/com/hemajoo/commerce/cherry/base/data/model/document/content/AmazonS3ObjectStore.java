@@ -0,0 +1,295 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.document.content;
+
+import com.hemajoo.commerce.cherry.base.data.model.document.ContentStoreException;
+import lombok.Getter;
+import lombok.NonNull;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An {@link IMultipartObjectStore} storing the objects in an <b>Amazon S3</b> bucket (or any S3-compatible server).
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public final class AmazonS3ObjectStore implements IMultipartObjectStore
+{
+    /**
+     * HTTP status of a missing object.
+     */
+    private static final int STATUS_NOT_FOUND = 404;
+
+    /**
+     * S3 client.
+     */
+    private final S3Client client;
+
+    /**
+     * Bucket name.
+     */
+    @Getter
+    private final String bucket;
+
+    /**
+     * Create a new Amazon S3 object store.
+     * @param client S3 client (thread-safe).
+     * @param bucket Bucket name.
+     */
+    public AmazonS3ObjectStore(final @NonNull S3Client client, final @NonNull String bucket)
+    {
+        this.client = client;
+        this.bucket = bucket;
+    }
+
+    @Override
+    public boolean exists(final @NonNull String key) throws ContentStoreException
+    {
+        return size(key) >= 0;
+    }
+
+    @Override
+    public void put(final @NonNull String key, final @NonNull Path file) throws ContentStoreException
+    {
+        try
+        {
+            client.putObject(PutObjectRequest.builder().bucket(bucket).key(key).build(), RequestBody.fromFile(file));
+        }
+        catch (SdkException e)
+        {
+            throw failure("put object", key, e);
+        }
+    }
+
+    @Override
+    public void put(final @NonNull String key, final byte @NonNull [] content) throws ContentStoreException
+    {
+        try
+        {
+            client.putObject(PutObjectRequest.builder().bucket(bucket).key(key).build(), RequestBody.fromBytes(content));
+        }
+        catch (SdkException e)
+        {
+            throw failure("put object", key, e);
+        }
+    }
+
+    @Override
+    public InputStream get(final @NonNull String key) throws ContentStoreException
+    {
+        try
+        {
+            return client.getObject(GetObjectRequest.builder().bucket(bucket).key(key).build());
+        }
+        catch (NoSuchKeyException e)
+        {
+            return null;
+        }
+        catch (SdkException e)
+        {
+            throw failure("get object", key, e);
+        }
+    }
+
+    @Override
+    public void delete(final @NonNull String key) throws ContentStoreException
+    {
+        try
+        {
+            client.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(key).build());
+        }
+        catch (SdkException e)
+        {
+            throw failure("delete object", key, e);
+        }
+    }
+
+    @Override
+    public String createMultipartUpload(final @NonNull String key) throws ContentStoreException
+    {
+        try
+        {
+            return client.createMultipartUpload(CreateMultipartUploadRequest.builder().bucket(bucket).key(key).build()).uploadId();
+        }
+        catch (SdkException e)
+        {
+            throw failure("create multipart upload", key, e);
+        }
+    }
+
+    @Override
+    public String findMultipartUpload(final @NonNull String key) throws ContentStoreException
+    {
+        try
+        {
+            return client.listMultipartUploads(ListMultipartUploadsRequest.builder().bucket(bucket).prefix(key).build())
+                    .uploads()
+                    .stream()
+                    .filter(upload -> key.equals(upload.key()))
+                    .map(MultipartUpload::uploadId)
+                    .findFirst()
+                    .orElse(null);
+        }
+        catch (SdkException e)
+        {
+            throw failure("list multipart uploads", key, e);
+        }
+    }
+
+    @Override
+    public UploadedPart uploadPart(final @NonNull String key, final @NonNull String uploadId, final int number, final byte @NonNull [] data, final int length) throws ContentStoreException
+    {
+        try
+        {
+            UploadPartRequest request = UploadPartRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .partNumber(number)
+                    .contentLength((long) length)
+                    .build();
+
+            return new UploadedPart(number, client.uploadPart(request, RequestBody.fromByteBuffer(ByteBuffer.wrap(data, 0, length))).eTag(), length);
+        }
+        catch (SdkException e)
+        {
+            throw failure("upload part: " + number + " of", key, e);
+        }
+    }
+
+    @Override
+    public List<UploadedPart> listParts(final @NonNull String key, final @NonNull String uploadId) throws ContentStoreException
+    {
+        try
+        {
+            List<UploadedPart> parts = new ArrayList<>();
+            ListPartsRequest request = ListPartsRequest.builder().bucket(bucket).key(key).uploadId(uploadId).build();
+
+            for (ListPartsResponse response : client.listPartsPaginator(request))
+            {
+                response.parts().forEach(part -> parts.add(new UploadedPart(part.partNumber(), part.eTag(), part.size())));
+            }
+
+            return parts;
+        }
+        catch (SdkException e)
+        {
+            throw failure("list parts of", key, e);
+        }
+    }
+
+    @Override
+    public void completeMultipartUpload(final @NonNull String key, final @NonNull String uploadId, final @NonNull List<UploadedPart> parts) throws ContentStoreException
+    {
+        try
+        {
+            List<CompletedPart> completed = parts.stream()
+                    .map(part -> CompletedPart.builder().partNumber(part.getNumber()).eTag(part.getEtag()).build())
+                    .toList();
+
+            client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completed).build())
+                    .build());
+        }
+        catch (SdkException e)
+        {
+            throw failure("complete multipart upload", key, e);
+        }
+    }
+
+    @Override
+    public void abortMultipartUpload(final @NonNull String key, final @NonNull String uploadId) throws ContentStoreException
+    {
+        try
+        {
+            client.abortMultipartUpload(AbortMultipartUploadRequest.builder().bucket(bucket).key(key).uploadId(uploadId).build());
+        }
+        catch (SdkException e)
+        {
+            throw failure("abort multipart upload", key, e);
+        }
+    }
+
+    @Override
+    public long size(final @NonNull String key) throws ContentStoreException
+    {
+        try
+        {
+            return client.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).build()).contentLength();
+        }
+        catch (NoSuchKeyException e)
+        {
+            return -1;
+        }
+        catch (S3Exception e)
+        {
+            if (e.statusCode() == STATUS_NOT_FOUND)
+            {
+                return -1;
+            }
+
+            throw failure("read metadata of object", key, e);
+        }
+        catch (SdkException e)
+        {
+            throw failure("read metadata of object", key, e);
+        }
+    }
+
+    @Override
+    public InputStream getRange(final @NonNull String key, final long offset, final long length) throws ContentStoreException
+    {
+        if (offset < 0 || length <= 0)
+        {
+            throw new ContentStoreException(String.format("Invalid byte range: [%s, %s[ of object: '%s'", offset, offset + length, key));
+        }
+
+        try
+        {
+            return client.getObject(GetObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .range(String.format("bytes=%d-%d", offset, offset + length - 1))
+                    .build());
+        }
+        catch (SdkException e)
+        {
+            throw failure("get range of object", key, e);
+        }
+    }
+
+    /**
+     * Create the exception reporting a failed operation.
+     * @param operation Operation description.
+     * @param key Object key.
+     * @param exception Cause.
+     * @return Content store exception.
+     */
+    private ContentStoreException failure(final String operation, final String key, final SdkException exception)
+    {
+        return new ContentStoreException(String.format("Cannot %s: '%s' in bucket: '%s' due to: %s", operation, key, bucket, exception.getMessage()), exception);
+    }
+}
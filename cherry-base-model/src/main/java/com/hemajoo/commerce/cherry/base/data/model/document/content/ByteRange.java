@@ -0,0 +1,182 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.document.content;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Represent a <b>byte range</b> of a content, as requested by an HTTP {@code Range} header.
+ * <br>
+ * Only single ranges are supported, a multiple ranges request being served as the full content, as permitted by RFC 9110.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@ToString
+@EqualsAndHashCode
+public final class ByteRange
+{
+    /**
+     * Range unit prefix of an HTTP {@code Range} header.
+     */
+    private static final String BYTES_UNIT = "bytes=";
+
+    /**
+     * Offset of the first byte of the range.
+     */
+    @Getter
+    private final long offset;
+
+    /**
+     * Number of bytes of the range.
+     */
+    @Getter
+    private final long length;
+
+    /**
+     * Create a new byte range.
+     * @param offset Offset of the first byte.
+     * @param length Number of bytes.
+     */
+    private ByteRange(final long offset, final long length)
+    {
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Create a byte range.
+     * @param offset Offset of the first byte.
+     * @param length Number of bytes.
+     * @return Byte range.
+     */
+    public static ByteRange of(final long offset, final long length)
+    {
+        if (offset < 0 || length < 0)
+        {
+            throw new IllegalArgumentException(String.format("Invalid byte range: offset: %s, length: %s", offset, length));
+        }
+
+        return new ByteRange(offset, length);
+    }
+
+    /**
+     * Create a byte range covering a full content.
+     * @param size Content size.
+     * @return Byte range.
+     */
+    public static ByteRange full(final long size)
+    {
+        return of(0, size);
+    }
+
+    /**
+     * Parse an HTTP {@code Range} header against the size of a content.
+     * <br>
+     * Supported forms are {@code bytes=first-last}, {@code bytes=first-} and {@code bytes=-suffix}. A missing, malformed or
+     * multiple ranges header resolves to the full content.
+     * @param header HTTP {@code Range} header value (can be null).
+     * @param size Content size.
+     * @return Byte range or <b>null</b> if the range cannot be satisfied (HTTP status 416).
+     */
+    public static ByteRange parse(final String header, final long size)
+    {
+        if (header == null || !header.regionMatches(true, 0, BYTES_UNIT, 0, BYTES_UNIT.length()) || header.indexOf(',') >= 0)
+        {
+            return full(size);
+        }
+
+        String spec = header.substring(BYTES_UNIT.length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0)
+        {
+            return full(size);
+        }
+
+        try
+        {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+
+            if (first.isEmpty())
+            {
+                long suffix = Long.parseLong(last);
+                return suffix > 0 && size > 0 ? of(Math.max(0, size - suffix), Math.min(suffix, size)) : null;
+            }
+
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+
+            if (start >= size)
+            {
+                return null;
+            }
+
+            return end < start ? full(size) : of(start, end - start + 1);
+        }
+        catch (NumberFormatException e)
+        {
+            return full(size);
+        }
+    }
+
+    /**
+     * Return the offset of the last byte of the range.
+     * @return Offset of the last byte (inclusive), or the offset minus one for an empty range.
+     */
+    public long getEnd()
+    {
+        return offset + length - 1;
+    }
+
+    /**
+     * Check if the range covers only a part of a content.
+     * @param size Content size.
+     * @return <b>True</b> if the range is partial (HTTP status 206), <b>false</b> otherwise.
+     */
+    public boolean isPartial(final long size)
+    {
+        return offset > 0 || length < size;
+    }
+
+    /**
+     * Return the value of the HTTP {@code Content-Range} header of the range.
+     * <br>
+     * An empty range (such as the full range of an empty content) has no last byte, so only the content size is reported.
+     * @param size Content size.
+     * @return HTTP {@code Content-Range} header value.
+     */
+    public String toContentRange(final long size)
+    {
+        if (length == 0)
+        {
+            return toUnsatisfiedContentRange(size);
+        }
+
+        return String.format("bytes %d-%d/%d", offset, getEnd(), size);
+    }
+
+    /**
+     * Return the value of the HTTP {@code Content-Range} header reporting only the size of a content, as required when a
+     * range cannot be satisfied (HTTP status 416, see {@link #parse(String, long)}).
+     * @param size Content size.
+     * @return HTTP {@code Content-Range} header value.
+     */
+    public static String toUnsatisfiedContentRange(final long size)
+    {
+        return String.format("bytes */%d", size);
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.document.content;
+
+import com.hemajoo.commerce.cherry.base.data.model.document.ContentStoreException;
+import com.hemajoo.commerce.cherry.base.data.model.document.Document;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.io.input.CountingInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * A {@link IDocumentContentStore} <b>compressing</b> the contents of compressible MIME types (text, XML, JSON, etc.) before
+ * storing them in an underlying content store, and transparently decompressing them when they are read.
+ * <br>
+ * The codec used to store a content is recorded on its document, so contents stored with another codec (or before this
+ * store was introduced) remain readable. The content length of a document always is the length of its raw content.
+ * <br>
+ * The MIME type of a document must be set before its content is stored, as done by {@link DocumentContentIngestor}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Log4j2
+public final class CompressingDocumentContentStore implements IDocumentContentStore
+{
+    /**
+     * Default compressible MIME types (in addition to the {@code text/*} types and the {@code +xml} and {@code +json} suffixed types).
+     */
+    public static final Set<String> DEFAULT_MIME_TYPES = Set.of(
+            "application/xml",
+            "application/json",
+            "application/javascript",
+            "application/x-javascript",
+            "application/x-yaml",
+            "application/sql",
+            "application/rtf",
+            "application/postscript",
+            "application/vnd.oasis.opendocument.text-flat-xml",
+            "application/vnd.oasis.opendocument.spreadsheet-flat-xml",
+            "application/vnd.oasis.opendocument.presentation-flat-xml",
+            "image/svg+xml");
+
+    /**
+     * Underlying content store.
+     */
+    private final IDocumentContentStore store;
+
+    /**
+     * Codec used to store the contents of compressible MIME types.
+     */
+    @Getter
+    private final ContentCodec codec;
+
+    /**
+     * Compressible MIME types.
+     */
+    @Getter
+    private final Set<String> mimeTypes;
+
+    /**
+     * Create a new compressing document content store.
+     * @param store Underlying content store.
+     * @param codec Codec used to store the compressible contents (defaults to {@link ContentCodec#DEFLATE}).
+     * @param mimeTypes Compressible MIME types (defaults to {@link #DEFAULT_MIME_TYPES}).
+     */
+    @Builder(setterPrefix = "with")
+    public CompressingDocumentContentStore(final @NonNull IDocumentContentStore store, final ContentCodec codec, final Set<String> mimeTypes)
+    {
+        this.store = store;
+        this.codec = codec != null ? codec : ContentCodec.DEFLATE;
+        this.mimeTypes = mimeTypes != null ? Set.copyOf(mimeTypes) : DEFAULT_MIME_TYPES;
+    }
+
+    @Override
+    public void store(final @NonNull Document document, final @NonNull InputStream stream) throws ContentStoreException
+    {
+        ContentCodec selected = isCompressible(document.getMimeType()) ? codec : ContentCodec.NONE;
+        CountingInputStream counting = new CountingInputStream(stream);
+
+        try (InputStream encoded = selected.encode(counting))
+        {
+            store.store(document, encoded);
+            long stored = document.getContentLength();
+
+            document.setContentCodec(selected);
+            document.setContentLength(counting.getByteCount());
+
+            LOGGER.debug(String.format("Stored content of document: %s with codec: %s (%s bytes, %s stored)", document.getIdentity(), selected, counting.getByteCount(), stored));
+        }
+        catch (IOException e)
+        {
+            throw new ContentStoreException(String.format("Cannot store content of document: %s with codec: %s due to: %s", document.getIdentity(), selected, e.getMessage()), e);
+        }
+    }
+
+    @Override
+    public InputStream load(final @NonNull Document document) throws ContentStoreException
+    {
+        InputStream stream = store.load(document);
+
+        return stream != null ? document.getContentCodec().decode(stream) : null;
+    }
+
+    @Override
+    public long transferTo(final @NonNull Document document, final @NonNull ByteRange range, final @NonNull WritableByteChannel target) throws ContentStoreException
+    {
+        if (document.getContentCodec() == ContentCodec.NONE)
+        {
+            return store.transferTo(document, range, target); // Raw content, keep the underlying zero-copy transfer!
+        }
+
+        return IDocumentContentStore.super.transferTo(document, range, target);
+    }
+
+    @Override
+    public void delete(final @NonNull Document document) throws ContentStoreException
+    {
+        store.delete(document);
+        document.setContentCodec(null);
+    }
+
+    /**
+     * Check if the contents of a MIME type are compressible.
+     * @param mimeType MIME type (can be null).
+     * @return <b>True</b> if the contents are compressible, <b>false</b> otherwise.
+     */
+    public boolean isCompressible(final String mimeType)
+    {
+        if (mimeType == null)
+        {
+            return false;
+        }
+
+        String type = mimeType.toLowerCase(Locale.ROOT);
+        int parameters = type.indexOf(';');
+        if (parameters >= 0)
+        {
+            type = type.substring(0, parameters).trim(); // Strip parameters such as the charset!
+        }
+
+        return type.startsWith("text/") || type.endsWith("+xml") || type.endsWith("+json") || mimeTypes.contains(type);
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.document.content;
+
+import com.hemajoo.commerce.cherry.base.data.model.document.ContentStoreException;
+import com.hemajoo.commerce.cherry.base.data.model.document.Document;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * A <b>content-addressed</b> {@link IDocumentContentStore} storing each distinct content only once.
+ * <br>
+ * Contents are keyed by their {@code SHA-256} checksum, which becomes the content identifier of the documents referencing
+ * them. Each content object is stored along with a reference count object, incremented when a document references the
+ * content and decremented when a document releases it; the content is deleted once no document references it anymore.
+ * <br>
+ * The incoming content is spooled to a local temporary file while its checksum is computed, so it is written to the
+ * underlying {@link IObjectStore} only if it is not already stored. Reference counts are updated under a lock striped by
+ * content and are therefore consistent within a single store instance.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Log4j2
+public final class ContentAddressedDocumentStore implements IDocumentContentStore
+{
+    /**
+     * Checksum algorithm.
+     */
+    public static final String CHECKSUM_ALGORITHM = "SHA-256";
+
+    /**
+     * Suffix of the reference count objects.
+     */
+    private static final String REFERENCES_SUFFIX = ".refs";
+
+    /**
+     * Object store.
+     */
+    private final IObjectStore objects;
+
+    /**
+     * Number of lock stripes.
+     */
+    private static final int LOCK_STRIPES = 64;
+
+    /**
+     * Lock stripes guarding the reference counts (a content is always guarded by the same stripe).
+     */
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    /**
+     * Create a new content-addressed document store.
+     * @param objects Object store.
+     */
+    public ContentAddressedDocumentStore(final @NonNull IObjectStore objects)
+    {
+        this.objects = objects;
+
+        for (int i = 0; i < LOCK_STRIPES; i++)
+        {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Return the document store type.
+     * @return Document store type.
+     */
+    public DocumentStoreType getStoreType()
+    {
+        return DocumentStoreType.CONTENT_ADDRESSED;
+    }
+
+    @Override
+    public void store(final @NonNull Document document, final @NonNull InputStream stream) throws ContentStoreException
+    {
+        Path spool = null;
+
+        try
+        {
+            spool = Files.createTempFile("cherry-content-", ".tmp");
+
+            MessageDigest digest = MessageDigest.getInstance(CHECKSUM_ALGORITHM);
+            long length;
+            try (InputStream input = new DigestInputStream(stream, digest); OutputStream output = Files.newOutputStream(spool))
+            {
+                length = input.transferTo(output);
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String previous = document.getContentId();
+
+            if (hash.equals(previous))
+            {
+                return; // Same content, the document already holds its reference!
+            }
+
+            acquire(hash, spool);
+            document.setContentId(hash);
+            document.setContentHash(hash);
+            document.setContentLength(length);
+
+            if (previous != null)
+            {
+                release(previous);
+            }
+        }
+        catch (IOException | NoSuchAlgorithmException e)
+        {
+            throw new ContentStoreException(String.format("Cannot store content of document: %s due to: %s", document.getIdentity(), e.getMessage()), e);
+        }
+        finally
+        {
+            deleteSpool(spool);
+        }
+    }
+
+    @Override
+    public InputStream load(final @NonNull Document document) throws ContentStoreException
+    {
+        return document.getContentId() != null ? objects.get(keyOf(document.getContentId())) : null;
+    }
+
+    @Override
+    public long transferTo(final @NonNull Document document, final @NonNull ByteRange range, final @NonNull WritableByteChannel target) throws ContentStoreException
+    {
+        return document.getContentId() != null ? objects.transferTo(keyOf(document.getContentId()), range, target) : 0;
+    }
+
+    @Override
+    public void delete(final @NonNull Document document) throws ContentStoreException
+    {
+        if (document.getContentId() != null)
+        {
+            release(document.getContentId());
+            document.setContentId(null);
+            document.setContentLength(0);
+        }
+    }
+
+    /**
+     * Return the number of documents referencing a content.
+     * @param hash Content checksum.
+     * @return Reference count (0 if the content is not stored).
+     * @throws ContentStoreException Thrown to indicate an error occurred while reading the reference count.
+     */
+    public long getReferenceCount(final @NonNull String hash) throws ContentStoreException
+    {
+        synchronized (lockOf(hash))
+        {
+            return readReferences(hash);
+        }
+    }
+
+    /**
+     * Acquire a reference on a content, writing the content first if it is not yet stored.
+     * @param hash Content checksum.
+     * @param spool File holding the content.
+     * @throws ContentStoreException Thrown to indicate an error occurred while accessing the object store.
+     */
+    private void acquire(final String hash, final Path spool) throws ContentStoreException
+    {
+        synchronized (lockOf(hash))
+        {
+            long references = readReferences(hash);
+            if (references == 0 || !objects.exists(keyOf(hash)))
+            {
+                objects.put(keyOf(hash), spool);
+            }
+            else
+            {
+                LOGGER.debug(String.format("Content: %s already stored, skipping write", hash));
+            }
+
+            writeReferences(hash, references + 1);
+        }
+    }
+
+    /**
+     * Release a reference on a content, deleting the content once it is not referenced anymore.
+     * @param hash Content checksum.
+     * @throws ContentStoreException Thrown to indicate an error occurred while accessing the object store.
+     */
+    private void release(final String hash) throws ContentStoreException
+    {
+        synchronized (lockOf(hash))
+        {
+            long references = readReferences(hash) - 1;
+            if (references <= 0)
+            {
+                objects.delete(keyOf(hash));
+                objects.delete(keyOf(hash) + REFERENCES_SUFFIX);
+            }
+            else
+            {
+                writeReferences(hash, references);
+            }
+        }
+    }
+
+    /**
+     * Read the reference count of a content.
+     * @param hash Content checksum.
+     * @return Reference count (0 if the content is not stored).
+     * @throws ContentStoreException Thrown to indicate an error occurred while reading the reference count.
+     */
+    private long readReferences(final String hash) throws ContentStoreException
+    {
+        try (InputStream stream = objects.get(keyOf(hash) + REFERENCES_SUFFIX))
+        {
+            return stream != null ? Long.parseLong(new String(stream.readAllBytes(), StandardCharsets.US_ASCII).trim()) : 0;
+        }
+        catch (IOException | NumberFormatException e)
+        {
+            throw new ContentStoreException(String.format("Cannot read reference count of content: %s due to: %s", hash, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Write the reference count of a content.
+     * @param hash Content checksum.
+     * @param references Reference count.
+     * @throws ContentStoreException Thrown to indicate an error occurred while writing the reference count.
+     */
+    private void writeReferences(final String hash, final long references) throws ContentStoreException
+    {
+        objects.put(keyOf(hash) + REFERENCES_SUFFIX, Long.toString(references).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Return the lock of a content.
+     * @param hash Content checksum.
+     * @return Lock.
+     */
+    private Object lockOf(final String hash)
+    {
+        return locks[Math.floorMod(hash.hashCode(), LOCK_STRIPES)];
+    }
+
+    /**
+     * Return the object key of a content, sharded by the first bytes of its checksum.
+     * @param hash Content checksum.
+     * @return Object key.
+     * @throws ContentStoreException Thrown to indicate the checksum is not a valid checksum.
+     */
+    private static String keyOf(final String hash) throws ContentStoreException
+    {
+        if (hash.length() != 64 || !hash.chars().allMatch(c -> Character.digit(c, 16) >= 0))
+        {
+            throw new ContentStoreException(String.format("Invalid content checksum: '%s'", hash));
+        }
+
+        return hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash;
+    }
+
+    /**
+     * Delete a spool file.
+     * @param spool Spool file (can be null).
+     */
+    private static void deleteSpool(final Path spool)
+    {
+        if (spool != null)
+        {
+            try
+            {
+                Files.deleteIfExists(spool);
+            }
+            catch (IOException e)
+            {
+                LOGGER.warn(String.format("Cannot delete spool file: '%s' due to: %s", spool, e.getMessage()));
+            }
+        }
+    }
+}
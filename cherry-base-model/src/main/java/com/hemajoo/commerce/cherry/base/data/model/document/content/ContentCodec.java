@@ -0,0 +1,123 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.document.content;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Enumeration representing the <b>codecs</b> a document content can be encoded with in a content store.
+ * <br>
+ * Codecs work in a streaming fashion in both directions, so a content is never fully buffered in memory while being
+ * encoded or decoded. The native compression resources of the codec streams are released when they are closed, so codec
+ * streams must always be closed.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public enum ContentCodec
+{
+    /**
+     * Content is stored <b>as is</b>.
+     */
+    NONE
+            {
+                @Override
+                public InputStream encode(final @NonNull InputStream stream)
+                {
+                    return stream;
+                }
+
+                @Override
+                public InputStream decode(final @NonNull InputStream stream)
+                {
+                    return stream;
+                }
+            },
+
+    /**
+     * Content is compressed using the <b>deflate</b> ({@code zlib}) format.
+     */
+    DEFLATE
+            {
+                @Override
+                public InputStream encode(final @NonNull InputStream stream)
+                {
+                    Deflater deflater = new Deflater();
+
+                    return new DeflaterInputStream(stream, deflater, BUFFER_SIZE)
+                    {
+                        @Override
+                        public void close() throws IOException
+                        {
+                            try
+                            {
+                                super.close();
+                            }
+                            finally
+                            {
+                                deflater.end(); // Not ended by the stream as it has been provided!
+                            }
+                        }
+                    };
+                }
+
+                @Override
+                public InputStream decode(final @NonNull InputStream stream)
+                {
+                    Inflater inflater = new Inflater();
+
+                    return new InflaterInputStream(stream, inflater, BUFFER_SIZE)
+                    {
+                        @Override
+                        public void close() throws IOException
+                        {
+                            try
+                            {
+                                super.close();
+                            }
+                            finally
+                            {
+                                inflater.end(); // Not ended by the stream as it has been provided!
+                            }
+                        }
+                    };
+                }
+            };
+
+    /**
+     * Size of the buffers of the codec streams (the default 512 bytes buffers cost a native call per 512 bytes).
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Return a stream encoding a raw content (compression occurs while the returned stream is read).
+     * @param stream Raw content stream.
+     * @return Encoded content stream.
+     */
+    public abstract InputStream encode(final @NonNull InputStream stream);
+
+    /**
+     * Return a stream decoding an encoded content (decompression occurs while the returned stream is read).
+     * @param stream Encoded content stream.
+     * @return Raw content stream.
+     */
+    public abstract InputStream decode(final @NonNull InputStream stream);
+}
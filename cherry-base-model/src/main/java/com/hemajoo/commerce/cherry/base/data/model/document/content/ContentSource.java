@@ -0,0 +1,341 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.document.content;
+
+import com.hemajoo.commerce.cherry.base.data.model.document.ContentStoreException;
+import com.hemajoo.commerce.cherry.base.data.model.document.Document;
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Factory of {@link IContentSource}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@UtilityClass
+public final class ContentSource
+{
+    /**
+     * Create a content source reading a file.
+     * @param path File path.
+     * @return Content source.
+     * @throws IOException Thrown to indicate the file size cannot be read.
+     */
+    public static IContentSource of(final @NonNull Path path) throws IOException
+    {
+        return of(path, 0, Files.size(path));
+    }
+
+    /**
+     * Create a content source reading a byte range of a file.
+     * @param path File path.
+     * @param offset Offset of the first byte.
+     * @param length Number of bytes.
+     * @return Content source.
+     */
+    public static IContentSource of(final @NonNull Path path, final long offset, final long length)
+    {
+        if (offset < 0 || length < 0)
+        {
+            throw new IllegalArgumentException(String.format("Invalid byte range: [%s, %s[ for file: '%s'!", offset, offset + length, path));
+        }
+
+        return new PathSource(path, offset, length);
+    }
+
+    /**
+     * Create a content source reading a multipart file.
+     * @param file Multipart file.
+     * @return Content source.
+     */
+    public static IContentSource of(final @NonNull MultipartFile file)
+    {
+        return new MultipartSource(file);
+    }
+
+    /**
+     * Create a content source reading the content of a document from a content store.
+     * @param store Content store.
+     * @param document Document.
+     * @return Content source.
+     */
+    public static IContentSource of(final @NonNull IDocumentContentStore store, final @NonNull Document document)
+    {
+        return new StoreSource(store, document);
+    }
+
+    /**
+     * Create a content source over an already opened stream, which can therefore only be opened once.
+     * @param stream Stream.
+     * @param name Content name (can be null).
+     * @return Content source.
+     */
+    public static IContentSource of(final @NonNull InputStream stream, final String name)
+    {
+        return new StreamSource(stream, name);
+    }
+
+    /**
+     * Content source reading a byte range of a file.
+     * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+     * @version 1.0.0
+     */
+    private static final class PathSource implements IContentSource
+    {
+        /**
+         * File path.
+         */
+        private final Path path;
+
+        /**
+         * Offset of the first byte.
+         */
+        private final long offset;
+
+        /**
+         * Number of bytes.
+         */
+        private final long length;
+
+        /**
+         * Create a new file content source.
+         * @param path File path.
+         * @param offset Offset of the first byte.
+         * @param length Number of bytes.
+         */
+        private PathSource(final Path path, final long offset, final long length)
+        {
+            this.path = path;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public InputStream open() throws IOException
+        {
+            SeekableByteChannel channel = Files.newByteChannel(path);
+            try
+            {
+                channel.position(offset);
+            }
+            catch (IOException e)
+            {
+                channel.close();
+                throw e;
+            }
+
+            return new BoundedInputStream(Channels.newInputStream(channel), length);
+        }
+
+        @Override
+        public long getLength()
+        {
+            return length;
+        }
+
+        @Override
+        public String getName()
+        {
+            return path.getFileName().toString();
+        }
+
+        @Override
+        public boolean isReopenable()
+        {
+            return true;
+        }
+    }
+
+    /**
+     * Content source reading a multipart file.
+     * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+     * @version 1.0.0
+     */
+    private static final class MultipartSource implements IContentSource
+    {
+        /**
+         * Multipart file.
+         */
+        private final MultipartFile file;
+
+        /**
+         * Create a new multipart file content source.
+         * @param file Multipart file.
+         */
+        private MultipartSource(final MultipartFile file)
+        {
+            this.file = file;
+        }
+
+        @Override
+        public InputStream open() throws IOException
+        {
+            return file.getInputStream();
+        }
+
+        @Override
+        public long getLength()
+        {
+            return file.getSize();
+        }
+
+        @Override
+        public String getName()
+        {
+            return file.getOriginalFilename() != null ? file.getOriginalFilename() : file.getName();
+        }
+
+        @Override
+        public boolean isReopenable()
+        {
+            return true;
+        }
+    }
+
+    /**
+     * Content source reading the content of a document from a content store.
+     * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+     * @version 1.0.0
+     */
+    private static final class StoreSource implements IContentSource
+    {
+        /**
+         * Content store.
+         */
+        private final IDocumentContentStore store;
+
+        /**
+         * Document.
+         */
+        private final Document document;
+
+        /**
+         * Create a new content store content source.
+         * @param store Content store.
+         * @param document Document.
+         */
+        private StoreSource(final IDocumentContentStore store, final Document document)
+        {
+            this.store = store;
+            this.document = document;
+        }
+
+        @Override
+        public InputStream open() throws IOException
+        {
+            try
+            {
+                InputStream stream = store.load(document);
+                if (stream == null)
+                {
+                    throw new IOException(String.format("Document: %s has no stored content!", document.getIdentity()));
+                }
+
+                return stream;
+            }
+            catch (ContentStoreException e)
+            {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public long getLength()
+        {
+            return document.getContentLength() > 0 ? document.getContentLength() : UNKNOWN_LENGTH;
+        }
+
+        @Override
+        public String getName()
+        {
+            return document.getFilename();
+        }
+
+        @Override
+        public boolean isReopenable()
+        {
+            return true;
+        }
+    }
+
+    /**
+     * Content source over an already opened stream.
+     * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+     * @version 1.0.0
+     */
+    private static final class StreamSource implements IContentSource
+    {
+        /**
+         * Stream (null once opened).
+         */
+        private final AtomicReference<InputStream> stream;
+
+        /**
+         * Content name.
+         */
+        private final String name;
+
+        /**
+         * Create a new stream content source.
+         * @param stream Stream.
+         * @param name Content name.
+         */
+        private StreamSource(final InputStream stream, final String name)
+        {
+            this.stream = new AtomicReference<>(stream);
+            this.name = name;
+        }
+
+        @Override
+        public InputStream open() throws IOException
+        {
+            InputStream current = stream.getAndSet(null);
+            if (current == null)
+            {
+                throw new IOException("Content stream has already been consumed!");
+            }
+
+            return current;
+        }
+
+        @Override
+        public long getLength()
+        {
+            return UNKNOWN_LENGTH;
+        }
+
+        @Override
+        public String getName()
+        {
+            return name;
+        }
+
+        @Override
+        public boolean isReopenable()
+        {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.document.content;
+
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Helper class to <b>transfer</b> a byte range of a content to a writable channel.
+ * <br>
+ * A target channel in non-blocking mode (such as a socket channel) may accept no byte when its buffer is full: the transfer
+ * then waits until the channel is writable, and fails if it makes no progress for too long.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@UtilityClass
+final class ContentTransfers
+{
+    /**
+     * Size of the buffer used when the content cannot be transferred without copying.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Maximum number of consecutive writes accepting no byte before a transfer fails.
+     */
+    private static final int MAX_IDLE_WRITES = 16;
+
+    /**
+     * Maximum time (in milliseconds) to wait for a non-blocking target channel to become writable.
+     */
+    private static final long WRITABLE_TIMEOUT = 30_000;
+
+    /**
+     * Transfer a byte range of a file to a channel.
+     * <br>
+     * Relies on {@link FileChannel#transferTo(long, long, WritableByteChannel)} so the operating system can copy the bytes
+     * directly (for example with {@code sendfile} when the target is a socket) without going through the heap.
+     * @param channel File channel.
+     * @param range Byte range.
+     * @param target Target channel.
+     * @return Number of transferred bytes.
+     * @throws IOException Thrown to indicate an error occurred while transferring the bytes.
+     */
+    static long transfer(final @NonNull FileChannel channel, final @NonNull ByteRange range, final @NonNull WritableByteChannel target) throws IOException
+    {
+        long end = Math.min(range.getOffset() + range.getLength(), channel.size());
+        long position = range.getOffset();
+        int idle = 0;
+
+        while (position < end)
+        {
+            long count = channel.transferTo(position, end - position, target);
+            if (count <= 0 && position >= channel.size())
+            {
+                break; // File has been truncated!
+            }
+
+            idle = count > 0 ? 0 : awaitWritable(target, idle + 1);
+            position += count;
+        }
+
+        return position - range.getOffset();
+    }
+
+    /**
+     * Transfer a byte range of a stream to a channel, copying the bytes through a heap buffer.
+     * @param stream Content stream positioned on the first byte of the content (not closed).
+     * @param range Byte range.
+     * @param target Target channel.
+     * @return Number of transferred bytes.
+     * @throws IOException Thrown to indicate an error occurred while transferring the bytes.
+     */
+    static long copy(final @NonNull InputStream stream, final @NonNull ByteRange range, final @NonNull WritableByteChannel target) throws IOException
+    {
+        long skipped = stream.skip(range.getOffset());
+        if (skipped < range.getOffset())
+        {
+            stream.skipNBytes(range.getOffset() - skipped);
+        }
+
+        byte[] bytes = new byte[(int) Math.min(BUFFER_SIZE, Math.max(1, range.getLength()))];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long remaining = range.getLength();
+
+        while (remaining > 0)
+        {
+            int count = stream.read(bytes, 0, (int) Math.min(bytes.length, remaining));
+            if (count < 0)
+            {
+                break;
+            }
+
+            buffer.clear().limit(count);
+            int idle = 0;
+            while (buffer.hasRemaining())
+            {
+                idle = target.write(buffer) > 0 ? 0 : awaitWritable(target, idle + 1);
+            }
+            remaining -= count;
+        }
+
+        return range.getLength() - remaining;
+    }
+
+    /**
+     * Wait for a target channel having accepted no byte to become writable again.
+     * @param target Target channel.
+     * @param idle Number of consecutive writes having accepted no byte.
+     * @return Number of consecutive writes having accepted no byte.
+     * @throws IOException Thrown to indicate the target channel makes no progress anymore.
+     */
+    private static int awaitWritable(final WritableByteChannel target, final int idle) throws IOException
+    {
+        if (idle > MAX_IDLE_WRITES)
+        {
+            throw new IOException(String.format("Target channel accepted no byte after: %s attempts!", MAX_IDLE_WRITES));
+        }
+
+        if (target instanceof SelectableChannel selectable && !selectable.isBlocking())
+        {
+            try (Selector selector = selectable.provider().openSelector())
+            {
+                selectable.register(selector, SelectionKey.OP_WRITE);
+                if (selector.select(WRITABLE_TIMEOUT) == 0)
+                {
+                    throw new IOException(String.format("Target channel is not writable after: %s ms!", WRITABLE_TIMEOUT));
+                }
+            }
+        }
+
+        return idle;
+    }
+}
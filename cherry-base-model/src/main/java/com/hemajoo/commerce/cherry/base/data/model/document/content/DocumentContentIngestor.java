@@ -0,0 +1,134 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.document.content;
+
+import com.hemajoo.commerce.cherry.base.data.model.document.ContentStoreException;
+import com.hemajoo.commerce.cherry.base.data.model.document.Document;
+import com.hemajoo.commerce.cherry.base.data.model.document.DocumentContentException;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.io.input.CountingInputStream;
+import org.apache.tika.Tika;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * A document content <b>ingestor</b> streaming the content of documents to a {@link IDocumentContentStore}.
+ * <br>
+ * The content is read only once: the MIME type is detected on the buffered head of the stream, then the stream is piped to
+ * the content store while its length and its {@code SHA-256} checksum are computed on the fly. The content is never fully
+ * buffered in memory, whatever its size.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Log4j2
+public final class DocumentContentIngestor
+{
+    /**
+     * Checksum algorithm.
+     */
+    public static final String CHECKSUM_ALGORITHM = "SHA-256";
+
+    /**
+     * Size of the read buffer.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * MIME type detector (thread-safe).
+     */
+    private static final Tika TIKA = new Tika();
+
+    /**
+     * Content store.
+     */
+    private final IDocumentContentStore store;
+
+    /**
+     * Create a new document content ingestor.
+     * @param store Content store.
+     */
+    public DocumentContentIngestor(final @NonNull IDocumentContentStore store)
+    {
+        this.store = store;
+    }
+
+    /**
+     * Ingest the pending content of a document (as set by one of its {@code setContent()} methods).
+     * @param document Document.
+     * @throws DocumentContentException Thrown to indicate the document has no pending content or the content cannot be read.
+     * @throws ContentStoreException Thrown to indicate an error occurred while trying to store the content.
+     */
+    public void ingest(final @NonNull Document document) throws DocumentContentException, ContentStoreException
+    {
+        IContentSource source = document.getContentSource();
+        if (source == null)
+        {
+            throw new DocumentContentException(String.format("Document: %s has no content to ingest!", document.getIdentity()));
+        }
+
+        InputStream stream;
+        try
+        {
+            stream = source.open();
+        }
+        catch (IOException e)
+        {
+            throw new DocumentContentException(String.format("Cannot open content of document: %s due to: %s", document.getIdentity(), e.getMessage()), e);
+        }
+
+        ingest(document, stream); // The stream is closed by the ingestion!
+    }
+
+    /**
+     * Ingest a content stream as the content of a document.
+     * <br>
+     * On return, the content identifier, length, checksum and MIME type of the document describe the stored content. The
+     * stream is closed.
+     * @param document Document.
+     * @param stream Content stream.
+     * @throws DocumentContentException Thrown to indicate the content cannot be read.
+     * @throws ContentStoreException Thrown to indicate an error occurred while trying to store the content.
+     */
+    public void ingest(final @NonNull Document document, final @NonNull InputStream stream) throws DocumentContentException, ContentStoreException
+    {
+        try (InputStream buffered = stream.markSupported() ? stream : new BufferedInputStream(stream, BUFFER_SIZE))
+        {
+            String mimeType = TIKA.detect(buffered); // Only reads (then resets) the head of the stream!
+
+            MessageDigest digest = MessageDigest.getInstance(CHECKSUM_ALGORITHM);
+            CountingInputStream counting = new CountingInputStream(new DigestInputStream(buffered, digest));
+
+            document.setMimeType(mimeType); // Before storing, stores may depend on it (see CompressingDocumentContentStore)!
+            store.store(document, counting);
+
+            document.setContentLength(counting.getByteCount());
+            document.setContentHash(HexFormat.of().formatHex(digest.digest()));
+            document.clearContent();
+
+            LOGGER.debug(String.format("Ingested content of document: %s (%s bytes, type: %s, checksum: %s)", document.getIdentity(), document.getContentLength(), mimeType, document.getContentHash()));
+        }
+        catch (IOException | NoSuchAlgorithmException e)
+        {
+            throw new DocumentContentException(String.format("Cannot ingest content of document: %s due to: %s", document.getIdentity(), e.getMessage()), e);
+        }
+    }
+}
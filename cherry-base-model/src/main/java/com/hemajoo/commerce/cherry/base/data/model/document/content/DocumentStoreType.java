@@ -31,6 +31,11 @@ public enum DocumentStoreType
      */
     AMAZON_S3,
 
+    /**
+     * Content store is <b>content-addressed</b> (each distinct content stored once, keyed by its checksum).
+     */
+    CONTENT_ADDRESSED,
+
     /**
      * <b>Unknown</b> content store.
       */
@@ -0,0 +1,200 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.document.content;
+
+import com.hemajoo.commerce.cherry.base.data.model.document.ContentStoreException;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.*;
+
+/**
+ * An {@link IObjectStore} storing the objects as files under a <b>root directory</b> of the local file system.
+ * <br>
+ * Objects are first written to a temporary file then atomically moved to their final location, so readers never see a
+ * partially written object. Byte ranges of objects are transferred with {@link FileChannel#transferTo(long, long, WritableByteChannel)}
+ * so they never get copied through the heap.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public final class FileSystemObjectStore implements IObjectStore
+{
+    /**
+     * Root directory.
+     */
+    @Getter
+    private final Path root;
+
+    /**
+     * Create a new file system object store.
+     * @param root Root directory (created if it does not exist).
+     * @throws ContentStoreException Thrown to indicate the root directory cannot be created.
+     */
+    public FileSystemObjectStore(final @NonNull Path root) throws ContentStoreException
+    {
+        this.root = root.toAbsolutePath().normalize();
+
+        try
+        {
+            Files.createDirectories(this.root);
+        }
+        catch (IOException e)
+        {
+            throw new ContentStoreException(String.format("Cannot create object store root directory: '%s' due to: %s", root, e.getMessage()), e);
+        }
+    }
+
+    @Override
+    public boolean exists(final @NonNull String key) throws ContentStoreException
+    {
+        return Files.isRegularFile(resolve(key));
+    }
+
+    @Override
+    public void put(final @NonNull String key, final @NonNull Path file) throws ContentStoreException
+    {
+        Path target = resolve(key);
+
+        try
+        {
+            Files.createDirectories(target.getParent());
+            Path temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            try
+            {
+                Files.copy(file, temporary, StandardCopyOption.REPLACE_EXISTING);
+                move(temporary, target);
+            }
+            finally
+            {
+                Files.deleteIfExists(temporary);
+            }
+        }
+        catch (IOException e)
+        {
+            throw new ContentStoreException(String.format("Cannot put object: '%s' due to: %s", key, e.getMessage()), e);
+        }
+    }
+
+    @Override
+    public void put(final @NonNull String key, final byte @NonNull [] content) throws ContentStoreException
+    {
+        Path target = resolve(key);
+
+        try
+        {
+            Files.createDirectories(target.getParent());
+            Path temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            try
+            {
+                Files.write(temporary, content);
+                move(temporary, target);
+            }
+            finally
+            {
+                Files.deleteIfExists(temporary);
+            }
+        }
+        catch (IOException e)
+        {
+            throw new ContentStoreException(String.format("Cannot put object: '%s' due to: %s", key, e.getMessage()), e);
+        }
+    }
+
+    @Override
+    public InputStream get(final @NonNull String key) throws ContentStoreException
+    {
+        try
+        {
+            return Files.newInputStream(resolve(key));
+        }
+        catch (NoSuchFileException e)
+        {
+            return null;
+        }
+        catch (IOException e)
+        {
+            throw new ContentStoreException(String.format("Cannot get object: '%s' due to: %s", key, e.getMessage()), e);
+        }
+    }
+
+    @Override
+    public void delete(final @NonNull String key) throws ContentStoreException
+    {
+        try
+        {
+            Files.deleteIfExists(resolve(key));
+        }
+        catch (IOException e)
+        {
+            throw new ContentStoreException(String.format("Cannot delete object: '%s' due to: %s", key, e.getMessage()), e);
+        }
+    }
+
+    @Override
+    public long transferTo(final @NonNull String key, final @NonNull ByteRange range, final @NonNull WritableByteChannel target) throws ContentStoreException
+    {
+        try (FileChannel channel = FileChannel.open(resolve(key), StandardOpenOption.READ))
+        {
+            return ContentTransfers.transfer(channel, range, target);
+        }
+        catch (NoSuchFileException e)
+        {
+            return 0;
+        }
+        catch (IOException e)
+        {
+            throw new ContentStoreException(String.format("Cannot transfer object: '%s' due to: %s", key, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Resolve the file of an object.
+     * @param key Object key.
+     * @return Object file.
+     * @throws ContentStoreException Thrown to indicate the key resolves outside the root directory.
+     */
+    private Path resolve(final String key) throws ContentStoreException
+    {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root))
+        {
+            throw new ContentStoreException(String.format("Invalid object key: '%s'", key));
+        }
+
+        return path;
+    }
+
+    /**
+     * Atomically move a file, falling back to a plain move on file systems not supporting atomic moves.
+     * @param source Source file.
+     * @param target Target file.
+     * @throws IOException Thrown to indicate the file cannot be moved.
+     */
+    private static void move(final Path source, final Path target) throws IOException
+    {
+        try
+        {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (AtomicMoveNotSupportedException e)
+        {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.document.content;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A lazily opened <b>source</b> of document content.
+ * <br>
+ * A content source holds no open resource: a new stream is opened by each call to {@link #open()} and must be closed by the
+ * caller, so documents referencing content sources never leak file handles.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public interface IContentSource
+{
+    /**
+     * Unknown content length.
+     */
+    long UNKNOWN_LENGTH = -1;
+
+    /**
+     * Open a new stream on the content. The caller is responsible for closing it.
+     * @return Content stream.
+     * @throws IOException Thrown to indicate the content cannot be opened (or has already been consumed for a non re-openable source).
+     */
+    InputStream open() throws IOException;
+
+    /**
+     * Return the content length.
+     * @return Content length in bytes or {@link #UNKNOWN_LENGTH} if unknown.
+     */
+    long getLength();
+
+    /**
+     * Return the content name (such as a file name) used as a hint to detect its MIME type.
+     * @return Content name or <b>null</b> if unknown.
+     */
+    String getName();
+
+    /**
+     * Check if the content can be opened several times.
+     * @return <b>True</b> if the content can be re-opened, <b>false</b> if it can only be opened once.
+     */
+    boolean isReopenable();
+}
@@ -0,0 +1,80 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.document.content;
+
+import com.hemajoo.commerce.cherry.base.data.model.document.ContentStoreException;
+import com.hemajoo.commerce.cherry.base.data.model.document.Document;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Provide services to store and retrieve the <b>content</b> of documents, independently of the underlying content store
+ * (file system, Amazon S3, etc.).
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public interface IDocumentContentStore
+{
+    /**
+     * Store the content of a document, consuming the given stream until its end.
+     * <br>
+     * On return, the content identifier of the document references the stored content.
+     * @param document Document.
+     * @param stream Content stream.
+     * @throws ContentStoreException Thrown to indicate an error occurred while trying to store the content.
+     */
+    void store(final @NonNull Document document, final @NonNull InputStream stream) throws ContentStoreException;
+
+    /**
+     * Return the content of a document.
+     * @param document Document.
+     * @return Content stream or <b>null</b> if the document has no stored content.
+     * @throws ContentStoreException Thrown to indicate an error occurred while trying to retrieve the content.
+     */
+    InputStream load(final @NonNull Document document) throws ContentStoreException;
+
+    /**
+     * Delete the content of a document.
+     * @param document Document.
+     * @throws ContentStoreException Thrown to indicate an error occurred while trying to delete the content.
+     */
+    void delete(final @NonNull Document document) throws ContentStoreException;
+
+    /**
+     * Transfer a byte range of the content of a document to a channel, such as the channel of an HTTP response.
+     * <br>
+     * The default implementation copies the content through a heap buffer, stores backed by local files override it to
+     * transfer the bytes without copying them through the JVM.
+     * @param document Document.
+     * @param range Byte range (see {@link ByteRange#parse(String, long)}).
+     * @param target Target channel (not closed).
+     * @return Number of transferred bytes (0 if the document has no stored content).
+     * @throws ContentStoreException Thrown to indicate an error occurred while trying to transfer the content.
+     */
+    default long transferTo(final @NonNull Document document, final @NonNull ByteRange range, final @NonNull WritableByteChannel target) throws ContentStoreException
+    {
+        try (InputStream stream = load(document))
+        {
+            return stream != null ? ContentTransfers.copy(stream, range, target) : 0;
+        }
+        catch (IOException e)
+        {
+            throw new ContentStoreException(String.format("Cannot transfer content of document: %s due to: %s", document.getIdentity(), e.getMessage()), e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.document.content;
+
+import com.hemajoo.commerce.cherry.base.data.model.document.ContentStoreException;
+import lombok.NonNull;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Provide services to access an <b>object store</b> supporting multipart uploads and ranged downloads, such as an
+ * <b>Amazon S3</b> bucket.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public interface IMultipartObjectStore extends IObjectStore
+{
+    /**
+     * Start a new multipart upload.
+     * @param key Object key.
+     * @return Upload identifier.
+     * @throws ContentStoreException Thrown to indicate an error occurred while starting the upload.
+     */
+    String createMultipartUpload(final @NonNull String key) throws ContentStoreException;
+
+    /**
+     * Return the identifier of a pending multipart upload of an object.
+     * @param key Object key.
+     * @return Upload identifier or <b>null</b> if there is no pending upload for this object.
+     * @throws ContentStoreException Thrown to indicate an error occurred while listing the pending uploads.
+     */
+    String findMultipartUpload(final @NonNull String key) throws ContentStoreException;
+
+    /**
+     * Upload a part of a multipart upload.
+     * @param key Object key.
+     * @param uploadId Upload identifier.
+     * @param number Part number (starting at 1).
+     * @param data Buffer holding the part content.
+     * @param length Number of bytes of the buffer to upload.
+     * @return Uploaded part.
+     * @throws ContentStoreException Thrown to indicate an error occurred while uploading the part.
+     */
+    UploadedPart uploadPart(final @NonNull String key, final @NonNull String uploadId, final int number, final byte @NonNull [] data, final int length) throws ContentStoreException;
+
+    /**
+     * Return the parts already uploaded for a multipart upload.
+     * @param key Object key.
+     * @param uploadId Upload identifier.
+     * @return Uploaded parts.
+     * @throws ContentStoreException Thrown to indicate an error occurred while listing the parts.
+     */
+    List<UploadedPart> listParts(final @NonNull String key, final @NonNull String uploadId) throws ContentStoreException;
+
+    /**
+     * Complete a multipart upload, assembling the object from its parts.
+     * @param key Object key.
+     * @param uploadId Upload identifier.
+     * @param parts Uploaded parts, ordered by part number.
+     * @throws ContentStoreException Thrown to indicate an error occurred while completing the upload.
+     */
+    void completeMultipartUpload(final @NonNull String key, final @NonNull String uploadId, final @NonNull List<UploadedPart> parts) throws ContentStoreException;
+
+    /**
+     * Abort a multipart upload, discarding its uploaded parts.
+     * @param key Object key.
+     * @param uploadId Upload identifier.
+     * @throws ContentStoreException Thrown to indicate an error occurred while aborting the upload.
+     */
+    void abortMultipartUpload(final @NonNull String key, final @NonNull String uploadId) throws ContentStoreException;
+
+    /**
+     * Return the size of an object.
+     * @param key Object key.
+     * @return Object size in bytes or <b>-1</b> if the object does not exist.
+     * @throws ContentStoreException Thrown to indicate an error occurred while reading the object metadata.
+     */
+    long size(final @NonNull String key) throws ContentStoreException;
+
+    /**
+     * Open a stream on a byte range of an object. The caller is responsible for closing it.
+     * @param key Object key.
+     * @param offset Offset of the first byte.
+     * @param length Number of bytes.
+     * @return Stream on the byte range.
+     * @throws ContentStoreException Thrown to indicate an error occurred while reading the object.
+     */
+    InputStream getRange(final @NonNull String key, final long offset, final long length) throws ContentStoreException;
+}
@@ -0,0 +1,95 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.document.content;
+
+import com.hemajoo.commerce.cherry.base.data.model.document.ContentStoreException;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+/**
+ * Provide services to access a key/value <b>object store</b> (local file system, Amazon S3 bucket, etc.) holding the raw
+ * content of documents.
+ * <br>
+ * Keys are relative, slash separated, paths such as {@code ab/cd/abcd...}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public interface IObjectStore
+{
+    /**
+     * Check if an object exists.
+     * @param key Object key.
+     * @return <b>True</b> if the object exists, <b>false</b> otherwise.
+     * @throws ContentStoreException Thrown to indicate an error occurred while accessing the object store.
+     */
+    boolean exists(final @NonNull String key) throws ContentStoreException;
+
+    /**
+     * Put an object given the file holding its content, replacing any existing object with the same key.
+     * @param key Object key.
+     * @param file File holding the object content (left untouched).
+     * @throws ContentStoreException Thrown to indicate an error occurred while writing the object.
+     */
+    void put(final @NonNull String key, final @NonNull Path file) throws ContentStoreException;
+
+    /**
+     * Put an object given its content, replacing any existing object with the same key.
+     * @param key Object key.
+     * @param content Object content.
+     * @throws ContentStoreException Thrown to indicate an error occurred while writing the object.
+     */
+    void put(final @NonNull String key, final byte @NonNull [] content) throws ContentStoreException;
+
+    /**
+     * Open a stream on an object. The caller is responsible for closing it.
+     * @param key Object key.
+     * @return Object content stream or <b>null</b> if the object does not exist.
+     * @throws ContentStoreException Thrown to indicate an error occurred while reading the object.
+     */
+    InputStream get(final @NonNull String key) throws ContentStoreException;
+
+    /**
+     * Delete an object (does nothing if the object does not exist).
+     * @param key Object key.
+     * @throws ContentStoreException Thrown to indicate an error occurred while deleting the object.
+     */
+    void delete(final @NonNull String key) throws ContentStoreException;
+
+    /**
+     * Transfer a byte range of an object to a channel.
+     * <br>
+     * The default implementation copies the object through a heap buffer.
+     * @param key Object key.
+     * @param range Byte range.
+     * @param target Target channel (not closed).
+     * @return Number of transferred bytes (0 if the object does not exist).
+     * @throws ContentStoreException Thrown to indicate an error occurred while transferring the object.
+     */
+    default long transferTo(final @NonNull String key, final @NonNull ByteRange range, final @NonNull WritableByteChannel target) throws ContentStoreException
+    {
+        try (InputStream stream = get(key))
+        {
+            return stream != null ? ContentTransfers.copy(stream, range, target) : 0;
+        }
+        catch (IOException e)
+        {
+            throw new ContentStoreException(String.format("Cannot transfer object: '%s' due to: %s", key, e.getMessage()), e);
+        }
+    }
+}
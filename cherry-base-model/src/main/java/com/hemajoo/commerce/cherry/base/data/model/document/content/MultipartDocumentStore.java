@@ -0,0 +1,546 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.document.content;
+
+import com.hemajoo.commerce.cherry.base.data.model.document.ContentStoreException;
+import com.hemajoo.commerce.cherry.base.data.model.document.Document;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * A {@link IDocumentContentStore} uploading large contents to a {@link IMultipartObjectStore} (such as an Amazon S3 bucket)
+ * as <b>multipart uploads</b>.
+ * <br>
+ * The content is split into parts uploaded in parallel, at most {@code parallelism} parts being held in memory at any time
+ * whatever the content size. Each part upload is retried on failure; if a part still fails the upload is left pending so
+ * that storing the same document again <b>resumes</b> it. An already uploaded part is only skipped if its number, its size
+ * and its entity tag (the {@code MD5} checksum of the part for Amazon S3) match the part read from the content, otherwise
+ * it is uploaded again. Contents smaller than a part are stored with a single put.
+ * <br>
+ * Contents can be read back sequentially, by byte range, or downloaded to a file using parallel ranged reads.
+ * <br>
+ * As Amazon S3 requires parts (except the last one) of at least {@link #MINIMUM_S3_PART_SIZE} bytes, smaller part sizes
+ * are rejected.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Log4j2
+public final class MultipartDocumentStore implements IDocumentContentStore
+{
+    /**
+     * Minimum part size accepted by Amazon S3.
+     */
+    public static final int MINIMUM_S3_PART_SIZE = 5 * 1024 * 1024;
+
+    /**
+     * Default part size.
+     */
+    public static final int DEFAULT_PART_SIZE = 8 * 1024 * 1024;
+
+    /**
+     * Default number of parts transferred in parallel.
+     */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    /**
+     * Default number of retries of a failed part.
+     */
+    public static final int DEFAULT_MAX_RETRIES = 3;
+
+    /**
+     * Size of the buffer used to copy a downloaded range.
+     */
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Algorithm of the checksum of a part used as its entity tag by Amazon S3.
+     */
+    private static final String PART_CHECKSUM_ALGORITHM = "MD5";
+
+    /**
+     * Length of the hexadecimal checksum of a part.
+     */
+    private static final int PART_CHECKSUM_LENGTH = 32;
+
+    /**
+     * Object store.
+     */
+    private final IMultipartObjectStore objects;
+
+    /**
+     * Part size.
+     */
+    @Getter
+    private final int partSize;
+
+    /**
+     * Number of parts transferred in parallel.
+     */
+    @Getter
+    private final int parallelism;
+
+    /**
+     * Number of retries of a failed part.
+     */
+    @Getter
+    private final int maxRetries;
+
+    /**
+     * Executor running the part transfers (null to use a dedicated pool per transfer).
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Create a new multipart document store.
+     * @param objects Multipart object store.
+     * @param partSize Part size (defaults to {@link #DEFAULT_PART_SIZE}, at least {@link #MINIMUM_S3_PART_SIZE}).
+     * @param parallelism Number of parts transferred in parallel (defaults to {@link #DEFAULT_PARALLELISM}).
+     * @param maxRetries Number of retries of a failed part (defaults to {@link #DEFAULT_MAX_RETRIES}, negative for none).
+     * @param executor Executor running the part transfers (defaults to a dedicated pool per transfer).
+     * @throws IllegalArgumentException Thrown to indicate the part size is smaller than {@link #MINIMUM_S3_PART_SIZE}.
+     */
+    @Builder(setterPrefix = "with")
+    public MultipartDocumentStore(final @NonNull IMultipartObjectStore objects, final int partSize, final int parallelism, final Integer maxRetries, final ExecutorService executor)
+    {
+        if (partSize > 0 && partSize < MINIMUM_S3_PART_SIZE)
+        {
+            throw new IllegalArgumentException(String.format("Invalid part size: %s, parts must be of at least: %s bytes!", partSize, MINIMUM_S3_PART_SIZE));
+        }
+
+        this.objects = objects;
+        this.partSize = partSize > 0 ? partSize : DEFAULT_PART_SIZE;
+        this.parallelism = parallelism > 0 ? parallelism : DEFAULT_PARALLELISM;
+        this.maxRetries = maxRetries == null ? DEFAULT_MAX_RETRIES : Math.max(maxRetries, 0);
+        this.executor = executor;
+    }
+
+    @Override
+    public void store(final @NonNull Document document, final @NonNull InputStream stream) throws ContentStoreException
+    {
+        if (document.getContentId() == null)
+        {
+            document.setContentId(UUID.randomUUID().toString()); // Kept on failure so the upload can be resumed!
+        }
+
+        String key = document.getContentId();
+
+        try (stream)
+        {
+            byte[] buffer = new byte[partSize];
+            int length = stream.readNBytes(buffer, 0, partSize);
+
+            if (length < partSize)
+            {
+                objects.put(key, Arrays.copyOf(buffer, length));
+                document.setContentLength(length);
+                return;
+            }
+
+            document.setContentLength(upload(key, stream, buffer, length));
+        }
+        catch (IOException e)
+        {
+            throw new ContentStoreException(String.format("Cannot read content of document: %s due to: %s", document.getIdentity(), e.getMessage()), e);
+        }
+    }
+
+    @Override
+    public InputStream load(final @NonNull Document document) throws ContentStoreException
+    {
+        return document.getContentId() != null ? objects.get(document.getContentId()) : null;
+    }
+
+    @Override
+    public void delete(final @NonNull Document document) throws ContentStoreException
+    {
+        if (document.getContentId() != null)
+        {
+            abort(document);
+            objects.delete(document.getContentId());
+            document.setContentId(null);
+            document.setContentLength(0);
+        }
+    }
+
+    /**
+     * Abort the pending multipart upload of a document content, if any.
+     * @param document Document.
+     * @throws ContentStoreException Thrown to indicate an error occurred while aborting the upload.
+     */
+    public void abort(final @NonNull Document document) throws ContentStoreException
+    {
+        if (document.getContentId() != null)
+        {
+            String uploadId = objects.findMultipartUpload(document.getContentId());
+            if (uploadId != null)
+            {
+                objects.abortMultipartUpload(document.getContentId(), uploadId);
+            }
+        }
+    }
+
+    /**
+     * Open a stream on a byte range of a document content. The caller is responsible for closing it.
+     * @param document Document.
+     * @param offset Offset of the first byte.
+     * @param length Number of bytes.
+     * @return Stream on the byte range.
+     * @throws ContentStoreException Thrown to indicate an error occurred while reading the content.
+     */
+    public InputStream load(final @NonNull Document document, final long offset, final long length) throws ContentStoreException
+    {
+        return objects.getRange(contentKey(document), offset, length);
+    }
+
+    /**
+     * Download a document content to a file using parallel ranged reads.
+     * @param document Document.
+     * @param target Target file (replaced if it exists).
+     * @return Number of downloaded bytes.
+     * @throws ContentStoreException Thrown to indicate an error occurred while downloading the content.
+     */
+    public long download(final @NonNull Document document, final @NonNull Path target) throws ContentStoreException
+    {
+        String key = contentKey(document);
+        long size = objects.size(key);
+        if (size < 0)
+        {
+            throw new ContentStoreException(String.format("Content of document: %s does not exist!", document.getIdentity()));
+        }
+
+        ExecutorService pool = acquireExecutor();
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            List<Future<Void>> ranges = new ArrayList<>();
+            for (long offset = 0; offset < size; offset += partSize)
+            {
+                long position = offset;
+                long length = Math.min(partSize, size - offset);
+                ranges.add(pool.submit(() -> {
+                    withRetries(() -> copyRange(key, position, length, channel), String.format("range [%s, %s[ of: %s", position, position + length, key));
+                    return null;
+                }));
+            }
+
+            await(ranges, key);
+            return size;
+        }
+        catch (IOException e)
+        {
+            throw new ContentStoreException(String.format("Cannot write content of document: %s to: '%s' due to: %s", document.getIdentity(), target, e.getMessage()), e);
+        }
+        finally
+        {
+            releaseExecutor(pool);
+        }
+    }
+
+    /**
+     * Upload a content as a multipart upload, resuming the pending upload of the object if any.
+     * @param key Object key.
+     * @param stream Content stream (positioned after the first part).
+     * @param first Buffer holding the first part.
+     * @param firstLength Length of the first part.
+     * @return Content length.
+     * @throws ContentStoreException Thrown to indicate an error occurred while uploading the content.
+     * @throws IOException Thrown to indicate an error occurred while reading the content.
+     */
+    private long upload(final String key, final InputStream stream, final byte[] first, final int firstLength) throws ContentStoreException, IOException
+    {
+        String uploadId = objects.findMultipartUpload(key);
+        Map<Integer, UploadedPart> uploaded = new HashMap<>();
+
+        if (uploadId != null)
+        {
+            for (UploadedPart part : objects.listParts(key, uploadId))
+            {
+                uploaded.put(part.getNumber(), part);
+            }
+            LOGGER.info(String.format("Resuming upload: %s of: %s with: %s part(s) already uploaded", uploadId, key, uploaded.size()));
+        }
+        else
+        {
+            uploadId = objects.createMultipartUpload(key);
+        }
+
+        String id = uploadId;
+        Semaphore permits = new Semaphore(parallelism);
+        List<Future<UploadedPart>> parts = new ArrayList<>();
+        ExecutorService pool = acquireExecutor();
+
+        try
+        {
+            byte[] buffer = first;
+            int length = firstLength;
+            long total = 0;
+
+            for (int number = 1; length > 0; number++)
+            {
+                UploadedPart done = uploaded.get(number);
+                total += length;
+
+                if (done != null && isUploaded(done, buffer, length))
+                {
+                    parts.add(CompletableFuture.completedFuture(done)); // Already uploaded, the buffer can be reused!
+                }
+                else
+                {
+                    permits.acquire(); // Bounds the number of parts held in memory!
+
+                    int partNumber = number;
+                    byte[] data = buffer;
+                    int partLength = length;
+                    parts.add(pool.submit(() -> {
+                        try
+                        {
+                            return withRetries(() -> objects.uploadPart(key, id, partNumber, data, partLength), String.format("part: %s of: %s", partNumber, key));
+                        }
+                        finally
+                        {
+                            permits.release();
+                        }
+                    }));
+
+                    buffer = new byte[partSize];
+                }
+
+                length = stream.readNBytes(buffer, 0, partSize);
+            }
+
+            objects.completeMultipartUpload(key, id, await(parts, key));
+            return total;
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new ContentStoreException(String.format("Upload: %s of: %s has been interrupted, it can be resumed", id, key), e);
+        }
+        finally
+        {
+            releaseExecutor(pool);
+        }
+    }
+
+    /**
+     * Check if an uploaded part holds the same content as a part read from the content to upload.
+     * @param part Uploaded part.
+     * @param data Buffer holding the part content.
+     * @param length Number of bytes of the buffer.
+     * @return <b>True</b> if the part does not need to be uploaded again, <b>false</b> otherwise.
+     * @throws ContentStoreException Thrown to indicate the checksum of the part cannot be computed.
+     */
+    private static boolean isUploaded(final UploadedPart part, final byte[] data, final int length) throws ContentStoreException
+    {
+        String etag = part.getEtag() != null ? part.getEtag().replace("\"", "") : null;
+
+        if (part.getSize() != length || etag == null || etag.length() != PART_CHECKSUM_LENGTH)
+        {
+            return false; // Entity tags of encrypted parts are not checksums, such parts cannot be verified!
+        }
+
+        try
+        {
+            MessageDigest digest = MessageDigest.getInstance(PART_CHECKSUM_ALGORITHM);
+            digest.update(data, 0, length);
+
+            boolean same = etag.equalsIgnoreCase(HexFormat.of().formatHex(digest.digest()));
+            if (!same)
+            {
+                LOGGER.warn(String.format("Part: %s of the pending upload does not match the content, it is uploaded again", part.getNumber()));
+            }
+
+            return same;
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new ContentStoreException(String.format("Cannot compute checksum of part: %s due to: %s", part.getNumber(), e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Copy a byte range of an object to a file.
+     * @param key Object key.
+     * @param offset Offset of the first byte.
+     * @param length Number of bytes.
+     * @param channel Target file channel.
+     * @return Number of copied bytes.
+     * @throws ContentStoreException Thrown to indicate an error occurred while copying the range.
+     */
+    private long copyRange(final String key, final long offset, final long length, final FileChannel channel) throws ContentStoreException
+    {
+        try (InputStream input = objects.getRange(key, offset, length))
+        {
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            long position = offset;
+            int read;
+
+            while ((read = input.read(buffer)) > 0)
+            {
+                ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                while (chunk.hasRemaining())
+                {
+                    position += channel.write(chunk, position);
+                }
+            }
+
+            if (position - offset != length)
+            {
+                throw new ContentStoreException(String.format("Range [%s, %s[ of: %s is truncated (%s bytes read)", offset, offset + length, key, position - offset));
+            }
+
+            return length;
+        }
+        catch (IOException e)
+        {
+            throw new ContentStoreException(String.format("Cannot copy range [%s, %s[ of: %s due to: %s", offset, offset + length, key, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Run a transfer, retrying it on failure.
+     * @param <T> Result type.
+     * @param transfer Transfer.
+     * @param description Transfer description.
+     * @return Transfer result.
+     * @throws ContentStoreException Thrown to indicate the transfer failed after all its retries.
+     */
+    private <T> T withRetries(final Transfer<T> transfer, final String description) throws ContentStoreException
+    {
+        for (int attempt = 0; ; attempt++)
+        {
+            try
+            {
+                return transfer.run();
+            }
+            catch (ContentStoreException | RuntimeException e)
+            {
+                if (attempt >= maxRetries)
+                {
+                    throw new ContentStoreException(String.format("Cannot transfer %s after %s attempt(s) due to: %s", description, attempt + 1, e.getMessage()), e);
+                }
+
+                LOGGER.warn(String.format("Transfer of %s failed (attempt %s of %s) due to: %s", description, attempt + 1, maxRetries + 1, e.getMessage()));
+            }
+        }
+    }
+
+    /**
+     * Wait for the completion of transfers.
+     * @param <T> Result type.
+     * @param transfers Transfers.
+     * @param key Object key.
+     * @return Transfer results in submission order.
+     * @throws ContentStoreException Thrown to indicate a transfer failed.
+     */
+    private <T> List<T> await(final List<? extends Future<T>> transfers, final String key) throws ContentStoreException
+    {
+        List<T> results = new ArrayList<>(transfers.size());
+        ContentStoreException failure = null;
+
+        for (Future<T> transfer : transfers)
+        {
+            try
+            {
+                results.add(transfer.get());
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new ContentStoreException(String.format("Transfer of: %s has been interrupted", key), e);
+            }
+            catch (ExecutionException e)
+            {
+                if (failure == null) // Wait for the other transfers anyway, so no part is left in flight!
+                {
+                    failure = new ContentStoreException(String.format("Transfer of: %s has failed, it can be resumed: %s", key, e.getCause().getMessage()), e.getCause() instanceof Exception cause ? cause : e);
+                }
+            }
+        }
+
+        if (failure != null)
+        {
+            throw failure;
+        }
+
+        return results;
+    }
+
+    /**
+     * Return the object key of a document content.
+     * @param document Document.
+     * @return Object key.
+     * @throws ContentStoreException Thrown to indicate the document has no content.
+     */
+    private static String contentKey(final Document document) throws ContentStoreException
+    {
+        if (document.getContentId() == null)
+        {
+            throw new ContentStoreException(String.format("Document: %s has no content!", document.getIdentity()));
+        }
+
+        return document.getContentId();
+    }
+
+    /**
+     * Return the executor to run the transfers of an operation.
+     * @return Executor.
+     */
+    private ExecutorService acquireExecutor()
+    {
+        return executor != null ? executor : Executors.newFixedThreadPool(parallelism);
+    }
+
+    /**
+     * Release the executor of an operation, shutting it down if it is a dedicated pool.
+     * @param pool Executor.
+     */
+    private void releaseExecutor(final ExecutorService pool)
+    {
+        if (pool != executor)
+        {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * A transfer of a part or a range.
+     * @param <T> Result type.
+     * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+     * @version 1.0.0
+     */
+    @FunctionalInterface
+    private interface Transfer<T>
+    {
+        /**
+         * Run the transfer.
+         * @return Transfer result.
+         * @throws ContentStoreException Thrown to indicate the transfer failed.
+         */
+        T run() throws ContentStoreException;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.document.content;
+
+import com.hemajoo.commerce.cherry.base.data.model.document.ContentStoreException;
+import com.hemajoo.commerce.cherry.base.data.model.document.Document;
+import lombok.Getter;
+import lombok.NonNull;
+import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A {@link IDocumentContentStore} backed by a <b>Spring Content</b> store such as {@link IDocumentStoreFileSystem} or
+ * {@link IDocumentStoreAmazonS3}.
+ * <br>
+ * Spring Content stores stream the content to the underlying storage, so the content is never fully buffered in memory. When
+ * the content is held by a local file (such as with {@link IDocumentStoreFileSystem}), byte ranges are transferred with
+ * {@link FileChannel#transferTo(long, long, WritableByteChannel)} so large downloads never get copied through the heap.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public final class SpringContentDocumentStore implements IDocumentContentStore
+{
+    /**
+     * Spring Content store.
+     */
+    private final ContentStore<Document, String> store;
+
+    /**
+     * Document store type.
+     */
+    @Getter
+    private final DocumentStoreType storeType;
+
+    /**
+     * Create a new Spring Content document store.
+     * @param store Spring Content store.
+     * @param storeType Document store type.
+     */
+    public SpringContentDocumentStore(final @NonNull ContentStore<Document, String> store, final @NonNull DocumentStoreType storeType)
+    {
+        this.store = store;
+        this.storeType = storeType;
+    }
+
+    @Override
+    public void store(final @NonNull Document document, final @NonNull InputStream stream) throws ContentStoreException
+    {
+        try
+        {
+            store.setContent(document, stream);
+        }
+        catch (RuntimeException e)
+        {
+            throw new ContentStoreException(String.format("Cannot store content of document: %s in store: %s due to: %s", document.getIdentity(), storeType, e.getMessage()), e);
+        }
+    }
+
+    @Override
+    public InputStream load(final @NonNull Document document) throws ContentStoreException
+    {
+        try
+        {
+            return store.getContent(document);
+        }
+        catch (RuntimeException e)
+        {
+            throw new ContentStoreException(String.format("Cannot load content of document: %s from store: %s due to: %s", document.getIdentity(), storeType, e.getMessage()), e);
+        }
+    }
+
+    @Override
+    public long transferTo(final @NonNull Document document, final @NonNull ByteRange range, final @NonNull WritableByteChannel target) throws ContentStoreException
+    {
+        if (document.getContentId() == null)
+        {
+            return 0;
+        }
+
+        try
+        {
+            Resource resource = store.getResource(document);
+            if (resource == null || !resource.exists())
+            {
+                return 0;
+            }
+
+            if (!resource.isFile())
+            {
+                try (InputStream stream = resource.getInputStream())
+                {
+                    return ContentTransfers.copy(stream, range, target);
+                }
+            }
+
+            try (FileChannel channel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ))
+            {
+                return ContentTransfers.transfer(channel, range, target);
+            }
+        }
+        catch (NoSuchFileException e)
+        {
+            return 0;
+        }
+        catch (IOException | RuntimeException e)
+        {
+            throw new ContentStoreException(String.format("Cannot transfer content of document: %s from store: %s due to: %s", document.getIdentity(), storeType, e.getMessage()), e);
+        }
+    }
+
+    @Override
+    public void delete(final @NonNull Document document) throws ContentStoreException
+    {
+        try
+        {
+            store.unsetContent(document);
+        }
+        catch (RuntimeException e)
+        {
+            throw new ContentStoreException(String.format("Cannot delete content of document: %s from store: %s due to: %s", document.getIdentity(), storeType, e.getMessage()), e);
+        }
+    }
+}
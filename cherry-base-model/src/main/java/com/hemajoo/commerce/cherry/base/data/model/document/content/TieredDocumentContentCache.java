@@ -0,0 +1,576 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.document.content;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.hemajoo.commerce.cherry.base.data.model.document.ContentStoreException;
+import com.hemajoo.commerce.cherry.base.data.model.document.Document;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+
+import javax.annotation.PreDestroy;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * A tiered, read-through, <b>cache</b> of document contents in front of a {@link IDocumentContentStore}, such as a
+ * {@link SpringContentDocumentStore} wrapping a {@link IDocumentStoreFileSystem} or a {@link IDocumentStoreAmazonS3}.
+ * <br>
+ * Small contents are kept in a size-bounded in-heap tier, larger ones in a size-bounded local disk tier and read back
+ * through memory-mapped files. Both tiers use the <b>W-TinyLFU</b> admission and eviction policy of Caffeine, so a burst of
+ * one-time reads does not evict the popular contents. Contents are keyed by their content identifier, and invalidated when
+ * the content of a document is stored or deleted through the cache.
+ * <br>
+ * Concurrent misses of a same content are coalesced: only one of them fetches the content from the underlying content store,
+ * the others wait for it and are then served by the tier it has been cached in.
+ * <br>
+ * The disk tier directory is deleted when the cache is closed, the cache must not be used anymore afterwards.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Log4j2
+public final class TieredDocumentContentCache implements IDocumentContentStore, AutoCloseable
+{
+    /**
+     * Default capacity of the memory tier (64 MB).
+     */
+    public static final long DEFAULT_MEMORY_CAPACITY = 64L * 1024 * 1024;
+
+    /**
+     * Default maximum size of a content cached in the memory tier (1 MB).
+     */
+    public static final int DEFAULT_MEMORY_THRESHOLD = 1024 * 1024;
+
+    /**
+     * Default capacity of the disk tier (1 GB).
+     */
+    public static final long DEFAULT_DISK_CAPACITY = 1024L * 1024 * 1024;
+
+    /**
+     * Unit of the weights of the disk tier (contents are weighed in KB to support large capacities).
+     */
+    private static final int DISK_WEIGHT_UNIT = 1024;
+
+    /**
+     * Underlying content store.
+     */
+    private final IDocumentContentStore store;
+
+    /**
+     * Directory holding the files of the disk tier.
+     */
+    @Getter
+    private final Path directory;
+
+    /**
+     * Maximum size of a content cached in the memory tier.
+     */
+    @Getter
+    private final int memoryThreshold;
+
+    /**
+     * Memory tier.
+     */
+    private final Cache<String, byte[]> memory;
+
+    /**
+     * Disk tier.
+     */
+    private final Cache<String, Path> disk;
+
+    /**
+     * Number of reads served by the memory tier.
+     */
+    private final LongAdder memoryHits = new LongAdder();
+
+    /**
+     * Number of reads served by the disk tier.
+     */
+    private final LongAdder diskHits = new LongAdder();
+
+    /**
+     * Number of reads served by the underlying content store.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Fetches from the underlying content store in progress, by content key.
+     */
+    private final Map<String, CompletableFuture<Void>> fetches = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new tiered document content cache.
+     * @param store Underlying content store.
+     * @param directory Parent directory of the disk tier files (a dedicated sub-directory is created).
+     * @param memoryCapacity Capacity of the memory tier in bytes (defaults to {@link #DEFAULT_MEMORY_CAPACITY}).
+     * @param memoryThreshold Maximum size of a content cached in the memory tier (defaults to {@link #DEFAULT_MEMORY_THRESHOLD}).
+     * @param diskCapacity Capacity of the disk tier in bytes (defaults to {@link #DEFAULT_DISK_CAPACITY}).
+     * @throws ContentStoreException Thrown to indicate the disk tier directory cannot be created.
+     */
+    @Builder(setterPrefix = "with")
+    public TieredDocumentContentCache(final @NonNull IDocumentContentStore store, final @NonNull Path directory, final long memoryCapacity, final int memoryThreshold, final long diskCapacity) throws ContentStoreException
+    {
+        this.store = store;
+        this.memoryThreshold = memoryThreshold > 0 ? memoryThreshold : DEFAULT_MEMORY_THRESHOLD;
+
+        try
+        {
+            Files.createDirectories(directory);
+            this.directory = Files.createTempDirectory(directory, "content-cache-");
+        }
+        catch (IOException e)
+        {
+            throw new ContentStoreException(String.format("Cannot create content cache directory in: '%s' due to: %s", directory, e.getMessage()), e);
+        }
+
+        this.memory = Caffeine.newBuilder()
+                .maximumWeight(memoryCapacity > 0 ? memoryCapacity : DEFAULT_MEMORY_CAPACITY)
+                .weigher((String key, byte[] content) -> content.length)
+                .recordStats()
+                .build();
+
+        this.disk = Caffeine.newBuilder()
+                .maximumWeight((diskCapacity > 0 ? diskCapacity : DEFAULT_DISK_CAPACITY) / DISK_WEIGHT_UNIT)
+                .weigher((String key, Path file) -> weightOf(file))
+                .removalListener((String key, Path file, RemovalCause cause) -> deleteFile(file))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void store(final @NonNull Document document, final @NonNull InputStream stream) throws ContentStoreException
+    {
+        invalidate(document);
+        store.store(document, stream);
+    }
+
+    @Override
+    public InputStream load(final @NonNull Document document) throws ContentStoreException
+    {
+        String key = document.getContentId();
+        if (key == null)
+        {
+            return store.load(document);
+        }
+
+        InputStream cached = lookup(key);
+
+        return cached != null ? cached : fetch(document, key);
+    }
+
+    @Override
+    public long transferTo(final @NonNull Document document, final @NonNull ByteRange range, final @NonNull WritableByteChannel target) throws ContentStoreException
+    {
+        Path file = document.getContentId() != null ? disk.getIfPresent(document.getContentId()) : null;
+        if (file != null)
+        {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+            {
+                diskHits.increment();
+                return ContentTransfers.transfer(channel, range, target);
+            }
+            catch (NoSuchFileException e)
+            {
+                LOGGER.debug(String.format("Cached content: %s has been evicted, transferring from the store", document.getContentId()));
+            }
+            catch (IOException e)
+            {
+                throw new ContentStoreException(String.format("Cannot transfer cached content: %s from: '%s' due to: %s", document.getContentId(), file, e.getMessage()), e);
+            }
+        }
+
+        return IDocumentContentStore.super.transferTo(document, range, target);
+    }
+
+    @Override
+    public void delete(final @NonNull Document document) throws ContentStoreException
+    {
+        invalidate(document);
+        store.delete(document);
+    }
+
+    /**
+     * Invalidate the cached content of a document.
+     * @param document Document.
+     */
+    public void invalidate(final @NonNull Document document)
+    {
+        if (document.getContentId() != null)
+        {
+            memory.invalidate(document.getContentId());
+            disk.invalidate(document.getContentId());
+        }
+    }
+
+    /**
+     * Invalidate all the cached contents.
+     */
+    public void invalidateAll()
+    {
+        memory.invalidateAll();
+        disk.invalidateAll();
+    }
+
+    /**
+     * Close the cache, deleting the disk tier directory and its files.
+     */
+    @PreDestroy
+    @Override
+    public void close()
+    {
+        invalidateAll();
+
+        try (Stream<Path> files = Files.walk(directory))
+        {
+            files.sorted(Comparator.reverseOrder()).forEach(TieredDocumentContentCache::deleteFile);
+        }
+        catch (NoSuchFileException e)
+        {
+            LOGGER.debug(String.format("Content cache directory: '%s' has already been deleted", directory));
+        }
+        catch (IOException e)
+        {
+            LOGGER.warn(String.format("Cannot delete content cache directory: '%s' due to: %s", directory, e.getMessage()));
+        }
+    }
+
+    /**
+     * Return the number of reads served by the memory tier.
+     * @return Number of memory hits.
+     */
+    public long getMemoryHitCount()
+    {
+        return memoryHits.sum();
+    }
+
+    /**
+     * Return the number of reads served by the disk tier.
+     * @return Number of disk hits.
+     */
+    public long getDiskHitCount()
+    {
+        return diskHits.sum();
+    }
+
+    /**
+     * Return the number of reads served by the underlying content store.
+     * @return Number of misses.
+     */
+    public long getMissCount()
+    {
+        return misses.sum();
+    }
+
+    /**
+     * Return the ratio of the reads served by the cache (any tier).
+     * @return Hit ratio (1 if no read has been done yet).
+     */
+    public double getHitRatio()
+    {
+        long hits = memoryHits.sum() + diskHits.sum();
+        long requests = hits + misses.sum();
+
+        return requests == 0 ? 1.0 : (double) hits / requests;
+    }
+
+    /**
+     * Return the number of contents cached in the memory tier.
+     * @return Number of contents.
+     */
+    public long getMemorySize()
+    {
+        return memory.estimatedSize();
+    }
+
+    /**
+     * Return the number of contents cached in the disk tier.
+     * @return Number of contents.
+     */
+    public long getDiskSize()
+    {
+        return disk.estimatedSize();
+    }
+
+    /**
+     * Return a content from the tier it is cached in.
+     * @param key Content key.
+     * @return Content stream or <b>null</b> if the content is not cached.
+     */
+    private InputStream lookup(final String key)
+    {
+        byte[] content = memory.getIfPresent(key);
+        if (content != null)
+        {
+            memoryHits.increment();
+            return new ByteArrayInputStream(content);
+        }
+
+        Path file = disk.getIfPresent(key);
+        if (file != null)
+        {
+            try
+            {
+                InputStream mapped = map(file);
+                diskHits.increment();
+                return mapped;
+            }
+            catch (IOException e)
+            {
+                LOGGER.warn(String.format("Cannot read cached content: %s from: '%s' due to: %s", key, file, e.getMessage()));
+                disk.invalidate(key);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Fetch a content from the underlying content store, unless another thread is already fetching it, in which case the
+     * content is read from the cache once that fetch completes.
+     * @param document Document.
+     * @param key Content key.
+     * @return Content stream.
+     * @throws ContentStoreException Thrown to indicate an error occurred while fetching the content.
+     */
+    private InputStream fetch(final Document document, final String key) throws ContentStoreException
+    {
+        while (true)
+        {
+            CompletableFuture<Void> fetch = new CompletableFuture<>();
+            CompletableFuture<Void> pending = fetches.putIfAbsent(key, fetch);
+
+            if (pending == null)
+            {
+                try
+                {
+                    misses.increment();
+                    return loadAndCache(document, key);
+                }
+                finally
+                {
+                    fetches.remove(key, fetch);
+                    fetch.complete(null);
+                }
+            }
+
+            try
+            {
+                pending.get();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new ContentStoreException(String.format("Interrupted while waiting for content: %s of document: %s", key, document.getIdentity()), e);
+            }
+            catch (ExecutionException e)
+            {
+                throw new IllegalStateException(e); // Fetches are never completed exceptionally!
+            }
+
+            InputStream cached = lookup(key); // Not cached if the fetch has failed, it is then retried by this thread!
+            if (cached != null)
+            {
+                return cached;
+            }
+        }
+    }
+
+    /**
+     * Load a content from the underlying content store and cache it in the tier matching its size.
+     * @param document Document.
+     * @param key Content key.
+     * @return Content stream.
+     * @throws ContentStoreException Thrown to indicate an error occurred while loading the content.
+     */
+    private InputStream loadAndCache(final Document document, final String key) throws ContentStoreException
+    {
+        InputStream source = store.load(document);
+        if (source == null)
+        {
+            return null;
+        }
+
+        long length = document.getContentLength();
+
+        try (source)
+        {
+            if (length > 0 && length <= memoryThreshold)
+            {
+                byte[] content = source.readAllBytes();
+                memory.put(key, content);
+                return new ByteArrayInputStream(content);
+            }
+
+            Path file = Files.createTempFile(directory, "content-", ".bin");
+            try (OutputStream output = Files.newOutputStream(file))
+            {
+                source.transferTo(output);
+            }
+
+            if (Files.size(file) <= memoryThreshold) // Length was unknown!
+            {
+                byte[] content = Files.readAllBytes(file);
+                deleteFile(file);
+                memory.put(key, content);
+                return new ByteArrayInputStream(content);
+            }
+
+            disk.put(key, file);
+            return map(file);
+        }
+        catch (IOException e)
+        {
+            throw new ContentStoreException(String.format("Cannot cache content: %s of document: %s due to: %s", key, document.getIdentity(), e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Open a stream on a memory-mapped file (or a plain file stream if the file is too large to be mapped at once).
+     * @param file File.
+     * @return Content stream.
+     * @throws IOException Thrown to indicate the file cannot be read.
+     */
+    private static InputStream map(final Path file) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            if (channel.size() > Integer.MAX_VALUE)
+            {
+                return Files.newInputStream(file);
+            }
+
+            return new MappedInputStream(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())); // Mapping outlives the channel!
+        }
+    }
+
+    /**
+     * Return the weight of a file of the disk tier.
+     * @param file File.
+     * @return Weight (size in KB).
+     */
+    private static int weightOf(final Path file)
+    {
+        try
+        {
+            return (int) Math.min(Integer.MAX_VALUE, Files.size(file) / DISK_WEIGHT_UNIT + 1);
+        }
+        catch (IOException e)
+        {
+            return 1;
+        }
+    }
+
+    /**
+     * Delete a file of the disk tier.
+     * @param file File (can be null).
+     */
+    private static void deleteFile(final Path file)
+    {
+        if (file != null)
+        {
+            try
+            {
+                Files.deleteIfExists(file);
+            }
+            catch (IOException e)
+            {
+                LOGGER.warn(String.format("Cannot delete cached content file: '%s' due to: %s", file, e.getMessage()));
+            }
+        }
+    }
+
+    /**
+     * Input stream reading a memory-mapped file.
+     * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+     * @version 1.0.0
+     */
+    private static final class MappedInputStream extends InputStream
+    {
+        /**
+         * Mapped buffer.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * Create a new mapped input stream.
+         * @param buffer Mapped buffer.
+         */
+        private MappedInputStream(final MappedByteBuffer buffer)
+        {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read()
+        {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length)
+        {
+            if (length == 0)
+            {
+                return 0;
+            }
+
+            if (!buffer.hasRemaining())
+            {
+                return -1;
+            }
+
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+
+            return count;
+        }
+
+        @Override
+        public long skip(final long count)
+        {
+            int skipped = (int) Math.max(0, Math.min(count, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+
+            return skipped;
+        }
+
+        @Override
+        public int available()
+        {
+            return buffer.remaining();
+        }
+    }
+}
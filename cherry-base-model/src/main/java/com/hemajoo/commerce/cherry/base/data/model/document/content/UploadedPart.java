@@ -0,0 +1,58 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.document.content;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Represent a <b>part</b> uploaded to an object store as part of a multipart upload.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@ToString
+public final class UploadedPart
+{
+    /**
+     * Part number (starting at 1).
+     */
+    @Getter
+    private final int number;
+
+    /**
+     * Entity tag returned by the object store.
+     */
+    @Getter
+    private final String etag;
+
+    /**
+     * Part size in bytes.
+     */
+    @Getter
+    private final long size;
+
+    /**
+     * Create a new uploaded part.
+     * @param number Part number.
+     * @param etag Entity tag.
+     * @param size Part size.
+     */
+    public UploadedPart(final int number, final String etag, final long size)
+    {
+        this.number = number;
+        this.etag = etag;
+        this.size = size;
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.test;
+
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the tests running the data model entities against an embedded database (see
+ * {@link org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest}).
+ * <br>
+ * Unlike the {@link SpringTestApplication}, it does not exclude the data source and the Hibernate auto-configurations.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Configuration
+@AutoConfigurationPackage(basePackages = "com.hemajoo.commerce.cherry.base.data.model")
+public class JpaTestConfiguration
+{
+    // Empty!
+}
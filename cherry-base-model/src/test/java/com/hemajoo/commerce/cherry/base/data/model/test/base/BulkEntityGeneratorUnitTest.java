@@ -0,0 +1,109 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.test.base;
+
+import com.hemajoo.commerce.cherry.base.commons.test.AbstractCherryUnitTest;
+import com.hemajoo.commerce.cherry.base.data.model.base.random.BulkEntityGenerator;
+import com.hemajoo.commerce.cherry.base.data.model.document.DocumentRandomizer;
+import com.hemajoo.commerce.cherry.base.data.model.document.IDocument;
+import com.hemajoo.commerce.cherry.base.utilities.generator.GeneratorException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for unit testing the {@link BulkEntityGenerator} class.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+class BulkEntityGeneratorUnitTest extends AbstractCherryUnitTest
+{
+    /**
+     * Upper bound of the generated dates.
+     */
+    private static final Instant NOW = Instant.parse("2022-01-01T00:00:00Z");
+
+    @Test
+    @DisplayName("Generate the same documents for the same seed whatever the number of worker threads")
+    final void testReproducibleGeneration() throws GeneratorException
+    {
+        List<IDocument> sequential = createGenerator(250, 1).generate();
+        List<IDocument> parallel = createGenerator(250, 4).generate();
+
+        assertThat(sequential).hasSize(250);
+        for (int i = 0; i < sequential.size(); i++)
+        {
+            assertThat(parallel.get(i).getId()).isEqualTo(sequential.get(i).getId());
+            assertThat(parallel.get(i).getName()).isEqualTo(sequential.get(i).getName());
+            assertThat(parallel.get(i).getCreatedDate()).isEqualTo(sequential.get(i).getCreatedDate());
+        }
+    }
+
+    @Test
+    @DisplayName("Stream generated documents to a sink in batches")
+    final void testStreamToSink() throws GeneratorException
+    {
+        AtomicLong received = new AtomicLong();
+        AtomicLong batches = new AtomicLong();
+
+        long generated = createGenerator(1050, 3).generate((offset, batch) -> {
+            assertThat(offset % 100).isZero();
+            received.addAndGet(batch.size());
+            batches.incrementAndGet();
+        });
+
+        assertThat(generated).isEqualTo(1050);
+        assertThat(received.get()).isEqualTo(1050);
+        assertThat(batches.get()).isEqualTo(11);
+    }
+
+    @Test
+    @DisplayName("Report a failure of the entity factory")
+    final void testFactoryFailure()
+    {
+        BulkEntityGenerator<IDocument> generator = BulkEntityGenerator.<IDocument>builder()
+                .withCount(10)
+                .withFactory((context, index) -> {
+                    throw new GeneratorException("Failure");
+                })
+                .build();
+
+        assertThatThrownBy(generator::generate).isInstanceOf(GeneratorException.class);
+    }
+
+    /**
+     * Create a document bulk generator.
+     * @param count Number of documents to generate.
+     * @param parallelism Number of worker threads.
+     * @return Bulk generator.
+     */
+    private static BulkEntityGenerator<IDocument> createGenerator(final long count, final int parallelism)
+    {
+        return BulkEntityGenerator.<IDocument>builder()
+                .withCount(count)
+                .withSeed(42L)
+                .withParallelism(parallelism)
+                .withBatchSize(100)
+                .withNow(NOW)
+                .withFactory((context, index) -> DocumentRandomizer.generate(true, false, context))
+                .build();
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.test.base;
+
+import com.hemajoo.commerce.cherry.base.commons.test.AbstractCherryUnitTest;
+import com.hemajoo.commerce.cherry.base.data.model.base.DataModelEntity;
+import com.hemajoo.commerce.cherry.base.data.model.base.exception.DataModelEntityException;
+import com.hemajoo.commerce.cherry.base.data.model.base.type.EntityStatusType;
+import com.hemajoo.commerce.cherry.base.data.model.base.type.EntityType;
+import com.hemajoo.commerce.cherry.base.data.model.document.Document;
+import com.hemajoo.commerce.cherry.base.data.model.test.JpaTestConfiguration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for integration testing the lookup of the documents of a {@link DataModelEntity} loaded through <b>JPA</b>.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@DataJpaTest
+@ContextConfiguration(classes = JpaTestConfiguration.class)
+class DataModelEntityDocumentIndexIntegrationTest extends AbstractCherryUnitTest
+{
+    /**
+     * Test entity manager.
+     */
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("Lookup the loaded documents of a loaded owner by identifier and by name")
+    final void testLookupLoadedDocuments() throws DataModelEntityException
+    {
+        DataModelEntity owner = loadOwner("contract", "invoice");
+
+        Document contract = owner.getDocumentByName("contract");
+
+        assertThat(contract).isNotNull();
+        assertThat((Document) owner.getDocumentById(contract.getId())).isSameAs(contract);
+        assertThat(owner.existDocumentByName("invoice")).isTrue();
+        assertThat(owner.getDocumentCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Lookup a document added to a loaded owner")
+    final void testLookupAfterAdd() throws DataModelEntityException
+    {
+        DataModelEntity owner = loadOwner("contract");
+        Document receipt = new Document();
+        receipt.setName("receipt");
+
+        owner.addDocument(receipt);
+
+        assertThat((Document) owner.getDocumentByName("receipt")).isSameAs(receipt);
+        assertThat(owner.existDocumentByName("contract")).isTrue();
+
+        UUID id = UUID.randomUUID();
+        receipt.setId(id);
+
+        assertThat((Document) owner.getDocumentById(id)).isSameAs(receipt);
+    }
+
+    @Test
+    @DisplayName("Never lookup a document removed from a loaded owner")
+    final void testLookupAfterRemove() throws DataModelEntityException
+    {
+        DataModelEntity owner = loadOwner("contract", "invoice");
+        Document contract = owner.getDocumentByName("contract");
+        UUID id = contract.getId();
+
+        assertThat(owner.deleteDocumentById(id)).isTrue();
+
+        assertThat((Document) owner.getDocumentById(id)).isNull();
+        assertThat(owner.existDocumentByName("contract")).isFalse();
+        assertThat(owner.getDocumentCount()).isEqualTo(1);
+
+        // A removed document no longer updates the index of its former owner.
+        contract.setName("invoice");
+        assertThat(owner.deleteDocumentByName("invoice")).isTrue();
+        assertThat(owner.existDocumentByName("invoice")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Lookup a loaded document by its new name and identifier once changed")
+    final void testLookupAfterRenameAndIdChange() throws DataModelEntityException
+    {
+        DataModelEntity owner = loadOwner("contract", "invoice");
+        Document invoice = owner.getDocumentByName("invoice");
+        UUID oldId = invoice.getId();
+
+        invoice.setName("receipt");
+
+        assertThat((Document) owner.getDocumentByName("receipt")).isSameAs(invoice);
+        assertThat(owner.existDocumentByName("invoice")).isFalse();
+
+        UUID newId = UUID.randomUUID();
+        invoice.setId(newId);
+
+        assertThat((Document) owner.getDocumentById(newId)).isSameAs(invoice);
+        assertThat(owner.existDocumentById(oldId)).isFalse();
+        assertThat(owner.deleteDocumentById(newId)).isTrue();
+        assertThat(owner.existDocumentByName("receipt")).isFalse();
+    }
+
+    /**
+     * Persist an owner entity with some documents, then load it again in a cleared persistence context.
+     * @param names Document names.
+     * @return Loaded owner entity.
+     * @throws DataModelEntityException Thrown to indicate an error occurred while creating the entities.
+     */
+    private DataModelEntity loadOwner(final String... names) throws DataModelEntityException
+    {
+        DataModelEntity owner = new DataModelEntity(EntityType.PERSON, "owner", null, null, EntityStatusType.ACTIVE, null, null, null);
+
+        for (String name : names)
+        {
+            Document document = new Document();
+            document.setName(name);
+            owner.addDocument(document);
+        }
+
+        UUID id = entityManager.persistAndFlush(owner).getId();
+        entityManager.clear();
+
+        return entityManager.find(DataModelEntity.class, id);
+    }
+}
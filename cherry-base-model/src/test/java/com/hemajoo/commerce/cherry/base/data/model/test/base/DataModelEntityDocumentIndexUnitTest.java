@@ -0,0 +1,148 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.test.base;
+
+import com.hemajoo.commerce.cherry.base.commons.test.AbstractCherryUnitTest;
+import com.hemajoo.commerce.cherry.base.data.model.base.DataModelEntity;
+import com.hemajoo.commerce.cherry.base.data.model.base.exception.DataModelEntityException;
+import com.hemajoo.commerce.cherry.base.data.model.base.type.EntityStatusType;
+import com.hemajoo.commerce.cherry.base.data.model.base.type.EntityType;
+import com.hemajoo.commerce.cherry.base.data.model.document.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for unit testing the lookup of the documents of a transient {@link DataModelEntity} by identifier and by name.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+class DataModelEntityDocumentIndexUnitTest extends AbstractCherryUnitTest
+{
+    @Test
+    @DisplayName("Lookup the documents by identifier and by name once added")
+    final void testLookupAfterAdd() throws DataModelEntityException
+    {
+        DataModelEntity owner = createOwner();
+        Document contract = createDocument(UUID.randomUUID(), "contract");
+        Document invoice = createDocument(null, "invoice");
+
+        owner.addDocument(contract);
+        owner.addDocument(invoice);
+
+        assertThat((Document) owner.getDocumentById(contract.getId())).isSameAs(contract);
+        assertThat((Document) owner.getDocumentById(contract.getId().toString())).isSameAs(contract);
+        assertThat((Document) owner.getDocumentByName("contract")).isSameAs(contract);
+        assertThat((Document) owner.getDocumentByName("invoice")).isSameAs(invoice);
+        assertThat(owner.existDocument(invoice)).isTrue();
+        assertThat(owner.existDocumentByName("receipt")).isFalse();
+        assertThat(owner.getDocumentCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Never lookup the documents once removed")
+    final void testLookupAfterRemove() throws DataModelEntityException
+    {
+        DataModelEntity owner = createOwner();
+        Document contract = createDocument(UUID.randomUUID(), "contract");
+        Document invoice = createDocument(null, "invoice");
+        owner.addDocument(contract);
+        owner.addDocument(invoice);
+
+        assertThat(owner.deleteDocumentById(contract.getId())).isTrue();
+        assertThat(owner.deleteDocumentByName("invoice")).isTrue();
+
+        assertThat((Document) owner.getDocumentById(contract.getId())).isNull();
+        assertThat((Document) owner.getDocumentByName("contract")).isNull();
+        assertThat((Document) owner.getDocumentByName("invoice")).isNull();
+        assertThat(owner.getDocumentCount()).isZero();
+
+        // A removed document no longer updates the index of its former owner.
+        contract.setName("invoice");
+        assertThat(owner.existDocumentByName("invoice")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Lookup a document by its new name once renamed")
+    final void testLookupAfterRename() throws DataModelEntityException
+    {
+        DataModelEntity owner = createOwner();
+        Document contract = createDocument(UUID.randomUUID(), "contract");
+        Document copy = createDocument(UUID.randomUUID(), "contract");
+        owner.addDocument(contract);
+        owner.addDocument(copy);
+
+        contract.setName("agreement");
+
+        assertThat((Document) owner.getDocumentByName("agreement")).isSameAs(contract);
+        assertThat((Document) owner.getDocumentByName("contract")).isSameAs(copy);
+
+        copy.setName("agreement");
+
+        assertThat(owner.existDocumentByName("contract")).isFalse();
+        assertThat(owner.deleteDocumentByName("agreement")).isTrue();
+        assertThat(owner.getDocumentCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Lookup a document by its new identifier once changed")
+    final void testLookupAfterIdChange() throws DataModelEntityException
+    {
+        DataModelEntity owner = createOwner();
+        Document contract = createDocument(null, "contract");
+        owner.addDocument(contract);
+
+        UUID id = UUID.randomUUID();
+        contract.setId(id);
+
+        assertThat((Document) owner.getDocumentById(id)).isSameAs(contract);
+
+        UUID newId = UUID.randomUUID();
+        contract.setId(newId);
+
+        assertThat((Document) owner.getDocumentById(newId)).isSameAs(contract);
+        assertThat(owner.existDocumentById(id)).isFalse();
+        assertThat(owner.deleteDocumentById(newId)).isTrue();
+        assertThat(owner.getDocumentCount()).isZero();
+    }
+
+    /**
+     * Create a transient owner entity.
+     * @return Owner entity.
+     * @throws DataModelEntityException Thrown to indicate an error occurred while creating the entity.
+     */
+    private DataModelEntity createOwner() throws DataModelEntityException
+    {
+        return new DataModelEntity(EntityType.PERSON, "owner", null, null, EntityStatusType.ACTIVE, null, null, null);
+    }
+
+    /**
+     * Create a transient document.
+     * @param id Identifier (can be null).
+     * @param name Name.
+     * @return Document.
+     */
+    private Document createDocument(final UUID id, final String name)
+    {
+        Document document = new Document();
+        document.setId(id);
+        document.setName(name);
+
+        return document;
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.test.base;
+
+import com.hemajoo.commerce.cherry.base.commons.test.AbstractCherryUnitTest;
+import com.hemajoo.commerce.cherry.base.data.model.base.DataModelEntity;
+import com.hemajoo.commerce.cherry.base.data.model.base.exception.DataModelEntityException;
+import com.hemajoo.commerce.cherry.base.data.model.base.identity.EntityManagerIdentityResolver;
+import com.hemajoo.commerce.cherry.base.data.model.base.identity.Identity;
+import com.hemajoo.commerce.cherry.base.data.model.base.identity.IdentityCache;
+import com.hemajoo.commerce.cherry.base.data.model.base.type.EntityStatusType;
+import com.hemajoo.commerce.cherry.base.data.model.base.type.EntityType;
+import com.hemajoo.commerce.cherry.base.data.model.document.Document;
+import com.hemajoo.commerce.cherry.base.data.model.test.JpaTestConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for integration testing the resolution of the parent of the data model entities loaded through <b>JPA</b>.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@DataJpaTest
+@ContextConfiguration(classes = JpaTestConfiguration.class)
+class DataModelEntityParentIntegrationTest extends AbstractCherryUnitTest
+{
+    /**
+     * Test entity manager.
+     */
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @AfterEach
+    final void tearDown()
+    {
+        IdentityCache.setResolver(null);
+        IdentityCache.clear();
+    }
+
+    @Test
+    @DisplayName("Resolve the parent of a loaded entity from the current persistence context")
+    final void testResolveLoadedParent() throws DataModelEntityException
+    {
+        IdentityCache.setResolver(new EntityManagerIdentityResolver(entityManager.getEntityManager()));
+        UUID documentId = persistOwnerWithDocuments("contract").getId();
+
+        Document document = entityManager.find(Document.class, documentId);
+        DataModelEntity parent = document.getParent();
+
+        assertThat(parent).isNotNull();
+        assertThat(parent.getEntityType()).isEqualTo(EntityType.PERSON);
+        assertThat(parent.getName()).isEqualTo("owner");
+        assertThat(parent).isSameAs(entityManager.find(DataModelEntity.class, document.getParentId()));
+        assertThat(document.getParentIdentity()).isEqualTo(Identity.from(EntityType.PERSON, parent.getId()));
+    }
+
+    @Test
+    @DisplayName("Never resolve a parent identity to an entity of another type")
+    final void testResolveParentOfAnotherType() throws DataModelEntityException
+    {
+        IdentityCache.setResolver(new EntityManagerIdentityResolver(entityManager.getEntityManager()));
+        UUID documentId = persistOwnerWithDocuments("contract").getId();
+
+        Document document = entityManager.find(Document.class, documentId);
+        document.setParentIdentity(Identity.from(EntityType.COMPANY, document.getParentId()));
+
+        assertThat((DataModelEntity) document.getParent()).isNull();
+    }
+
+    @Test
+    @DisplayName("Keep the parent identity of a loaded entity without identity resolver")
+    final void testLoadedParentWithoutResolver() throws DataModelEntityException
+    {
+        UUID documentId = persistOwnerWithDocuments("contract").getId();
+
+        Document document = entityManager.find(Document.class, documentId);
+
+        assertThat((DataModelEntity) document.getParent()).isNull();
+        assertThat(document.getParentType()).isEqualTo(EntityType.PERSON);
+        assertThat(document.getParentId()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Keep a resolved parent in the identity cache across persistence contexts")
+    final void testCacheResolvedParent() throws DataModelEntityException
+    {
+        AtomicInteger resolutions = new AtomicInteger();
+        EntityManagerIdentityResolver resolver = new EntityManagerIdentityResolver(entityManager.getEntityManager());
+        IdentityCache.setResolver(identity -> {
+            resolutions.incrementAndGet();
+            return resolver.resolve(identity);
+        });
+        UUID documentId = persistOwnerWithDocuments("contract").getId();
+
+        DataModelEntity parent = entityManager.find(Document.class, documentId).getParent();
+        entityManager.clear();
+
+        assertThat((DataModelEntity) entityManager.find(Document.class, documentId).getParent()).isSameAs(parent);
+        assertThat(resolutions.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Return a parent set before it has an identifier")
+    final void testUnsavedParent() throws DataModelEntityException
+    {
+        DataModelEntity owner = new DataModelEntity(EntityType.PERSON, "owner", null, null, EntityStatusType.ACTIVE, null, null, null);
+        Document document = new Document();
+        document.setName("contract");
+        document.setParent(owner);
+
+        assertThat((DataModelEntity) document.getParent()).isSameAs(owner);
+        assertThat(document.getParentId()).isNull();
+
+        entityManager.persistAndFlush(owner);
+
+        assertThat((DataModelEntity) document.getParent()).isSameAs(owner);
+        assertThat(document.getParentIdentity()).isEqualTo(Identity.from(EntityType.PERSON, owner.getId()));
+    }
+
+    @Test
+    @DisplayName("Keep the document index of a loaded owner in sync when a loaded document is renamed")
+    final void testRenameLoadedDocument() throws DataModelEntityException
+    {
+        UUID ownerId = persistOwnerWithDocuments("contract", "invoice").getParentId();
+
+        DataModelEntity owner = entityManager.find(DataModelEntity.class, ownerId);
+        Document document = owner.getDocumentByName("contract");
+
+        document.setName("agreement");
+
+        assertThat((Document) owner.getDocumentByName("agreement")).isSameAs(document);
+        assertThat((Document) owner.getDocumentByName("contract")).isNull();
+        assertThat(owner.existDocumentByName("invoice")).isTrue();
+
+        UUID newId = UUID.randomUUID();
+        UUID oldId = document.getId();
+        document.setId(newId);
+
+        assertThat((Document) owner.getDocumentById(newId)).isSameAs(document);
+        assertThat(owner.existDocumentById(oldId)).isFalse();
+    }
+
+    /**
+     * Persist an owner entity with some documents, then clear the persistence context.
+     * @param names Document names.
+     * @return First persisted document (detached).
+     * @throws DataModelEntityException Thrown to indicate an error occurred while creating the entities.
+     */
+    private Document persistOwnerWithDocuments(final String... names) throws DataModelEntityException
+    {
+        DataModelEntity owner = new DataModelEntity(EntityType.PERSON, "owner", null, null, EntityStatusType.ACTIVE, null, null, null);
+
+        Document first = null;
+        for (String name : names)
+        {
+            Document document = new Document();
+            document.setName(name);
+            owner.addDocument(document);
+            first = first == null ? document : first;
+        }
+
+        entityManager.persistAndFlush(owner);
+        entityManager.clear();
+        IdentityCache.clear(); // Parents are resolved as if loaded by another process!
+
+        return first;
+    }
+}
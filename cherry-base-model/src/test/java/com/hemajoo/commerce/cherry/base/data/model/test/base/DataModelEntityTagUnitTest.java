@@ -0,0 +1,111 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.test.base;
+
+import com.hemajoo.commerce.cherry.base.commons.test.AbstractCherryUnitTest;
+import com.hemajoo.commerce.cherry.base.data.model.base.DataModelEntity;
+import com.hemajoo.commerce.cherry.base.data.model.document.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for unit testing the tags of the {@link DataModelEntity} class.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+class DataModelEntityTagUnitTest extends AbstractCherryUnitTest
+{
+    @Test
+    @DisplayName("Add tags through the cached tag set")
+    final void testAddTags()
+    {
+        Document document = new Document();
+
+        document.addTag("red");
+        document.addTags(" green ", "red", "", null);
+        document.addTags(Set.of("blue"));
+
+        assertThat(document.getTags()).containsExactly("red", "green", "blue");
+        assertThat(document.getTagsAsString()).isEqualTo("red, green, blue");
+        assertThat(document.getTagCount()).isEqualTo(3);
+        assertThat(document.existTag(" green")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Delete tags through the cached tag set")
+    final void testDeleteTags()
+    {
+        Document document = new Document();
+        document.addTags("red", "green", "blue");
+
+        document.deleteTag(" green ");
+        document.deleteTag("yellow");
+
+        assertThat(document.getTags()).containsExactly("red", "blue");
+        assertThat(document.getTagsAsString()).isEqualTo("red, blue");
+
+        document.deleteTag("red");
+        document.deleteTag("blue");
+
+        assertThat(document.getTags()).isEmpty();
+        assertThat(document.getTagsAsString()).isNull();
+
+        document.addTags("red", "green");
+        document.deleteAllTags();
+
+        assertThat(document.getTagCount()).isZero();
+        assertThat(document.existTag("red")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Parse the tags string again only once it has been replaced")
+    final void testSetTags()
+    {
+        Document document = new Document();
+        document.addTag("red");
+
+        document.setTags("green, ,blue");
+
+        assertThat(document.getTags()).containsExactly("green", "blue");
+
+        document.addTag("red");
+
+        assertThat(document.getTagsAsString()).isEqualTo("green, ,blue, red");
+        assertThat(document.getTags()).containsExactly("green", "blue", "red");
+    }
+
+    @Test
+    @DisplayName("Return a read-only view of the tags")
+    final void testReadOnlyTags()
+    {
+        Document document = new Document();
+        document.addTag("red");
+
+        Set<String> tags = document.getTags();
+
+        assertThatThrownBy(() -> tags.add("green")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> tags.remove("red")).isInstanceOf(UnsupportedOperationException.class);
+
+        document.addTag("green");
+        document.deleteTag("red");
+
+        assertThat(tags).containsExactly("green");
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.test.base;
+
+import com.hemajoo.commerce.cherry.base.data.model.base.validation.DataModelEntityValidator;
+import com.hemajoo.commerce.cherry.base.data.model.document.DocumentException;
+import com.hemajoo.commerce.cherry.base.data.model.document.DocumentRandomizer;
+import com.hemajoo.commerce.cherry.base.data.model.document.IDocument;
+import com.hemajoo.commerce.cherry.base.utilities.generator.GeneratorException;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Micro-benchmark measuring the per-entity cost of the <b>validation</b> of data model entities using a validator created
+ * per validation, the shared validators and the parallel batch validation.
+ * <br>
+ * Timings are only logged, the behavior of the validators is tested by {@code DataModelEntityValidatorUnitTest}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Log4j2
+class DataModelEntityValidatorBenchmarkIntegrationTest
+{
+    /**
+     * Number of validated entities per run.
+     */
+    private static final int ENTITIES = 20_000;
+
+    @Test
+    @DisplayName("Benchmark the per-entity cost of the validation of data model entities")
+    final void testBenchmarkValidation() throws DocumentException, GeneratorException
+    {
+        List<IDocument> documents = new ArrayList<>(ENTITIES);
+        for (int i = 0; i < ENTITIES; i++)
+        {
+            documents.add(DocumentRandomizer.generate(true, false));
+        }
+
+        Consumer<List<IDocument>> perCall = entities -> entities.forEach(entity -> DataModelEntityValidator.VALIDATOR_FACTORY.getValidator().validate(entity));
+        Consumer<List<IDocument>> shared = entities -> entities.forEach(entity -> DataModelEntityValidator.validate(entity, false));
+        Consumer<List<IDocument>> failFast = entities -> entities.forEach(entity -> DataModelEntityValidator.validate(entity, true));
+        Consumer<List<IDocument>> batch = entities -> DataModelEntityValidator.validateAll(entities, false);
+
+        run(perCall, documents); // Warm-up.
+        run(shared, documents); // Warm-up.
+        run(batch, documents); // Warm-up.
+
+        log("validator per call", run(perCall, documents));
+        log("shared validator", run(shared, documents));
+        log("shared fail-fast validator", run(failFast, documents));
+        log("parallel batch validation", run(batch, documents));
+    }
+
+    /**
+     * Run a validation strategy over the entities.
+     * @param strategy Validation strategy.
+     * @param documents Entities.
+     * @return Elapsed time in nanoseconds.
+     */
+    private long run(final Consumer<List<IDocument>> strategy, final List<IDocument> documents)
+    {
+        long start = System.nanoTime();
+        strategy.accept(documents);
+
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Log the result of a run.
+     * @param name Validation strategy name.
+     * @param elapsed Elapsed time in nanoseconds.
+     */
+    private void log(final String name, final long elapsed)
+    {
+        LOGGER.info(String.format("Validated %s entities using %s in: %s ms (%s ns/entity)", ENTITIES, name, elapsed / 1_000_000, elapsed / ENTITIES));
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.test.base.identity;
+
+import com.hemajoo.commerce.cherry.base.commons.test.AbstractCherryUnitTest;
+import com.hemajoo.commerce.cherry.base.data.model.base.DataModelEntity;
+import com.hemajoo.commerce.cherry.base.data.model.base.identity.IdentityCache;
+import com.hemajoo.commerce.cherry.base.data.model.base.identity.UuidStorageType;
+import com.hemajoo.commerce.cherry.base.data.model.base.identity.UuidType;
+import com.hemajoo.commerce.cherry.base.data.model.configuration.DataModelConfiguration;
+import com.hemajoo.commerce.cherry.base.data.model.document.Document;
+import com.hemajoo.commerce.cherry.base.data.model.test.JpaTestConfiguration;
+import com.hemajoo.commerce.cherry.base.utilities.generator.UuidGenerator;
+import com.hemajoo.commerce.cherry.base.utilities.generator.UuidGeneratorType;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for integration testing the persistence of data model entities whose identifiers are configured (through the
+ * {@link DataModelConfiguration}) to be time-ordered UUIDs stored as binary values.
+ * <br>
+ * The identifier settings are scoped to this test class, so the other tests run with the default settings.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@DataJpaTest
+@ContextConfiguration(classes = { JpaTestConfiguration.class, DataModelConfiguration.class })
+@TestPropertySource(properties = {
+        "hemajoo.commerce.cherry.entity.id.generator-type=TIME_ORDERED",
+        "hemajoo.commerce.cherry.entity.id.storage-type=BINARY"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class DataModelIdentifierConfigurationIntegrationTest extends AbstractCherryUnitTest
+{
+    /**
+     * Test entity manager.
+     */
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @AfterAll
+    static void tearDown()
+    {
+        // Restore the default settings changed by the data model configuration.
+        UuidGenerator.setDefaultType(UuidGeneratorType.RANDOM);
+        UuidType.setStorageType(UuidStorageType.CHAR);
+        DataModelEntity.setTagIndex(null);
+        IdentityCache.setResolver(null);
+        IdentityCache.clear();
+    }
+
+    @Test
+    @DisplayName("Generate time-ordered identifiers for the persisted entities")
+    final void testTimeOrderedIdentifiers()
+    {
+        UUID first = entityManager.persistAndFlush(createDocument("first")).getId();
+        UUID second = entityManager.persistAndFlush(createDocument("second")).getId();
+
+        assertThat(first.version()).isEqualTo(7);
+        assertThat(second.version()).isEqualTo(7);
+        assertThat(second).isGreaterThan(first);
+    }
+
+    @Test
+    @DisplayName("Store the identifiers of the persisted entities as binary values")
+    final void testBinaryIdentifiers()
+    {
+        Document document = entityManager.persistAndFlush(createDocument("binary"));
+        entityManager.clear();
+
+        Object stored = entityManager.getEntityManager()
+                .createNativeQuery("SELECT ID FROM DOCUMENT WHERE NAME = 'binary'")
+                .getSingleResult();
+
+        assertThat(stored).isInstanceOf(byte[].class);
+        assertThat((byte[]) stored).hasSize(16);
+        assertThat(entityManager.find(Document.class, document.getId()).getName()).isEqualTo("binary");
+    }
+
+    /**
+     * Create a document.
+     * @param name Document name.
+     * @return Document.
+     */
+    private static Document createDocument(final String name)
+    {
+        Document document = new Document();
+        document.setName(name);
+
+        return document;
+    }
+}
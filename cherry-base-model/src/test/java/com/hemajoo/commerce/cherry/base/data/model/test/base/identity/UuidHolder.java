@@ -0,0 +1,60 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.test.base.identity;
+
+import com.hemajoo.commerce.cherry.base.data.model.base.identity.UuidType;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Type;
+import org.hibernate.annotations.TypeDef;
+
+import javax.persistence.*;
+import java.util.UUID;
+
+/**
+ * Entity holding a UUID identifier mapped by the {@link UuidType}, used to test the UUID storage types.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "UUID_HOLDER")
+@TypeDef(name = UuidType.NAME, typeClass = UuidType.class)
+public class UuidHolder
+{
+    /**
+     * Identifier.
+     */
+    @Id
+    @Type(type = UuidType.NAME)
+    @Column(name = "ID")
+    private UUID id;
+
+    /**
+     * Name.
+     */
+    @Column(name = "NAME", length = 50)
+    private String name;
+
+    /**
+     * Parent holder.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "PARENT_ID")
+    private UuidHolder parent;
+}
@@ -0,0 +1,115 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.test.base.identity;
+
+import com.hemajoo.commerce.cherry.base.commons.test.AbstractCherryUnitTest;
+import com.hemajoo.commerce.cherry.base.data.model.base.identity.UuidStorageMigration;
+import com.hemajoo.commerce.cherry.base.data.model.base.identity.UuidStorageType;
+import com.hemajoo.commerce.cherry.base.data.model.base.identity.UuidType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for integration testing the {@link UuidStorageMigration} class against an <b>H2</b> in-memory database.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+class UuidStorageMigrationIntegrationTest extends AbstractCherryUnitTest
+{
+    /**
+     * Number of rows to migrate.
+     */
+    private static final int ROWS = 50;
+
+    @ParameterizedTest
+    @EnumSource(value = UuidStorageType.class, names = { "BINARY", "NATIVE" })
+    @DisplayName("Migrate a UUID column stored as characters and read it back")
+    final void testMigrateFromChar(final UuidStorageType target) throws SQLException
+    {
+        List<UUID> uuids = new ArrayList<>();
+        UuidType type = new UuidType();
+
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:uuid_migration_" + target))
+        {
+            try (Statement statement = connection.createStatement())
+            {
+                statement.execute(String.format("CREATE TABLE DOCUMENT (ID VARCHAR(%s) PRIMARY KEY, POSITION INT)", UuidType.CHAR_LENGTH));
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement("INSERT INTO DOCUMENT (ID, POSITION) VALUES (?, ?)"))
+            {
+                for (int i = 0; i < ROWS; i++)
+                {
+                    UUID uuid = UUID.randomUUID();
+                    uuids.add(uuid);
+                    statement.setString(1, uuid.toString());
+                    statement.setInt(2, i);
+                    statement.executeUpdate();
+                }
+            }
+
+            try (Statement statement = connection.createStatement())
+            {
+                for (String sql : UuidStorageMigration.fromChar(UuidStorageMigration.Database.H2, "DOCUMENT", "ID", target))
+                {
+                    statement.execute(sql);
+                }
+            }
+
+            try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery("SELECT ID FROM DOCUMENT ORDER BY POSITION"))
+            {
+                for (UUID uuid : uuids)
+                {
+                    assertThat(resultSet.next()).isTrue();
+                    assertThat(resultSet.getObject(1)).isInstanceOf(target == UuidStorageType.BINARY ? byte[].class : UUID.class);
+                    assertThat(type.nullSafeGet(resultSet, new String[] { "ID" }, null, null)).isEqualTo(uuid);
+                }
+                assertThat(resultSet.next()).isFalse();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Generate the migration statements of each database")
+    final void testMigrationStatements()
+    {
+        assertThat(UuidStorageMigration.fromChar(UuidStorageMigration.Database.H2, "DOCUMENT", "ID", UuidStorageType.CHAR)).isEmpty();
+        assertThat(UuidStorageMigration.fromChar(UuidStorageMigration.Database.POSTGRESQL, "DOCUMENT", "ID", UuidStorageType.NATIVE))
+                .containsExactly("ALTER TABLE DOCUMENT ALTER COLUMN ID TYPE UUID USING ID::UUID");
+        assertThat(UuidStorageMigration.fromChar(UuidStorageMigration.Database.POSTGRESQL, "DOCUMENT", "ID", UuidStorageType.BINARY))
+                .containsExactly("ALTER TABLE DOCUMENT ALTER COLUMN ID TYPE BYTEA USING DECODE(REPLACE(ID, '-', ''), 'hex')");
+        assertThat(UuidStorageMigration.fromChar(UuidStorageMigration.Database.H2, "DOCUMENT", "ID", UuidStorageType.BINARY)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Reject invalid table and column names")
+    final void testRejectInvalidIdentifier()
+    {
+        assertThatThrownBy(() -> UuidStorageMigration.fromChar(UuidStorageMigration.Database.H2, "DOCUMENT; DROP TABLE DOCUMENT", "ID", UuidStorageType.BINARY))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> UuidStorageMigration.fromChar(UuidStorageMigration.Database.POSTGRESQL, "DOCUMENT", "1D", UuidStorageType.NATIVE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
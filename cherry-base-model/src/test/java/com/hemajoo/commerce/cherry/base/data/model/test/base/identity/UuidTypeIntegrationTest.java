@@ -0,0 +1,178 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.test.base.identity;
+
+import com.hemajoo.commerce.cherry.base.commons.test.AbstractCherryUnitTest;
+import com.hemajoo.commerce.cherry.base.data.model.base.identity.UuidColumnIntegrator;
+import com.hemajoo.commerce.cherry.base.data.model.base.identity.UuidStorageType;
+import com.hemajoo.commerce.cherry.base.data.model.base.identity.UuidType;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.sql.*;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for integration testing the {@link UuidType} and {@link UuidColumnIntegrator} classes against an <b>H2</b>
+ * in-memory database.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+class UuidTypeIntegrationTest extends AbstractCherryUnitTest
+{
+    /**
+     * Storage type in use before the test.
+     */
+    private UuidStorageType previous;
+
+    @BeforeEach
+    final void setUp()
+    {
+        previous = UuidType.getStorageType();
+    }
+
+    @AfterEach
+    final void tearDown()
+    {
+        UuidType.setStorageType(previous);
+    }
+
+    @ParameterizedTest
+    @EnumSource(UuidStorageType.class)
+    @DisplayName("Write and read back a UUID using each storage type")
+    final void testRoundTrip(final UuidStorageType storageType) throws SQLException
+    {
+        UuidType.setStorageType(storageType);
+        UuidType type = new UuidType();
+        UUID uuid = UUID.randomUUID();
+
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:uuid_round_trip_" + storageType))
+        {
+            try (Statement statement = connection.createStatement())
+            {
+                statement.execute(String.format("CREATE TABLE UUID_VALUE (POSITION INT PRIMARY KEY, ID %s)", columnType(storageType)));
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement("INSERT INTO UUID_VALUE (POSITION, ID) VALUES (?, ?)"))
+            {
+                statement.setInt(1, 1);
+                type.nullSafeSet(statement, uuid, 2, null);
+                statement.executeUpdate();
+
+                statement.setInt(1, 2);
+                type.nullSafeSet(statement, null, 2, null);
+                statement.executeUpdate();
+            }
+
+            try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery("SELECT ID FROM UUID_VALUE ORDER BY POSITION"))
+            {
+                assertThat(resultSet.next()).isTrue();
+                assertThat(type.nullSafeGet(resultSet, new String[] { "ID" }, null, null)).isEqualTo(uuid);
+                assertThat(resultSet.next()).isTrue();
+                assertThat(type.nullSafeGet(resultSet, new String[] { "ID" }, null, null)).isNull();
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = UuidStorageType.class, names = { "CHAR", "BINARY" })
+    @DisplayName("Size the generated UUID columns according to the storage type")
+    final void testGeneratedColumnLength(final UuidStorageType storageType) throws SQLException
+    {
+        UuidType.setStorageType(storageType);
+        String url = "jdbc:h2:mem:uuid_schema_" + storageType + ";DB_CLOSE_DELAY=-1";
+
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.URL, url)
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create")
+                .build();
+
+        try (SessionFactory factory = new MetadataSources(registry).addAnnotatedClass(UuidHolder.class).buildMetadata().buildSessionFactory())
+        {
+            UuidHolder parent = new UuidHolder();
+            parent.setId(UUID.randomUUID());
+            parent.setName("parent");
+
+            UuidHolder child = new UuidHolder();
+            child.setId(UUID.randomUUID());
+            child.setName("child");
+            child.setParent(parent);
+
+            try (Session session = factory.openSession())
+            {
+                session.getTransaction().begin();
+                session.persist(parent);
+                session.persist(child);
+                session.getTransaction().commit();
+            }
+
+            try (Session session = factory.openSession())
+            {
+                UuidHolder loaded = session.get(UuidHolder.class, child.getId());
+                assertThat(loaded.getName()).isEqualTo("child");
+                assertThat(loaded.getParent().getId()).isEqualTo(parent.getId());
+                assertThat(loaded.getParent().getName()).isEqualTo("parent");
+            }
+
+            try (Connection connection = DriverManager.getConnection(url); Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT COLUMN_NAME, CHARACTER_MAXIMUM_LENGTH FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'UUID_HOLDER' AND COLUMN_NAME IN ('ID', 'PARENT_ID')"))
+            {
+                int columns = 0;
+                while (resultSet.next())
+                {
+                    assertThat(resultSet.getLong(2)).as(resultSet.getString(1)).isEqualTo(UuidColumnIntegrator.getColumnLength(storageType));
+                    columns++;
+                }
+                assertThat(columns).isEqualTo(2);
+            }
+        }
+        finally
+        {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+
+    /**
+     * Return the SQL type of a column holding a UUID using a given storage type.
+     * @param storageType UUID storage type.
+     * @return SQL column type.
+     */
+    private static String columnType(final UuidStorageType storageType)
+    {
+        switch (storageType)
+        {
+            case BINARY:
+                return String.format("VARBINARY(%s)", UuidType.BINARY_LENGTH);
+
+            case NATIVE:
+                return "UUID";
+
+            case CHAR:
+            default:
+                return String.format("VARCHAR(%s)", UuidType.CHAR_LENGTH);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.test.base.query;
+
+import com.hemajoo.commerce.cherry.base.commons.test.AbstractCherryUnitTest;
+import com.hemajoo.commerce.cherry.base.data.model.base.query.*;
+import com.hemajoo.commerce.cherry.base.data.model.base.type.QueryOperatorType;
+import com.hemajoo.commerce.cherry.base.data.model.document.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for unit testing the {@link EntityQuery} and {@link IndexedEntityCollection} classes.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+class EntityQueryUnitTest extends AbstractCherryUnitTest
+{
+    /**
+     * Reference date.
+     */
+    private static final Instant START = Instant.parse("2022-01-01T00:00:00Z");
+
+    @Test
+    @DisplayName("Evaluate string conditions")
+    final void testStringConditions() throws QueryException
+    {
+        List<Document> documents = createDocuments(100);
+
+        assertThat(EntityQuery.<Document>compile(QueryCondition.of(QueryField.NAME, QueryOperatorType.EQUAL, "document-42")).filter(documents)).hasSize(1);
+        assertThat(EntityQuery.<Document>compile(QueryCondition.of(QueryField.NAME, QueryOperatorType.START_WITH, "document-4")).filter(documents)).hasSize(11);
+        assertThat(EntityQuery.<Document>compile(QueryCondition.of(QueryField.NAME, QueryOperatorType.END_WITH, "7")).filter(documents)).hasSize(10);
+        assertThat(EntityQuery.<Document>compile(QueryCondition.of(QueryField.NAME, QueryOperatorType.CONTAINS, "t-9")).filter(documents)).hasSize(11);
+        assertThat(EntityQuery.<Document>compile(QueryCondition.of(QueryField.NAME, QueryOperatorType.MATCH, "doc%-_")).filter(documents)).hasSize(10);
+    }
+
+    @Test
+    @DisplayName("Evaluate range and identifier conditions")
+    final void testRangeConditions() throws QueryException
+    {
+        List<Document> documents = createDocuments(100);
+
+        EntityQuery<Document> query = EntityQuery.compile(
+                QueryCondition.of(QueryField.CREATED_DATE, QueryOperatorType.BETWEEN, START.plus(10, ChronoUnit.DAYS).toString(), START.plus(19, ChronoUnit.DAYS)),
+                QueryCondition.of(QueryField.NAME, QueryOperatorType.NOT_EQUAL, "document-15"));
+        assertThat(query.filter(documents)).hasSize(9);
+
+        UUID id = documents.get(3).getId();
+        assertThat(EntityQuery.<Document>compile(QueryCondition.of(QueryField.ID, QueryOperatorType.EQUAL_OBJECT_UUID, id.toString())).filter(documents))
+                .containsExactly(documents.get(3));
+    }
+
+    @Test
+    @DisplayName("Resolve conditions through secondary indexes")
+    final void testIndexedCollection() throws QueryException
+    {
+        List<Document> documents = createDocuments(1000);
+        IndexedEntityCollection<Document> collection = new IndexedEntityCollection<>(QueryField.NAME, QueryField.CREATED_DATE);
+        collection.addAll(documents);
+
+        List<QueryCondition> conditions = List.of(
+                QueryCondition.of(QueryField.CREATED_DATE, QueryOperatorType.GREATER_THAN_EQUAL, START.plus(500, ChronoUnit.DAYS)),
+                QueryCondition.of(QueryField.NAME, QueryOperatorType.START_WITH, "document-99"));
+
+        assertThat(collection.find(conditions)).containsExactlyInAnyOrderElementsOf(EntityQuery.<Document>compile(conditions).filter(documents));
+        assertThat(collection.find(conditions)).hasSize(10);
+
+        Document document = documents.get(0);
+        document.setName("renamed");
+        collection.reindex(document);
+        assertThat(collection.find(List.of(QueryCondition.of(QueryField.NAME, QueryOperatorType.EQUAL, "renamed")))).containsExactly(document);
+
+        collection.remove(document);
+        assertThat(collection.find(List.of(QueryCondition.of(QueryField.NAME, QueryOperatorType.EQUAL, "renamed")))).isEmpty();
+        assertThat(collection.size()).isEqualTo(999);
+    }
+
+    @Test
+    @DisplayName("Reject invalid conditions")
+    final void testInvalidConditions()
+    {
+        assertThatThrownBy(() -> QueryCondition.of(QueryField.CREATED_DATE, QueryOperatorType.CONTAINS, "2022")).isInstanceOf(QueryException.class);
+        assertThatThrownBy(() -> QueryCondition.of(QueryField.CREATED_DATE, QueryOperatorType.EQUAL, "not a date")).isInstanceOf(QueryException.class);
+        assertThatThrownBy(() -> QueryCondition.of(QueryField.NAME, QueryOperatorType.BETWEEN, "a")).isInstanceOf(QueryException.class);
+        assertThatThrownBy(() -> QueryCondition.of("unknown", QueryOperatorType.EQUAL, "a")).isInstanceOf(QueryException.class);
+    }
+
+    /**
+     * Create documents named {@code document-<index>} and created {@code index} days after the reference date.
+     * @param count Number of documents.
+     * @return Documents.
+     */
+    private static List<Document> createDocuments(final int count)
+    {
+        List<Document> documents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+        {
+            Document document = new Document();
+            document.setId(UUID.randomUUID());
+            document.setName("document-" + i);
+            document.setCreatedDate(Date.from(START.plus(i, ChronoUnit.DAYS)));
+            documents.add(document);
+        }
+
+        return documents;
+    }
+}
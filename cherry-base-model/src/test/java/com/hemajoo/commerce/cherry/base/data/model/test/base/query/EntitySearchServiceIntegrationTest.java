@@ -0,0 +1,230 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.test.base.query;
+
+import com.hemajoo.commerce.cherry.base.commons.test.AbstractCherryUnitTest;
+import com.hemajoo.commerce.cherry.base.data.model.base.IDataModelEntity;
+import com.hemajoo.commerce.cherry.base.data.model.base.audit.IAuditEntity;
+import com.hemajoo.commerce.cherry.base.data.model.base.query.*;
+import com.hemajoo.commerce.cherry.base.data.model.base.type.QueryOperatorType;
+import com.hemajoo.commerce.cherry.base.data.model.document.Document;
+import com.hemajoo.commerce.cherry.base.data.model.test.JpaTestConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for integration testing the keyset pagination of the {@link EntitySearchService} class against an embedded
+ * (H2) database.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@DataJpaTest
+@ContextConfiguration(classes = JpaTestConfiguration.class)
+class EntitySearchServiceIntegrationTest extends AbstractCherryUnitTest
+{
+    /**
+     * Reference date.
+     */
+    private static final Instant START = Instant.parse("2022-01-01T00:00:00Z");
+
+    /**
+     * Number of searched documents.
+     */
+    private static final int COUNT = 500;
+
+    /**
+     * Number of documents sharing the same creation date.
+     */
+    private static final int TIES = 7;
+
+    /**
+     * Query conditions selecting the searched documents.
+     */
+    private static final List<QueryCondition> CONDITIONS = conditions();
+
+    /**
+     * Test entity manager.
+     */
+    @Autowired
+    private TestEntityManager entityManager;
+
+    /**
+     * Entity search service.
+     */
+    private EntitySearchService service;
+
+    /**
+     * Identifiers of the searched documents, as returned by an unpaged query.
+     */
+    private List<UUID> expected;
+
+    @BeforeEach
+    final void setUp()
+    {
+        service = new EntitySearchService(entityManager.getEntityManager());
+
+        List<Integer> indexes = new ArrayList<>(COUNT);
+        for (int i = 0; i < COUNT; i++)
+        {
+            indexes.add(i);
+        }
+        Collections.shuffle(indexes, new Random(42)); // Insertion order must not be the search order!
+
+        for (int i : indexes)
+        {
+            entityManager.persist(createDocument("document-" + i, Date.from(START.plus(i / TIES, ChronoUnit.MINUTES))));
+        }
+        for (int i = 0; i < 10; i++)
+        {
+            entityManager.persist(createDocument("invoice-" + i, Date.from(START.plus(i, ChronoUnit.MINUTES))));
+            entityManager.persist(createDocument("document-undated-" + i, null));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        expected = entityManager.getEntityManager()
+                .createQuery("select d.id from Document d where d.name like 'document-%' and d.createdDate is not null order by d.createdDate, d.id", UUID.class)
+                .getResultList();
+    }
+
+    @Test
+    @DisplayName("Page through documents sharing creation dates without duplicates nor gaps")
+    final void testPagingWithTies() throws QueryException
+    {
+        assertThat(expected).hasSize(COUNT).doesNotHaveDuplicates();
+
+        List<Document> documents = new ArrayList<>(COUNT);
+        List<SearchPage<Document>> pages = new ArrayList<>();
+        SearchCursor cursor = null;
+        do
+        {
+            SearchPage<Document> page = service.search(Document.class, CONDITIONS, cursor, 23);
+            pages.add(page);
+            documents.addAll(page.getContent());
+            cursor = page.hasNext() ? SearchCursor.decode(page.getNext().encode()) : null;
+        }
+        while (cursor != null);
+
+        assertThat(documents).extracting(Document::getId).containsExactlyElementsOf(expected);
+        assertThat(documents).extracting(document -> document.getCreatedDate().getTime()).isSorted();
+
+        assertThat(pages).hasSize(22);
+        assertThat(pages.subList(0, 21)).allSatisfy(page -> {
+            assertThat(page.getContent()).hasSize(23);
+            assertThat(page.hasNext()).isTrue();
+        });
+        assertThat(pages.get(21).getContent()).hasSize(COUNT - 21 * 23);
+        assertThat(pages.get(21).hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Detect the last page when it is full")
+    final void testLastFullPage()
+    {
+        SearchPage<Document> page = service.search(Document.class, CONDITIONS, null, 100);
+        for (int i = 1; i < COUNT / 100; i++)
+        {
+            assertThat(page.hasNext()).isTrue();
+            page = service.search(Document.class, CONDITIONS, page.getNext(), 100);
+        }
+
+        assertThat(page.getContent()).extracting(Document::getId).containsExactlyElementsOf(expected.subList(COUNT - 100, COUNT));
+        assertThat(page.hasNext()).isFalse();
+        assertThat(service.search(Document.class, CONDITIONS, null, EntitySearchService.MAX_PAGE_SIZE).hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Page through projections holding only the requested attributes")
+    final void testPagingProjections()
+    {
+        List<Map<String, Object>> rows = new ArrayList<>(COUNT);
+        SearchCursor cursor = null;
+        do
+        {
+            SearchPage<Map<String, Object>> page = service.search(Document.class, CONDITIONS, cursor, 37, List.of(IDataModelEntity.BASE_NAME));
+            rows.addAll(page.getContent());
+            cursor = page.getNext();
+        }
+        while (cursor != null);
+
+        assertThat(rows).extracting(row -> row.get(IDataModelEntity.BASE_ENTITY_ID)).containsExactlyElementsOf(expected);
+        assertThat(rows).allSatisfy(row -> {
+            assertThat(row).containsOnlyKeys(IDataModelEntity.BASE_ENTITY_ID, IAuditEntity.BASE_CREATED_DATE, IDataModelEntity.BASE_NAME);
+            assertThat((String) row.get(IDataModelEntity.BASE_NAME)).startsWith("document-");
+        });
+    }
+
+    @Test
+    @DisplayName("Stream all the documents in search order")
+    final void testStream()
+    {
+        try (Stream<Document> stream = service.stream(Document.class, CONDITIONS, 50))
+        {
+            assertThat(stream.map(Document::getId).toList()).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Reject invalid page sizes")
+    final void testInvalidPageSize()
+    {
+        assertThatThrownBy(() -> service.search(Document.class, CONDITIONS, null, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.search(Document.class, CONDITIONS, null, EntitySearchService.MAX_PAGE_SIZE + 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Create a document.
+     * @param name Document name.
+     * @param createdDate Creation date (can be null).
+     * @return Document.
+     */
+    private static Document createDocument(final String name, final Date createdDate)
+    {
+        Document document = new Document();
+        document.setName(name);
+        document.setCreatedDate(createdDate);
+
+        return document;
+    }
+
+    /**
+     * Return the query conditions selecting the searched documents (the undated documents are never searched).
+     * @return Query conditions.
+     */
+    private static List<QueryCondition> conditions()
+    {
+        try
+        {
+            return List.of(QueryCondition.of(QueryField.NAME, QueryOperatorType.START_WITH, "document-"));
+        }
+        catch (QueryException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+}
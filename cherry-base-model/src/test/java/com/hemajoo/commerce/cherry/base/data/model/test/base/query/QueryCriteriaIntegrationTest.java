@@ -0,0 +1,158 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.test.base.query;
+
+import com.hemajoo.commerce.cherry.base.commons.test.AbstractCherryUnitTest;
+import com.hemajoo.commerce.cherry.base.data.model.base.query.*;
+import com.hemajoo.commerce.cherry.base.data.model.base.type.QueryOperatorType;
+import com.hemajoo.commerce.cherry.base.data.model.document.Document;
+import com.hemajoo.commerce.cherry.base.data.model.test.JpaTestConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ContextConfiguration;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for integration testing the {@link QueryCriteria} class against an embedded (H2) database, checking the
+ * database returns the same documents as the in-memory evaluation of the same conditions by an {@link EntityQuery}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@DataJpaTest
+@ContextConfiguration(classes = JpaTestConfiguration.class)
+class QueryCriteriaIntegrationTest extends AbstractCherryUnitTest
+{
+    /**
+     * Reference date.
+     */
+    private static final Instant START = Instant.parse("2022-01-01T00:00:00Z");
+
+    /**
+     * Document names (mixing cases and {@code LIKE} wildcards).
+     */
+    private static final List<String> NAMES = List.of("document-1", "Document-2", "DOCUMENT-3", "document_4", "document%5", "50% off", "50 percent off", "invoice-6");
+
+    /**
+     * Test entity manager.
+     */
+    @Autowired
+    private TestEntityManager entityManager;
+
+    /**
+     * Persisted documents.
+     */
+    private List<Document> documents;
+
+    @BeforeEach
+    final void setUp()
+    {
+        documents = new ArrayList<>(NAMES.size());
+        for (int i = 0; i < NAMES.size(); i++)
+        {
+            Document document = new Document();
+            document.setName(NAMES.get(i));
+            document.setDescription(i % 2 == 0 ? "even" : null);
+            document.setCreatedDate(Date.from(START.plus(i, ChronoUnit.DAYS)));
+            documents.add(entityManager.persistAndFlush(document));
+        }
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Evaluate string operators as in memory, escaping the LIKE wildcards of the values")
+    final void testStringOperators() throws QueryException
+    {
+        assertSameDocuments(QueryCondition.of(QueryField.NAME, QueryOperatorType.EQUAL, "Document-2"), "Document-2");
+        assertSameDocuments(QueryCondition.of(QueryField.NAME, QueryOperatorType.START_WITH, "document"), "document-1", "document_4", "document%5");
+        assertSameDocuments(QueryCondition.of(QueryField.NAME, QueryOperatorType.START_WITH, "document_"), "document_4");
+        assertSameDocuments(QueryCondition.of(QueryField.NAME, QueryOperatorType.CONTAINS, "%"), "document%5", "50% off");
+        assertSameDocuments(QueryCondition.of(QueryField.NAME, QueryOperatorType.END_WITH, " off"), "50% off", "50 percent off");
+    }
+
+    @Test
+    @DisplayName("Evaluate the MATCH operator as a case-sensitive LIKE pattern, as in memory")
+    final void testMatchOperator() throws QueryException
+    {
+        assertSameDocuments(QueryCondition.of(QueryField.NAME, QueryOperatorType.MATCH, "document_%"), "document-1", "document_4", "document%5");
+        assertSameDocuments(QueryCondition.of(QueryField.NAME, QueryOperatorType.MATCH, "%ocument-_"), "document-1", "Document-2");
+        assertSameDocuments(QueryCondition.of(QueryField.NAME, QueryOperatorType.MATCH, "50%off"), "50% off", "50 percent off");
+    }
+
+    @Test
+    @DisplayName("Evaluate comparison operators as in memory, null values never matching")
+    final void testComparisonOperators() throws QueryException
+    {
+        assertSameDocuments(QueryCondition.of(QueryField.CREATED_DATE, QueryOperatorType.BETWEEN, START.plus(2, ChronoUnit.DAYS), START.plus(4, ChronoUnit.DAYS).toString()), "DOCUMENT-3", "document_4", "document%5");
+        assertSameDocuments(QueryCondition.of(QueryField.CREATED_DATE, QueryOperatorType.GREATER_THAN, START.plus(6, ChronoUnit.DAYS)), "invoice-6");
+        assertSameDocuments(QueryCondition.of(QueryField.CREATED_DATE, QueryOperatorType.LESS_THAN_EQUAL, START), "document-1");
+        assertSameDocuments(QueryCondition.of(QueryField.DESCRIPTION, QueryOperatorType.NOT_EQUAL, "odd"), "document-1", "DOCUMENT-3", "document%5", "50 percent off");
+        assertSameDocuments(QueryCondition.of(QueryField.ID, QueryOperatorType.EQUAL_OBJECT_UUID, documents.get(7)), "invoice-6");
+    }
+
+    @Test
+    @DisplayName("Evaluate a conjunction of conditions as in memory")
+    final void testConjunction() throws QueryException
+    {
+        assertSameDocuments(List.of(
+                QueryCondition.of(QueryField.NAME, QueryOperatorType.START_WITH, "document"),
+                QueryCondition.of(QueryField.DESCRIPTION, QueryOperatorType.EQUAL, "even")), "document-1", "document%5");
+    }
+
+    /**
+     * Assert the database and the in-memory evaluation of a query condition return the expected documents.
+     * @param condition Query condition.
+     * @param expected Expected document names.
+     */
+    private void assertSameDocuments(final QueryCondition condition, final String... expected)
+    {
+        assertSameDocuments(List.of(condition), expected);
+    }
+
+    /**
+     * Assert the database and the in-memory evaluation of query conditions return the expected documents.
+     * @param conditions Query conditions.
+     * @param expected Expected document names.
+     */
+    private void assertSameDocuments(final List<QueryCondition> conditions, final String... expected)
+    {
+        EntityManager manager = entityManager.getEntityManager();
+        CriteriaBuilder builder = manager.getCriteriaBuilder();
+        CriteriaQuery<Document> query = builder.createQuery(Document.class);
+        Root<Document> root = query.from(Document.class);
+        query.select(root).where(QueryCriteria.toPredicate(builder, root, conditions));
+
+        Set<UUID> found = manager.createQuery(query).getResultList().stream()
+                .map(Document::getId)
+                .collect(Collectors.toSet());
+        List<Document> matching = EntityQuery.<Document>compile(conditions).filter(documents);
+
+        assertThat(matching).extracting(Document::getName).containsExactlyInAnyOrder(expected);
+        assertThat(found).containsExactlyInAnyOrderElementsOf(matching.stream().map(Document::getId).toList());
+    }
+}
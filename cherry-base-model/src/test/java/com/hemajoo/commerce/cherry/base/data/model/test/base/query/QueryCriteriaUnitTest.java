@@ -0,0 +1,134 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.test.base.query;
+
+import com.hemajoo.commerce.cherry.base.commons.test.AbstractCherryUnitTest;
+import com.hemajoo.commerce.cherry.base.data.model.base.query.QueryCondition;
+import com.hemajoo.commerce.cherry.base.data.model.base.query.QueryCriteria;
+import com.hemajoo.commerce.cherry.base.data.model.base.query.QueryException;
+import com.hemajoo.commerce.cherry.base.data.model.base.query.QueryField;
+import com.hemajoo.commerce.cherry.base.data.model.base.type.QueryOperatorType;
+import com.hemajoo.commerce.cherry.base.data.model.document.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.criteria.*;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for unit testing the translation of query conditions by the {@link QueryCriteria} class against a mocked
+ * <b>JPA Criteria</b> builder.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+class QueryCriteriaUnitTest extends AbstractCherryUnitTest
+{
+    /**
+     * Mocked criteria builder.
+     */
+    private CriteriaBuilder builder;
+
+    /**
+     * Mocked query root.
+     */
+    private Root<Document> root;
+
+    /**
+     * Mocked path of the name attribute.
+     */
+    private Path<String> name;
+
+    /**
+     * Mocked path of the creation date attribute.
+     */
+    private Path<Date> createdDate;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    final void setUp()
+    {
+        builder = mock(CriteriaBuilder.class);
+        root = mock(Root.class);
+        name = mock(Path.class);
+        createdDate = mock(Path.class);
+
+        doReturn(name).when(root).get(QueryField.NAME.getName());
+        doReturn(createdDate).when(root).get(QueryField.CREATED_DATE.getName());
+    }
+
+    @Test
+    @DisplayName("Translate string operators to LIKE predicates with escaped wildcards")
+    final void testEscapeStringOperators() throws QueryException
+    {
+        QueryCriteria.toPredicate(builder, root, QueryCondition.of(QueryField.NAME, QueryOperatorType.CONTAINS, "50%_off\\"));
+        QueryCriteria.toPredicate(builder, root, QueryCondition.of(QueryField.NAME, QueryOperatorType.START_WITH, "50%"));
+        QueryCriteria.toPredicate(builder, root, QueryCondition.of(QueryField.NAME, QueryOperatorType.END_WITH, "_off"));
+
+        verify(builder).like(name, "%50\\%\\_off\\\\%", '\\');
+        verify(builder).like(name, "50\\%%", '\\');
+        verify(builder).like(name, "%\\_off", '\\');
+    }
+
+    @Test
+    @DisplayName("Translate the MATCH operator to a LIKE predicate keeping the pattern wildcards")
+    final void testMatchOperator() throws QueryException
+    {
+        Predicate predicate = mock(Predicate.class);
+        when(builder.like(name, "doc%-_")).thenReturn(predicate);
+
+        assertThat(QueryCriteria.toPredicate(builder, root, QueryCondition.of(QueryField.NAME, QueryOperatorType.MATCH, "doc%-_"))).isSameAs(predicate);
+    }
+
+    @Test
+    @DisplayName("Translate comparison operators to predicates on converted values")
+    final void testComparisonOperators() throws QueryException
+    {
+        Date low = Date.from(Instant.parse("2022-01-01T00:00:00Z"));
+        Date high = Date.from(Instant.parse("2022-12-31T00:00:00Z"));
+
+        QueryCriteria.toPredicate(builder, root, QueryCondition.of(QueryField.CREATED_DATE, QueryOperatorType.BETWEEN, low.toInstant().toString(), high));
+        QueryCriteria.toPredicate(builder, root, QueryCondition.of(QueryField.CREATED_DATE, QueryOperatorType.GREATER_THAN, low));
+        QueryCriteria.toPredicate(builder, root, QueryCondition.of(QueryField.NAME, QueryOperatorType.NOT_EQUAL, "document"));
+
+        verify(builder).between(createdDate, low, high);
+        verify(builder).greaterThan(createdDate, low);
+        verify(builder).notEqual(name, "document");
+    }
+
+    @Test
+    @DisplayName("Translate a list of conditions to a conjunction, directly or through a specification")
+    final void testConjunction() throws QueryException
+    {
+        Predicate first = mock(Predicate.class);
+        Predicate second = mock(Predicate.class);
+        Predicate conjunction = mock(Predicate.class);
+        when(builder.equal(name, "document")).thenReturn(first);
+        when(builder.lessThan(createdDate, new Date(0))).thenReturn(second);
+        when(builder.and(new Predicate[] { first, second })).thenReturn(conjunction);
+
+        List<QueryCondition> conditions = List.of(
+                QueryCondition.of(QueryField.NAME, QueryOperatorType.EQUAL, "document"),
+                QueryCondition.of(QueryField.CREATED_DATE, QueryOperatorType.LESS_THAN, new Date(0)));
+
+        assertThat(QueryCriteria.toPredicate(builder, root, conditions)).isSameAs(conjunction);
+        assertThat(QueryCriteria.<Document>toSpecification(conditions).toPredicate(root, mock(CriteriaQuery.class), builder)).isSameAs(conjunction);
+    }
+}
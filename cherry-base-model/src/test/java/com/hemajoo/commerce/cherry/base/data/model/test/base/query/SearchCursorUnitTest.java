@@ -0,0 +1,55 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.test.base.query;
+
+import com.hemajoo.commerce.cherry.base.commons.test.AbstractCherryUnitTest;
+import com.hemajoo.commerce.cherry.base.data.model.base.query.QueryException;
+import com.hemajoo.commerce.cherry.base.data.model.base.query.SearchCursor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for unit testing the {@link SearchCursor} class.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+class SearchCursorUnitTest extends AbstractCherryUnitTest
+{
+    @Test
+    @DisplayName("Encode and decode a search cursor")
+    final void testEncodeDecode() throws QueryException
+    {
+        SearchCursor cursor = new SearchCursor(new Date(1640995200123L), UUID.randomUUID());
+        String token = cursor.encode();
+
+        assertThat(token).doesNotContain("=", "+", "/");
+        assertThat(SearchCursor.decode(token)).isEqualTo(cursor);
+        assertThat(SearchCursor.decode(token).getCreatedDate()).isEqualTo(cursor.getCreatedDate());
+    }
+
+    @Test
+    @DisplayName("Reject an invalid search cursor")
+    final void testDecodeInvalid()
+    {
+        assertThatThrownBy(() -> SearchCursor.decode("not a cursor")).isInstanceOf(QueryException.class);
+        assertThatThrownBy(() -> SearchCursor.decode("MTIzNDU")).isInstanceOf(QueryException.class);
+    }
+}
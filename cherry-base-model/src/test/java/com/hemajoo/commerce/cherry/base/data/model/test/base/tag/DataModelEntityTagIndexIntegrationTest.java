@@ -0,0 +1,148 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.test.base.tag;
+
+import com.hemajoo.commerce.cherry.base.commons.test.AbstractCherryUnitTest;
+import com.hemajoo.commerce.cherry.base.data.model.base.DataModelEntity;
+import com.hemajoo.commerce.cherry.base.data.model.base.tag.TagIndex;
+import com.hemajoo.commerce.cherry.base.data.model.document.Document;
+import com.hemajoo.commerce.cherry.base.data.model.test.JpaTestConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for integration testing the maintenance of the {@link TagIndex} by the persistence life cycle of the data
+ * model entities.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@DataJpaTest
+@ContextConfiguration(classes = JpaTestConfiguration.class)
+class DataModelEntityTagIndexIntegrationTest extends AbstractCherryUnitTest
+{
+    /**
+     * Test entity manager.
+     */
+    @Autowired
+    private TestEntityManager entityManager;
+
+    /**
+     * Tag index.
+     */
+    private TagIndex index;
+
+    @BeforeEach
+    final void setUp()
+    {
+        index = new TagIndex();
+        DataModelEntity.setTagIndex(index);
+    }
+
+    @AfterEach
+    final void tearDown()
+    {
+        DataModelEntity.setTagIndex(null);
+    }
+
+    @Test
+    @DisplayName("Never index the tags of transient entities")
+    final void testTransientEntityIsNotIndexed()
+    {
+        Document document = createDocument("transient");
+        document.setId(UUID.randomUUID());
+        document.addTag("blue");
+        document.setTags("red, green");
+        document.deleteTag("red");
+
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Index the tags of a persisted entity once the transaction commits")
+    final void testIndexCommittedTags()
+    {
+        Document document = entityManager.persistAndFlush(createDocument("committed"));
+        UUID id = document.getId();
+
+        assertThat(index.size()).isZero();
+
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        assertThat(index.findAllOf("red", "green")).containsExactly(id);
+
+        TestTransaction.start();
+        entityManager.remove(entityManager.find(Document.class, id));
+        entityManager.flush();
+
+        assertThat(index.findAllOf("red")).containsExactly(id);
+
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Never index the tags of a rolled back entity")
+    final void testIgnoreRolledBackTags()
+    {
+        entityManager.persistAndFlush(createDocument("rolled back"));
+
+        TestTransaction.end();
+
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Index the tags of a loaded entity")
+    final void testIndexLoadedTags()
+    {
+        UUID id = entityManager.persistAndFlush(createDocument("loaded")).getId();
+        entityManager.clear();
+
+        assertThat(index.size()).isZero();
+
+        Document document = entityManager.find(Document.class, id);
+
+        assertThat(document.getTags()).containsExactly("red", "green");
+        assertThat(index.findAnyOf("green")).containsExactly(id);
+    }
+
+    /**
+     * Create a document having the <b>red</b> and <b>green</b> tags.
+     * @param name Document name.
+     * @return Document.
+     */
+    private static Document createDocument(final String name)
+    {
+        Document document = new Document();
+        document.setName(name);
+        document.addTags("red", "green");
+
+        return document;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.test.base.tag;
+
+import com.hemajoo.commerce.cherry.base.commons.test.AbstractCherryUnitTest;
+import com.hemajoo.commerce.cherry.base.data.model.base.tag.TagIndex;
+import com.hemajoo.commerce.cherry.base.data.model.base.tag.TagQuery;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for unit testing the {@link TagIndex} and {@link TagQuery} classes.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+class TagIndexUnitTest extends AbstractCherryUnitTest
+{
+    /**
+     * First entity identifier.
+     */
+    private static final UUID FIRST = UUID.randomUUID();
+
+    /**
+     * Second entity identifier.
+     */
+    private static final UUID SECOND = UUID.randomUUID();
+
+    /**
+     * Third entity identifier.
+     */
+    private static final UUID THIRD = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Add and remove tags of entities")
+    final void testAddAndRemoveTags()
+    {
+        TagIndex index = new TagIndex();
+
+        index.add(FIRST, "red");
+        index.add(FIRST, "red");
+        index.add(FIRST, "green");
+        index.add(SECOND, "green");
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.findAllOf("red")).containsExactly(FIRST);
+        assertThat(index.findAllOf("green")).containsExactlyInAnyOrder(FIRST, SECOND);
+
+        index.remove(FIRST, "red");
+        index.remove(FIRST, "yellow");
+
+        assertThat(index.findAllOf("red")).isEmpty();
+        assertThat(index.getTags("")).containsExactly("green");
+
+        index.remove(SECOND, "green");
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.findAnyOf("green")).containsExactly(FIRST);
+
+        index.remove(FIRST);
+
+        assertThat(index.size()).isZero();
+        assertThat(index.getTags("")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Replace the tags of an entity")
+    final void testReplaceTags()
+    {
+        TagIndex index = new TagIndex();
+
+        index.index(FIRST, List.of("red", "green"));
+        index.index(FIRST, Set.of("blue"));
+
+        assertThat(index.findAnyOf("red", "green")).isEmpty();
+        assertThat(index.findAllOf("blue")).containsExactly(FIRST);
+
+        index.index(FIRST, null);
+
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Recycle the ordinals of removed entities")
+    final void testRecycleOrdinals()
+    {
+        TagIndex index = new TagIndex();
+
+        index.index(FIRST, Set.of("red"));
+        index.index(SECOND, Set.of("red", "green"));
+        index.remove(FIRST);
+        index.index(THIRD, Set.of("blue"));
+
+        // The third entity reuses the ordinal of the first one, which must not leak into any result.
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.findAllOf("red")).containsExactly(SECOND);
+        assertThat(index.findAllOf("blue")).containsExactly(THIRD);
+        assertThat(index.find(TagQuery.builder().build())).containsExactlyInAnyOrder(SECOND, THIRD);
+
+        index.remove(SECOND);
+        index.remove(THIRD);
+
+        assertThat(index.find(TagQuery.builder().build())).isEmpty();
+        assertThat(index.find(TagQuery.builder().withNoneOf(Set.of("red")).build())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Answer AND, OR, NOT and prefix tag queries")
+    final void testQueries()
+    {
+        TagIndex index = new TagIndex();
+        index.index(FIRST, Set.of("red", "green", "round"));
+        index.index(SECOND, Set.of("red", "blue"));
+        index.index(THIRD, Set.of("green", "square"));
+
+        assertThat(index.findAllOf("red", "green")).containsExactly(FIRST);
+        assertThat(index.findAllOf("red", "yellow")).isEmpty();
+        assertThat(index.findAnyOf("blue", "square")).containsExactlyInAnyOrder(SECOND, THIRD);
+        assertThat(index.findByPrefix("gr")).containsExactlyInAnyOrder(FIRST, THIRD);
+        assertThat(index.getTags("r")).containsExactly("red", "round");
+
+        TagQuery query = TagQuery.builder()
+                .withAnyOf(Set.of("red", "green"))
+                .withNoneOf(Set.of("blue"))
+                .build();
+        assertThat(index.find(query)).containsExactlyInAnyOrder(FIRST, THIRD);
+        assertThat(index.count(query)).isEqualTo(2);
+
+        query = TagQuery.builder()
+                .withAllOf(Set.of("green"))
+                .withPrefix("sq")
+                .build();
+        assertThat(index.find(query)).containsExactly(THIRD);
+
+        assertThat(index.find(TagQuery.builder().withNoneOf(Set.of("green")).build())).containsExactly(SECOND);
+        assertThat(index.count(TagQuery.builder().build())).isEqualTo(3);
+
+        index.clear();
+
+        assertThat(index.count(TagQuery.builder().build())).isZero();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.test.base.validation;
+
+import com.hemajoo.commerce.cherry.base.commons.test.AbstractCherryUnitTest;
+import com.hemajoo.commerce.cherry.base.data.model.base.validation.DataModelEntityValidator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for unit testing the {@link DataModelEntityValidator} class.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+class DataModelEntityValidatorUnitTest extends AbstractCherryUnitTest
+{
+    @Test
+    @DisplayName("Report all the violated constraints of an entity")
+    final void testValidate()
+    {
+        Set<ConstraintViolation<Bean>> violations = DataModelEntityValidator.validate(new Bean(null, null, 0), false);
+
+        assertThat(violations).hasSize(3);
+        assertThat(violations).extracting(violation -> violation.getPropertyPath().toString())
+                .containsExactlyInAnyOrder("name", "reference", "count");
+    }
+
+    @Test
+    @DisplayName("Report at most one violated constraint of an entity in fail-fast mode")
+    final void testValidateFailFast()
+    {
+        assertThat(DataModelEntityValidator.validate(new Bean(null, null, 0), true)).hasSize(1);
+        assertThat(DataModelEntityValidator.validate(new Bean("name", "reference", 1), true)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Key the violations of the invalid entities by entity instance")
+    final void testValidateAll()
+    {
+        Bean valid = new Bean("name", "reference", 1);
+        Bean invalid = new Bean(null, "reference", 1);
+        Bean equalInvalid = new Bean(null, "reference", 1);
+        Bean failing = new Bean(null, null, 0);
+
+        Map<Bean, Set<ConstraintViolation<Bean>>> violations = DataModelEntityValidator.validateAll(List.of(valid, invalid, equalInvalid, failing), false);
+
+        assertThat(violations).hasSize(3);
+        assertThat(violations).doesNotContainKey(valid);
+        assertThat(violations.get(invalid)).hasSize(1);
+        assertThat(violations.get(equalInvalid)).hasSize(1);
+        assertThat(violations.get(failing)).hasSize(3);
+
+        Map<Bean, Set<ConstraintViolation<Bean>>> failFastViolations = DataModelEntityValidator.validateAll(List.of(valid, failing), true);
+
+        assertThat(failFastViolations).containsOnlyKeys(failing);
+        assertThat(failFastViolations.get(failing)).hasSize(1);
+        assertThat(DataModelEntityValidator.validateAll(List.of(valid), false)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Format the violations of an entity to a message")
+    final void testFormat()
+    {
+        assertThat(DataModelEntityValidator.format(DataModelEntityValidator.validate(new Bean("name", "reference", 1), false))).isNull();
+
+        String message = DataModelEntityValidator.format(DataModelEntityValidator.validate(new Bean(null, "reference", 1), false));
+
+        assertThat(message)
+                .startsWith("1 constraint(s) violated found!")
+                .contains("(1) - Attribute: 'name'");
+    }
+
+    /**
+     * Validated bean, equal by value so that keying the violations by instance can be checked.
+     */
+    private static final class Bean
+    {
+        /**
+         * Name.
+         */
+        @NotNull
+        private final String name;
+
+        /**
+         * Reference.
+         */
+        @NotNull
+        private final String reference;
+
+        /**
+         * Count.
+         */
+        @Min(1)
+        private final int count;
+
+        /**
+         * Create a new bean.
+         * @param name Name.
+         * @param reference Reference.
+         * @param count Count.
+         */
+        private Bean(final String name, final String reference, final int count)
+        {
+            this.name = name;
+            this.reference = reference;
+            this.count = count;
+        }
+
+        @Override
+        public boolean equals(final Object other)
+        {
+            return other instanceof Bean
+                    && Objects.equals(name, ((Bean) other).name)
+                    && Objects.equals(reference, ((Bean) other).reference)
+                    && count == ((Bean) other).count;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(name, reference, count);
+        }
+    }
+}
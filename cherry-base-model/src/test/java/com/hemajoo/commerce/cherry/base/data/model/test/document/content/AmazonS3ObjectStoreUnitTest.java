@@ -0,0 +1,259 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.test.document.content;
+
+import com.hemajoo.commerce.cherry.base.commons.test.AbstractCherryUnitTest;
+import com.hemajoo.commerce.cherry.base.data.model.document.ContentStoreException;
+import com.hemajoo.commerce.cherry.base.data.model.document.content.AmazonS3ObjectStore;
+import com.hemajoo.commerce.cherry.base.data.model.document.content.UploadedPart;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+import software.amazon.awssdk.services.s3.paginators.ListPartsIterable;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for unit testing the {@link AmazonS3ObjectStore} class against a mocked <b>S3</b> client.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+class AmazonS3ObjectStoreUnitTest extends AbstractCherryUnitTest
+{
+    /**
+     * Bucket name.
+     */
+    private static final String BUCKET = "documents";
+
+    /**
+     * Object key.
+     */
+    private static final String KEY = "content";
+
+    /**
+     * Content.
+     */
+    private static final byte[] CONTENT = "An object content".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Mocked S3 client.
+     */
+    private S3Client client;
+
+    /**
+     * Object store.
+     */
+    private AmazonS3ObjectStore store;
+
+    @BeforeEach
+    final void setUp()
+    {
+        client = mock(S3Client.class);
+        store = new AmazonS3ObjectStore(client, BUCKET);
+    }
+
+    @Test
+    @DisplayName("Put an object in the bucket")
+    final void testPut() throws ContentStoreException
+    {
+        ArgumentCaptor<PutObjectRequest> request = ArgumentCaptor.forClass(PutObjectRequest.class);
+        ArgumentCaptor<RequestBody> body = ArgumentCaptor.forClass(RequestBody.class);
+
+        store.put(KEY, CONTENT);
+
+        verify(client).putObject(request.capture(), body.capture());
+        assertThat(request.getValue().bucket()).isEqualTo(BUCKET);
+        assertThat(request.getValue().key()).isEqualTo(KEY);
+        assertThat(body.getValue().contentLength()).isEqualTo(CONTENT.length);
+    }
+
+    @Test
+    @DisplayName("Get an object, or null if it does not exist")
+    final void testGet() throws ContentStoreException, IOException
+    {
+        when(client.getObject(any(GetObjectRequest.class))).thenReturn(response(CONTENT));
+
+        try (InputStream stream = store.get(KEY))
+        {
+            assertThat(stream.readAllBytes()).isEqualTo(CONTENT);
+        }
+
+        when(client.getObject(any(GetObjectRequest.class))).thenThrow(NoSuchKeyException.builder().message("Missing").build());
+
+        assertThat(store.get(KEY)).isNull();
+    }
+
+    @Test
+    @DisplayName("Read the size of an object, or -1 if it does not exist")
+    final void testSize() throws ContentStoreException
+    {
+        when(client.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder().contentLength((long) CONTENT.length).build());
+        assertThat(store.size(KEY)).isEqualTo(CONTENT.length);
+        assertThat(store.exists(KEY)).isTrue();
+
+        when(client.headObject(any(HeadObjectRequest.class))).thenThrow(s3Exception(404));
+        assertThat(store.size(KEY)).isEqualTo(-1);
+        assertThat(store.exists(KEY)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Keep the cause of a failed operation")
+    final void testFailureKeepsCause()
+    {
+        S3Exception denied = s3Exception(403);
+        SdkClientException unreachable = SdkClientException.create("Unreachable");
+        when(client.headObject(any(HeadObjectRequest.class))).thenThrow(denied);
+        when(client.putObject(any(PutObjectRequest.class), any(RequestBody.class))).thenThrow(unreachable);
+
+        assertThatThrownBy(() -> store.size(KEY))
+                .isInstanceOf(ContentStoreException.class)
+                .hasCause(denied);
+        assertThatThrownBy(() -> store.put(KEY, CONTENT))
+                .isInstanceOf(ContentStoreException.class)
+                .hasCause(unreachable)
+                .hasMessageContaining(BUCKET);
+    }
+
+    @Test
+    @DisplayName("Get a byte range of an object")
+    final void testGetRange() throws ContentStoreException, IOException
+    {
+        ArgumentCaptor<GetObjectRequest> request = ArgumentCaptor.forClass(GetObjectRequest.class);
+        when(client.getObject(any(GetObjectRequest.class))).thenReturn(response(CONTENT));
+
+        try (InputStream stream = store.getRange(KEY, 10, 20))
+        {
+            assertThat(stream).isNotNull();
+        }
+
+        assertThatThrownBy(() -> store.getRange(KEY, 0, 0)).isInstanceOf(ContentStoreException.class);
+        assertThatThrownBy(() -> store.getRange(KEY, -1, 10)).isInstanceOf(ContentStoreException.class);
+
+        verify(client, times(1)).getObject(request.capture()); // Invalid ranges are never requested!
+        assertThat(request.getValue().range()).isEqualTo("bytes=10-29");
+    }
+
+    @Test
+    @DisplayName("Find the pending multipart upload of an object only")
+    final void testFindMultipartUpload() throws ContentStoreException
+    {
+        when(client.listMultipartUploads(any(ListMultipartUploadsRequest.class))).thenReturn(ListMultipartUploadsResponse.builder()
+                .uploads(MultipartUpload.builder().key(KEY + ".bak").uploadId("other").build(),
+                        MultipartUpload.builder().key(KEY).uploadId("upload").build())
+                .build());
+
+        assertThat(store.findMultipartUpload(KEY)).isEqualTo("upload");
+        assertThat(store.findMultipartUpload(KEY + ".old")).isNull();
+    }
+
+    @Test
+    @DisplayName("Upload a part and complete a multipart upload")
+    final void testMultipartUpload() throws ContentStoreException
+    {
+        when(client.createMultipartUpload(any(CreateMultipartUploadRequest.class))).thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload").build());
+        when(client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class))).thenReturn(UploadPartResponse.builder().eTag("\"etag-1\"").build());
+        ArgumentCaptor<UploadPartRequest> partRequest = ArgumentCaptor.forClass(UploadPartRequest.class);
+        ArgumentCaptor<CompleteMultipartUploadRequest> completeRequest = ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+
+        String uploadId = store.createMultipartUpload(KEY);
+        UploadedPart part = store.uploadPart(KEY, uploadId, 1, CONTENT, 5);
+        store.completeMultipartUpload(KEY, uploadId, List.of(part, new UploadedPart(2, "\"etag-2\"", 3)));
+
+        verify(client).uploadPart(partRequest.capture(), any(RequestBody.class));
+        verify(client).completeMultipartUpload(completeRequest.capture());
+
+        assertThat(part.getNumber()).isEqualTo(1);
+        assertThat(part.getEtag()).isEqualTo("\"etag-1\"");
+        assertThat(part.getSize()).isEqualTo(5);
+        assertThat(partRequest.getValue().uploadId()).isEqualTo("upload");
+        assertThat(partRequest.getValue().partNumber()).isEqualTo(1);
+        assertThat(partRequest.getValue().contentLength()).isEqualTo(5);
+        assertThat(completeRequest.getValue().multipartUpload().parts())
+                .extracting(CompletedPart::partNumber, CompletedPart::eTag)
+                .containsExactly(tuple(1, "\"etag-1\""), tuple(2, "\"etag-2\""));
+    }
+
+    @Test
+    @DisplayName("List the uploaded parts of a multipart upload across pages")
+    final void testListParts() throws ContentStoreException
+    {
+        ListPartsRequest first = ListPartsRequest.builder().bucket(BUCKET).key(KEY).uploadId("upload").build();
+        when(client.listPartsPaginator(any(ListPartsRequest.class))).thenReturn(new ListPartsIterable(client, first));
+        when(client.listParts(any(ListPartsRequest.class))).thenReturn(
+                ListPartsResponse.builder()
+                        .parts(Part.builder().partNumber(1).eTag("\"etag-1\"").size(5L).build())
+                        .isTruncated(true)
+                        .nextPartNumberMarker(1)
+                        .build(),
+                ListPartsResponse.builder()
+                        .parts(Part.builder().partNumber(2).eTag("\"etag-2\"").size(3L).build())
+                        .isTruncated(false)
+                        .build());
+
+        assertThat(store.listParts(KEY, "upload"))
+                .extracting(UploadedPart::getNumber, UploadedPart::getEtag, UploadedPart::getSize)
+                .containsExactly(tuple(1, "\"etag-1\"", 5L), tuple(2, "\"etag-2\"", 3L));
+    }
+
+    @Test
+    @DisplayName("Abort a multipart upload")
+    final void testAbortMultipartUpload() throws ContentStoreException
+    {
+        ArgumentCaptor<AbortMultipartUploadRequest> request = ArgumentCaptor.forClass(AbortMultipartUploadRequest.class);
+
+        store.abortMultipartUpload(KEY, "upload");
+
+        verify(client).abortMultipartUpload(request.capture());
+        assertThat(request.getValue().key()).isEqualTo(KEY);
+        assertThat(request.getValue().uploadId()).isEqualTo("upload");
+    }
+
+    /**
+     * Create the response of a get object request.
+     * @param content Object content.
+     * @return Response stream.
+     */
+    private static ResponseInputStream<GetObjectResponse> response(final byte[] content)
+    {
+        return new ResponseInputStream<>(GetObjectResponse.builder().contentLength((long) content.length).build(), AbortableInputStream.create(new ByteArrayInputStream(content)));
+    }
+
+    /**
+     * Create an S3 service exception.
+     * @param status HTTP status.
+     * @return S3 exception.
+     */
+    private static S3Exception s3Exception(final int status)
+    {
+        return (S3Exception) S3Exception.builder().statusCode(status).message("Status: " + status).build();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.test.document.content;
+
+import com.hemajoo.commerce.cherry.base.commons.test.AbstractCherryUnitTest;
+import com.hemajoo.commerce.cherry.base.data.model.document.content.ByteRange;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for unit testing the {@link ByteRange} class.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+class ByteRangeUnitTest extends AbstractCherryUnitTest
+{
+    /**
+     * Content size.
+     */
+    private static final long SIZE = 1000;
+
+    @Test
+    @DisplayName("Parse bounded, open-ended and suffix byte ranges")
+    final void testParseRanges()
+    {
+        assertThat(ByteRange.parse("bytes=0-499", SIZE)).isEqualTo(ByteRange.of(0, 500));
+        assertThat(ByteRange.parse("bytes=500-", SIZE)).isEqualTo(ByteRange.of(500, 500));
+        assertThat(ByteRange.parse("bytes=-100", SIZE)).isEqualTo(ByteRange.of(900, 100));
+        assertThat(ByteRange.parse("bytes=900-5000", SIZE)).isEqualTo(ByteRange.of(900, 100));
+        assertThat(ByteRange.parse("bytes=-5000", SIZE)).isEqualTo(ByteRange.full(SIZE));
+    }
+
+    @Test
+    @DisplayName("Serve the full content for missing, malformed or multiple byte ranges")
+    final void testParseFullContent()
+    {
+        assertThat(ByteRange.parse(null, SIZE)).isEqualTo(ByteRange.full(SIZE));
+        assertThat(ByteRange.parse("items=0-10", SIZE)).isEqualTo(ByteRange.full(SIZE));
+        assertThat(ByteRange.parse("bytes=abc-def", SIZE)).isEqualTo(ByteRange.full(SIZE));
+        assertThat(ByteRange.parse("bytes=0-10,20-30", SIZE)).isEqualTo(ByteRange.full(SIZE));
+        assertThat(ByteRange.parse(null, SIZE).isPartial(SIZE)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Reject unsatisfiable byte ranges")
+    final void testParseUnsatisfiable()
+    {
+        assertThat(ByteRange.parse("bytes=1000-", SIZE)).isNull();
+        assertThat(ByteRange.parse("bytes=-0", SIZE)).isNull();
+    }
+
+    @Test
+    @DisplayName("Format the content range header")
+    final void testContentRange()
+    {
+        ByteRange range = ByteRange.parse("bytes=100-199", SIZE);
+
+        assertThat(range.isPartial(SIZE)).isTrue();
+        assertThat(range.getEnd()).isEqualTo(199);
+        assertThat(range.toContentRange(SIZE)).isEqualTo("bytes 100-199/1000");
+    }
+
+    @Test
+    @DisplayName("Format the content range header of an empty content")
+    final void testEmptyContentRange()
+    {
+        ByteRange range = ByteRange.full(0);
+
+        assertThat(range.isPartial(0)).isFalse();
+        assertThat(range.toContentRange(0)).isEqualTo("bytes */0");
+        assertThat(ByteRange.parse("bytes=0-", 0)).isNull();
+        assertThat(ByteRange.toUnsatisfiedContentRange(SIZE)).isEqualTo("bytes */1000");
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.test.document.content;
+
+import com.hemajoo.commerce.cherry.base.commons.test.AbstractCherryUnitTest;
+import com.hemajoo.commerce.cherry.base.data.model.document.ContentStoreException;
+import com.hemajoo.commerce.cherry.base.data.model.document.Document;
+import com.hemajoo.commerce.cherry.base.data.model.document.content.ByteRange;
+import com.hemajoo.commerce.cherry.base.data.model.document.content.CompressingDocumentContentStore;
+import com.hemajoo.commerce.cherry.base.data.model.document.content.ContentAddressedDocumentStore;
+import com.hemajoo.commerce.cherry.base.data.model.document.content.ContentCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for unit testing the {@link CompressingDocumentContentStore} class.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+class CompressingDocumentContentStoreUnitTest extends AbstractCherryUnitTest
+{
+    /**
+     * Compressible text content.
+     */
+    private static final byte[] TEXT = "The quick brown fox jumps over the lazy dog. ".repeat(200).getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    @DisplayName("Compress text contents and decompress them transparently")
+    final void testCompressText() throws ContentStoreException, IOException
+    {
+        InMemoryObjectStore objects = new InMemoryObjectStore();
+        CompressingDocumentContentStore store = CompressingDocumentContentStore.builder()
+                .withStore(new ContentAddressedDocumentStore(objects))
+                .build();
+
+        Document document = new Document();
+        document.setMimeType("text/plain; charset=UTF-8");
+        store.store(document, new ByteArrayInputStream(TEXT));
+
+        assertThat(document.getContentCodec()).isEqualTo(ContentCodec.DEFLATE);
+        assertThat(document.getContentLength()).isEqualTo(TEXT.length);
+
+        try (InputStream raw = objects.get(document.getContentId().substring(0, 2) + "/" + document.getContentId().substring(2, 4) + "/" + document.getContentId()))
+        {
+            assertThat(raw).isNotNull();
+            assertThat(raw.readAllBytes().length).isLessThan(TEXT.length / 10);
+        }
+
+        try (InputStream stream = store.load(document))
+        {
+            assertThat(stream.readAllBytes()).isEqualTo(TEXT);
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        store.transferTo(document, ByteRange.parse("bytes=4-8", document.getContentLength()), Channels.newChannel(output));
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo("quick");
+    }
+
+    @Test
+    @DisplayName("Store contents of non compressible MIME types as is")
+    final void testStoreBinaryAsIs() throws ContentStoreException, IOException
+    {
+        CompressingDocumentContentStore store = CompressingDocumentContentStore.builder()
+                .withStore(new ContentAddressedDocumentStore(new InMemoryObjectStore()))
+                .build();
+
+        Document document = new Document();
+        document.setMimeType("image/png");
+        store.store(document, new ByteArrayInputStream(TEXT));
+
+        assertThat(document.getContentCodec()).isEqualTo(ContentCodec.NONE);
+
+        try (InputStream stream = store.load(document))
+        {
+            assertThat(stream.readAllBytes()).isEqualTo(TEXT);
+        }
+    }
+
+    @Test
+    @DisplayName("Detect compressible MIME types")
+    final void testCompressibleMimeTypes()
+    {
+        CompressingDocumentContentStore store = CompressingDocumentContentStore.builder()
+                .withStore(new ContentAddressedDocumentStore(new InMemoryObjectStore()))
+                .build();
+
+        assertThat(store.isCompressible("text/html")).isTrue();
+        assertThat(store.isCompressible("application/xhtml+xml")).isTrue();
+        assertThat(store.isCompressible("application/vnd.oasis.opendocument.text-flat-xml")).isTrue();
+        assertThat(store.isCompressible("application/pdf")).isFalse();
+        assertThat(store.isCompressible(null)).isFalse();
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.test.document.content;
+
+import com.hemajoo.commerce.cherry.base.commons.test.AbstractCherryUnitTest;
+import com.hemajoo.commerce.cherry.base.data.model.document.ContentStoreException;
+import com.hemajoo.commerce.cherry.base.data.model.document.Document;
+import com.hemajoo.commerce.cherry.base.data.model.document.content.ByteRange;
+import com.hemajoo.commerce.cherry.base.data.model.document.content.ContentAddressedDocumentStore;
+import com.hemajoo.commerce.cherry.base.data.model.document.content.FileSystemObjectStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for unit testing the {@link ContentAddressedDocumentStore} class.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+class ContentAddressedDocumentStoreUnitTest extends AbstractCherryUnitTest
+{
+    /**
+     * Content shared by several documents.
+     */
+    private static final byte[] CONTENT = "A content shared by several documents".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    @DisplayName("Store identical contents only once")
+    final void testStoreIdenticalContentsOnce() throws ContentStoreException, IOException
+    {
+        InMemoryObjectStore objects = new InMemoryObjectStore();
+        ContentAddressedDocumentStore store = new ContentAddressedDocumentStore(objects);
+
+        Document first = new Document();
+        Document second = new Document();
+        store.store(first, new ByteArrayInputStream(CONTENT));
+        store.store(second, new ByteArrayInputStream(CONTENT));
+
+        assertThat(first.getContentId()).isEqualTo(second.getContentId()).hasSize(64);
+        assertThat(first.getContentLength()).isEqualTo(CONTENT.length);
+        assertThat(store.getReferenceCount(first.getContentId())).isEqualTo(2);
+        assertThat(objects.size()).isEqualTo(2); // Content and its reference count!
+
+        try (InputStream stream = store.load(second))
+        {
+            assertThat(stream.readAllBytes()).isEqualTo(CONTENT);
+        }
+    }
+
+    @Test
+    @DisplayName("Delete a content once it is not referenced anymore")
+    final void testDeleteUnreferencedContent() throws ContentStoreException
+    {
+        InMemoryObjectStore objects = new InMemoryObjectStore();
+        ContentAddressedDocumentStore store = new ContentAddressedDocumentStore(objects);
+
+        Document first = new Document();
+        Document second = new Document();
+        store.store(first, new ByteArrayInputStream(CONTENT));
+        store.store(second, new ByteArrayInputStream(CONTENT));
+        String hash = first.getContentId();
+
+        store.delete(first);
+        assertThat(store.getReferenceCount(hash)).isEqualTo(1);
+        assertThat(store.load(second)).isNotNull();
+
+        store.delete(second);
+        assertThat(store.getReferenceCount(hash)).isZero();
+        assertThat(objects.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Release the previous content of a document when its content is replaced")
+    final void testReplaceContent() throws ContentStoreException
+    {
+        InMemoryObjectStore objects = new InMemoryObjectStore();
+        ContentAddressedDocumentStore store = new ContentAddressedDocumentStore(objects);
+
+        Document document = new Document();
+        store.store(document, new ByteArrayInputStream(CONTENT));
+        String previous = document.getContentId();
+
+        store.store(document, new ByteArrayInputStream("Another content".getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(document.getContentId()).isNotEqualTo(previous);
+        assertThat(store.getReferenceCount(previous)).isZero();
+        assertThat(store.getReferenceCount(document.getContentId())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Store contents on the file system")
+    final void testStoreOnFileSystem(final @TempDir Path root) throws ContentStoreException, IOException
+    {
+        ContentAddressedDocumentStore store = new ContentAddressedDocumentStore(new FileSystemObjectStore(root));
+
+        for (int i = 0; i < 10; i++)
+        {
+            store.store(new Document(), new ByteArrayInputStream(CONTENT));
+        }
+
+        try (Stream<Path> files = Files.walk(root))
+        {
+            assertThat(files.filter(Files::isRegularFile).count()).isEqualTo(2); // Content and its reference count!
+        }
+    }
+
+    @Test
+    @DisplayName("Transfer a byte range of a content stored on the file system")
+    final void testTransferRange(final @TempDir Path root) throws ContentStoreException, IOException
+    {
+        ContentAddressedDocumentStore store = new ContentAddressedDocumentStore(new FileSystemObjectStore(root));
+
+        Document document = new Document();
+        store.store(document, new ByteArrayInputStream(CONTENT));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long count = store.transferTo(document, ByteRange.parse("bytes=2-8", CONTENT.length), Channels.newChannel(output));
+
+        assertThat(count).isEqualTo(7);
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo("content");
+    }
+
+    @Test
+    @Timeout(10)
+    @DisplayName("Transfer a content to a channel accepting no byte on some writes")
+    final void testTransferToSlowChannel(final @TempDir Path root) throws ContentStoreException
+    {
+        for (ContentAddressedDocumentStore store : new ContentAddressedDocumentStore[] {
+                new ContentAddressedDocumentStore(new FileSystemObjectStore(root)),
+                new ContentAddressedDocumentStore(new InMemoryObjectStore()) })
+        {
+            Document document = new Document();
+            store.store(document, new ByteArrayInputStream(CONTENT));
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            long count = store.transferTo(document, ByteRange.full(CONTENT.length), new StallingChannel(output, 3));
+
+            assertThat(count).isEqualTo(CONTENT.length);
+            assertThat(output.toByteArray()).isEqualTo(CONTENT);
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    @DisplayName("Fail to transfer a content to a channel never accepting any byte")
+    final void testTransferToStalledChannel(final @TempDir Path root) throws ContentStoreException
+    {
+        for (ContentAddressedDocumentStore store : new ContentAddressedDocumentStore[] {
+                new ContentAddressedDocumentStore(new FileSystemObjectStore(root)),
+                new ContentAddressedDocumentStore(new InMemoryObjectStore()) })
+        {
+            Document document = new Document();
+            store.store(document, new ByteArrayInputStream(CONTENT));
+            StallingChannel channel = new StallingChannel(new ByteArrayOutputStream(), Integer.MAX_VALUE);
+
+            assertThatThrownBy(() -> store.transferTo(document, ByteRange.full(CONTENT.length), channel))
+                    .isInstanceOf(ContentStoreException.class)
+                    .hasCauseInstanceOf(IOException.class);
+        }
+    }
+
+    /**
+     * A writable channel accepting no byte on a number of consecutive writes, then one write, as a congested non-blocking
+     * channel would.
+     */
+    private static final class StallingChannel implements WritableByteChannel
+    {
+        /**
+         * Target output.
+         */
+        private final WritableByteChannel output;
+
+        /**
+         * Number of consecutive writes accepting no byte before a write is accepted.
+         */
+        private final int stalls;
+
+        /**
+         * Number of consecutive writes having accepted no byte.
+         */
+        private int stalled;
+
+        /**
+         * Create a new stalling channel.
+         * @param output Target output.
+         * @param stalls Number of consecutive writes accepting no byte before a write is accepted.
+         */
+        private StallingChannel(final ByteArrayOutputStream output, final int stalls)
+        {
+            this.output = Channels.newChannel(output);
+            this.stalls = stalls;
+        }
+
+        @Override
+        public int write(final ByteBuffer buffer) throws IOException
+        {
+            if (stalled < stalls)
+            {
+                stalled++;
+                return 0;
+            }
+
+            stalled = 0;
+            return output.write(buffer);
+        }
+
+        @Override
+        public boolean isOpen()
+        {
+            return true;
+        }
+
+        @Override
+        public void close()
+        {
+            // Empty!
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.test.document.content;
+
+import com.hemajoo.commerce.cherry.base.commons.test.AbstractCherryUnitTest;
+import com.hemajoo.commerce.cherry.base.data.model.document.content.ContentCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for unit testing the {@link ContentCodec} enumeration.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+class ContentCodecUnitTest extends AbstractCherryUnitTest
+{
+    /**
+     * Compressible content spanning many codec buffers.
+     */
+    private static final byte[] CONTENT = "The quick brown fox jumps over the lazy dog. ".repeat(50_000).getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    @DisplayName("Encode and decode a content larger than the codec buffers")
+    final void testRoundTrip() throws IOException
+    {
+        for (ContentCodec codec : ContentCodec.values())
+        {
+            byte[] encoded;
+            try (InputStream stream = codec.encode(new ByteArrayInputStream(CONTENT)))
+            {
+                encoded = stream.readAllBytes();
+            }
+
+            try (InputStream stream = codec.decode(new ByteArrayInputStream(encoded)))
+            {
+                assertThat(stream.readAllBytes()).isEqualTo(CONTENT);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Compress a compressible content")
+    final void testDeflateCompresses() throws IOException
+    {
+        try (InputStream stream = ContentCodec.DEFLATE.encode(new ByteArrayInputStream(CONTENT)))
+        {
+            assertThat(stream.readAllBytes().length).isLessThan(CONTENT.length / 100);
+        }
+    }
+
+    @Test
+    @DisplayName("Close a codec stream several times")
+    final void testCloseTwice() throws IOException
+    {
+        InputStream encoder = ContentCodec.DEFLATE.encode(new ByteArrayInputStream(CONTENT));
+        InputStream decoder = ContentCodec.DEFLATE.decode(new ByteArrayInputStream(new byte[0]));
+
+        encoder.close();
+        encoder.close();
+        decoder.close();
+        decoder.close();
+
+        assertThatThrownBy(encoder::read).isInstanceOf(IOException.class);
+        assertThatThrownBy(decoder::read).isInstanceOf(IOException.class);
+    }
+}
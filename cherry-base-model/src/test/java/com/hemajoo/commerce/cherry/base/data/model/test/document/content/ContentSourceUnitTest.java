@@ -0,0 +1,268 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.test.document.content;
+
+import com.hemajoo.commerce.cherry.base.commons.test.AbstractCherryUnitTest;
+import com.hemajoo.commerce.cherry.base.data.model.document.ContentStoreException;
+import com.hemajoo.commerce.cherry.base.data.model.document.Document;
+import com.hemajoo.commerce.cherry.base.data.model.document.DocumentContentException;
+import com.hemajoo.commerce.cherry.base.data.model.document.DocumentException;
+import com.hemajoo.commerce.cherry.base.data.model.document.content.ContentAddressedDocumentStore;
+import com.hemajoo.commerce.cherry.base.data.model.document.content.ContentSource;
+import com.hemajoo.commerce.cherry.base.data.model.document.content.IContentSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Test class for unit testing the {@link ContentSource} class.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+class ContentSourceUnitTest extends AbstractCherryUnitTest
+{
+    /**
+     * Directory listing the file descriptors opened by the current process (<b>Linux</b> only).
+     */
+    private static final Path FILE_DESCRIPTORS = Path.of("/proc/self/fd");
+
+    /**
+     * Content.
+     */
+    private static final byte[] CONTENT = createContent(100);
+
+    @Test
+    @DisplayName("Read a byte range of a file as many times as needed")
+    final void testPathSourceByteRange(final @TempDir Path directory) throws IOException
+    {
+        Path file = Files.write(directory.resolve("content.bin"), CONTENT);
+        IContentSource source = ContentSource.of(file, 10, 20);
+
+        assertThat(source.getLength()).isEqualTo(20);
+        assertThat(source.getName()).isEqualTo("content.bin");
+        assertThat(source.isReopenable()).isTrue();
+
+        for (int i = 0; i < 2; i++)
+        {
+            try (InputStream stream = source.open())
+            {
+                assertThat(stream.readAllBytes()).isEqualTo(Arrays.copyOfRange(CONTENT, 10, 30));
+            }
+        }
+
+        try (InputStream stream = ContentSource.of(file).open())
+        {
+            assertThat(stream.readAllBytes()).isEqualTo(CONTENT);
+        }
+
+        try (InputStream stream = ContentSource.of(file, 90, 20).open())
+        {
+            assertThat(stream.readAllBytes()).isEqualTo(Arrays.copyOfRange(CONTENT, 90, 100)); // Bounded by the end of the file!
+        }
+
+        assertThatThrownBy(() -> ContentSource.of(file, -1, 20)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Open a stream source only once")
+    final void testStreamSourceSingleUse() throws IOException
+    {
+        IContentSource source = ContentSource.of(new ByteArrayInputStream(CONTENT), "content.bin");
+
+        assertThat(source.isReopenable()).isFalse();
+        assertThat(source.getLength()).isEqualTo(IContentSource.UNKNOWN_LENGTH);
+        assertThat(source.getName()).isEqualTo("content.bin");
+
+        try (InputStream stream = source.open())
+        {
+            assertThat(stream.readAllBytes()).isEqualTo(CONTENT);
+        }
+
+        assertThatThrownBy(source::open).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    @DisplayName("Read the content of a document set from a stream only once")
+    final void testDocumentStreamContentSingleUse() throws DocumentException, IOException
+    {
+        Document document = new Document();
+        document.setContent(new ByteArrayInputStream(CONTENT));
+
+        try (InputStream stream = document.getContent())
+        {
+            assertThat(stream.readAllBytes()).isEqualTo(CONTENT);
+        }
+
+        assertThatThrownBy(document::getContent).isInstanceOf(UncheckedIOException.class);
+        assertThatThrownBy(() -> document.setContent(ContentSource.of(new ByteArrayInputStream(CONTENT), null))).isInstanceOf(DocumentException.class);
+    }
+
+    @Test
+    @DisplayName("Open the re-openable sources several times")
+    final void testReopenableSources() throws IOException, ContentStoreException
+    {
+        MockMultipartFile file = new MockMultipartFile("file", "content.bin", "application/octet-stream", CONTENT);
+        IContentSource multipart = ContentSource.of(file);
+
+        ContentAddressedDocumentStore store = new ContentAddressedDocumentStore(new InMemoryObjectStore());
+        Document document = new Document();
+        store.store(document, new ByteArrayInputStream(CONTENT));
+        IContentSource stored = ContentSource.of(store, document);
+
+        assertThat(multipart.getName()).isEqualTo("content.bin");
+        assertThat(multipart.getLength()).isEqualTo(CONTENT.length);
+        assertThat(stored.getLength()).isEqualTo(CONTENT.length);
+
+        for (IContentSource source : new IContentSource[] { multipart, stored })
+        {
+            assertThat(source.isReopenable()).isTrue();
+            for (int i = 0; i < 2; i++)
+            {
+                try (InputStream stream = source.open())
+                {
+                    assertThat(stream.readAllBytes()).isEqualTo(CONTENT);
+                }
+            }
+        }
+
+        IContentSource missing = ContentSource.of(store, new Document());
+        assertThatThrownBy(missing::open).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    @DisplayName("Keep the cause of a content source that cannot be opened")
+    final void testSetContentFromFailingSource()
+    {
+        IOException failure = new IOException("Content unavailable");
+        IContentSource source = new IContentSource()
+        {
+            @Override
+            public InputStream open() throws IOException
+            {
+                throw failure;
+            }
+
+            @Override
+            public long getLength()
+            {
+                return UNKNOWN_LENGTH;
+            }
+
+            @Override
+            public String getName()
+            {
+                return "content.bin";
+            }
+
+            @Override
+            public boolean isReopenable()
+            {
+                return true;
+            }
+        };
+
+        assertThatThrownBy(() -> new Document().setContent(source))
+                .isInstanceOf(DocumentContentException.class)
+                .hasCause(failure);
+    }
+
+    @Test
+    @DisplayName("Keep no file handle open once the content of a document is set from a file")
+    final void testSetContentFromFileLeavesNoOpenHandle(final @TempDir Path directory) throws IOException, DocumentException
+    {
+        assumeTrue(Files.isDirectory(FILE_DESCRIPTORS), "File descriptors can only be listed on Linux!");
+
+        Path file = Files.write(directory.resolve("content.txt"), "A text content".getBytes(StandardCharsets.UTF_8));
+        Document document = new Document();
+
+        document.setContent(file.toString());
+
+        assertThat(countOpenHandles(file)).isZero();
+        assertThat(document.getContentLength()).isEqualTo(Files.size(file));
+
+        try (InputStream stream = document.getContent())
+        {
+            assertThat(countOpenHandles(file)).isEqualTo(1);
+            assertThat(stream.readAllBytes()).isEqualTo(Files.readAllBytes(file));
+        }
+
+        assertThat(countOpenHandles(file)).isZero();
+    }
+
+    /**
+     * Count the file descriptors of the current process opened on a file.
+     * @param file File.
+     * @return Number of open file descriptors.
+     * @throws IOException Thrown to indicate the file descriptors cannot be listed.
+     */
+    private static long countOpenHandles(final Path file) throws IOException
+    {
+        Path target = file.toRealPath();
+
+        try (Stream<Path> descriptors = Files.list(FILE_DESCRIPTORS))
+        {
+            return descriptors.filter(descriptor -> isLinkTo(descriptor, target)).count();
+        }
+    }
+
+    /**
+     * Check if a file descriptor links to a file.
+     * @param descriptor File descriptor.
+     * @param target File.
+     * @return <b>True</b> if the descriptor links to the file, <b>false</b> otherwise (or if it has been closed meanwhile).
+     */
+    private static boolean isLinkTo(final Path descriptor, final Path target)
+    {
+        try
+        {
+            return Files.readSymbolicLink(descriptor).equals(target);
+        }
+        catch (IOException e)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * Create a content where each byte is its own position.
+     * @param length Content length.
+     * @return Content.
+     */
+    private static byte[] createContent(final int length)
+    {
+        byte[] content = new byte[length];
+        for (int i = 0; i < length; i++)
+        {
+            content[i] = (byte) i;
+        }
+
+        return content;
+    }
+}
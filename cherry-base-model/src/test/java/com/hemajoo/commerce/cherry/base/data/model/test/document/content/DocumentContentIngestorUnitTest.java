@@ -0,0 +1,143 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.test.document.content;
+
+import com.hemajoo.commerce.cherry.base.commons.test.AbstractCherryUnitTest;
+import com.hemajoo.commerce.cherry.base.data.model.document.ContentStoreException;
+import com.hemajoo.commerce.cherry.base.data.model.document.Document;
+import com.hemajoo.commerce.cherry.base.data.model.document.DocumentContentException;
+import com.hemajoo.commerce.cherry.base.data.model.document.content.ContentAddressedDocumentStore;
+import com.hemajoo.commerce.cherry.base.data.model.document.content.DocumentContentIngestor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for unit testing the {@link DocumentContentIngestor} class.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+class DocumentContentIngestorUnitTest extends AbstractCherryUnitTest
+{
+    @Test
+    @DisplayName("Ingest an unbuffered stream computing its length, checksum and MIME type")
+    final void testIngestUnbufferedStream() throws DocumentContentException, ContentStoreException, NoSuchAlgorithmException, IOException
+    {
+        byte[] content = createPdfContent(3 * 64 * 1024 + 17); // Larger than the read buffer!
+        InMemoryObjectStore objects = new InMemoryObjectStore();
+        ContentAddressedDocumentStore store = new ContentAddressedDocumentStore(objects);
+        InputStream stream = new UnbufferedInputStream(new ByteArrayInputStream(content));
+        Document document = new Document();
+
+        assertThat(stream.markSupported()).isFalse();
+
+        new DocumentContentIngestor(store).ingest(document, stream);
+
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance(DocumentContentIngestor.CHECKSUM_ALGORITHM).digest(content));
+        assertThat(document.getContentLength()).isEqualTo(content.length);
+        assertThat(document.getContentHash()).isEqualTo(hash);
+        assertThat(document.getMimeType()).isEqualTo("application/pdf");
+
+        try (InputStream stored = store.load(document))
+        {
+            assertThat(stored.readAllBytes()).isEqualTo(content);
+        }
+    }
+
+    @Test
+    @DisplayName("Keep the cause of a failed ingestion")
+    final void testIngestFailureKeepsCause()
+    {
+        IOException failure = new IOException("Disk unplugged");
+        InputStream stream = new InputStream()
+        {
+            @Override
+            public int read() throws IOException
+            {
+                throw failure;
+            }
+        };
+        DocumentContentIngestor ingestor = new DocumentContentIngestor(new ContentAddressedDocumentStore(new InMemoryObjectStore()));
+        Document document = new Document();
+
+        assertThatThrownBy(() -> ingestor.ingest(document, stream))
+                .isInstanceOf(DocumentContentException.class)
+                .hasCause(failure);
+    }
+
+    /**
+     * Create a <b>PDF</b> like content (its header followed by random text).
+     * @param length Content length.
+     * @return Content.
+     */
+    private static byte[] createPdfContent(final int length)
+    {
+        byte[] header = "%PDF-1.4\n".getBytes(StandardCharsets.US_ASCII);
+        byte[] content = new byte[length];
+        Random random = new Random(42);
+
+        for (int i = 0; i < length; i++)
+        {
+            content[i] = (byte) ('a' + random.nextInt(26));
+        }
+        System.arraycopy(header, 0, content, 0, header.length);
+
+        return content;
+    }
+
+    /**
+     * An input stream not supporting marks and returning at most a few bytes per read, as a network stream would.
+     */
+    private static final class UnbufferedInputStream extends FilterInputStream
+    {
+        /**
+         * Maximum number of bytes returned per read.
+         */
+        private static final int MAX_READ = 1000;
+
+        /**
+         * Create a new unbuffered input stream.
+         * @param stream Underlying stream.
+         */
+        private UnbufferedInputStream(final InputStream stream)
+        {
+            super(stream);
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException
+        {
+            return super.read(buffer, offset, Math.min(length, MAX_READ));
+        }
+
+        @Override
+        public boolean markSupported()
+        {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.test.document.content;
+
+import com.hemajoo.commerce.cherry.base.data.model.document.ContentStoreException;
+import com.hemajoo.commerce.cherry.base.data.model.document.content.IMultipartObjectStore;
+import com.hemajoo.commerce.cherry.base.data.model.document.content.UploadedPart;
+import lombok.NonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An in-memory {@link IMultipartObjectStore} standing in for an <b>S3</b> bucket in tests.
+ * <br>
+ * As for Amazon S3, the entity tag of a part is the quoted {@code MD5} checksum of its content. Failures of part uploads
+ * can be injected to test the retries and the resumption of uploads.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public class InMemoryMultipartObjectStore extends InMemoryObjectStore implements IMultipartObjectStore
+{
+    /**
+     * Pending uploads by key.
+     */
+    private final Map<String, String> uploads = new ConcurrentHashMap<>();
+
+    /**
+     * Uploaded parts by upload identifier.
+     */
+    private final Map<String, Map<Integer, byte[]>> parts = new ConcurrentHashMap<>();
+
+    /**
+     * Number of part uploads.
+     */
+    private final AtomicInteger partUploads = new AtomicInteger();
+
+    /**
+     * Number of remaining failures to inject per part number.
+     */
+    private final Map<Integer, AtomicInteger> failures = new ConcurrentHashMap<>();
+
+    /**
+     * Inject failures when uploading a part.
+     * @param number Part number.
+     * @param count Number of consecutive failures.
+     */
+    public void failPart(final int number, final int count)
+    {
+        failures.put(number, new AtomicInteger(count));
+    }
+
+    /**
+     * Return the number of part uploads (including the failed ones).
+     * @return Number of part uploads.
+     */
+    public int getPartUploadCount()
+    {
+        return partUploads.get();
+    }
+
+    @Override
+    public String createMultipartUpload(final @NonNull String key)
+    {
+        String uploadId = UUID.randomUUID().toString();
+        uploads.put(key, uploadId);
+        parts.put(uploadId, new ConcurrentSkipListMap<>());
+
+        return uploadId;
+    }
+
+    @Override
+    public String findMultipartUpload(final @NonNull String key)
+    {
+        return uploads.get(key);
+    }
+
+    @Override
+    public UploadedPart uploadPart(final @NonNull String key, final @NonNull String uploadId, final int number, final byte @NonNull [] data, final int length) throws ContentStoreException
+    {
+        partUploads.incrementAndGet();
+
+        AtomicInteger remaining = failures.get(number);
+        if (remaining != null && remaining.getAndDecrement() > 0)
+        {
+            throw new ContentStoreException(String.format("Injected failure of part: %s", number));
+        }
+
+        byte[] content = Arrays.copyOf(data, length);
+        parts.get(uploadId).put(number, content);
+
+        return new UploadedPart(number, etagOf(content), length);
+    }
+
+    @Override
+    public List<UploadedPart> listParts(final @NonNull String key, final @NonNull String uploadId)
+    {
+        List<UploadedPart> list = new ArrayList<>();
+        parts.get(uploadId).forEach((number, content) -> list.add(new UploadedPart(number, etagOf(content), content.length)));
+
+        return list;
+    }
+
+    @Override
+    public void completeMultipartUpload(final @NonNull String key, final @NonNull String uploadId, final @NonNull List<UploadedPart> completed) throws ContentStoreException
+    {
+        Map<Integer, byte[]> uploaded = parts.remove(uploadId);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try
+        {
+            for (UploadedPart part : completed)
+            {
+                output.write(uploaded.get(part.getNumber()));
+            }
+        }
+        catch (IOException e)
+        {
+            throw new ContentStoreException(e);
+        }
+
+        uploads.remove(key);
+        put(key, output.toByteArray());
+    }
+
+    @Override
+    public void abortMultipartUpload(final @NonNull String key, final @NonNull String uploadId)
+    {
+        uploads.remove(key);
+        parts.remove(uploadId);
+    }
+
+    @Override
+    public long size(final @NonNull String key) throws ContentStoreException
+    {
+        try (InputStream stream = get(key))
+        {
+            return stream != null ? stream.readAllBytes().length : -1;
+        }
+        catch (IOException e)
+        {
+            throw new ContentStoreException(e);
+        }
+    }
+
+    @Override
+    public InputStream getRange(final @NonNull String key, final long offset, final long length) throws ContentStoreException
+    {
+        try (InputStream stream = get(key))
+        {
+            if (stream == null)
+            {
+                throw new ContentStoreException(String.format("Object: '%s' does not exist!", key));
+            }
+
+            byte[] content = stream.readAllBytes();
+            int from = (int) Math.min(offset, content.length);
+            int to = (int) Math.min(offset + length, content.length);
+
+            return new ByteArrayInputStream(Arrays.copyOfRange(content, from, to));
+        }
+        catch (IOException e)
+        {
+            throw new ContentStoreException(e);
+        }
+    }
+
+    /**
+     * Return the entity tag of a part content.
+     * @param content Part content.
+     * @return Entity tag.
+     */
+    private static String etagOf(final byte[] content)
+    {
+        try
+        {
+            return "\"" + HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(content)) + "\"";
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+}
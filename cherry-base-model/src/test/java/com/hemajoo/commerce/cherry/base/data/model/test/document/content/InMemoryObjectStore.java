@@ -0,0 +1,88 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.test.document.content;
+
+import com.hemajoo.commerce.cherry.base.data.model.document.ContentStoreException;
+import com.hemajoo.commerce.cherry.base.data.model.document.content.IObjectStore;
+import lombok.NonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An in-memory {@link IObjectStore} standing in for an <b>S3</b> bucket in tests.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public class InMemoryObjectStore implements IObjectStore
+{
+    /**
+     * Objects by key.
+     */
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean exists(final @NonNull String key)
+    {
+        return objects.containsKey(key);
+    }
+
+    @Override
+    public void put(final @NonNull String key, final @NonNull Path file) throws ContentStoreException
+    {
+        try
+        {
+            put(key, Files.readAllBytes(file));
+        }
+        catch (IOException e)
+        {
+            throw new ContentStoreException(e);
+        }
+    }
+
+    @Override
+    public void put(final @NonNull String key, final byte @NonNull [] content)
+    {
+        objects.put(key, content.clone());
+    }
+
+    @Override
+    public InputStream get(final @NonNull String key)
+    {
+        byte[] content = objects.get(key);
+
+        return content != null ? new ByteArrayInputStream(content) : null;
+    }
+
+    @Override
+    public void delete(final @NonNull String key)
+    {
+        objects.remove(key);
+    }
+
+    /**
+     * Return the number of stored objects.
+     * @return Number of objects.
+     */
+    public int size()
+    {
+        return objects.size();
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.test.document.content;
+
+import com.hemajoo.commerce.cherry.base.commons.test.AbstractCherryUnitTest;
+import com.hemajoo.commerce.cherry.base.data.model.document.ContentStoreException;
+import com.hemajoo.commerce.cherry.base.data.model.document.Document;
+import com.hemajoo.commerce.cherry.base.data.model.document.content.MultipartDocumentStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for unit testing the {@link MultipartDocumentStore} class.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+class MultipartDocumentStoreUnitTest extends AbstractCherryUnitTest
+{
+    /**
+     * Part size used by the tests.
+     */
+    private static final int PART_SIZE = MultipartDocumentStore.MINIMUM_S3_PART_SIZE;
+
+    /**
+     * Content spanning several parts (the last one being partial).
+     */
+    private static final byte[] CONTENT = content(PART_SIZE * 4 + 123);
+
+    @Test
+    @DisplayName("Upload a content as a multipart upload")
+    final void testMultipartUpload() throws ContentStoreException, IOException
+    {
+        InMemoryMultipartObjectStore objects = new InMemoryMultipartObjectStore();
+        MultipartDocumentStore store = newStore(objects, 0);
+        Document document = new Document();
+
+        store.store(document, new ByteArrayInputStream(CONTENT));
+
+        assertThat(document.getContentLength()).isEqualTo(CONTENT.length);
+        assertThat(objects.getPartUploadCount()).isEqualTo(5);
+        try (InputStream stream = store.load(document))
+        {
+            assertThat(stream.readAllBytes()).isEqualTo(CONTENT);
+        }
+    }
+
+    @Test
+    @DisplayName("Store a small content with a single put")
+    final void testSmallContent() throws ContentStoreException, IOException
+    {
+        InMemoryMultipartObjectStore objects = new InMemoryMultipartObjectStore();
+        MultipartDocumentStore store = newStore(objects, 0);
+        Document document = new Document();
+        byte[] small = content(PART_SIZE / 2);
+
+        store.store(document, new ByteArrayInputStream(small));
+
+        assertThat(objects.getPartUploadCount()).isZero();
+        try (InputStream stream = store.load(document))
+        {
+            assertThat(stream.readAllBytes()).isEqualTo(small);
+        }
+    }
+
+    @Test
+    @DisplayName("Retry a failed part")
+    final void testRetryPart() throws ContentStoreException, IOException
+    {
+        InMemoryMultipartObjectStore objects = new InMemoryMultipartObjectStore();
+        objects.failPart(3, 2);
+        MultipartDocumentStore store = newStore(objects, 2);
+        Document document = new Document();
+
+        store.store(document, new ByteArrayInputStream(CONTENT));
+
+        try (InputStream stream = store.load(document))
+        {
+            assertThat(stream.readAllBytes()).isEqualTo(CONTENT);
+        }
+    }
+
+    @Test
+    @DisplayName("Resume a failed upload")
+    final void testResumeUpload() throws ContentStoreException, IOException
+    {
+        InMemoryMultipartObjectStore objects = new InMemoryMultipartObjectStore();
+        objects.failPart(3, 1);
+        MultipartDocumentStore store = newStore(objects, 0);
+        Document document = new Document();
+
+        assertThatThrownBy(() -> store.store(document, new ByteArrayInputStream(CONTENT)))
+                .isInstanceOf(ContentStoreException.class);
+        assertThat(objects.findMultipartUpload(document.getContentId())).isNotNull();
+
+        int uploads = objects.getPartUploadCount();
+        store.store(document, new ByteArrayInputStream(CONTENT));
+
+        assertThat(objects.getPartUploadCount() - uploads).isEqualTo(1); // Only the failed part is uploaded again!
+        try (InputStream stream = store.load(document))
+        {
+            assertThat(stream.readAllBytes()).isEqualTo(CONTENT);
+        }
+    }
+
+    @Test
+    @DisplayName("Upload again the parts of a failed upload not matching the content when resuming it")
+    final void testResumeUploadWithChangedContent() throws ContentStoreException, IOException
+    {
+        InMemoryMultipartObjectStore objects = new InMemoryMultipartObjectStore();
+        objects.failPart(3, 1);
+        MultipartDocumentStore store = newStore(objects, 0);
+        Document document = new Document();
+
+        assertThatThrownBy(() -> store.store(document, new ByteArrayInputStream(CONTENT)))
+                .isInstanceOf(ContentStoreException.class);
+
+        byte[] changed = CONTENT.clone();
+        changed[PART_SIZE + 1] ^= 0xFF; // Same size, but the second part differs!
+
+        int uploads = objects.getPartUploadCount();
+        store.store(document, new ByteArrayInputStream(changed));
+
+        assertThat(objects.getPartUploadCount() - uploads).isEqualTo(2); // The changed part and the failed part!
+        try (InputStream stream = store.load(document))
+        {
+            assertThat(stream.readAllBytes()).isEqualTo(changed);
+        }
+    }
+
+    @Test
+    @DisplayName("Reject the part sizes smaller than the minimum part size of Amazon S3")
+    final void testMinimumPartSize()
+    {
+        InMemoryMultipartObjectStore objects = new InMemoryMultipartObjectStore();
+
+        assertThatThrownBy(() -> MultipartDocumentStore.builder().withObjects(objects).withPartSize(1024).build())
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(MultipartDocumentStore.builder().withObjects(objects).build().getPartSize())
+                .isEqualTo(MultipartDocumentStore.DEFAULT_PART_SIZE);
+    }
+
+    @Test
+    @DisplayName("Download a content using parallel ranged reads")
+    final void testParallelDownload(final @TempDir Path directory) throws ContentStoreException, IOException
+    {
+        MultipartDocumentStore store = newStore(new InMemoryMultipartObjectStore(), 0);
+        Document document = new Document();
+        store.store(document, new ByteArrayInputStream(CONTENT));
+
+        Path target = directory.resolve("content.bin");
+        assertThat(store.download(document, target)).isEqualTo(CONTENT.length);
+        assertThat(Files.readAllBytes(target)).isEqualTo(CONTENT);
+
+        try (InputStream stream = store.load(document, 100, 50))
+        {
+            assertThat(stream.readAllBytes()).isEqualTo(Arrays.copyOfRange(CONTENT, 100, 150));
+        }
+    }
+
+    /**
+     * Create a multipart document store.
+     * @param objects Object store.
+     * @param retries Number of retries of a failed part.
+     * @return Multipart document store.
+     */
+    private static MultipartDocumentStore newStore(final InMemoryMultipartObjectStore objects, final int retries)
+    {
+        return MultipartDocumentStore.builder()
+                .withObjects(objects)
+                .withPartSize(PART_SIZE)
+                .withParallelism(3)
+                .withMaxRetries(retries)
+                .build();
+    }
+
+    /**
+     * Generate a random content.
+     * @param length Content length.
+     * @return Content.
+     */
+    private static byte[] content(final int length)
+    {
+        byte[] content = new byte[length];
+        new Random(length).nextBytes(content);
+
+        return content;
+    }
+}
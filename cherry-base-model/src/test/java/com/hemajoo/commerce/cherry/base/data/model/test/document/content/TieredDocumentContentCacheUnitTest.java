@@ -0,0 +1,287 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.data.model.test.document.content;
+
+import com.hemajoo.commerce.cherry.base.commons.test.AbstractCherryUnitTest;
+import com.hemajoo.commerce.cherry.base.data.model.document.ContentStoreException;
+import com.hemajoo.commerce.cherry.base.data.model.document.Document;
+import com.hemajoo.commerce.cherry.base.data.model.document.content.ContentAddressedDocumentStore;
+import com.hemajoo.commerce.cherry.base.data.model.document.content.IDocumentContentStore;
+import com.hemajoo.commerce.cherry.base.data.model.document.content.TieredDocumentContentCache;
+import lombok.NonNull;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for unit testing the {@link TieredDocumentContentCache} class.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+class TieredDocumentContentCacheUnitTest extends AbstractCherryUnitTest
+{
+    /**
+     * Maximum size of a content cached in the memory tier.
+     */
+    private static final int THRESHOLD = 1024;
+
+    @Test
+    @DisplayName("Serve small contents from the memory tier")
+    final void testMemoryTier(final @TempDir Path directory) throws ContentStoreException, IOException
+    {
+        TieredDocumentContentCache cache = createCache(directory);
+        byte[] content = "A small content".getBytes(StandardCharsets.UTF_8);
+
+        Document document = new Document();
+        cache.store(document, new ByteArrayInputStream(content));
+
+        assertThat(read(cache, document)).isEqualTo(content);
+        assertThat(read(cache, document)).isEqualTo(content);
+
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getMemoryHitCount()).isEqualTo(1);
+        assertThat(cache.getDiskHitCount()).isZero();
+        assertThat(cache.getHitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Serve large contents from the disk tier")
+    final void testDiskTier(final @TempDir Path directory) throws ContentStoreException, IOException
+    {
+        TieredDocumentContentCache cache = createCache(directory);
+        byte[] content = new byte[THRESHOLD * 8];
+        Arrays.fill(content, (byte) 'x');
+
+        Document document = new Document();
+        cache.store(document, new ByteArrayInputStream(content));
+
+        assertThat(read(cache, document)).isEqualTo(content);
+        assertThat(read(cache, document)).isEqualTo(content);
+
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getDiskHitCount()).isEqualTo(1);
+        assertThat(cache.getMemorySize()).isZero();
+    }
+
+    @Test
+    @DisplayName("Invalidate a cached content when it is deleted")
+    final void testInvalidateOnDelete(final @TempDir Path directory) throws ContentStoreException, IOException
+    {
+        TieredDocumentContentCache cache = createCache(directory);
+
+        Document document = new Document();
+        cache.store(document, new ByteArrayInputStream("A content".getBytes(StandardCharsets.UTF_8)));
+        read(cache, document);
+        assertThat(cache.getMemorySize()).isEqualTo(1);
+
+        cache.delete(document);
+        assertThat(cache.getMemorySize()).isZero();
+    }
+
+    @Test
+    @DisplayName("Fetch a content only once from the store on concurrent misses")
+    final void testConcurrentMisses(final @TempDir Path directory) throws ContentStoreException, InterruptedException, ExecutionException
+    {
+        SlowDocumentStore store = new SlowDocumentStore(new ContentAddressedDocumentStore(new InMemoryObjectStore()));
+        TieredDocumentContentCache cache = createCache(store, directory);
+        byte[] content = new byte[THRESHOLD * 8];
+        Arrays.fill(content, (byte) 'x');
+
+        Document document = new Document();
+        cache.store(document, new ByteArrayInputStream(content));
+
+        int readers = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(readers);
+        try
+        {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<byte[]>> reads = new ArrayList<>();
+            for (int i = 0; i < readers; i++)
+            {
+                reads.add(pool.submit(() -> {
+                    start.await();
+                    return read(cache, document);
+                }));
+            }
+
+            start.countDown();
+            for (Future<byte[]> result : reads)
+            {
+                assertThat(result.get()).isEqualTo(content);
+            }
+        }
+        finally
+        {
+            pool.shutdownNow();
+        }
+
+        assertThat(store.getLoadCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getDiskHitCount()).isEqualTo(readers - 1L);
+    }
+
+    @Test
+    @DisplayName("Delete the disk tier directory when the cache is closed")
+    final void testClose(final @TempDir Path directory) throws ContentStoreException, IOException
+    {
+        TieredDocumentContentCache cache = createCache(directory);
+        byte[] content = new byte[THRESHOLD * 8];
+        Arrays.fill(content, (byte) 'x');
+
+        Document document = new Document();
+        cache.store(document, new ByteArrayInputStream(content));
+        read(cache, document);
+
+        try (Stream<Path> files = Files.list(cache.getDirectory()))
+        {
+            assertThat(files).isNotEmpty();
+        }
+
+        cache.close();
+
+        assertThat(cache.getDirectory()).doesNotExist();
+        assertThat(directory).isDirectory();
+        assertThat(cache.getDiskSize()).isZero();
+
+        cache.close(); // Closing twice is harmless!
+    }
+
+    /**
+     * Create a tiered cache in front of an in-memory content store.
+     * @param directory Disk tier directory.
+     * @return Tiered cache.
+     * @throws ContentStoreException Thrown in case an error occurred while creating the cache.
+     */
+    private static TieredDocumentContentCache createCache(final Path directory) throws ContentStoreException
+    {
+        return createCache(new ContentAddressedDocumentStore(new InMemoryObjectStore()), directory);
+    }
+
+    /**
+     * Create a tiered cache in front of a content store.
+     * @param store Content store.
+     * @param directory Disk tier directory.
+     * @return Tiered cache.
+     * @throws ContentStoreException Thrown in case an error occurred while creating the cache.
+     */
+    private static TieredDocumentContentCache createCache(final IDocumentContentStore store, final Path directory) throws ContentStoreException
+    {
+        return TieredDocumentContentCache.builder()
+                .withStore(store)
+                .withDirectory(directory)
+                .withMemoryThreshold(THRESHOLD)
+                .build();
+    }
+
+    /**
+     * Read the content of a document through the cache.
+     * @param cache Cache.
+     * @param document Document.
+     * @return Content.
+     * @throws ContentStoreException Thrown in case an error occurred while loading the content.
+     * @throws IOException Thrown in case an error occurred while reading the content.
+     */
+    private static byte[] read(final TieredDocumentContentCache cache, final Document document) throws ContentStoreException, IOException
+    {
+        try (InputStream stream = cache.load(document))
+        {
+            return stream.readAllBytes();
+        }
+    }
+
+    /**
+     * A content store counting its loads, which take some time, as for a remote store.
+     */
+    private static final class SlowDocumentStore implements IDocumentContentStore
+    {
+        /**
+         * Duration of a load.
+         */
+        private static final long LOAD_DURATION = 200;
+
+        /**
+         * Underlying content store.
+         */
+        private final IDocumentContentStore store;
+
+        /**
+         * Number of loads.
+         */
+        private final AtomicInteger loads = new AtomicInteger();
+
+        /**
+         * Create a new slow content store.
+         * @param store Underlying content store.
+         */
+        private SlowDocumentStore(final IDocumentContentStore store)
+        {
+            this.store = store;
+        }
+
+        @Override
+        public void store(final @NonNull Document document, final @NonNull InputStream stream) throws ContentStoreException
+        {
+            store.store(document, stream);
+        }
+
+        @Override
+        public InputStream load(final @NonNull Document document) throws ContentStoreException
+        {
+            loads.incrementAndGet();
+
+            try
+            {
+                Thread.sleep(LOAD_DURATION);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new ContentStoreException(e);
+            }
+
+            return store.load(document);
+        }
+
+        @Override
+        public void delete(final @NonNull Document document) throws ContentStoreException
+        {
+            store.delete(document);
+        }
+
+        /**
+         * Return the number of loads.
+         * @return Number of loads.
+         */
+        private int getLoadCount()
+        {
+            return loads.get();
+        }
+    }
+}
@@ -17,10 +17,17 @@ package com.hemajoo.commerce.cherry.base.utilities.generator;
 import lombok.NonNull;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.random.RandomGenerator;
 
 /**
  * Generator for random enumerated values.
+ * <br>
+ * The allowed values (and their alias table when weights are defined) are precomputed each time the generator is configured,
+ * so a value is drawn with a single bounded random index (uniform distribution) or a single index plus a single coin flip
+ * (weighted distribution, using the <a href="https://en.wikipedia.org/wiki/Alias_method">alias method</a>). Drawing is
+ * thread-safe, configuring the generator is expected to happen before sharing it.
  * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
  * @version 1.0.0
  */
@@ -32,19 +39,24 @@ public final class RandomEnumGenerator
     private final Class<? extends Enum<?>> enumClass;
 
     /**
-     * Minimal value.
+     * Enumerated values (indexed by ordinal).
      */
-    private final int min;
+    private final Enum<?>[] constants;
 
     /**
-     * Maximal value.
+     * Excluded values (indexed by ordinal).
      */
-    private final int max;
+    private final boolean[] excludes;
 
     /**
-     * List of excluded values.
+     * Weights of the values (indexed by ordinal, null for a uniform distribution).
      */
-    private List<Enum<?>> excludes;
+    private double[] weights;
+
+    /**
+     * Precomputed distribution of the allowed values.
+     */
+    private volatile Distribution distribution;
 
     /**
      * Create a new enumeration generator.
@@ -53,8 +65,9 @@ public final class RandomEnumGenerator
     public RandomEnumGenerator(final @NonNull Class<? extends Enum<?>> enumClass)
     {
         this.enumClass = enumClass;
-        this.min = 0;
-        this.max = enumClass.getEnumConstants().length - 1;
+        this.constants = enumClass.getEnumConstants();
+        this.excludes = new boolean[constants.length];
+        this.distribution = Distribution.of(constants, excludes, null);
     }
 
     /**
@@ -62,18 +75,45 @@ public final class RandomEnumGenerator
      * @param value Enumerated value.
      * @return {@link RandomEnumGenerator}.
      */
-    public RandomEnumGenerator exclude(final @NonNull Enum<?> value)
+    public synchronized RandomEnumGenerator exclude(final @NonNull Enum<?> value)
+    {
+        checkValue(value);
+
+        if (!excludes[value.ordinal()])
+        {
+            excludes[value.ordinal()] = true;
+            distribution = Distribution.of(constants, excludes, weights);
+        }
+
+        return this;
+    }
+
+    /**
+     * Set the weight of a value, turning the generator into a weighted distribution.
+     * <br>
+     * Values whose weight has not been set have a weight of <b>1.0</b>.
+     * @param value Enumerated value.
+     * @param weight Weight (positive or zero).
+     * @return {@link RandomEnumGenerator}.
+     */
+    public synchronized RandomEnumGenerator weight(final @NonNull Enum<?> value, final double weight)
     {
-        if (excludes == null)
+        checkValue(value);
+
+        if (weight < 0 || Double.isNaN(weight) || Double.isInfinite(weight))
         {
-            excludes = new ArrayList<>();
+            throw new IllegalArgumentException(String.format("Invalid weight: %s for enumerated value: '%s'!", weight, value));
         }
 
-        if (!excludes.contains(value))
+        if (weights == null)
         {
-            excludes.add(value);
+            weights = new double[constants.length];
+            Arrays.fill(weights, 1D);
         }
 
+        weights[value.ordinal()] = weight;
+        distribution = Distribution.of(constants, excludes, weights);
+
         return this;
     }
 
@@ -84,30 +124,220 @@ public final class RandomEnumGenerator
      */
     public Enum<?> generate() throws GeneratorException
     {
-        Enum<?> value = null;
-        boolean isValid = false;
+        return generate(RandomNumberGenerator.generator());
+    }
+
+    /**
+     * Generate a random enumerated value using a given random number generator.
+     * @param random Random number generator.
+     * @return Random enumerated value.
+     * @throws GeneratorException Thrown to indicate an error occurred trying to generate a random value.
+     */
+    public Enum<?> generate(final @NonNull RandomGenerator random) throws GeneratorException
+    {
+        return checkDistribution(distribution).draw(random);
+    }
+
+    /**
+     * Generate a given number of random enumerated values.
+     * @param count Number of values to generate.
+     * @return List of random enumerated values.
+     * @throws GeneratorException Thrown to indicate an error occurred trying to generate random values.
+     */
+    public List<Enum<?>> generate(final int count) throws GeneratorException
+    {
+        if (count < 0)
+        {
+            throw new IllegalArgumentException(String.format("Invalid number of values to generate: %s!", count));
+        }
+
+        Distribution current = checkDistribution(distribution);
+        RandomGenerator random = RandomNumberGenerator.generator();
+        List<Enum<?>> values = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++)
+        {
+            values.add(current.draw(random));
+        }
+
+        return values;
+    }
+
+    /**
+     * Check a value belongs to the enumeration of this generator.
+     * @param value Enumerated value.
+     */
+    private void checkValue(final Enum<?> value)
+    {
+        if (value.getDeclaringClass() != enumClass)
+        {
+            throw new IllegalArgumentException(String.format("Value: '%s' does not belong to enumeration: '%s'!", value, enumClass.getSimpleName()));
+        }
+    }
+
+    /**
+     * Check a distribution contains at least one value to draw.
+     * @param current Distribution.
+     * @return Distribution.
+     * @throws GeneratorException Thrown to indicate all values have been excluded.
+     */
+    private Distribution checkDistribution(final Distribution current) throws GeneratorException
+    {
+        if (current.values.length == 0)
+        {
+            throw new GeneratorException(String.format(
+                    "Not able to generate a random enumerated value for enumeration: '%s' as all values have been explicitly excluded!",
+                    enumClass.getSimpleName()));
+        }
+
+        return current;
+    }
+
+    /**
+     * Immutable distribution of the allowed enumerated values.
+     * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+     * @version 1.0.0
+     */
+    private static final class Distribution
+    {
+        /**
+         * Allowed values.
+         */
+        private final Enum<?>[] values;
+
+        /**
+         * Alias table probabilities (null for a uniform distribution).
+         */
+        private final double[] probabilities;
+
+        /**
+         * Alias table aliases (null for a uniform distribution).
+         */
+        private final int[] aliases;
+
+        /**
+         * Create a new distribution.
+         * @param values Allowed values.
+         * @param probabilities Alias table probabilities.
+         * @param aliases Alias table aliases.
+         */
+        private Distribution(final Enum<?>[] values, final double[] probabilities, final int[] aliases)
+        {
+            this.values = values;
+            this.probabilities = probabilities;
+            this.aliases = aliases;
+        }
+
+        /**
+         * Create the distribution of the allowed values.
+         * @param constants Enumerated values.
+         * @param excludes Excluded values.
+         * @param weights Weights of the values (can be null).
+         * @return Distribution.
+         */
+        private static Distribution of(final Enum<?>[] constants, final boolean[] excludes, final double[] weights)
+        {
+            List<Enum<?>> allowed = new ArrayList<>(constants.length);
+            for (Enum<?> constant : constants)
+            {
+                if (!excludes[constant.ordinal()] && (weights == null || weights[constant.ordinal()] > 0))
+                {
+                    allowed.add(constant);
+                }
+            }
+
+            Enum<?>[] values = allowed.toArray(new Enum<?>[0]);
+            if (weights == null || values.length == 0)
+            {
+                return new Distribution(values, null, null);
+            }
+
+            return alias(values, weights);
+        }
 
-        if (excludes != null && !excludes.isEmpty())
+        /**
+         * Build the alias table of a weighted distribution (Vose's method).
+         * @param values Allowed values.
+         * @param weights Weights of the values (indexed by ordinal).
+         * @return Distribution.
+         */
+        private static Distribution alias(final Enum<?>[] values, final double[] weights)
         {
-            if (enumClass.getEnumConstants().length == excludes.size())
+            int count = values.length;
+            double[] probabilities = new double[count];
+            int[] aliases = new int[count];
+            double[] scaled = new double[count];
+            int[] small = new int[count];
+            int[] large = new int[count];
+            int smallCount = 0;
+            int largeCount = 0;
+            double total = 0;
+
+            for (Enum<?> value : values)
+            {
+                total += weights[value.ordinal()];
+            }
+
+            for (int i = 0; i < count; i++)
             {
-                throw new GeneratorException(String.format(
-                        "Not able to generate a random enumerated value for enumeration: '%s' as all values have been explicitly excluded!",
-                        enumClass.getSimpleName()));
+                scaled[i] = weights[values[i].ordinal()] * count / total;
+                if (scaled[i] < 1D)
+                {
+                    small[smallCount++] = i;
+                }
+                else
+                {
+                    large[largeCount++] = i;
+                }
             }
 
-            while (!isValid)
+            while (smallCount > 0 && largeCount > 0)
             {
-                value = enumClass.getEnumConstants()[ RandomNumberGenerator.nextInt(min, max) ];
-                if (!excludes.contains(value))
+                int less = small[--smallCount];
+                int more = large[--largeCount];
+
+                probabilities[less] = scaled[less];
+                aliases[less] = more;
+
+                scaled[more] = (scaled[more] + scaled[less]) - 1D;
+                if (scaled[more] < 1D)
+                {
+                    small[smallCount++] = more;
+                }
+                else
                 {
-                    isValid = true;
+                    large[largeCount++] = more;
                 }
             }
 
-            return value;
+            // Remaining entries (numerical leftovers) always select themselves.
+            while (largeCount > 0)
+            {
+                probabilities[large[--largeCount]] = 1D;
+            }
+            while (smallCount > 0)
+            {
+                probabilities[small[--smallCount]] = 1D;
+            }
+
+            return new Distribution(values, probabilities, aliases);
         }
 
-        return enumClass.getEnumConstants()[ RandomNumberGenerator.nextInt(min, max) ];
+        /**
+         * Draw a value.
+         * @param random Random number generator.
+         * @return Random enumerated value.
+         */
+        private Enum<?> draw(final RandomGenerator random)
+        {
+            int index = random.nextInt(values.length);
+
+            if (probabilities != null && random.nextDouble() >= probabilities[index])
+            {
+                index = aliases[index];
+            }
+
+            return values[index];
+        }
     }
 }
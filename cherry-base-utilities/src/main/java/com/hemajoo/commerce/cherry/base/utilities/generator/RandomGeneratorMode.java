@@ -0,0 +1,33 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.utilities.generator;
+
+/**
+ * Enumeration providing values for the <b>modes</b> of the {@link RandomNumberGenerator}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public enum RandomGeneratorMode
+{
+    /**
+     * Values are generated by a single shared cryptographically strong random number generator.
+     */
+    SECURE,
+
+    /**
+     * Values are generated by non-cryptographic per-thread random number generators split from a seedable root generator.
+     */
+    FAST
+}
@@ -1,35 +1,135 @@
 package com.hemajoo.commerce.cherry.base.utilities.generator;
 
 import com.google.common.base.Preconditions;
+import lombok.NonNull;
 import lombok.experimental.UtilityClass;
 
 import java.security.SecureRandom;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
 
 /**
  * Pseudo-random number generator class.
+ * <br>
+ * In {@link RandomGeneratorMode#SECURE} mode (default), values are generated by a single shared {@link SecureRandom}. In
+ * {@link RandomGeneratorMode#FAST} mode, each thread draws values from its own generator split from a seedable root
+ * generator, which avoids any contention between threads. Seeding the fast root generator makes the sequence of values
+ * generated by a thread reproducible.
  * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
  * @version 1.0.0
  */
 @UtilityClass
 public final class RandomNumberGenerator
 {
+    /**
+     * Algorithm of the fast random number generators.
+     */
+    public static final String FAST_ALGORITHM = "L64X128MixRandom";
+
     /**
      * Secure random number generator.
      */
     private static final SecureRandom RANDOM = new SecureRandom();
 
+    /**
+     * Factory of the fast random number generators.
+     */
+    private static final RandomGeneratorFactory<RandomGenerator.SplittableGenerator> FACTORY = RandomGeneratorFactory.of(FAST_ALGORITHM);
+
+    /**
+     * Per-thread fast random number generators.
+     */
+    private static final ThreadLocal<ThreadGenerator> GENERATORS = new ThreadLocal<>();
+
+    /**
+     * Lock guarding the root fast random number generator.
+     */
+    private static final Object LOCK = new Object();
+
     /**
      * Min and max bounds error.
      */
     public static final String MIN_MAX_ERROR = "lower bound must be less than or equal to higher bound!";
 
+    /**
+     * Random number generator mode.
+     */
+    private static volatile RandomGeneratorMode mode = RandomGeneratorMode.SECURE;
+
+    /**
+     * Root fast random number generator from which the per-thread generators are split.
+     */
+    private static RandomGenerator.SplittableGenerator root = FACTORY.create();
+
+    /**
+     * Generation of the root fast random number generator, incremented each time it is re-seeded.
+     */
+    private static volatile long generation;
+
+    /**
+     * Return the mode of the random number generator.
+     * @return Random number generator mode.
+     */
+    public static RandomGeneratorMode getMode()
+    {
+        return mode;
+    }
+
+    /**
+     * Set the mode of the random number generator.
+     * @param mode Random number generator mode.
+     */
+    public static void setMode(final @NonNull RandomGeneratorMode mode)
+    {
+        RandomNumberGenerator.mode = mode;
+    }
+
     /**
      * Set the seed of the random number generator.
+     * <br>
+     * The root fast random number generator is re-created from the seed and every thread splits a new generator from it on
+     * its next draw, so the values generated in {@link RandomGeneratorMode#FAST} mode by a single thread are reproducible.
+     * In {@link RandomGeneratorMode#SECURE} mode, the seed only supplements the secure random number generator seed and the
+     * generated values are not reproducible.
      * @param seed Seed value.
      */
-    public static void setSeed(final int seed)
+    public static void setSeed(final long seed)
+    {
+        synchronized (LOCK)
+        {
+            root = FACTORY.create(seed);
+            generation++;
+        }
+
+        RANDOM.setSeed(seed);
+    }
+
+    /**
+     * Return the random number generator to use by the current thread for the current mode.
+     * <br>
+     * The returned generator must not be shared with other threads.
+     * @return Random number generator.
+     */
+    public static RandomGenerator generator()
     {
-        RANDOM.generateSeed(seed);
+        if (mode == RandomGeneratorMode.SECURE)
+        {
+            return RANDOM;
+        }
+
+        ThreadGenerator local = GENERATORS.get();
+        long current = generation;
+
+        if (local == null || local.generation != current)
+        {
+            synchronized (LOCK)
+            {
+                local = new ThreadGenerator(generation, root.split());
+            }
+            GENERATORS.set(local);
+        }
+
+        return local.generator;
     }
 
     /**
@@ -39,7 +139,7 @@ public final class RandomNumberGenerator
      */
     public static int nextInt(final int max)
     {
-        return RANDOM.nextInt(max);
+        return generator().nextInt(max);
     }
 
     /**
@@ -50,9 +150,9 @@ public final class RandomNumberGenerator
      */
     public static int nextInt(final int min, final int max)
     {
-        Preconditions.checkArgument(min < max, MIN_MAX_ERROR);
+        Preconditions.checkArgument(min <= max, MIN_MAX_ERROR);
 
-        return RANDOM.nextInt((max - min) + 1) + min;
+        return generator().nextInt((max - min) + 1) + min;
     }
 
     /**
@@ -62,10 +162,7 @@ public final class RandomNumberGenerator
      */
     public static long nextLong(final long max)
     {
-        return RANDOM
-                .longs(0, max + 1)
-                .findFirst()
-                .orElseThrow();
+        return generator().nextLong(max + 1);
     }
 
     /**
@@ -76,12 +173,9 @@ public final class RandomNumberGenerator
      */
     public static long nextLong(final long min, final long max)
     {
-        Preconditions.checkArgument(min < max, MIN_MAX_ERROR);
+        Preconditions.checkArgument(min <= max, MIN_MAX_ERROR);
 
-        return RANDOM
-                .longs(min, max + 1)
-                .findFirst()
-                .orElseThrow();
+        return generator().nextLong(min, max + 1);
     }
 
     /**
@@ -91,7 +185,7 @@ public final class RandomNumberGenerator
      */
     public static float nextFloat(final float max)
     {
-        return max * RANDOM.nextFloat();
+        return max * generator().nextFloat();
     }
 
     /**
@@ -102,9 +196,9 @@ public final class RandomNumberGenerator
      */
     public static float nextFloat(final float min, final float max)
     {
-        Preconditions.checkArgument(min < max, MIN_MAX_ERROR);
+        Preconditions.checkArgument(min <= max, MIN_MAX_ERROR);
 
-        return min + (max - min) * RANDOM.nextFloat();
+        return min + (max - min) * generator().nextFloat();
     }
 
     /**
@@ -114,10 +208,7 @@ public final class RandomNumberGenerator
      */
     public static double nextDouble(final double max)
     {
-        return RANDOM
-                .doubles(0, max + 1)
-                .findFirst()
-                .orElseThrow();
+        return max * generator().nextDouble();
     }
 
     /**
@@ -128,12 +219,9 @@ public final class RandomNumberGenerator
      */
     public static double nextDouble(final double min, final double max)
     {
-        Preconditions.checkArgument(min < max, MIN_MAX_ERROR);
+        Preconditions.checkArgument(min <= max, MIN_MAX_ERROR);
 
-        return RANDOM
-                .doubles(min, max + 1)
-                .findFirst()
-                .orElseThrow();
+        return min + (max - min) * generator().nextDouble();
     }
 
     /**
@@ -142,6 +230,91 @@ public final class RandomNumberGenerator
      */
     public static boolean nextBoolean()
     {
-        return RANDOM.nextBoolean();
+        return generator().nextBoolean();
+    }
+
+    /**
+     * Fill an array with pseudo-random <b>integers</b> in the range [min, max].
+     * @param values Array to fill.
+     * @param min The starting value of the range (inclusive).
+     * @param max The ending value of the range (inclusive).
+     */
+    public static void nextInts(final @NonNull int[] values, final int min, final int max)
+    {
+        Preconditions.checkArgument(min <= max, MIN_MAX_ERROR);
+
+        RandomGenerator generator = generator();
+        int bound = (max - min) + 1;
+
+        for (int i = 0; i < values.length; i++)
+        {
+            values[i] = generator.nextInt(bound) + min;
+        }
+    }
+
+    /**
+     * Fill an array with pseudo-random <b>longs</b> in the range [min, max].
+     * @param values Array to fill.
+     * @param min The starting value of the range (inclusive).
+     * @param max The ending value of the range (inclusive).
+     */
+    public static void nextLongs(final @NonNull long[] values, final long min, final long max)
+    {
+        Preconditions.checkArgument(min <= max, MIN_MAX_ERROR);
+
+        RandomGenerator generator = generator();
+
+        for (int i = 0; i < values.length; i++)
+        {
+            values[i] = generator.nextLong(min, max + 1);
+        }
+    }
+
+    /**
+     * Fill an array with pseudo-random <b>doubles</b> in the range [min, max].
+     * @param values Array to fill.
+     * @param min The starting value of the range (inclusive).
+     * @param max The ending value of the range (inclusive).
+     */
+    public static void nextDoubles(final @NonNull double[] values, final double min, final double max)
+    {
+        Preconditions.checkArgument(min <= max, MIN_MAX_ERROR);
+
+        RandomGenerator generator = generator();
+        double range = max - min;
+
+        for (int i = 0; i < values.length; i++)
+        {
+            values[i] = min + range * generator.nextDouble();
+        }
+    }
+
+    /**
+     * Fast random number generator of a thread.
+     * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+     * @version 1.0.0
+     */
+    private static final class ThreadGenerator
+    {
+        /**
+         * Generation of the root generator this generator has been split from.
+         */
+        private final long generation;
+
+        /**
+         * Random number generator.
+         */
+        private final RandomGenerator generator;
+
+        /**
+         * Create a new thread generator.
+         * @param generation Generation of the root generator.
+         * @param generator Random number generator.
+         */
+        private ThreadGenerator(final long generation, final RandomGenerator generator)
+        {
+            this.generation = generation;
+            this.generator = generator;
+        }
     }
 }
@@ -14,32 +14,142 @@
  */
 package com.hemajoo.commerce.cherry.base.utilities.generator;
 
+import lombok.NonNull;
 import org.hibernate.HibernateException;
+import org.hibernate.MappingException;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
 
 import java.io.Serializable;
+import java.util.Properties;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Server data model entity identifier (UUID) generator.
+ * <br>
+ * The type of UUID generated is given by the {@link #PARAMETER_TYPE} generator parameter if set, or by the default type
+ * (see {@link #setDefaultType(UuidGeneratorType)}) otherwise.
+ * <br>
+ * Time-ordered UUIDs follow the version 7 layout: a 48 bits millisecond timestamp, a 12 bits counter and 62 random bits.
+ * The counter is kept per thread, so the UUIDs generated by a thread are strictly increasing without any lock.
  * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
  * @version 1.0.0
  */
 public class UuidGenerator implements IdentifierGenerator
 {
+    /**
+     * Name of the generator parameter defining the type of UUID to generate.
+     */
+    public static final String PARAMETER_TYPE = "type";
+
+    /**
+     * Maximal value of the time-ordered UUID counter.
+     */
+    private static final int MAX_COUNTER = 0xFFF;
+
+    /**
+     * Per-thread time-ordered UUID state (last timestamp, counter).
+     */
+    private static final ThreadLocal<long[]> STATE = ThreadLocal.withInitial(() -> new long[2]);
+
+    /**
+     * Default type of UUID to generate.
+     */
+    private static volatile UuidGeneratorType defaultType = UuidGeneratorType.RANDOM;
+
+    /**
+     * Type of UUID to generate (null to use the default type).
+     */
+    private UuidGeneratorType type;
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException
+    {
+        String value = parameters.getProperty(PARAMETER_TYPE);
+
+        if (value != null)
+        {
+            try
+            {
+                this.type = UuidGeneratorType.valueOf(value.trim().toUpperCase());
+            }
+            catch (IllegalArgumentException e)
+            {
+                throw new MappingException(String.format("Invalid UUID generator type: '%s'", value));
+            }
+        }
+    }
+
     @Override
     public Serializable generate(SharedSessionContractImplementor sharedSession, Object object) throws HibernateException
     {
-        return UUID.randomUUID();
+        return getUuid(type != null ? type : defaultType);
     }
 
     /**
-     * Return a UUID identifier.
+     * Return the default type of UUID to generate.
+     * @return UUID generator type.
+     */
+    public static UuidGeneratorType getDefaultType()
+    {
+        return defaultType;
+    }
+
+    /**
+     * Set the default type of UUID to generate.
+     * @param type UUID generator type.
+     */
+    public static void setDefaultType(final @NonNull UuidGeneratorType type)
+    {
+        defaultType = type;
+    }
+
+    /**
+     * Return a UUID identifier of the default type.
      * @return UUID identifier.
      */
     public static UUID getUuid()
     {
-        return UUID.randomUUID();
+        return getUuid(defaultType);
+    }
+
+    /**
+     * Return a UUID identifier of a given type.
+     * @param type UUID generator type.
+     * @return UUID identifier.
+     */
+    public static UUID getUuid(final @NonNull UuidGeneratorType type)
+    {
+        return type == UuidGeneratorType.TIME_ORDERED ? getTimeOrderedUuid() : UUID.randomUUID();
+    }
+
+    /**
+     * Return a time-ordered (version 7) UUID identifier.
+     * @return UUID identifier.
+     */
+    public static UUID getTimeOrderedUuid()
+    {
+        long[] state = STATE.get();
+        long now = System.currentTimeMillis();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        if (now > state[0])
+        {
+            state[0] = now;
+            state[1] = random.nextInt(MAX_COUNTER >> 1); // Leave room for the UUIDs generated within the same millisecond.
+        }
+        else if (++state[1] > MAX_COUNTER)
+        {
+            state[0]++; // Counter exhausted (or clock moved backward), borrow the next millisecond.
+            state[1] = 0;
+        }
+
+        long mostSignificantBits = (state[0] << 16) | 0x7000L | state[1];
+        long leastSignificantBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+
+        return new UUID(mostSignificantBits, leastSignificantBits);
     }
 }
@@ -0,0 +1,33 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.utilities.generator;
+
+/**
+ * Enumeration providing values for the <b>types</b> of UUID generated by the {@link UuidGenerator}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public enum UuidGeneratorType
+{
+    /**
+     * Random UUID (version 4) generated by {@link java.util.UUID#randomUUID()}.
+     */
+    RANDOM,
+
+    /**
+     * Time-ordered UUID (version 7) starting with a millisecond timestamp, keeping index insertions mostly sequential.
+     */
+    TIME_ORDERED
+}
@@ -17,10 +17,12 @@ package com.hemajoo.commerce.cherry.base.utilities.graphics.picture;
 import com.hemajoo.commerce.cherry.base.utilities.helper.image.ImageException;
 import com.hemajoo.commerce.cherry.base.utilities.helper.image.ImageFileType;
 import com.hemajoo.commerce.cherry.base.utilities.helper.image.ImageScaleType;
+import com.hemajoo.commerce.cherry.base.utilities.helper.image.ImageWriteOptions;
 import lombok.NonNull;
 
 import java.awt.image.BufferedImage;
 import java.io.File;
+import java.io.OutputStream;
 
 /**
  * Provide the behavior of a picture.
@@ -118,6 +120,19 @@ public interface IPicture
      */
     String save(final ImageFileType imageType, final int width, final int height, final @NonNull String filename) throws ImageException;
 
+    /**
+     * Save a picture to an output stream in a given image type and a given size.
+     * <br>
+     * The output stream is flushed but not closed.
+     * @param imageType Image file type.
+     * @param width Target image width.
+     * @param height Target image height.
+     * @param output Output stream.
+     * @param options Write options (quality, compression level, progressive mode).
+     * @throws ImageException Thrown to indicate an error occurred when trying to encode the image.
+     */
+    void save(final @NonNull ImageFileType imageType, final int width, final int height, final @NonNull OutputStream output, final @NonNull ImageWriteOptions options) throws ImageException;
+
     /**
      * Set the file containing a picture.
      * @param file File.
@@ -16,10 +16,15 @@ package com.hemajoo.commerce.cherry.base.utilities.graphics.picture;
 
 import com.hemajoo.commerce.cherry.base.utilities.helper.file.FileException;
 import com.hemajoo.commerce.cherry.base.utilities.helper.file.FileHelper;
+import com.hemajoo.commerce.cherry.base.utilities.helper.image.ImageEncoder;
 import com.hemajoo.commerce.cherry.base.utilities.helper.image.ImageException;
 import com.hemajoo.commerce.cherry.base.utilities.helper.image.ImageFileType;
 import com.hemajoo.commerce.cherry.base.utilities.helper.image.ImageHelper;
+import com.hemajoo.commerce.cherry.base.utilities.helper.image.ImageResampler;
 import com.hemajoo.commerce.cherry.base.utilities.helper.image.ImageScaleType;
+import com.hemajoo.commerce.cherry.base.utilities.helper.image.ImageWriteOptions;
+import com.hemajoo.commerce.cherry.base.utilities.helper.image.RenditionCache;
+import com.hemajoo.commerce.cherry.base.utilities.helper.image.RenditionKey;
 import com.twelvemonkeys.image.ResampleOp;
 import ij.IJ;
 import ij.ImagePlus;
@@ -33,6 +38,9 @@ import java.awt.image.ColorModel;
 import java.awt.image.WritableRaster;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 /**
  * A <b>picture</b> represents a graphical image.
@@ -46,14 +54,11 @@ public final class Picture implements IPicture
      * File containing the image.
      */
     @Getter
-    @Setter
     private File file;
 
     /**
      * Buffered image.
      */
-    @Getter
-    @Setter
     private BufferedImage bufferedImage;
 
     /**
@@ -61,6 +66,32 @@ public final class Picture implements IPicture
      */
     private ImageFileType imageType;
 
+    /**
+     * Rendition cache used when saving the picture (can be null).
+     */
+    @Getter
+    @Setter
+    private RenditionCache renditionCache;
+
+    /**
+     * Image resampler used when saving the picture in a different size (can be null).
+     * <br>
+     * Sharing a resampler between the pictures of a batch allows to reuse its destination buffers.
+     */
+    @Getter
+    @Setter
+    private ImageResampler resampler;
+
+    /**
+     * Content hash of the source file (lazily computed).
+     */
+    private String sourceHash;
+
+    /**
+     * Has the buffered image been modified (or exposed to callers able to modify it) since it has been loaded from the source file?
+     */
+    private boolean modified;
+
     /**
      * Avoid direct instantiation of a picture.
      */
@@ -189,43 +220,118 @@ public final class Picture implements IPicture
     public String save(ImageFileType imageType, int width, int height, @NonNull String filename) throws ImageException
     {
         String outputFilename = ImageHelper.replaceExtension(filename, imageType);
-        boolean result;
-        BufferedImage converted;
 
         if (bufferedImage == null)
         {
             throw new ImageException("No image content to save!");
         }
 
-        try
+        if (renditionCache != null && file != null && !modified)
         {
-            ImageIO.setUseCache(false);
+            return saveRendition(imageType, width, height, outputFilename);
+        }
 
-            if (width != bufferedImage.getWidth() || height != bufferedImage.getHeight())
-            {
-                converted = Picture.clone(bufferedImage);
-                converted = toBufferedImage(converted.getScaledInstance(width, height,java.awt.Image.SCALE_SMOOTH));
-            }
-            else
-            {
-                converted = Picture.clone(bufferedImage);
-            }
+        ImageEncoder.encode(render(width, height), imageType, ImageWriteOptions.DEFAULT, new File(outputFilename).toPath());
 
-            result = ImageIO.write(converted, imageType.name(), new File(outputFilename));
-            if (!result)
-            {
-                throw new ImageException(String.format("Cannot generate image output: '%s' in format: '%s'", outputFilename, imageType));
-            }
+        LOGGER.debug(String.format("Saved image to: '%s'", outputFilename));
+        return outputFilename;
+    }
+
+    @Override
+    public void save(final @NonNull ImageFileType imageType, final int width, final int height, final @NonNull OutputStream output, final @NonNull ImageWriteOptions options) throws ImageException
+    {
+        if (bufferedImage == null)
+        {
+            throw new ImageException("No image content to save!");
+        }
+
+        ImageEncoder.encode(render(width, height), imageType, options, output);
+    }
+
+    /**
+     * Save a picture through the rendition cache.
+     * @param imageType Image file type.
+     * @param width Target image width.
+     * @param height Target image height.
+     * @param outputFilename Output filename (including extension).
+     * @return Filename (including path).
+     * @throws ImageException Thrown to indicate an error occurred when trying to save a file containing an image.
+     */
+    private String saveRendition(final ImageFileType imageType, final int width, final int height, final String outputFilename) throws ImageException
+    {
+        if (sourceHash == null)
+        {
+            sourceHash = RenditionCache.hash(file);
+        }
+
+        RenditionKey key = RenditionKey.of(sourceHash, width, height, imageType);
+        byte[] content = renditionCache.computeIfAbsent(key, () -> ImageHelper.toByteArray(render(width, height), imageType));
+
+        try
+        {
+            Files.write(Path.of(outputFilename), content);
         }
-        catch (IOException fe)
+        catch (IOException e)
         {
-            throw new ImageException(String.format("Cannot generate image output: '%s' in format: '%s'", outputFilename, imageType));
+            throw new ImageException(String.format("Cannot generate image output: '%s' in format: '%s'", outputFilename, imageType), e);
         }
 
-        LOGGER.debug(String.format("Saved image to: '%s'", outputFilename));
+        LOGGER.debug(String.format("Saved image rendition to: '%s'", outputFilename));
         return outputFilename;
     }
 
+    /**
+     * Render the buffered image in a given size.
+     * <br>
+     * The buffered image is resampled directly from its raster and returned as is when no resize is needed, so the
+     * returned image must not be mutated.
+     * @param width Target image width.
+     * @param height Target image height.
+     * @return Rendered image.
+     */
+    private BufferedImage render(final int width, final int height)
+    {
+        if (width == bufferedImage.getWidth() && height == bufferedImage.getHeight())
+        {
+            return bufferedImage;
+        }
+
+        if (resampler != null)
+        {
+            return resampler.resample(bufferedImage, width, height);
+        }
+
+        return new ResampleOp(width, height, ResampleOp.FILTER_LANCZOS).filter(bufferedImage, null);
+    }
+
+    /**
+     * Return the buffered image contained in the picture.
+     * <br>
+     * The returned image is mutable, so the picture stops serving its renditions from the rendition cache once its
+     * buffered image has been exposed.
+     * @return Buffered image.
+     */
+    @Override
+    public BufferedImage getBufferedImage()
+    {
+        modified = true;
+        return bufferedImage;
+    }
+
+    @Override
+    public void setBufferedImage(final @NonNull BufferedImage image)
+    {
+        this.bufferedImage = image;
+        this.modified = true;
+    }
+
+    @Override
+    public void setFile(final @NonNull File file)
+    {
+        this.file = file;
+        this.sourceHash = null;
+    }
+
     @Override
     public String getName()
     {
@@ -266,6 +372,8 @@ public final class Picture implements IPicture
         try
         {
             bufferedImage = ImageIO.read(file);
+            modified = false;
+            sourceHash = null;
             LOGGER.debug(String.format("Loaded image from: '%s'", file.getAbsolutePath()));
             imageType = ImageHelper.getExtension(file.getAbsolutePath());
         }
@@ -345,6 +453,7 @@ public final class Picture implements IPicture
 
         BufferedImageOp processor = new ResampleOp(width, height, ResampleOp.FILTER_LANCZOS); // A good default filter, see class documentation for more info!
         bufferedImage = processor.filter(bufferedImage, null);
+        modified = true;
 
         LOGGER.debug(String.format("Re-scaled image as width: '%s', height: '%s'", width, height));
     }
@@ -384,6 +493,6 @@ public final class Picture implements IPicture
      */
     public static BufferedImage toBufferedImage(final @NonNull Picture image)
     {
-        return toBufferedImage(image.getBufferedImage());
+        return toBufferedImage(image.bufferedImage);
     }
 }
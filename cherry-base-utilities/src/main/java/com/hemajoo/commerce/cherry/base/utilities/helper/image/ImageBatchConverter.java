@@ -0,0 +1,350 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.utilities.helper.image;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.io.FilenameUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * An image <b>batch converter</b> converting and re-scaling all the images of a directory tree.
+ * <br>
+ * Each source image is converted to every configured image file type and scale type on a bounded pool of worker threads.
+ * The directory walk is throttled by the work queue: when the queue is full, the walking thread converts the image itself
+ * (back-pressure). Source images whose outputs are all more recent than the source are skipped.
+ * <br>
+ * Outputs are written to the target directory using the relative path of their source, the original scale type keeping the
+ * source name while the other scale types are suffixed with their size, for example: {@code products/shoe_64x64.png}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Log4j2
+public final class ImageBatchConverter
+{
+    /**
+     * Source directory.
+     */
+    @Getter
+    private final Path source;
+
+    /**
+     * Target directory.
+     */
+    @Getter
+    private final Path target;
+
+    /**
+     * Output image file types.
+     */
+    @Getter
+    private final Set<ImageFileType> outputTypes;
+
+    /**
+     * Output scale types.
+     */
+    @Getter
+    private final Set<ImageScaleType> scaleTypes;
+
+    /**
+     * Write options.
+     */
+    @Getter
+    private final ImageWriteOptions options;
+
+    /**
+     * Number of worker threads.
+     */
+    @Getter
+    private final int threads;
+
+    /**
+     * Capacity of the work queue.
+     */
+    @Getter
+    private final int queueCapacity;
+
+    /**
+     * Progress listener.
+     */
+    private final ImageBatchListener listener;
+
+    /**
+     * Per-thread image resamplers.
+     */
+    private final ThreadLocal<ImageResampler> resamplers = ThreadLocal.withInitial(ImageResampler::new);
+
+    /**
+     * Create a new image batch converter.
+     * @param source Source directory.
+     * @param target Target directory.
+     * @param outputTypes Output image file types.
+     * @param scaleTypes Output scale types (defaults to the original scale).
+     * @param options Write options (defaults to the writer defaults).
+     * @param threads Number of worker threads (defaults to the number of available processors).
+     * @param queueCapacity Capacity of the work queue (defaults to four times the number of worker threads).
+     * @param listener Progress listener (can be null).
+     */
+    @Builder(setterPrefix = "with")
+    public ImageBatchConverter(final @NonNull Path source, final @NonNull Path target, final @NonNull Set<ImageFileType> outputTypes, final Set<ImageScaleType> scaleTypes, final ImageWriteOptions options, final int threads, final int queueCapacity, final ImageBatchListener listener)
+    {
+        if (outputTypes.isEmpty())
+        {
+            throw new IllegalArgumentException("At least one output image file type must be specified!");
+        }
+
+        if (scaleTypes != null && scaleTypes.contains(ImageScaleType.IMAGE_SCALE_CUSTOM))
+        {
+            throw new IllegalArgumentException("Image scaling of type: CUSTOM is not supported by the batch converter!");
+        }
+
+        this.source = source;
+        this.target = target;
+        this.outputTypes = Set.copyOf(outputTypes);
+        this.scaleTypes = scaleTypes == null || scaleTypes.isEmpty() ? Set.of(ImageScaleType.IMAGE_SCALE_ORIGINAL) : Set.copyOf(scaleTypes);
+        this.options = options == null ? ImageWriteOptions.DEFAULT : options;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = queueCapacity > 0 ? queueCapacity : this.threads * 4;
+        this.listener = listener == null ? new ImageBatchListener() {} : listener;
+    }
+
+    /**
+     * Convert all the images of the source directory tree.
+     * @return Result of the conversion.
+     * @throws ImageException Thrown to indicate an error occurred while trying to walk the source directory tree.
+     */
+    public ImageBatchResult convert() throws ImageException
+    {
+        long start = System.nanoTime();
+        AtomicLong processed = new AtomicLong();
+        AtomicLong converted = new AtomicLong();
+        AtomicLong skipped = new AtomicLong();
+        Map<Path, String> failures = new ConcurrentHashMap<>();
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), new ThreadPoolExecutor.CallerRunsPolicy());
+
+        try (Stream<Path> paths = Files.walk(source))
+        {
+            paths.filter(path -> !path.startsWith(target) && Files.isRegularFile(path) && typeOf(path) != null)
+                    .forEach(path -> executor.execute(() -> {
+                        try
+                        {
+                            long begin = System.nanoTime();
+                            List<Path> outputs = convert(path);
+                            if (outputs.isEmpty())
+                            {
+                                skipped.incrementAndGet();
+                                listener.onSkipped(path, processed.incrementAndGet());
+                            }
+                            else
+                            {
+                                converted.incrementAndGet();
+                                listener.onConverted(path, outputs, Duration.ofNanos(System.nanoTime() - begin), processed.incrementAndGet());
+                            }
+                        }
+                        catch (ImageException e)
+                        {
+                            failures.put(path, e.getMessage());
+                            listener.onFailed(path, e, processed.incrementAndGet());
+                        }
+                        catch (RuntimeException e)
+                        {
+                            // Decoders can fail with unchecked exceptions on corrupted images, they must not abort the batch.
+                            ImageException exception = new ImageException(String.format("Cannot convert image: '%s' due to: %s", path, e.getMessage()), e);
+                            failures.put(path, exception.getMessage());
+                            listener.onFailed(path, exception, processed.incrementAndGet());
+                        }
+                    }));
+        }
+        catch (IOException | UncheckedIOException e)
+        {
+            throw new ImageException(String.format("Cannot walk source directory: '%s' due to: %s", source, e.getMessage()), e);
+        }
+        finally
+        {
+            executor.shutdown();
+            awaitTermination(executor);
+            resamplers.remove(); // The walking thread may have converted some images itself!
+        }
+
+        ImageBatchResult result = new ImageBatchResult(converted.get(), skipped.get(), failures, Duration.ofNanos(System.nanoTime() - start));
+        LOGGER.info(String.format("Converted images from: '%s' to: '%s', result: %s", source, target, result));
+
+        return result;
+    }
+
+    /**
+     * Convert a source image to all the configured image file types and scale types.
+     * @param path Source image file.
+     * @return Generated image files (empty if all the outputs are up to date).
+     * @throws ImageException Thrown to indicate an error occurred while trying to convert the image.
+     */
+    private List<Path> convert(final Path path) throws ImageException
+    {
+        Map<Path, ImageScaleType> pending = new LinkedHashMap<>();
+        Map<Path, ImageFileType> types = new HashMap<>();
+
+        try
+        {
+            FileTime modified = Files.getLastModifiedTime(path);
+            for (ImageFileType outputType : outputTypes)
+            {
+                for (ImageScaleType scaleType : scaleTypes)
+                {
+                    Path output = resolveOutput(path, outputType, scaleType);
+                    if (!Files.exists(output) || Files.getLastModifiedTime(output).compareTo(modified) < 0)
+                    {
+                        pending.put(output, scaleType);
+                        types.put(output, outputType);
+                    }
+                }
+            }
+
+            if (pending.isEmpty())
+            {
+                return Collections.emptyList();
+            }
+
+            BufferedImage image = ImageIO.read(path.toFile());
+            if (image == null)
+            {
+                throw new ImageException(String.format("Image file: '%s' is not supported!", path));
+            }
+
+            ImageResampler resampler = resamplers.get();
+            for (Map.Entry<Path, ImageScaleType> entry : pending.entrySet())
+            {
+                ImageScaleType scaleType = entry.getValue();
+                BufferedImage rendered = scaleType == ImageScaleType.IMAGE_SCALE_ORIGINAL
+                        ? image
+                        : resampler.resample(image, scaleType.getWidth(), scaleType.getHeight());
+
+                write(rendered, types.get(entry.getKey()), entry.getKey());
+            }
+        }
+        catch (IOException e)
+        {
+            throw new ImageException(String.format("Cannot convert image: '%s' due to: %s", path, e.getMessage()), e);
+        }
+
+        return new ArrayList<>(pending.keySet());
+    }
+
+    /**
+     * Write an image to an output file, using a temporary file so an interrupted write never looks up to date.
+     * @param image Image.
+     * @param outputType Output image file type.
+     * @param output Output image file.
+     * @throws ImageException Thrown to indicate an error occurred while trying to write the image.
+     */
+    private void write(final BufferedImage image, final ImageFileType outputType, final Path output) throws ImageException
+    {
+        try
+        {
+            Files.createDirectories(output.getParent());
+            Path temporary = Files.createTempFile(output.getParent(), output.getFileName().toString(), ".tmp");
+
+            try
+            {
+                ImageEncoder.encode(image, outputType, options, temporary);
+                Files.move(temporary, output, StandardCopyOption.REPLACE_EXISTING);
+            }
+            finally
+            {
+                Files.deleteIfExists(temporary);
+            }
+        }
+        catch (IOException e)
+        {
+            throw new ImageException(String.format("Cannot write image: '%s' due to: %s", output, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Resolve the output file of a source image for a given image file type and scale type.
+     * @param path Source image file.
+     * @param outputType Output image file type.
+     * @param scaleType Output scale type.
+     * @return Output image file.
+     */
+    private Path resolveOutput(final Path path, final ImageFileType outputType, final ImageScaleType scaleType)
+    {
+        Path relative = source.relativize(path);
+        String name = FilenameUtils.removeExtension(relative.getFileName().toString());
+
+        if (scaleType != ImageScaleType.IMAGE_SCALE_ORIGINAL)
+        {
+            name = name + "_" + scaleType.getWidth() + "x" + scaleType.getHeight();
+        }
+
+        Path parent = relative.getParent();
+        return (parent != null ? target.resolve(parent) : target).resolve(name + outputType.getExtension());
+    }
+
+    /**
+     * Return the image file type of a file based on its extension.
+     * <br>
+     * <b>SVG</b> files are ignored as they cannot be decoded by {@link ImageIO}.
+     * @param path File.
+     * @return Image file type if the file is a raster image, <b>null</b> otherwise.
+     */
+    private static ImageFileType typeOf(final Path path)
+    {
+        String extension = FilenameUtils.getExtension(path.getFileName().toString());
+
+        for (ImageFileType type : ImageFileType.values())
+        {
+            if (type != ImageFileType.SVG && (type.getExtension().equalsIgnoreCase("." + extension) || type.name().equalsIgnoreCase(extension)))
+            {
+                return type;
+            }
+        }
+
+        return "tiff".equalsIgnoreCase(extension) ? ImageFileType.TIFF : null;
+    }
+
+    /**
+     * Wait for the termination of the worker threads.
+     * @param executor Executor.
+     */
+    private static void awaitTermination(final ExecutorService executor)
+    {
+        try
+        {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES))
+            {
+                LOGGER.debug("Waiting for image conversions to complete...");
+            }
+        }
+        catch (InterruptedException e)
+        {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.utilities.helper.image;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Listener notified of the progress of an {@link ImageBatchConverter}.
+ * <br>
+ * Notifications are sent from the worker threads of the converter, so implementations must be thread-safe.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public interface ImageBatchListener
+{
+    /**
+     * Invoked when a source image has been converted.
+     * @param source Source image file.
+     * @param outputs Generated image files.
+     * @param elapsed Time spent converting the source image.
+     * @param processed Number of source images processed so far.
+     */
+    default void onConverted(final Path source, final List<Path> outputs, final Duration elapsed, final long processed)
+    {
+        // Nothing to do by default!
+    }
+
+    /**
+     * Invoked when a source image has been skipped because its outputs are already up to date.
+     * @param source Source image file.
+     * @param processed Number of source images processed so far.
+     */
+    default void onSkipped(final Path source, final long processed)
+    {
+        // Nothing to do by default!
+    }
+
+    /**
+     * Invoked when a source image cannot be converted.
+     * @param source Source image file.
+     * @param exception Exception raised while converting the source image.
+     * @param processed Number of source images processed so far.
+     */
+    default void onFailed(final Path source, final ImageException exception, final long processed)
+    {
+        // Nothing to do by default!
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.utilities.helper.image;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Represent the <b>result</b> of a run of an {@link ImageBatchConverter}.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@ToString
+public final class ImageBatchResult
+{
+    /**
+     * Number of converted source images.
+     */
+    @Getter
+    private final long converted;
+
+    /**
+     * Number of skipped (up to date) source images.
+     */
+    @Getter
+    private final long skipped;
+
+    /**
+     * Source images that failed to be converted with their failure message.
+     */
+    @Getter
+    private final Map<Path, String> failures;
+
+    /**
+     * Total duration of the run.
+     */
+    @Getter
+    private final Duration duration;
+
+    /**
+     * Create a new batch result.
+     * @param converted Number of converted source images.
+     * @param skipped Number of skipped source images.
+     * @param failures Failed source images.
+     * @param duration Total duration.
+     */
+    ImageBatchResult(final long converted, final long skipped, final Map<Path, String> failures, final Duration duration)
+    {
+        this.converted = converted;
+        this.skipped = skipped;
+        this.failures = Map.copyOf(failures);
+        this.duration = duration;
+    }
+
+    /**
+     * Return the number of failed source images.
+     * @return Number of failures.
+     */
+    public long getFailed()
+    {
+        return failures.size();
+    }
+}
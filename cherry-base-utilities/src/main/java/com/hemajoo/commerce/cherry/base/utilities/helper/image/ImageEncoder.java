@@ -0,0 +1,249 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.utilities.helper.image;
+
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+import lombok.extern.log4j.Log4j2;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Utility class providing services to <b>encode</b> images directly to an output stream or a channel.
+ * <br>
+ * Image writers are pooled per image file type and reused across calls. Images are written through an in-memory cached
+ * image output stream, so the global {@link ImageIO#setUseCache(boolean)} setting is neither needed nor modified.
+ * <br>
+ * Images having an alpha channel are flattened on a white background when the target image file type cannot store it.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Log4j2
+@UtilityClass
+public final class ImageEncoder
+{
+    /**
+     * Maximal number of idle image writers kept per image file type.
+     */
+    private static final int MAX_POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Image file types not able to store an alpha channel.
+     */
+    private static final Set<ImageFileType> OPAQUE_TYPES = EnumSet.of(ImageFileType.JPEG, ImageFileType.BMP);
+
+    /**
+     * Pools of idle image writers per image file type.
+     */
+    private static final Map<ImageFileType, Queue<ImageWriter>> POOLS = new ConcurrentHashMap<>();
+
+    static
+    {
+        ImageIO.scanForPlugins(); // Load extensions if some are available!
+    }
+
+    /**
+     * Encode an image to an output stream.
+     * <br>
+     * The output stream is flushed but not closed.
+     * @param image Image to encode.
+     * @param imageType Image file type.
+     * @param options Write options.
+     * @param output Output stream.
+     * @throws ImageException Thrown to indicate an error occurred while trying to encode the image.
+     */
+    public static void encode(final @NonNull BufferedImage image, final @NonNull ImageFileType imageType, final @NonNull ImageWriteOptions options, final @NonNull OutputStream output) throws ImageException
+    {
+        ImageWriter writer = acquire(imageType);
+
+        try
+        {
+            BufferedImage encoded = prepare(writer, image, imageType);
+
+            ImageWriteParam parameters = writer.getDefaultWriteParam();
+            options.apply(parameters, imageType);
+
+            try (ImageOutputStream stream = new MemoryCacheImageOutputStream(output))
+            {
+                writer.setOutput(stream);
+                writer.write(null, new IIOImage(encoded, null, null), parameters);
+                stream.flush();
+            }
+
+            output.flush();
+        }
+        catch (IOException | RuntimeException e)
+        {
+            throw new ImageException(String.format("Cannot encode image in format: '%s' due to: %s", imageType, e.getMessage()), e);
+        }
+        finally
+        {
+            release(imageType, writer);
+        }
+    }
+
+    /**
+     * Encode an image to a channel.
+     * <br>
+     * The channel is not closed.
+     * @param image Image to encode.
+     * @param imageType Image file type.
+     * @param options Write options.
+     * @param channel Channel.
+     * @throws ImageException Thrown to indicate an error occurred while trying to encode the image.
+     */
+    public static void encode(final @NonNull BufferedImage image, final @NonNull ImageFileType imageType, final @NonNull ImageWriteOptions options, final @NonNull WritableByteChannel channel) throws ImageException
+    {
+        encode(image, imageType, options, Channels.newOutputStream(channel));
+    }
+
+    /**
+     * Encode an image to a file.
+     * @param image Image to encode.
+     * @param imageType Image file type.
+     * @param options Write options.
+     * @param path File path.
+     * @throws ImageException Thrown to indicate an error occurred while trying to encode the image.
+     */
+    public static void encode(final @NonNull BufferedImage image, final @NonNull ImageFileType imageType, final @NonNull ImageWriteOptions options, final @NonNull Path path) throws ImageException
+    {
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(path)))
+        {
+            encode(image, imageType, options, output);
+        }
+        catch (IOException e)
+        {
+            throw new ImageException(String.format("Cannot write image: '%s' in format: '%s' due to: %s", path, imageType, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Acquire an image writer from the pool of an image file type.
+     * @param imageType Image file type.
+     * @return Image writer.
+     * @throws ImageException Thrown to indicate no image writer is available for the image file type.
+     */
+    private static ImageWriter acquire(final ImageFileType imageType) throws ImageException
+    {
+        ImageWriter writer = POOLS.computeIfAbsent(imageType, type -> new ConcurrentLinkedQueue<>()).poll();
+
+        if (writer == null)
+        {
+            Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(imageType.name());
+            if (!writers.hasNext())
+            {
+                throw new ImageException(String.format("No image writer available for format: '%s'", imageType));
+            }
+
+            writer = writers.next();
+        }
+
+        return writer;
+    }
+
+    /**
+     * Release an image writer to the pool of an image file type.
+     * @param imageType Image file type.
+     * @param writer Image writer.
+     */
+    private static void release(final ImageFileType imageType, final ImageWriter writer)
+    {
+        writer.reset();
+
+        Queue<ImageWriter> pool = POOLS.get(imageType);
+        if (pool.size() < MAX_POOL_SIZE)
+        {
+            pool.offer(writer);
+        }
+        else
+        {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * Prepare an image before being encoded by an image writer, flattening its alpha channel if needed.
+     * @param writer Image writer.
+     * @param image Image.
+     * @param imageType Image file type.
+     * @return Image to encode.
+     * @throws ImageException Thrown to indicate the image cannot be encoded by the image writer.
+     */
+    private static BufferedImage prepare(final ImageWriter writer, final BufferedImage image, final ImageFileType imageType) throws ImageException
+    {
+        BufferedImage prepared = image;
+
+        if (image.getColorModel().hasAlpha() && (OPAQUE_TYPES.contains(imageType) || !canEncode(writer, image)))
+        {
+            prepared = flatten(image);
+            LOGGER.debug(String.format("Flattened alpha channel of image to encode in format: '%s'", imageType));
+        }
+
+        if (!canEncode(writer, prepared))
+        {
+            throw new ImageException(String.format("Image of type: '%s' cannot be encoded in format: '%s'", image.getType(), imageType));
+        }
+
+        return prepared;
+    }
+
+    /**
+     * Check if an image writer can encode an image.
+     * @param writer Image writer.
+     * @param image Image.
+     * @return <b>True</b> if the image can be encoded, <b>false</b> otherwise.
+     */
+    private static boolean canEncode(final ImageWriter writer, final BufferedImage image)
+    {
+        return writer.getOriginatingProvider() == null || writer.getOriginatingProvider().canEncodeImage(ImageTypeSpecifier.createFromRenderedImage(image));
+    }
+
+    /**
+     * Flatten an image on a white background.
+     * @param image Image.
+     * @return Flattened image.
+     */
+    private static BufferedImage flatten(final BufferedImage image)
+    {
+        BufferedImage converted = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = converted.createGraphics();
+        graphics.drawImage(image, 0, 0, Color.WHITE, null);
+        graphics.dispose();
+
+        return converted;
+    }
+}
@@ -23,11 +23,12 @@ import lombok.extern.log4j.Log4j2;
 import org.apache.commons.io.FilenameUtils;
 
 import javax.imageio.ImageIO;
-import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.awt.image.BufferedImageOp;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 
 /**
  * Utility class providing services to ease image manipulation through the use of the {@code ImgScalr} library.
@@ -56,6 +57,8 @@ public final class ImageHelper
 
     /**
      * Save an image to a given path.
+     * <br>
+     * Images having an alpha channel are flattened on a white background only if the output type cannot store transparency.
      * @param image Image to save.
      * @param outputType Output type.
      * @param targetPath Target path name.
@@ -68,22 +71,7 @@ public final class ImageHelper
     {
         String fullTargetPath = targetPath + File.separator + targetName + outputType.getExtension();
 
-        ImageIO.setUseCache(false);
-        BufferedImage convertedImage = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
-        convertedImage.createGraphics().drawImage(image, 0, 0,Color.WHITE,null);
-
-        try
-        {
-            boolean result = ImageIO.write(convertedImage, outputType.name(), new File(targetPath, targetName + outputType.getExtension()));
-            if (!result)
-            {
-                throw new ImageException(String.format("Cannot save image: '%s' in format: '%s'", fullTargetPath, outputType.name()));
-            }
-        }
-        catch (IOException e)
-        {
-            throw new ImageException(String.format("Cannot save image: '%s' in format: '%s' due to: %s", fullTargetPath, outputType.name(), e.getMessage()));
-        }
+        ImageEncoder.encode(image, outputType, ImageWriteOptions.DEFAULT, new File(targetPath, targetName + outputType.getExtension()).toPath());
 
         return fullTargetPath;
     }
@@ -218,50 +206,126 @@ public final class ImageHelper
      */
     public static String saveIcon(final @NonNull String sourceIconPath, final ImageScaleType scaleType, final ImageFileType outputType, final @NonNull String targetPath, final @NonNull String targetName) throws ImageException
     {
-        boolean result;
-        BufferedImage converted;
+        BufferedImage icon = loadImage(sourceIconPath, scaleType == null ? ImageScaleType.IMAGE_SCALE_DEFAULT : scaleType);
 
-        BufferedImage icon = loadImage(sourceIconPath, ImageScaleType.IMAGE_SCALE_DEFAULT);
+        try
+        {
+            ImageEncoder.encode(icon, outputType, ImageWriteOptions.DEFAULT, new File(targetPath, targetName + outputType.getExtension()).toPath());
+        }
+        catch (ImageException e)
+        {
+            throw new ImageException(String.format("Cannot generate image output: '%s', from source: '%s', in format: '%s'", targetPath, sourceIconPath, outputType), e);
+        }
+
+        return targetPath + File.separator + targetName + outputType.getExtension();
+    }
+
+    /**
+     * Save an icon image, serving the encoded output from a rendition cache when the same source content has already been
+     * rendered in the same scale and output type.
+     * @param sourceIconPath Image path (complete).
+     * @param scaleType Image scale.
+     * @param outputType Image output type.
+     * @param targetPath Destination target path (can be relative).
+     * @param targetName Image target name.
+     * @param cache Rendition cache.
+     * @throws ImageException Thrown in case an error occurred while manipulating an image.
+     * @return Full pathname (containing the file extension) of the saved image file.
+     */
+    public static String saveIcon(final @NonNull String sourceIconPath, final ImageScaleType scaleType, final @NonNull ImageFileType outputType, final @NonNull String targetPath, final @NonNull String targetName, final @NonNull RenditionCache cache) throws ImageException
+    {
+        File source;
 
         try
         {
-            ImageIO.setUseCache(false);
-            result = ImageIO.write(icon, outputType.name(), new File(targetPath, targetName + outputType.getExtension()));
-            if (!result)
-            {
-                switch (outputType)
-                {
-                    case TIFF:
-                        throw new IllegalArgumentException();
-
-                    case GIF:
-                        throw new IllegalArgumentException();
-
-                    case PNG:
-                        throw new IllegalArgumentException();
-
-                    case BMP, JPEG:
-                    default:
-                        converted = new BufferedImage(icon.getWidth(),icon.getHeight(), BufferedImage.TYPE_INT_RGB);
-                        converted.createGraphics().drawImage(icon,0,0,Color.WHITE,null);
-                        break;
-                }
-
-                result = ImageIO.write(converted, outputType.name(), new File(targetPath, targetName + outputType.getExtension()));
-                if (!result)
-                {
-                    throw new ImageException(String.format("Cannot generate image output: '%s', from source: '%s', in format: '%s'", targetPath, sourceIconPath, outputType));
-                }
-            }
+            source = FileHelper.getFile(sourceIconPath, ImageHelper.class);
+        }
+        catch (FileException e)
+        {
+            throw new ImageException(String.format("Cannot find image: '%s' due to: %s", sourceIconPath, e.getMessage()), e);
         }
-        catch (IOException fe)
+
+        ImageScaleType scale = scaleType == null ? ImageScaleType.IMAGE_SCALE_DEFAULT : scaleType;
+        if (scale == ImageScaleType.IMAGE_SCALE_CUSTOM)
         {
-            throw new ImageException(String.format("Cannot generate image output: '%s', from source: '%s', in format: '%s'", targetPath, sourceIconPath, outputType));
+            throw new ImageException("Image scaling of type: CUSTOM is not supported at this time!");
+        }
+
+        RenditionKey key = RenditionKey.of(RenditionCache.hash(source), getIconWidth(scale), getIconHeight(scale), outputType);
+        byte[] content = cache.computeIfAbsent(key, () -> toByteArray(loadImage(sourceIconPath, scale), outputType));
+
+        File target = new File(targetPath, targetName + outputType.getExtension());
+
+        try
+        {
+            Files.write(target.toPath(), content);
+        }
+        catch (IOException e)
+        {
+            throw new ImageException(String.format("Cannot generate image output: '%s', from source: '%s', in format: '%s'", targetPath, sourceIconPath, outputType), e);
         }
 
         return targetPath + File.separator + targetName + outputType.getExtension();
     }
 
+    /**
+     * Return the width of an icon rendered by {@link #loadImage(String, ImageScaleType)} for a given scale type.
+     * @param scaleType Scale type.
+     * @return Icon width, <b>0</b> when the icon keeps the width of its source image.
+     */
+    private static int getIconWidth(final @NonNull ImageScaleType scaleType)
+    {
+        switch (scaleType)
+        {
+            case IMAGE_SCALE_DEFAULT:
+                return 0;
+
+            case IMAGE_SCALE_ORIGINAL:
+                return ImageScaleType.IMAGE_SCALE_32X32.getWidth();
+
+            default:
+                return scaleType.getWidth();
+        }
+    }
+
+    /**
+     * Return the height of an icon rendered by {@link #loadImage(String, ImageScaleType)} for a given scale type.
+     * @param scaleType Scale type.
+     * @return Icon height, <b>0</b> when the icon keeps the height of its source image.
+     */
+    private static int getIconHeight(final @NonNull ImageScaleType scaleType)
+    {
+        switch (scaleType)
+        {
+            case IMAGE_SCALE_DEFAULT:
+                return 0;
+
+            case IMAGE_SCALE_ORIGINAL:
+                return ImageScaleType.IMAGE_SCALE_32X32.getHeight();
+
+            default:
+                return scaleType.getHeight();
+        }
+    }
+
+    /**
+     * Encode an image in a given image type.
+     * <br>
+     * Images having an alpha channel are flattened on a white background if the image type cannot store transparency.
+     * @param image Image to encode.
+     * @param outputType Output type.
+     * @return Encoded image.
+     * @throws ImageException Thrown to indicate an error occurred while trying to encode an image.
+     */
+    public static byte[] toByteArray(final @NonNull BufferedImage image, final @NonNull ImageFileType outputType) throws ImageException
+    {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        ImageEncoder.encode(image, outputType, ImageWriteOptions.DEFAULT, output);
+
+        return output.toByteArray();
+    }
+
     /**
      * Load an image and re-scale it.
      * @param sourcePath Path of the icon image file (full).
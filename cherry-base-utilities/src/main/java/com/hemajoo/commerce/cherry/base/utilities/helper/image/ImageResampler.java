@@ -0,0 +1,122 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.utilities.helper.image;
+
+import com.twelvemonkeys.image.ResampleOp;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An image <b>resampler</b> based on the twelvemonkeys {@link ResampleOp} reusing its destination buffers across calls.
+ * <br>
+ * Resampling works directly on the source raster (no defensive copy) and the destination image of a given size and type is
+ * allocated once then reused by the subsequent calls, which makes this class well suited for batches of images.
+ * <br>
+ * <b>Note:</b> an image returned by {@link #resample(BufferedImage, int, int)} is owned by the resampler and is overwritten
+ * by the next call targeting the same size and type. This class is not thread-safe, use one instance per thread.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+public final class ImageResampler
+{
+    /**
+     * Resampling filter type.
+     */
+    @Getter
+    private final int filterType;
+
+    /**
+     * Reusable destination buffers.
+     */
+    private final Map<Long, BufferedImage> buffers = new HashMap<>();
+
+    /**
+     * Create a new image resampler using a <b>Lanczos</b> filter.
+     */
+    public ImageResampler()
+    {
+        this(ResampleOp.FILTER_LANCZOS);
+    }
+
+    /**
+     * Create a new image resampler.
+     * @param filterType Resampling filter type (see {@link ResampleOp}).
+     */
+    public ImageResampler(final int filterType)
+    {
+        this.filterType = filterType;
+    }
+
+    /**
+     * Resample an image.
+     * @param source Source image.
+     * @param width Target width.
+     * @param height Target height.
+     * @return Resampled image, or the source image itself if it already has the target size.
+     */
+    public BufferedImage resample(final @NonNull BufferedImage source, final int width, final int height)
+    {
+        if (width == source.getWidth() && height == source.getHeight())
+        {
+            return source;
+        }
+
+        BufferedImage destination = null;
+
+        if (isReusable(source.getType()))
+        {
+            destination = buffers.computeIfAbsent(key(width, height, source.getType()), k -> new BufferedImage(width, height, source.getType()));
+        }
+
+        return new ResampleOp(width, height, filterType).filter(source, destination);
+    }
+
+    /**
+     * Release the destination buffers held by this resampler.
+     */
+    public void clear()
+    {
+        buffers.clear();
+    }
+
+    /**
+     * Check if a destination buffer of a given image type can be allocated and reused.
+     * <br>
+     * Custom and indexed image types depend on the color model of their source and are always allocated by the
+     * {@link ResampleOp}.
+     * @param type Image type.
+     * @return <b>True</b> if the buffer can be reused, <b>false</b> otherwise.
+     */
+    private static boolean isReusable(final int type)
+    {
+        return type != BufferedImage.TYPE_CUSTOM && type != BufferedImage.TYPE_BYTE_BINARY && type != BufferedImage.TYPE_BYTE_INDEXED;
+    }
+
+    /**
+     * Compute the key of a destination buffer.
+     * @param width Width.
+     * @param height Height.
+     * @param type Image type.
+     * @return Key.
+     */
+    private static long key(final int width, final int height, final int type)
+    {
+        return ((long) width << 36) | ((long) height << 8) | type;
+    }
+}
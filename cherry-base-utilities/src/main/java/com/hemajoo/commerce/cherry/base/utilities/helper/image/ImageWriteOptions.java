@@ -0,0 +1,115 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.utilities.helper.image;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import javax.imageio.ImageWriteParam;
+
+/**
+ * Represent the <b>options</b> applied by the {@link ImageEncoder} when encoding an image.
+ * <br>
+ * Options not supported by the writer of a given image file type are ignored.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@ToString
+public final class ImageWriteOptions
+{
+    /**
+     * Default options (writer defaults).
+     */
+    public static final ImageWriteOptions DEFAULT = new ImageWriteOptions(null, null, false);
+
+    /**
+     * Maximal <b>PNG</b> compression level.
+     */
+    public static final int MAX_COMPRESSION_LEVEL = 9;
+
+    /**
+     * Compression quality (from 0.0 to 1.0) of lossy image file types such as <b>JPEG</b> (<b>null</b> for the writer default).
+     */
+    @Getter
+    private final Float quality;
+
+    /**
+     * Compression level (from 0 to 9) of lossless image file types such as <b>PNG</b> (<b>null</b> for the writer default).
+     */
+    @Getter
+    private final Integer compressionLevel;
+
+    /**
+     * Is the image to be encoded in progressive (or interlaced) mode?
+     */
+    @Getter
+    private final boolean progressive;
+
+    /**
+     * Create new image write options.
+     * @param quality Compression quality (from 0.0 to 1.0) of lossy image file types.
+     * @param compressionLevel Compression level (from 0 to 9) of lossless image file types.
+     * @param progressive Is the image to be encoded in progressive mode?
+     */
+    @Builder(setterPrefix = "with")
+    public ImageWriteOptions(final Float quality, final Integer compressionLevel, final boolean progressive)
+    {
+        if (quality != null && (quality < 0F || quality > 1F))
+        {
+            throw new IllegalArgumentException(String.format("Invalid compression quality: %s, must be between 0.0 and 1.0!", quality));
+        }
+
+        if (compressionLevel != null && (compressionLevel < 0 || compressionLevel > MAX_COMPRESSION_LEVEL))
+        {
+            throw new IllegalArgumentException(String.format("Invalid compression level: %s, must be between 0 and %s!", compressionLevel, MAX_COMPRESSION_LEVEL));
+        }
+
+        this.quality = quality;
+        this.compressionLevel = compressionLevel;
+        this.progressive = progressive;
+    }
+
+    /**
+     * Apply the options to the write parameters of an image writer.
+     * <br>
+     * The <b>PNG</b> writer maps its compression quality to a deflate level, so the compression level is converted to the
+     * matching compression quality.
+     * @param parameters Write parameters.
+     * @param imageType Image file type.
+     */
+    public void apply(final @NonNull ImageWriteParam parameters, final @NonNull ImageFileType imageType)
+    {
+        if (progressive && parameters.canWriteProgressive())
+        {
+            parameters.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+        }
+
+        Float compressionQuality = imageType == ImageFileType.PNG
+                ? (compressionLevel != null ? 1F - (float) compressionLevel / MAX_COMPRESSION_LEVEL : null)
+                : quality;
+
+        if (compressionQuality != null && parameters.canWriteCompressed())
+        {
+            parameters.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            if (parameters.getCompressionType() == null && parameters.getCompressionTypes() != null)
+            {
+                parameters.setCompressionType(parameters.getCompressionTypes()[0]);
+            }
+            parameters.setCompressionQuality(compressionQuality);
+        }
+    }
+}
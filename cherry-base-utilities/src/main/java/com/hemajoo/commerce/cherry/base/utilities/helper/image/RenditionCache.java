@@ -0,0 +1,358 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.utilities.helper.image;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A content-addressed cache of encoded image <b>renditions</b>.
+ * <br>
+ * Renditions are identified by a {@link RenditionKey} and are kept as encoded bytes, so a cache hit can be served without
+ * decoding nor re-encoding any image. The cache is composed of:
+ * <ul>
+ * <li>an in-memory <b>LRU</b> tier bounded by the total size (in bytes) of the cached renditions,</li>
+ * <li>an optional <b>on-disk</b> tier storing each rendition in a file named after its key.</li>
+ * </ul>
+ * This class is thread-safe. Two threads missing the same key at the same time may both produce the rendition, the last
+ * one written wins (renditions are expected to be deterministic).
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Log4j2
+public final class RenditionCache
+{
+    /**
+     * Hash algorithm used to compute the content hash of a source image.
+     */
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    /**
+     * Directory of the on-disk tier (<b>null</b> if the cache is memory only).
+     */
+    @Getter
+    private final Path directory;
+
+    /**
+     * Maximal size (in bytes) of the in-memory tier.
+     */
+    @Getter
+    private final long maxMemorySize;
+
+    /**
+     * In-memory tier (access ordered).
+     */
+    private final LinkedHashMap<RenditionKey, byte[]> memory = new LinkedHashMap<>(16, 0.75F, true);
+
+    /**
+     * Current size (in bytes) of the in-memory tier.
+     */
+    private long memorySize;
+
+    /**
+     * Create a new memory only rendition cache.
+     * @param maxMemorySize Maximal size (in bytes) of the in-memory tier.
+     */
+    public RenditionCache(final long maxMemorySize)
+    {
+        this.directory = null;
+        this.maxMemorySize = maxMemorySize;
+    }
+
+    /**
+     * Create a new rendition cache backed by a directory.
+     * @param directory Directory of the on-disk tier.
+     * @param maxMemorySize Maximal size (in bytes) of the in-memory tier.
+     * @throws ImageException Thrown to indicate an error occurred while trying to create the cache directory.
+     */
+    public RenditionCache(final @NonNull Path directory, final long maxMemorySize) throws ImageException
+    {
+        this.directory = directory;
+        this.maxMemorySize = maxMemorySize;
+
+        try
+        {
+            Files.createDirectories(directory);
+        }
+        catch (IOException e)
+        {
+            throw new ImageException(String.format("Cannot create rendition cache directory: '%s' due to: %s", directory, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Return the encoded content of a rendition.
+     * @param key Rendition key.
+     * @return Encoded rendition if found, <b>null</b> otherwise.
+     * @throws ImageException Thrown to indicate an error occurred while trying to read a rendition from the on-disk tier.
+     */
+    public byte[] get(final @NonNull RenditionKey key) throws ImageException
+    {
+        byte[] content;
+
+        synchronized (memory)
+        {
+            content = memory.get(key);
+        }
+
+        if (content == null && directory != null)
+        {
+            Path path = resolve(key);
+            if (Files.isRegularFile(path))
+            {
+                try
+                {
+                    content = Files.readAllBytes(path);
+                    putInMemory(key, content);
+                }
+                catch (NoSuchFileException e)
+                {
+                    return null; // Concurrently invalidated!
+                }
+                catch (IOException e)
+                {
+                    throw new ImageException(String.format("Cannot read rendition: '%s' due to: %s", path, e.getMessage()), e);
+                }
+            }
+        }
+
+        return content;
+    }
+
+    /**
+     * Store the encoded content of a rendition.
+     * @param key Rendition key.
+     * @param content Encoded rendition.
+     * @throws ImageException Thrown to indicate an error occurred while trying to write a rendition to the on-disk tier.
+     */
+    public void put(final @NonNull RenditionKey key, final @NonNull byte[] content) throws ImageException
+    {
+        if (directory != null)
+        {
+            Path path = resolve(key);
+
+            try
+            {
+                Files.createDirectories(path.getParent());
+                Path temporary = Files.createTempFile(path.getParent(), key.getSourceHash(), ".tmp");
+                Files.write(temporary, content);
+
+                try
+                {
+                    Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                }
+                catch (AtomicMoveNotSupportedException e)
+                {
+                    Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            catch (IOException e)
+            {
+                throw new ImageException(String.format("Cannot write rendition: '%s' due to: %s", path, e.getMessage()), e);
+            }
+        }
+
+        putInMemory(key, content);
+    }
+
+    /**
+     * Return the encoded content of a rendition, producing and storing it if not already cached.
+     * @param key Rendition key.
+     * @param producer Producer of the rendition invoked on a cache miss.
+     * @return Encoded rendition.
+     * @throws ImageException Thrown to indicate an error occurred while trying to produce or cache a rendition.
+     */
+    public byte[] computeIfAbsent(final @NonNull RenditionKey key, final @NonNull RenditionProducer producer) throws ImageException
+    {
+        byte[] content = get(key);
+
+        if (content == null)
+        {
+            content = producer.produce();
+            put(key, content);
+            LOGGER.debug(String.format("Cached rendition: '%s'", key.getFilename()));
+        }
+
+        return content;
+    }
+
+    /**
+     * Remove a rendition from the cache.
+     * @param key Rendition key.
+     * @throws ImageException Thrown to indicate an error occurred while trying to delete a rendition from the on-disk tier.
+     */
+    public void invalidate(final @NonNull RenditionKey key) throws ImageException
+    {
+        synchronized (memory)
+        {
+            byte[] content = memory.remove(key);
+            if (content != null)
+            {
+                memorySize -= content.length;
+            }
+        }
+
+        if (directory != null)
+        {
+            try
+            {
+                Files.deleteIfExists(resolve(key));
+            }
+            catch (IOException e)
+            {
+                throw new ImageException(String.format("Cannot delete rendition: '%s' due to: %s", key.getFilename(), e.getMessage()), e);
+            }
+        }
+    }
+
+    /**
+     * Clear the in-memory tier of the cache.
+     */
+    public void clearMemory()
+    {
+        synchronized (memory)
+        {
+            memory.clear();
+            memorySize = 0;
+        }
+    }
+
+    /**
+     * Return the current size (in bytes) of the in-memory tier.
+     * @return Size in bytes.
+     */
+    public long getMemorySize()
+    {
+        synchronized (memory)
+        {
+            return memorySize;
+        }
+    }
+
+    /**
+     * Compute the content hash of a source image file.
+     * @param file Source image file.
+     * @return Content hash (hexadecimal).
+     * @throws ImageException Thrown to indicate an error occurred while trying to read the file.
+     */
+    public static String hash(final @NonNull File file) throws ImageException
+    {
+        MessageDigest digest = createDigest();
+
+        try (InputStream stream = new DigestInputStream(Files.newInputStream(file.toPath()), digest))
+        {
+            stream.transferTo(OutputStream.nullOutputStream()); // Reading the stream updates the digest.
+        }
+        catch (IOException e)
+        {
+            throw new ImageException(String.format("Cannot compute content hash of: '%s' due to: %s", file.getAbsolutePath(), e.getMessage()), e);
+        }
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Compute the content hash of an encoded source image.
+     * @param content Encoded source image.
+     * @return Content hash (hexadecimal).
+     */
+    public static String hash(final @NonNull byte[] content)
+    {
+        return HexFormat.of().formatHex(createDigest().digest(content));
+    }
+
+    /**
+     * Create a message digest used to compute content hashes.
+     * @return Message digest.
+     */
+    private static MessageDigest createDigest()
+    {
+        try
+        {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException(String.format("Hash algorithm: '%s' is not available!", HASH_ALGORITHM), e);
+        }
+    }
+
+    /**
+     * Resolve the on-disk path of a rendition.
+     * @param key Rendition key.
+     * @return Path.
+     */
+    private Path resolve(final RenditionKey key)
+    {
+        return directory.resolve(key.getSourceHash().substring(0, 2)).resolve(key.getFilename());
+    }
+
+    /**
+     * Store a rendition in the in-memory tier, evicting the least recently used renditions if needed.
+     * @param key Rendition key.
+     * @param content Encoded rendition.
+     */
+    private void putInMemory(final RenditionKey key, final byte[] content)
+    {
+        if (content.length > maxMemorySize)
+        {
+            return; // Too large to be kept in memory!
+        }
+
+        synchronized (memory)
+        {
+            byte[] previous = memory.put(key, content);
+            memorySize += content.length - (previous != null ? previous.length : 0);
+
+            Iterator<Map.Entry<RenditionKey, byte[]>> iterator = memory.entrySet().iterator();
+            while (memorySize > maxMemorySize && iterator.hasNext())
+            {
+                Map.Entry<RenditionKey, byte[]> eldest = iterator.next();
+                memorySize -= eldest.getValue().length;
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Functional interface used to produce a rendition on a cache miss.
+     * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+     * @version 1.0.0
+     */
+    @FunctionalInterface
+    public interface RenditionProducer
+    {
+        /**
+         * Produce the encoded content of a rendition.
+         * @return Encoded rendition.
+         * @throws ImageException Thrown to indicate an error occurred while trying to produce the rendition.
+         */
+        byte[] produce() throws ImageException;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.utilities.helper.image;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * Represent the key of an image <b>rendition</b> stored in a {@link RenditionCache}.
+ * <br>
+ * A rendition is identified by the content hash of its source image, its target size and its target image file type.
+ * A width and a height of <b>0</b> denote the original dimensions of the source image.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@ToString
+@EqualsAndHashCode
+public final class RenditionKey
+{
+    /**
+     * Content hash (hexadecimal) of the source image.
+     */
+    @Getter
+    private final String sourceHash;
+
+    /**
+     * Target width.
+     */
+    @Getter
+    private final int width;
+
+    /**
+     * Target height.
+     */
+    @Getter
+    private final int height;
+
+    /**
+     * Target image file type.
+     */
+    @Getter
+    private final ImageFileType imageType;
+
+    /**
+     * Create a new rendition key.
+     * @param sourceHash Content hash of the source image.
+     * @param width Target width.
+     * @param height Target height.
+     * @param imageType Target image file type.
+     */
+    public RenditionKey(final @NonNull String sourceHash, final int width, final int height, final @NonNull ImageFileType imageType)
+    {
+        if (width < 0 || height < 0)
+        {
+            throw new IllegalArgumentException(String.format("Invalid rendition size: %sx%s", width, height));
+        }
+
+        this.sourceHash = sourceHash;
+        this.width = width;
+        this.height = height;
+        this.imageType = imageType;
+    }
+
+    /**
+     * Create a new rendition key.
+     * @param sourceHash Content hash of the source image.
+     * @param width Target width.
+     * @param height Target height.
+     * @param imageType Target image file type.
+     * @return Rendition key.
+     */
+    public static RenditionKey of(final @NonNull String sourceHash, final int width, final int height, final @NonNull ImageFileType imageType)
+    {
+        return new RenditionKey(sourceHash, width, height, imageType);
+    }
+
+    /**
+     * Return the file name used to store the rendition on disk.
+     * @return File name.
+     */
+    public String getFilename()
+    {
+        return sourceHash + "_" + width + "x" + height + imageType.getExtension();
+    }
+}
@@ -14,12 +14,22 @@
  */
 package com.hemajoo.commerce.cherry.base.utilities.test.generator;
 
+import com.hemajoo.commerce.cherry.base.utilities.generator.GeneratorException;
+import com.hemajoo.commerce.cherry.base.utilities.generator.RandomEnumGenerator;
+import com.hemajoo.commerce.cherry.base.utilities.generator.RandomGeneratorMode;
 import com.hemajoo.commerce.cherry.base.utilities.generator.RandomNumberGenerator;
+import com.hemajoo.commerce.cherry.base.utilities.generator.UuidGenerator;
+import com.hemajoo.commerce.cherry.base.utilities.helper.image.ImageFileType;
 import com.hemajoo.commerce.cherry.base.utilities.test.base.BaseUnitTest;
 import lombok.extern.log4j.Log4j2;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
@@ -37,4 +47,96 @@ class GeneratorUnitTest extends BaseUnitTest
         assertThrows(IllegalArgumentException.class, () ->
                 RandomNumberGenerator.nextFloat(1000f, 800f));
     }
+
+    @Test
+    @DisplayName("Generate reproducible random values in fast mode")
+    final void testGenerateReproducibleValuesInFastMode()
+    {
+        int[] first = new int[100];
+        int[] second = new int[100];
+
+        try
+        {
+            RandomNumberGenerator.setMode(RandomGeneratorMode.FAST);
+
+            RandomNumberGenerator.setSeed(42L);
+            RandomNumberGenerator.nextInts(first, 1, 6);
+
+            RandomNumberGenerator.setSeed(42L);
+            RandomNumberGenerator.nextInts(second, 1, 6);
+        }
+        finally
+        {
+            RandomNumberGenerator.setMode(RandomGeneratorMode.SECURE);
+        }
+
+        assertThat(second).isEqualTo(first);
+        assertThat(Arrays.stream(first).allMatch(value -> value >= 1 && value <= 6)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Generate random double values within bounds")
+    final void testGenerateRandomDoubleWithinBounds()
+    {
+        double[] values = new double[1000];
+
+        RandomNumberGenerator.nextDoubles(values, 10D, 20D);
+
+        assertThat(Arrays.stream(values).allMatch(value -> value >= 10D && value <= 20D)).isTrue();
+        assertThat(RandomNumberGenerator.nextDouble(5D)).isBetween(0D, 5D);
+    }
+
+    @Test
+    @DisplayName("Generate random enumerated values excluding some values")
+    final void testGenerateRandomEnumWithExclusions() throws GeneratorException
+    {
+        RandomEnumGenerator generator = new RandomEnumGenerator(ImageFileType.class)
+                .exclude(ImageFileType.SVG)
+                .exclude(ImageFileType.GIF);
+
+        List<Enum<?>> values = generator.generate(1000);
+
+        assertThat(values).hasSize(1000).doesNotContain(ImageFileType.SVG, ImageFileType.GIF);
+    }
+
+    @Test
+    @DisplayName("Generate weighted random enumerated values")
+    final void testGenerateWeightedRandomEnum() throws GeneratorException
+    {
+        RandomEnumGenerator generator = new RandomEnumGenerator(ImageFileType.class)
+                .weight(ImageFileType.PNG, 0D)
+                .weight(ImageFileType.JPEG, 100D);
+
+        List<Enum<?>> values = generator.generate(10000);
+
+        assertThat(values).doesNotContain(ImageFileType.PNG);
+        assertThat(values.stream().filter(value -> value == ImageFileType.JPEG).count()).isGreaterThan(9000);
+    }
+
+    @Test
+    @DisplayName("Generate random enumerated values when all values are excluded")
+    final void testGenerateRandomEnumWithAllValuesExcluded()
+    {
+        RandomEnumGenerator generator = new RandomEnumGenerator(ImageFileType.class);
+        Arrays.stream(ImageFileType.values()).forEach(generator::exclude);
+
+        assertThrows(GeneratorException.class, generator::generate);
+    }
+
+    @Test
+    @DisplayName("Generate strictly increasing time-ordered UUIDs")
+    final void testGenerateTimeOrderedUuid()
+    {
+        UUID previous = UuidGenerator.getTimeOrderedUuid();
+
+        for (int i = 0; i < 100000; i++)
+        {
+            UUID current = UuidGenerator.getTimeOrderedUuid();
+
+            assertThat(current.version()).isEqualTo(7);
+            assertThat(current.variant()).isEqualTo(2);
+            assertThat(current).isGreaterThan(previous);
+            previous = current;
+        }
+    }
 }
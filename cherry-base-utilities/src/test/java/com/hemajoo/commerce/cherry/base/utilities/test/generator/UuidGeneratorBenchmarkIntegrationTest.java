@@ -0,0 +1,106 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.utilities.test.generator;
+
+import com.hemajoo.commerce.cherry.base.utilities.generator.UuidGenerator;
+import com.hemajoo.commerce.cherry.base.utilities.generator.UuidGeneratorType;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Micro-benchmark comparing the insert throughput of random and time-ordered UUID primary keys into an <b>H2</b>
+ * in-memory database (running in <b>PostgreSQL</b> compatibility mode).
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Log4j2
+class UuidGeneratorBenchmarkIntegrationTest
+{
+    /**
+     * Number of rows inserted per run.
+     */
+    private static final int ROWS = 200_000;
+
+    /**
+     * Number of rows per JDBC batch.
+     */
+    private static final int BATCH_SIZE = 1_000;
+
+    @Test
+    @DisplayName("Benchmark the insert throughput of random and time-ordered UUID primary keys")
+    final void testBenchmarkUuidInsertThroughput() throws SQLException
+    {
+        insert(UuidGeneratorType.RANDOM); // Warm-up.
+        insert(UuidGeneratorType.TIME_ORDERED); // Warm-up.
+
+        long random = insert(UuidGeneratorType.RANDOM);
+        long ordered = insert(UuidGeneratorType.TIME_ORDERED);
+
+        LOGGER.info(String.format("Inserted %s rows using RANDOM UUIDs in: %s ms (%s rows/s)", ROWS, random / 1_000_000, ROWS * 1_000_000_000L / random));
+        LOGGER.info(String.format("Inserted %s rows using TIME_ORDERED UUIDs in: %s ms (%s rows/s)", ROWS, ordered / 1_000_000, ROWS * 1_000_000_000L / ordered));
+
+        assertThat(random).isPositive();
+        assertThat(ordered).isPositive();
+    }
+
+    /**
+     * Insert rows into a fresh table using a given type of UUID primary key.
+     * @param type UUID generator type.
+     * @return Elapsed time in nanoseconds.
+     * @throws SQLException Thrown to indicate an error occurred while accessing the database.
+     */
+    private long insert(final UuidGeneratorType type) throws SQLException
+    {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:uuid_" + type + ";MODE=PostgreSQL"))
+        {
+            try (Statement statement = connection.createStatement())
+            {
+                statement.execute("DROP TABLE IF EXISTS entity");
+                statement.execute("CREATE TABLE entity (id UUID PRIMARY KEY, name VARCHAR(50))");
+            }
+
+            connection.setAutoCommit(false);
+            long start = System.nanoTime();
+
+            try (PreparedStatement statement = connection.prepareStatement("INSERT INTO entity (id, name) VALUES (?, ?)"))
+            {
+                for (int i = 0; i < ROWS; i++)
+                {
+                    statement.setObject(1, UuidGenerator.getUuid(type));
+                    statement.setString(2, "entity");
+                    statement.addBatch();
+
+                    if ((i + 1) % BATCH_SIZE == 0)
+                    {
+                        statement.executeBatch();
+                    }
+                }
+                statement.executeBatch();
+            }
+
+            connection.commit();
+            return System.nanoTime() - start;
+        }
+    }
+}
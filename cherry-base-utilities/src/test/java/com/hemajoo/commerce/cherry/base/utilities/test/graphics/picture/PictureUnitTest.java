@@ -19,14 +19,20 @@ import com.hemajoo.commerce.cherry.base.utilities.graphics.picture.Picture;
 import com.hemajoo.commerce.cherry.base.utilities.helper.file.FileException;
 import com.hemajoo.commerce.cherry.base.utilities.helper.file.FileHelper;
 import com.hemajoo.commerce.cherry.base.utilities.helper.image.ImageFileType;
+import com.hemajoo.commerce.cherry.base.utilities.helper.image.ImageResampler;
 import com.hemajoo.commerce.cherry.base.utilities.helper.image.ImageScaleType;
+import com.hemajoo.commerce.cherry.base.utilities.helper.image.RenditionCache;
 import com.hemajoo.commerce.cherry.base.utilities.test.base.BaseUnitTest;
 import lombok.extern.log4j.Log4j2;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
 import java.io.File;
+import java.io.IOException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -167,4 +173,48 @@ class PictureUnitTest extends BaseUnitTest
                 ImageScaleType.IMAGE_SCALE_32X32,
                 TEMPORARY_FOLDER + File.separator + "sample_backup_bmp_as_png_scale_64x64"); // Update the existing image file, changing the format and the scale
     }
+
+    @Test
+    @DisplayName("Save pictures in a batch reusing the resampler buffers")
+    final void testSaveWithResampler() throws FileException
+    {
+        ImageResampler resampler = new ImageResampler();
+        Picture picture = Picture.builder()
+                .withFilename(PATH_IMAGE_PNG)
+                .build();
+        picture.setResampler(resampler);
+
+        String first = picture.save(ImageFileType.PNG, 64, 40, TEMPORARY_FOLDER + File.separator + "sample_resampled_first");
+        String second = picture.save(ImageFileType.PNG, 64, 40, TEMPORARY_FOLDER + File.separator + "sample_resampled_second");
+
+        assertThat(new File(second)).hasSameBinaryContentAs(new File(first));
+
+        BufferedImage resampled = resampler.resample(picture.getBufferedImage(), 64, 40);
+        assertThat(resampler.resample(picture.getBufferedImage(), 64, 40)).isSameAs(resampled);
+        assertThat(resampler.resample(picture.getBufferedImage(), picture.getBufferedImage().getWidth(), picture.getBufferedImage().getHeight())).isSameAs(picture.getBufferedImage());
+    }
+
+    @Test
+    @DisplayName("Do not serve a cached rendition once the picture image has been exposed and modified")
+    final void testSaveExposedPictureBypassesRenditionCache() throws FileException, IOException
+    {
+        RenditionCache cache = new RenditionCache(10_000_000);
+        Picture picture = Picture.builder()
+                .withFilename(PATH_IMAGE_PNG)
+                .build();
+        picture.setRenditionCache(cache);
+
+        String before = picture.save(ImageFileType.PNG, 80, 50, TEMPORARY_FOLDER + File.separator + "sample_rendition_before");
+
+        BufferedImage image = picture.getBufferedImage();
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.RED);
+        graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+        graphics.dispose();
+
+        String after = picture.save(ImageFileType.PNG, 80, 50, TEMPORARY_FOLDER + File.separator + "sample_rendition_after");
+
+        assertThat(ImageIO.read(new File(before)).getRGB(40, 25)).isNotEqualTo(Color.RED.getRGB());
+        assertThat(ImageIO.read(new File(after)).getRGB(40, 25)).isEqualTo(Color.RED.getRGB());
+    }
 }
@@ -0,0 +1,237 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.utilities.test.helper.image;
+
+import com.hemajoo.commerce.cherry.base.utilities.helper.file.FileException;
+import com.hemajoo.commerce.cherry.base.utilities.helper.file.FileHelper;
+import com.hemajoo.commerce.cherry.base.utilities.helper.image.*;
+import com.hemajoo.commerce.cherry.base.utilities.test.base.BaseUnitTest;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.spi.IIORegistry;
+import javax.imageio.spi.ImageReaderSpi;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for unit testing the {@link ImageBatchConverter} class.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Log4j2
+class ImageBatchConverterUnitTest extends BaseUnitTest
+{
+    @Test
+    @DisplayName("Convert a directory tree of images and skip up to date outputs")
+    final void testConvertDirectoryTree() throws FileException, IOException
+    {
+        Path source = TEMPORARY_FOLDER.toPath().resolve("batch_source");
+        Path target = TEMPORARY_FOLDER.toPath().resolve("batch_target");
+        Files.createDirectories(source.resolve("sub"));
+        Files.copy(FileHelper.getFile("image/sample_800x500_24bits.png").toPath(), source.resolve("first.png"));
+        Files.copy(FileHelper.getFile("image/sample_640x426_24bits.bmp").toPath(), source.resolve("sub").resolve("second.bmp"));
+        Files.writeString(source.resolve("readme.txt"), "Not an image");
+
+        AtomicInteger notified = new AtomicInteger();
+        ImageBatchConverter converter = ImageBatchConverter.builder()
+                .withSource(source)
+                .withTarget(target)
+                .withOutputTypes(Set.of(ImageFileType.JPEG))
+                .withScaleTypes(Set.of(ImageScaleType.IMAGE_SCALE_ORIGINAL, ImageScaleType.IMAGE_SCALE_64X64))
+                .withThreads(2)
+                .withQueueCapacity(1)
+                .withListener(new ImageBatchListener()
+                {
+                    @Override
+                    public void onConverted(final Path path, final List<Path> outputs, final Duration elapsed, final long processed)
+                    {
+                        notified.incrementAndGet();
+                    }
+                })
+                .build();
+
+        ImageBatchResult result = converter.convert();
+
+        assertThat(result.getConverted()).isEqualTo(2);
+        assertThat(result.getFailed()).isZero();
+        assertThat(notified.get()).isEqualTo(2);
+        assertThat(target.resolve("first.jpg")).exists();
+        assertThat(target.resolve("first_64x64.jpg")).exists();
+        assertThat(target.resolve("sub").resolve("second_64x64.jpg")).exists();
+
+        result = converter.convert();
+
+        assertThat(result.getConverted()).isZero();
+        assertThat(result.getSkipped()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Report unchecked decoding failures and ignore SVG images")
+    final void testConvertWithUncheckedFailure() throws FileException, IOException
+    {
+        Path source = TEMPORARY_FOLDER.toPath().resolve("batch_failure_source");
+        Path target = TEMPORARY_FOLDER.toPath().resolve("batch_failure_target");
+        Files.createDirectories(source);
+        Files.copy(FileHelper.getFile("image/sample_800x500_24bits.png").toPath(), source.resolve("valid.png"));
+        Files.copy(FileHelper.getFile("image/sample_1067x800_32bits.svg").toPath(), source.resolve("vector.svg"));
+        Files.write(source.resolve("corrupted.png"), FailingImageReaderSpi.MAGIC);
+
+        List<ImageException> failures = Collections.synchronizedList(new ArrayList<>());
+        ImageBatchConverter converter = ImageBatchConverter.builder()
+                .withSource(source)
+                .withTarget(target)
+                .withOutputTypes(Set.of(ImageFileType.PNG))
+                .withThreads(1)
+                .withQueueCapacity(1)
+                .withListener(new ImageBatchListener()
+                {
+                    @Override
+                    public void onFailed(final Path path, final ImageException exception, final long processed)
+                    {
+                        failures.add(exception);
+                    }
+                })
+                .build();
+
+        ImageReaderSpi spi = new FailingImageReaderSpi();
+        IIORegistry.getDefaultInstance().registerServiceProvider(spi);
+
+        try
+        {
+            ImageBatchResult result = converter.convert();
+
+            assertThat(result.getConverted()).isEqualTo(1);
+            assertThat(result.getFailed()).isEqualTo(1);
+            assertThat(failures).hasSize(1);
+            assertThat(failures.get(0)).hasCauseInstanceOf(IllegalStateException.class);
+            assertThat(target.resolve("vector.png")).doesNotExist();
+        }
+        finally
+        {
+            IIORegistry.getDefaultInstance().deregisterServiceProvider(spi);
+        }
+    }
+
+    /**
+     * Image reader provider decoding the images starting with a magic number by failing with an unchecked exception, as
+     * some decoders do on corrupted images.
+     */
+    private static final class FailingImageReaderSpi extends ImageReaderSpi
+    {
+        /**
+         * Magic number of the images decoded by this provider.
+         */
+        private static final byte[] MAGIC = "CORRUPTED".getBytes(StandardCharsets.US_ASCII);
+
+        private FailingImageReaderSpi()
+        {
+            inputTypes = new Class<?>[] { ImageInputStream.class };
+        }
+
+        @Override
+        public boolean canDecodeInput(final Object input) throws IOException
+        {
+            ImageInputStream stream = (ImageInputStream) input;
+            byte[] header = new byte[MAGIC.length];
+
+            stream.mark();
+            try
+            {
+                stream.readFully(header);
+            }
+            catch (EOFException e)
+            {
+                return false;
+            }
+            finally
+            {
+                stream.reset();
+            }
+
+            return Arrays.equals(header, MAGIC);
+        }
+
+        @Override
+        public ImageReader createReaderInstance(final Object extension)
+        {
+            return new ImageReader(this)
+            {
+                @Override
+                public int getNumImages(final boolean allowSearch)
+                {
+                    return 1;
+                }
+
+                @Override
+                public int getWidth(final int imageIndex)
+                {
+                    return 1;
+                }
+
+                @Override
+                public int getHeight(final int imageIndex)
+                {
+                    return 1;
+                }
+
+                @Override
+                public Iterator<ImageTypeSpecifier> getImageTypes(final int imageIndex)
+                {
+                    return Collections.emptyIterator();
+                }
+
+                @Override
+                public IIOMetadata getStreamMetadata()
+                {
+                    return null;
+                }
+
+                @Override
+                public IIOMetadata getImageMetadata(final int imageIndex)
+                {
+                    return null;
+                }
+
+                @Override
+                public BufferedImage read(final int imageIndex, final ImageReadParam parameters)
+                {
+                    throw new IllegalStateException("Corrupted image data!");
+                }
+            };
+        }
+
+        @Override
+        public String getDescription(final Locale locale)
+        {
+            return "Failing image reader";
+        }
+    }
+}
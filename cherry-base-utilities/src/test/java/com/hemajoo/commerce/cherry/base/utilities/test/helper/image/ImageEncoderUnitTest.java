@@ -0,0 +1,110 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.utilities.test.helper.image;
+
+import com.hemajoo.commerce.cherry.base.utilities.helper.file.FileException;
+import com.hemajoo.commerce.cherry.base.utilities.helper.image.*;
+import com.hemajoo.commerce.cherry.base.utilities.test.base.BaseUnitTest;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for unit testing the {@link ImageEncoder} class.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Log4j2
+class ImageEncoderUnitTest extends BaseUnitTest
+{
+    /**
+     * Test <b>JPG</b> image file full path.
+     */
+    private static final String PATH_IMAGE_JPG = "image/sample_2560x1920_24bits.jpg";
+
+    @Test
+    @DisplayName("Encode a JPEG image using different qualities")
+    final void testEncodeJpegWithQuality() throws FileException
+    {
+        BufferedImage image = ImageHelper.loadImage(PATH_IMAGE_JPG, ImageScaleType.IMAGE_SCALE_256X256);
+        ByteArrayOutputStream low = new ByteArrayOutputStream();
+        ByteArrayOutputStream high = new ByteArrayOutputStream();
+
+        ImageEncoder.encode(image, ImageFileType.JPEG, ImageWriteOptions.builder().withQuality(0.1F).build(), low);
+        ImageEncoder.encode(image, ImageFileType.JPEG, ImageWriteOptions.builder().withQuality(0.9F).withProgressive(true).build(), high);
+
+        assertThat(low.size()).isPositive().isLessThan(high.size());
+    }
+
+    @Test
+    @DisplayName("Encode an image with an alpha channel to a channel")
+    final void testEncodeAlphaImageToChannel() throws FileException, IOException
+    {
+        BufferedImage image = new BufferedImage(16, 8, BufferedImage.TYPE_INT_ARGB);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        ImageEncoder.encode(image, ImageFileType.JPEG, ImageWriteOptions.DEFAULT, Channels.newChannel(output));
+
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(output.toByteArray()));
+        assertThat(decoded.getWidth()).isEqualTo(16);
+        assertThat(decoded.getColorModel().hasAlpha()).isFalse();
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageEncoder.encode(image, ImageFileType.PNG, ImageWriteOptions.builder().withCompressionLevel(9).build(), png);
+        assertThat(ImageIO.read(new ByteArrayInputStream(png.toByteArray())).getColorModel().hasAlpha()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Reject invalid write options")
+    final void testInvalidWriteOptions()
+    {
+        assertThatThrownBy(() -> ImageWriteOptions.builder().withQuality(1.5F).build()).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ImageWriteOptions.builder().withCompressionLevel(10).build()).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Chain the cause of an image encoding failure")
+    final void testEncodeFailureKeepsCause() throws FileException
+    {
+        BufferedImage image = ImageHelper.loadImage(PATH_IMAGE_JPG, ImageScaleType.IMAGE_SCALE_16X16);
+        OutputStream failing = new OutputStream()
+        {
+            @Override
+            public void write(final int b) throws IOException
+            {
+                throw new IOException("Disk full");
+            }
+        };
+
+        assertThatThrownBy(() -> ImageEncoder.encode(image, ImageFileType.PNG, ImageWriteOptions.DEFAULT, failing))
+                .isInstanceOf(ImageException.class)
+                .hasRootCauseInstanceOf(IOException.class)
+                .hasRootCauseMessage("Disk full");
+        assertThatThrownBy(() -> ImageEncoder.encode(image, ImageFileType.PNG, ImageWriteOptions.DEFAULT, TEMPORARY_FOLDER.toPath().resolve("missing").resolve("icon.png")))
+                .isInstanceOf(ImageException.class)
+                .hasCauseInstanceOf(IOException.class);
+    }
+}
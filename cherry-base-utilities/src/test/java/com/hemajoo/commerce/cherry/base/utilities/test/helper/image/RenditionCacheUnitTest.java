@@ -0,0 +1,122 @@
+/*
+ * (C) Copyright Hemajoo Systems Inc.  2022 - All Rights Reserved
+ * -----------------------------------------------------------------------------------------------
+ * All information contained herein is, and remains the property of
+ * Hemajoo Inc. and its suppliers, if any. The intellectual and technical
+ * concepts contained herein are proprietary to Hemajoo Inc. and its
+ * suppliers and may be covered by U.S. and Foreign Patents, patents
+ * in process, and are protected by trade secret or copyright law.
+ *
+ * Dissemination of this information or reproduction of this material
+ * is strictly forbidden unless prior written permission is obtained from
+ * Hemajoo Systems Inc.
+ * -----------------------------------------------------------------------------------------------
+ */
+package com.hemajoo.commerce.cherry.base.utilities.test.helper.image;
+
+import com.hemajoo.commerce.cherry.base.utilities.helper.file.FileException;
+import com.hemajoo.commerce.cherry.base.utilities.helper.file.FileHelper;
+import com.hemajoo.commerce.cherry.base.utilities.helper.image.*;
+import com.hemajoo.commerce.cherry.base.utilities.test.base.BaseUnitTest;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for unit testing the {@link RenditionCache} class.
+ * @author <a href="mailto:christophe.resse@gmail.com">Christophe Resse</a>
+ * @version 1.0.0
+ */
+@Log4j2
+class RenditionCacheUnitTest extends BaseUnitTest
+{
+    /**
+     * Test <b>PNG</b> image file full path.
+     */
+    private static final String PATH_IMAGE_PNG = "image/sample_800x500_24bits.png";
+
+    @Test
+    @DisplayName("Produce a rendition only once")
+    final void testProduceRenditionOnce() throws FileException
+    {
+        AtomicInteger counter = new AtomicInteger();
+        RenditionCache cache = new RenditionCache(1024);
+        RenditionKey key = RenditionKey.of(RenditionCache.hash(new byte[] { 1, 2, 3 }), 16, 16, ImageFileType.PNG);
+
+        byte[] first = cache.computeIfAbsent(key, () -> { counter.incrementAndGet(); return new byte[] { 4, 5, 6 }; });
+        byte[] second = cache.computeIfAbsent(key, () -> { counter.incrementAndGet(); return new byte[] { 7, 8, 9 }; });
+
+        assertThat(counter.get()).isEqualTo(1);
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    @DisplayName("Evict the least recently used renditions from memory")
+    final void testEvictLeastRecentlyUsedRendition() throws FileException
+    {
+        RenditionCache cache = new RenditionCache(10);
+        RenditionKey first = RenditionKey.of("aa", 1, 1, ImageFileType.PNG);
+        RenditionKey second = RenditionKey.of("bb", 1, 1, ImageFileType.PNG);
+
+        cache.put(first, new byte[6]);
+        cache.put(second, new byte[6]);
+
+        assertThat(cache.get(first)).isNull();
+        assertThat(cache.get(second)).hasSize(6);
+        assertThat(cache.getMemorySize()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Serve a rendition from the on-disk tier")
+    final void testServeRenditionFromDisk() throws FileException
+    {
+        Path directory = TEMPORARY_FOLDER.toPath().resolve("rendition");
+        RenditionCache cache = new RenditionCache(directory, 1024);
+        RenditionKey key = RenditionKey.of(RenditionCache.hash(new byte[] { 1 }), 32, 32, ImageFileType.JPEG);
+
+        cache.put(key, new byte[] { 1, 2 });
+        cache.clearMemory();
+
+        assertThat(cache.get(key)).isEqualTo(new byte[] { 1, 2 });
+        assertThat(new RenditionCache(directory, 1024).get(key)).isEqualTo(new byte[] { 1, 2 });
+    }
+
+    @Test
+    @DisplayName("Save an icon through the rendition cache")
+    final void testSaveIconWithCache() throws FileException
+    {
+        RenditionCache cache = new RenditionCache(TEMPORARY_FOLDER.toPath().resolve("icon"), 10_000_000);
+        File source = FileHelper.getFile(PATH_IMAGE_PNG);
+
+        String first = ImageHelper.saveIcon(PATH_IMAGE_PNG, ImageScaleType.IMAGE_SCALE_DEFAULT, ImageFileType.JPEG, TEMPORARY_FOLDER.getAbsolutePath(), "icon_first", cache);
+        String second = ImageHelper.saveIcon(PATH_IMAGE_PNG, ImageScaleType.IMAGE_SCALE_DEFAULT, ImageFileType.JPEG, TEMPORARY_FOLDER.getAbsolutePath(), "icon_second", cache);
+
+        assertThat(new File(first)).exists();
+        assertThat(new File(second)).hasSameBinaryContentAs(new File(first));
+        assertThat(cache.get(RenditionKey.of(RenditionCache.hash(source), 0, 0, ImageFileType.JPEG))).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Save icons of distinct scales through the rendition cache")
+    final void testSaveScaledIconWithCache() throws FileException, IOException
+    {
+        RenditionCache cache = new RenditionCache(10_000_000);
+        File source = FileHelper.getFile(PATH_IMAGE_PNG);
+
+        String original = ImageHelper.saveIcon(PATH_IMAGE_PNG, ImageScaleType.IMAGE_SCALE_DEFAULT, ImageFileType.PNG, TEMPORARY_FOLDER.getAbsolutePath(), "icon_default", cache);
+        String small = ImageHelper.saveIcon(PATH_IMAGE_PNG, ImageScaleType.IMAGE_SCALE_16X16, ImageFileType.PNG, TEMPORARY_FOLDER.getAbsolutePath(), "icon_16x16", cache);
+
+        assertThat(ImageIO.read(new File(original)).getWidth()).isEqualTo(800);
+        assertThat(ImageIO.read(new File(small)).getWidth()).isEqualTo(16);
+        assertThat(ImageIO.read(new File(small)).getHeight()).isEqualTo(16);
+        assertThat(cache.get(RenditionKey.of(RenditionCache.hash(source), 16, 16, ImageFileType.PNG))).isNotNull();
+    }
+}